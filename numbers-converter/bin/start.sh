@@ -6,6 +6,7 @@ USAGE: . start.sh [numbersFilePaths...]\n
 \n
 where numbersFilePaths is the list of file paths, separated by whitespace, of files containing phone numbers to be converted to matching words combinations.\n
 	\tIf not provided the application will ask interactively to provide the same.\n
+	\tOr COMPILE_DICTIONARY <compiledDictionaryPath> to compile the dictionary to a binary file, which opens instantly with -Ddictionary.compiled.path\n
 \n	
 Also, the default behavior can be overridden by running the below command prior to the execution of the script\n
 export JAVA_OPTS="[options]"\n
@@ -21,6 +22,48 @@ export JAVA_OPTS="[options]"\n
 		\t\tBut if you want maximum of 2 consecutive digits unchanged, then the option should be  -Dunchangedigits.list=1,2\n
 	\t-Dconcatenate.delimiter=<delimiterchar>\n
 		\t\tDelimiter character used to concatenate different words. Default to -\n
+	\t-Dconverter.engine=<recursive|memoized>\n
+		\t\tEngine used to search matching words combinations. The memoized engine gives the same result, but is faster for long numbers. Defaults to recursive\n
+	\t-Dconverter.threads=<threads>\n
+		\t\tNo. of threads converting the numbers concurrently. Defaults to 1\n
+	\t-Dconverter.preserve.order=<true|false>\n
+		\t\tIf true the matches are displayed in the order of the numbers, even when converted by several threads. Else as soon as they are found. Defaults to true\n
+	\t-Dconverter.fork.threshold=<digits>\n
+		\t\tIf given, the search of a number with at least these many digits is split across all the cores, for the recursive engine. Defaults to 0, i.e. never split\n
+	\t-Dconverter.suffix.cache.mb=<megabytes>\n
+		\t\tIf given, the matches of the suffixes are cached in up to these many MB and reused across the numbers. The cache statistics are logged. Defaults to 0, i.e. no cache\n
+	\t-Dconverter.result.cache.size=<numbers>\n
+		\t\tIf given, the matches of up to these many numbers are cached, so a repeated number is converted only once. The cache statistics are logged. Defaults to 0, i.e. no cache\n
+	\t-Dconverter.result.cache.mb=<megabytes>\n
+		\t\tApproximate memory the cached matches of the numbers can use. Defaults to 0, i.e. bounded only by the no. of numbers\n
+	\t-Dconverter.result.cache.ttl.seconds=<seconds>\n
+		\t\tTime after which the cached matches of a number expire. Defaults to 0, i.e. never expire\n
+	\t-Dconverter.result.store.path=<storePath>\n
+		\t\tIf given, the matches of the numbers are kept in this file across runs, so a number converted before with the same dictionary and configuration is not searched again\n
+	\t-Dconverter.result.store.mb=<megabytes>\n
+		\t\tMaximum size of the result store. When full, only the numbers used in the run are kept. Defaults to 0, i.e. no limit\n
+	\t-Dinput.mapped=<true|false>\n
+		\t\tIf true the numbers files are memory mapped and scanned as bytes instead of reading them line by line. Defaults to false\n
+	\t-Doutput.path=<outputPath>\n
+		\t\tIf given, the results are written to this file instead of the console\n
+	\t-Doutput.buffer.kb=<kilobytes>\n
+		\t\tSize of the buffer where the results are collected before they are written out. Defaults to 64\n
+	\t-Doutput.format=<text|ndjson|csv|binary>\n
+		\t\tFormat the results are written in. ndjson, csv and binary are records in UTF-8 for other programs to read. Defaults to text\n
+	\t-Dcount.only=<true|false>\n
+		\t\tIf true only the no. of matching words combinations of each number is displayed, without finding the combinations. Defaults to false\n
+	\t-Dtopk.count=<maxMatches>\n
+		\t\tIf given only the best maxMatches matching words combinations of each number are found and displayed, best first. Defaults to all combinations\n
+	\t-Dtopk.scorer=<fewest.words|fewest.digits|frequency>\n
+		\t\tHow the best combinations are chosen, if topk.count is given. Either the fewest words, the fewest digits unchanged, or the most frequently used words. Defaults to fewest.words\n
+	\t-Dtopk.frequency.path=<wordsByFrequencyPath>\n
+		\t\tFile path of a list of words, most frequently used first, for topk.scorer=frequency. Defaults to an internal list of 20000 common English words\n
+	\t-Ddictionary.type=<hash|trie|ahocorasick|packed>\n
+		\t\tData structure of the dictionary. The trie stops searching a sub-sequence of the number as soon as no dictionary word can match it. The Aho-Corasick automaton finds all the matches of a number in one scan. The packed dictionary uses the least memory for large dictionaries. Defaults to hash\n
+	\t-Ddictionary.compiled.path=<compiledDictionaryPath>\n
+		\t\tFile path of a dictionary compiled with COMPILE_DICTIONARY. It is memory mapped instead of populating the dictionary, and is verified against -Ddictionary.path if given\n
+	\t-Ddictionary.build.threads=<threads>\n
+		\t\tNo. of threads converting the dictionary words to numbers while the dictionary is built. The dictionary is the same for any no. of threads. Defaults to 1\n
 \n		
 		\t\tEx-> export JAVA_OPTS="-Dunchangedigits.list=1,2,3,4,5 -Dconcatenate.delimiter=~"\n'
 		
@@ -1,21 +1,45 @@
 package com.aconex.challenge.numbertowords;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.stream.Stream;
 
 import com.aconex.challenge.numbertowords.config.Configuration;
+import com.aconex.challenge.numbertowords.converter.CachingNumberConverter;
+import com.aconex.challenge.numbertowords.converter.MatchCount;
+import com.aconex.challenge.numbertowords.converter.MatchCountTransformer;
+import com.aconex.challenge.numbertowords.converter.MatchScorer;
+import com.aconex.challenge.numbertowords.converter.MemoizedNumberConverterAlgorithm;
 import com.aconex.challenge.numbertowords.converter.NumberConverterAlgorithm;
+import com.aconex.challenge.numbertowords.converter.NumberResultCache;
+import com.aconex.challenge.numbertowords.converter.NumberResultStore;
 import com.aconex.challenge.numbertowords.converter.NumbersConverter;
+import com.aconex.challenge.numbertowords.converter.RankedNumberConverterAlgorithm;
+import com.aconex.challenge.numbertowords.converter.SuffixResultCache;
+import com.aconex.challenge.numbertowords.converter.WordFrequencyScorer;
+import com.aconex.challenge.numbertowords.dictionary.AhoCorasickDictionaryFactory;
+import com.aconex.challenge.numbertowords.dictionary.CompiledDictionary;
+import com.aconex.challenge.numbertowords.dictionary.CompiledDictionaryFactory;
 import com.aconex.challenge.numbertowords.dictionary.Dictionary;
 import com.aconex.challenge.numbertowords.dictionary.DictionaryFactory;
 import com.aconex.challenge.numbertowords.dictionary.HashBasedDictionaryFactory;
 import com.aconex.challenge.numbertowords.dictionary.NumbersEncodingParser;
+import com.aconex.challenge.numbertowords.dictionary.PackedDictionaryFactory;
+import com.aconex.challenge.numbertowords.dictionary.TrieDictionaryFactory;
 import com.aconex.challenge.numbertowords.dictionary.WordToNumberConverter;
+import com.aconex.challenge.numbertowords.dictionary.transformers.CompiledTransformerChain;
+import com.aconex.challenge.numbertowords.dictionary.transformers.FusedNormalizer;
 import com.aconex.challenge.numbertowords.dictionary.transformers.InputTransformer;
 import com.aconex.challenge.numbertowords.dictionary.transformers.StripAndValidateInput;
 import com.aconex.challenge.numbertowords.dictionary.transformers.UpperCaseTransformer;
+import com.aconex.challenge.numbertowords.util.StringUtil;
 
 /**
  * Application Facade which becomes the integration point of the application.
@@ -23,10 +47,25 @@ import com.aconex.challenge.numbertowords.dictionary.transformers.UpperCaseTrans
  *
  */
 public class ApplicationFacade {
+
+	private static final String WORD_FREQUENCY_RESOURCE_PATH = "samples/20k.txt";
 	
 	private DictionaryFactory dictionaryFactory;
+
+	private InputTransformer<String> wordToNumConverter;
 	
 	private NumbersConverter numbersConverter;
+
+	private InputTransformer<MatchCount> matchCountTransformer;
+
+	private SuffixResultCache suffixResultCache;
+
+	/**
+	 * Kept across the initializations of the number converter, since it clears itself if the dictionary or the configuration changes
+	 */
+	private NumberResultCache numberResultCache;
+
+	private NumberResultStore numberResultStore;
 	
 	/**
 	 * Constructs the application facade which in turn eagerly initializes the dictionary factory with the {@link InputTransformer transformers} it would need
@@ -45,6 +84,41 @@ public class ApplicationFacade {
 		return numbersConverter;
 	}
 
+	/**
+	 * Returns the transformer which counts the matching combinations of a number instead of finding them.
+	 * It is initialized along with the number converter.
+	 * @return the transformer which counts the matching combinations of a number
+	 */
+	public InputTransformer<MatchCount> getMatchCountTransformer() {
+		return matchCountTransformer;
+	}
+
+	/**
+	 * Returns the cache of the matches of the suffixes shared by all the numbers converted.
+	 * It is initialized along with the number converter, if the configuration element converter.suffix.cache.mb is more than 0.
+	 * @return the cache of the matches of the suffixes, or null if the suffixes are not cached
+	 */
+	public SuffixResultCache getSuffixResultCache() {
+		return suffixResultCache;
+	}
+
+	/**
+	 * Returns the cache of the matches of the numbers converted, so a repeated number is converted only once.
+	 * It is initialized along with the number converter, if the configuration element converter.result.cache.size is more than 0.
+	 * @return the cache of the matches of the numbers, or null if the numbers are not cached
+	 */
+	public NumberResultCache getNumberResultCache() {
+		return numberResultCache;
+	}
+
+	/**
+	 * Returns the store of the matches of the numbers kept across runs.
+	 * @return the store of the matches of the numbers, or null if it is not opened
+	 */
+	public NumberResultStore getNumberResultStore() {
+		return numberResultStore;
+	}
+
 	/**
 	 * 
 	 * Instantiates the dictionary factory and other related beans.
@@ -54,9 +128,37 @@ public class ApplicationFacade {
 		Map<String, String> numbersEncodingMap = getNumbersEncodingMap();
 		String stripCharactersRegex = Configuration.getInstance().stripCharactersRegex();
 		String dictValidRegex = Configuration.getInstance().dictValidRegex();
-		InputTransformer<String> wordToNumConverter = new WordToNumberConverter(new UpperCaseTransformer(new StripAndValidateInput(stripCharactersRegex, dictValidRegex)), numbersEncodingMap);
+		// The chain is compiled into one pass over the characters of each word, if all the transformers can be fused
+		wordToNumConverter = CompiledTransformerChain.compile(
+				new WordToNumberConverter(new UpperCaseTransformer(new StripAndValidateInput(stripCharactersRegex, dictValidRegex)), numbersEncodingMap));
 		
-		dictionaryFactory = new HashBasedDictionaryFactory(wordToNumConverter);
+		String compiledDictionaryPath = Configuration.getInstance().compiledDictionaryPath();
+		String dictionaryType = Configuration.getInstance().dictionaryType();
+		if (!StringUtil.isBlankOrNull(compiledDictionaryPath)) {
+			// The source is verified against the compiled dictionary only if the user has given it.
+			String dictionarySourcePath = System.getProperty(UserInputHelper.SYS_PROP_DICT_PATH);
+			dictionaryFactory = new CompiledDictionaryFactory(Paths.get(compiledDictionaryPath),
+					StringUtil.isBlankOrNull(dictionarySourcePath) ? null : Paths.get(dictionarySourcePath));
+		} else {
+			dictionaryFactory = createDictionaryFactory(dictionaryType);
+		}
+		dictionaryFactory.setBuildParallelism(Configuration.getInstance().dictionaryBuildThreads());
+	}
+
+	/**
+	 * Instantiates the factory of the dictionary which is populated from its source.
+	 * @param dictionaryType Type of the dictionary as per the configuration element dictionary.type
+	 * @return The dictionary factory of the type, by default the hash based one
+	 */
+	private DictionaryFactory createDictionaryFactory(String dictionaryType) {
+		if (Configuration.TRIE_DICTIONARY_TYPE.equals(dictionaryType)) {
+			return new TrieDictionaryFactory(wordToNumConverter);
+		} else if (Configuration.AHO_CORASICK_DICTIONARY_TYPE.equals(dictionaryType)) {
+			return new AhoCorasickDictionaryFactory(wordToNumConverter);
+		} else if (Configuration.PACKED_DICTIONARY_TYPE.equals(dictionaryType)) {
+			return new PackedDictionaryFactory(wordToNumConverter);
+		}
+		return new HashBasedDictionaryFactory(wordToNumConverter);
 	}
 	
 	/**
@@ -78,7 +180,63 @@ public class ApplicationFacade {
 		dictionaryFactory.createAndPopulateDictionary(dictionaryStreams);
 
 	}
+
+	/**
+	 * Creates and populates the dictionary from its source, with the factory of the configuration element dictionary.type,
+	 * and writes it to a compiled dictionary file.
+	 * The file can later be opened with the configuration element dictionary.compiled.path, instead of populating the dictionary again.
+	 * @param dictionaryStreams List of dictionaryStreams
+	 * @param sourceChecksum Checksum of the dictionary source, recorded in the compiled dictionary
+	 * @param compiledDictionaryPath Path of the compiled dictionary file to be written
+	 * @return The no. of unique numbers in the compiled dictionary
+	 * @throws IOException If the compiled dictionary file can not be written
+	 */
+	public int compileDictionary(List<Stream<String>> dictionaryStreams, long sourceChecksum, String compiledDictionaryPath) throws IOException {
+		DictionaryFactory sourceDictionaryFactory = createDictionaryFactory(Configuration.getInstance().dictionaryType());
+		sourceDictionaryFactory.setBuildParallelism(Configuration.getInstance().dictionaryBuildThreads());
+		sourceDictionaryFactory.createAndPopulateDictionary(dictionaryStreams);
+		Dictionary dictionary = sourceDictionaryFactory.getDictionary();
+		CompiledDictionary.write(dictionary, sourceChecksum, NumbersEncodingParser.encodingChecksum(), Paths.get(compiledDictionaryPath));
+		return dictionary.getUniqueNumbersCount();
+	}
 	
+	/**
+	 * Opens the store of the matches of the numbers given by the configuration element converter.result.store.path, if any.
+	 * The matches in the store are only used if they were found with the same dictionary source, number encoding, 
+	 * word massaging, delimiter and no. of consecutive digits which can remain as-is, which make up the fingerprint of the store.
+	 * If the dictionary is compiled, the checksum of the source recorded in it is used instead of the given one.
+	 * The store is not opened if only the best few matches are to be found as per the configuration element topk.count.
+	 * This can only be called once the dictionary is populated, and before the number converter is initialized.
+	 * @param dictionarySourceChecksum Checksum of the dictionary source
+	 * @throws IOException If the store can not be opened
+	 */
+	public void openNumberResultStore(long dictionarySourceChecksum) throws IOException {
+		String resultStorePath = Configuration.getInstance().resultStorePath();
+		if (StringUtil.isBlankOrNull(resultStorePath) || Configuration.getInstance().maxMatches() > 0) {
+			return;
+		}
+		Dictionary dictionary = dictionaryFactory.getDictionary();
+		if (dictionary instanceof CompiledDictionary) {
+			dictionarySourceChecksum = ((CompiledDictionary) dictionary).getSourceChecksum();
+		}
+		String fingerprint = Arrays.asList(Long.toHexString(dictionarySourceChecksum), Long.toHexString(NumbersEncodingParser.encodingChecksum()),
+				Configuration.getInstance().stripCharactersRegex(), Configuration.getInstance().dictValidRegex(),
+				Configuration.getInstance().wordConcatenateDelimiter(),
+				Arrays.toString(Configuration.getInstance().retainConsecutiveUnmatchedDigitsAsIs())).toString();
+		numberResultStore = NumberResultStore.open(Paths.get(resultStorePath), fingerprint,
+				Configuration.getInstance().resultStoreMegabytes() * 1024L * 1024L);
+	}
+
+	/**
+	 * Closes the store of the matches of the numbers, if it is opened.
+	 * @throws IOException If the store can not be closed
+	 */
+	public void closeNumberResultStore() throws IOException {
+		if (numberResultStore != null) {
+			numberResultStore.close();
+		}
+	}
+
 	/**
 	 * Initializes the number converter algorithm with different transformers and the dictionary.
 	 * Since the algorithm relies on dictionary, which is passed to it as constructor.
@@ -88,9 +246,82 @@ public class ApplicationFacade {
 		String stripCharactersRegex = Configuration.getInstance().stripCharactersRegex();
 		String numberValidRegex = Configuration.getInstance().numberValidRegex();
 		Dictionary dictionary = dictionaryFactory.getDictionary();
-		InputTransformer<Set<String>> numberConverterAlgorithm = new NumberConverterAlgorithm(new StripAndValidateInput(stripCharactersRegex,numberValidRegex),dictionary);
+		NumberConverterAlgorithm numberConverterAlgorithm = createNumberConverterAlgorithm(FusedNormalizer.compile(stripCharactersRegex, numberValidRegex, false), dictionary);
 
-		numbersConverter = new NumbersConverter(numberConverterAlgorithm);
+		int resultCacheSize = Configuration.getInstance().resultCacheSize();
+		if (resultCacheSize > 0 && numberResultCache == null) {
+			numberResultCache = new NumberResultCache(resultCacheSize, Configuration.getInstance().resultCacheMegabytes() * 1024L * 1024L,
+					Configuration.getInstance().resultCacheTtlSeconds() * 1000L);
+		}
+		numbersConverter = new NumbersConverter(resultCacheSize > 0 || numberResultStore != null
+				? new CachingNumberConverter(numberConverterAlgorithm, resultCacheSize > 0 ? numberResultCache : null, numberResultStore)
+				: numberConverterAlgorithm);
+		numbersConverter.setParallelism(Configuration.getInstance().converterThreads());
+		numbersConverter.setPreserveOrder(Configuration.getInstance().converterPreserveOrder());
+		matchCountTransformer = new MatchCountTransformer(numberConverterAlgorithm);
 		
 	}
+
+	/**
+	 * Instantiates the algorithm engine selected by the configuration element converter.engine.
+	 * Both the engines return the same matching combinations, the memoized one is faster for long numbers.
+	 * Both of them share the matches of the suffixes across the numbers, if the configuration element converter.suffix.cache.mb is more than 0.
+	 * But if only the best few combinations are to be found as per the configuration element topk.count, the ranked algorithm is used.
+	 * @param parentTransformer Parent transformer to apply any massaging to the number before the search begins
+	 * @param dictionary Dictionary to be used for searching matching combinations
+	 * @return The number converter algorithm
+	 */
+	private NumberConverterAlgorithm createNumberConverterAlgorithm(InputTransformer<String> parentTransformer, Dictionary dictionary) {
+		int maxMatches = Configuration.getInstance().maxMatches();
+		if(maxMatches > 0) {
+			return new RankedNumberConverterAlgorithm(parentTransformer, dictionary, createMatchScorer(), maxMatches);
+		}
+		int suffixCacheMegabytes = Configuration.getInstance().suffixCacheMegabytes();
+		suffixResultCache = suffixCacheMegabytes > 0 ? new SuffixResultCache(suffixCacheMegabytes * 1024L * 1024L) : null;
+		if(Configuration.MEMOIZED_CONVERTER_ENGINE.equalsIgnoreCase(Configuration.getInstance().converterEngine())) {
+			return new MemoizedNumberConverterAlgorithm(parentTransformer, dictionary, suffixResultCache);
+		}
+		return new NumberConverterAlgorithm(parentTransformer, dictionary, Configuration.getInstance().converterForkThreshold(), suffixResultCache);
+	}
+
+	/**
+	 * Instantiates the scorer selected by the configuration element topk.scorer, which decides the best matching combinations.
+	 * @return The scorer which decides the best matching combinations
+	 */
+	// Protected access so that a different scorer can be plugged in, say for Unit testing.
+	protected MatchScorer createMatchScorer() {
+		String matchScorer = Configuration.getInstance().matchScorer();
+		if(Configuration.FEWEST_DIGITS_SCORER.equalsIgnoreCase(matchScorer)) {
+			return MatchScorer.fewestRetainedDigits();
+		}
+		if(Configuration.WORD_FREQUENCY_SCORER.equalsIgnoreCase(matchScorer)) {
+			return createWordFrequencyScorer();
+		}
+		return MatchScorer.fewestWords();
+	}
+
+	/**
+	 * Creates the scorer from the list of words in the order of their frequency, which is the file given by the configuration element topk.frequency.path.
+	 * If it is not given, an internal list of 20000 common English words is used.
+	 * The words are transformed the same way as the dictionary words before they are ranked.
+	 * @return Scorer which prefers the combinations made of the most frequently used words
+	 */
+	private MatchScorer createWordFrequencyScorer() {
+		String stripCharactersRegex = Configuration.getInstance().stripCharactersRegex();
+		String dictValidRegex = Configuration.getInstance().dictValidRegex();
+		InputTransformer<String> wordTransformer = FusedNormalizer.compile(stripCharactersRegex, dictValidRegex, true);
+		String wordFrequencyPath = Configuration.getInstance().wordFrequencyPath();
+		if(StringUtil.isBlankOrNull(wordFrequencyPath)) {
+			try (BufferedReader reader = new BufferedReader(new InputStreamReader(ClassLoader.getSystemResourceAsStream(WORD_FREQUENCY_RESOURCE_PATH)))) {
+				return WordFrequencyScorer.fromWordsByFrequency(reader.lines(), wordTransformer);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		try (Stream<String> wordsByFrequency = Files.lines(Paths.get(wordFrequencyPath))) {
+			return WordFrequencyScorer.fromWordsByFrequency(wordsByFrequency, wordTransformer);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
 }
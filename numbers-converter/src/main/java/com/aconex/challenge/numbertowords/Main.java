@@ -4,27 +4,41 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.logging.Level;
 import java.util.logging.LogManager;
 import java.util.logging.Logger;
 import java.util.stream.Stream;
 
 import com.aconex.challenge.numbertowords.config.Configuration;
+import com.aconex.challenge.numbertowords.converter.MatchCount;
 import com.aconex.challenge.numbertowords.converter.NumberConverterAlgorithm;
 import com.aconex.challenge.numbertowords.converter.NumbersConverter;
 import com.aconex.challenge.numbertowords.dictionary.Dictionary;
 import com.aconex.challenge.numbertowords.dictionary.DictionaryFactory;
 import com.aconex.challenge.numbertowords.dictionary.NumbersEncodingParser;
 import com.aconex.challenge.numbertowords.dictionary.WordToNumberConverter;
+import com.aconex.challenge.numbertowords.dictionary.transformers.CompiledTransformerChain;
+import com.aconex.challenge.numbertowords.dictionary.transformers.FusedNormalizer;
 import com.aconex.challenge.numbertowords.dictionary.transformers.InputTransformer;
 import com.aconex.challenge.numbertowords.dictionary.transformers.StripAndValidateInput;
 import com.aconex.challenge.numbertowords.dictionary.transformers.TransformerContainer;
 import com.aconex.challenge.numbertowords.dictionary.transformers.UpperCaseTransformer;
+import com.aconex.challenge.numbertowords.input.MappedNumbersFile;
+import com.aconex.challenge.numbertowords.output.BinaryResultEncoder;
+import com.aconex.challenge.numbertowords.output.CsvResultEncoder;
+import com.aconex.challenge.numbertowords.output.NdjsonResultEncoder;
+import com.aconex.challenge.numbertowords.output.ResultEncoder;
+import com.aconex.challenge.numbertowords.output.ResultSink;
+import com.aconex.challenge.numbertowords.output.TextResultEncoder;
 import com.aconex.challenge.numbertowords.util.CollectionsUtil;
+import com.aconex.challenge.numbertowords.util.IOUtils;
 import com.aconex.challenge.numbertowords.util.MessagesUtil;
 import com.aconex.challenge.numbertowords.util.StringUtil;
 //Since this is the starting point of the application, so added quite verbose Javadoc here to summarize the entire application flow.
@@ -76,6 +90,10 @@ import com.aconex.challenge.numbertowords.util.StringUtil;
  *	<li>Convert number into matching word combinations ({@link NumberConverterAlgorithm})</li>
  * </ul>
  * 
+ * <p>The stripping, validation and conversion to uppercase are fused into one pass over the characters by {@link FusedNormalizer},
+ * as long as the regular expressions are simple character classes, else the transformers above are chained as they are.
+ * Likewise the whole chain of transformers for the dictionary words, including the conversion to a number, is compiled into one pass by {@link CompiledTransformerChain}.
+ * 
  * <p>So, once we have the stream of dictionary words the abstract dictionary factory {@link DictionaryFactory}
  * creates the dictionary, transforms each word to a number and stores it in the dictionary.
  * The actual instantiation of the {@link Dictionary} and the data structure used for {@link Dictionary} is left to
@@ -96,7 +114,7 @@ import com.aconex.challenge.numbertowords.util.StringUtil;
  * </ul>
  * 
  * As matching combinations are found for each number, the class {@link NumbersConverter} sends it back 
- * to this class by a call back handler, which in turns displays the output on console to the user.
+ * to this class by a call back handler, which in turns writes it to a buffered {@link ResultSink}, on the console or to a file.
  * 
  * <p>Lastly the class {@link ApplicationFacade} as the name suggests brings all these pieces together.
  * 
@@ -111,13 +129,11 @@ public class Main {
 	private static final String SAMPLE_DICTIONARY_RESOURCE_PATH = "samples/commonWords.txt";
 	private static final String SAMPLE_NUMBERS_RESOURCE_PATH = "samples/samplePhoneNumbers.txt";
 
-	private static final String NO_MATCH_MESSAGE_KEY = "number.none.match";
 	private static final String IO_ERROR_MESSAGE_KEY = "io.error";
 	
 	private static final String EMPTY_DICTIONARY_MESSAGE_KEY = "empty.dictionary";
-
-	private static final String MATCH_MESSAGE_KEY = "number.matches";
-	private static final String INVALID_INPUT_MESSAGE_KEY = "invlaid.number";
+	private static final String INVALID_COMPILED_DICTIONARY_MESSAGE_KEY = "invalid.compiled.dictionary";
+	private static final String COMPILED_DICTIONARY_MESSAGE_KEY = "compiled.dictionary.written";
 	
 	private static final String LOGGING_CONFIG_FILE = "configuration/logging.properties";
 	
@@ -140,6 +156,7 @@ public class Main {
 	/**
 	 * Starting point of the application
 	 * @param strArray Array of numbers file path. If empty or has one element equaling to 'USE_SAMPLE', then the application uses a sample numbers file.
+	 * If it is 'COMPILE_DICTIONARY' followed by a file path, then the dictionary is compiled to that file instead of converting numbers.
 	 */
 
 	public static void main(String[] strArray)  {
@@ -151,6 +168,7 @@ public class Main {
 		
 		List<Stream<String>> dictionaryStreams = new ArrayList<Stream<String>>();
 		List<Stream<String>> numbersStreams = new ArrayList<Stream<String>>();
+		List<MappedNumbersFile> numbersFiles = new ArrayList<MappedNumbersFile>();
 		BufferedReader sampleDictionaryReader = null;
 		BufferedReader samplePhoneNumbersFileReader = null;
 		// Did not use Java 7 try with resources feature.
@@ -168,6 +186,11 @@ public class Main {
 				dictionaryStreams.add(Files.lines(Paths.get(usersDictionaryPath)));
 			}
 			
+			if (userInputHelper.getCompiledDictionaryPath() != null) {
+				compileDictionary(dictionaryStreams, dictionarySourceChecksum(usersDictionaryPath), userInputHelper.getCompiledDictionaryPath());
+				return;
+			}
+			
 			if(CollectionsUtil.isNullOrEmpty(usersNumbersFilesPath)) {
 				samplePhoneNumbersFileReader = new BufferedReader(new InputStreamReader(ClassLoader.getSystemResourceAsStream(SAMPLE_NUMBERS_RESOURCE_PATH)));
 				Stream<String> sampleNumbersStream = samplePhoneNumbersFileReader.lines();
@@ -176,11 +199,15 @@ public class Main {
 			else {
 				
 				for(String filePath : usersNumbersFilesPath) {
-					numbersStreams.add(Files.lines(Paths.get(filePath)));
+					if (isInputMapped()) {
+						numbersFiles.add(MappedNumbersFile.open(Paths.get(filePath)));
+					} else {
+						numbersStreams.add(Files.lines(Paths.get(filePath)));
+					}
 				}
 			}
 			
-			convert(dictionaryStreams, numbersStreams);
+			convert(dictionaryStreams, numbersStreams, numbersFiles, usersDictionaryPath);
 		}
 		catch(IOException  | UncheckedIOException uio) {
 			System.err.println(MessagesUtil.getString(IO_ERROR_MESSAGE_KEY));
@@ -188,6 +215,13 @@ public class Main {
 		finally {
 			dictionaryStreams.forEach((dictionaryStream) -> dictionaryStream.close());
 			numbersStreams.forEach((dictionaryStream) -> dictionaryStream.close());
+			for (MappedNumbersFile numbersFile : numbersFiles) {
+				try {
+					numbersFile.close();
+				} catch (IOException e) {
+					e.printStackTrace();
+				}
+			}
 			if(sampleDictionaryReader != null) {
 				try {
 					sampleDictionaryReader.close();
@@ -205,7 +239,43 @@ public class Main {
 		}
 	}
 	
-	private static void convert(List<Stream<String>> dictionarySources, List<Stream<String>> numbersStreams) {
+	/**
+	 * Returns true if the numbers files are to be memory mapped as per the configuration element input.mapped.
+	 * They are read as strings instead if the numbers are stripped or validated with other than the default regular expressions.
+	 */
+	private static boolean isInputMapped() {
+		if (!Configuration.getInstance().inputMapped()) {
+			return false;
+		}
+		if (!MappedNumbersFile.supports(Configuration.getInstance().stripCharactersRegex(), Configuration.getInstance().numberValidRegex())) {
+			LOGGER.log(Level.INFO, "Numbers files are not memory mapped, since the regular expressions to strip or validate the numbers are changed");
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Checksum of the dictionary file given by the user, or of the internal sample dictionary if none is given
+	 */
+	private static long dictionarySourceChecksum(String usersDictionaryPath) throws IOException {
+		return StringUtil.isBlankOrNull(usersDictionaryPath)
+				? IOUtils.checksum(ClassLoader.getSystemResourceAsStream(SAMPLE_DICTIONARY_RESOURCE_PATH))
+				: IOUtils.checksum(Files.newInputStream(Paths.get(usersDictionaryPath)));
+	}
+
+	private static void compileDictionary(List<Stream<String>> dictionarySources, long sourceChecksum, String compiledDictionaryPath) throws IOException {
+		ApplicationFacade applicationFacade = new ApplicationFacade();
+		try {
+			int numbersCount = applicationFacade.compileDictionary(dictionarySources, sourceChecksum, compiledDictionaryPath);
+			System.out.println(MessagesUtil.getString(COMPILED_DICTIONARY_MESSAGE_KEY, compiledDictionaryPath, numbersCount));
+		} catch (IllegalArgumentException ie) {
+			System.out.println(
+					MessagesUtil.getString(EMPTY_DICTIONARY_MESSAGE_KEY));
+		}
+	}
+
+	private static void convert(List<Stream<String>> dictionarySources, List<Stream<String>> numbersStreams, List<MappedNumbersFile> numbersFiles,
+			String usersDictionaryPath) throws IOException {
 		ApplicationFacade applicationFacade = new ApplicationFacade();
 		try {
 			applicationFacade.createAndPopulateDictionary(dictionarySources);
@@ -213,25 +283,99 @@ public class Main {
 			System.out.println(
 					MessagesUtil.getString(EMPTY_DICTIONARY_MESSAGE_KEY));
 			return;
+		} catch (IllegalStateException ise) {
+			System.out.println(
+					MessagesUtil.getString(INVALID_COMPILED_DICTIONARY_MESSAGE_KEY, Configuration.getInstance().compiledDictionaryPath(), ise.getMessage()));
+			return;
+		}
+
+
+		if (!StringUtil.isBlankOrNull(Configuration.getInstance().resultStorePath()) && !Configuration.getInstance().countOnly()) {
+			// A compiled dictionary records the checksum of its source, so the source need not be read
+			applicationFacade.openNumberResultStore(StringUtil.isBlankOrNull(Configuration.getInstance().compiledDictionaryPath())
+					? dictionarySourceChecksum(usersDictionaryPath) : 0);
 		}
+		ResultEncoder resultEncoder = createResultEncoder();
+		try (ResultSink resultSink = createResultSink(resultEncoder.charset())) {
+			applicationFacade.initNumbersConverter();
+			displayMatches(applicationFacade, numbersStreams, numbersFiles, resultSink, resultEncoder);
+		} finally {
+			applicationFacade.closeNumberResultStore();
+		}
+	}
 
+	/**
+	 * Creates the sink where the results are written, which is the file given by the configuration element output.path if any, else the standard output
+	 */
+	private static ResultSink createResultSink(Charset charset) throws IOException {
+		int bufferBytes = Configuration.getInstance().outputBufferKilobytes() * 1024;
+		String outputPath = Configuration.getInstance().outputPath();
+		return StringUtil.isBlankOrNull(outputPath) ? ResultSink.toStandardOutput(charset, bufferBytes) : ResultSink.toFile(Paths.get(outputPath), charset, bufferBytes);
+	}
+
+	/**
+	 * Creates the encoder of the results selected by the configuration element output.format. Defaults to the human readable text.
+	 */
+	private static ResultEncoder createResultEncoder() {
+		String outputFormat = Configuration.getInstance().outputFormat();
+		if (Configuration.NDJSON_OUTPUT_FORMAT.equalsIgnoreCase(outputFormat)) {
+			return new NdjsonResultEncoder();
+		}
+		if (Configuration.CSV_OUTPUT_FORMAT.equalsIgnoreCase(outputFormat)) {
+			return new CsvResultEncoder();
+		}
+		if (Configuration.BINARY_OUTPUT_FORMAT.equalsIgnoreCase(outputFormat)) {
+			return new BinaryResultEncoder();
+		}
+		return new TextResultEncoder();
+	}
 
-		applicationFacade.initNumbersConverter();
+	/**
+	 * Displays the matching combinations of each number, or only their count as per the configuration element count.only.
+	 * The numbers are either read from the streams, or from the memory mapped files.
+	 */
+	private static void displayMatches(ApplicationFacade applicationFacade, List<Stream<String>> numbersStreams, List<MappedNumbersFile> numbersFiles,
+			ResultSink resultSink, ResultEncoder resultEncoder) throws IOException {
 		NumbersConverter converter = applicationFacade.getNumbersConverter();
-		converter.convertNumbers(numbersStreams, 
-				(numStringContainer) -> {
-					List<String> errors = numStringContainer.getErrors();
-					if (CollectionsUtil.isNullOrEmpty(errors)) {
-						Set<String> matchedWords = numStringContainer.getTransformed();
-						if (CollectionsUtil.isNullOrEmpty(matchedWords)) {
-							System.out.println(MessagesUtil.getString(NO_MATCH_MESSAGE_KEY,numStringContainer.getInput()));
-						} else {
-							System.out.println(MessagesUtil.getString(MATCH_MESSAGE_KEY,numStringContainer.getInput(),matchedWords));
-						}
-					} else {
-						System.err.println(MessagesUtil.getString(INVALID_INPUT_MESSAGE_KEY,numStringContainer.getInput()));
+		// The results are encoded as soon as they are handed over, so the containers need not outlive the call back handlers
+		converter.setReuseContainers(true);
+		if (Configuration.getInstance().countOnly()) {
+			count(converter, applicationFacade, numbersStreams, numbersFiles, resultSink, resultEncoder);
+			return;
+		}
+		Consumer<TransformerContainer<Set<String>>> matchesConsumer = (numStringContainer) -> {
+			if (!numStringContainer.hasErrors()) {
+				resultEncoder.encodeMatches(resultSink, numStringContainer.getInput(), numStringContainer.getTransformed());
+			} else {
+				resultEncoder.encodeInvalidNumber(resultSink, numStringContainer.getInput());
+			}
+		};
+		converter.convertNumbers(numbersStreams, matchesConsumer);
+		converter.convertNumberFiles(numbersFiles, matchesConsumer);
+		if (applicationFacade.getSuffixResultCache() != null) {
+			LOGGER.log(Level.INFO, "Suffix cache {0}", applicationFacade.getSuffixResultCache());
+		}
+		if (applicationFacade.getNumberResultCache() != null) {
+			LOGGER.log(Level.INFO, "Result cache {0}", applicationFacade.getNumberResultCache());
+		}
+		if (applicationFacade.getNumberResultStore() != null) {
+			LOGGER.log(Level.INFO, "Result store {0}", applicationFacade.getNumberResultStore());
+		}
+	}
 
-					}
-				});
+	/**
+	 * Reports only the no. of matching combinations of each number, without finding the combinations.
+	 */
+	private static void count(NumbersConverter converter, ApplicationFacade applicationFacade, List<Stream<String>> numbersStreams,
+			List<MappedNumbersFile> numbersFiles, ResultSink resultSink, ResultEncoder resultEncoder) throws IOException {
+		Consumer<TransformerContainer<MatchCount>> countConsumer = (numCountContainer) -> {
+			if (!numCountContainer.hasErrors()) {
+				resultEncoder.encodeMatchCount(resultSink, numCountContainer.getInput(), numCountContainer.getTransformed());
+			} else {
+				resultEncoder.encodeInvalidNumber(resultSink, numCountContainer.getInput());
+			}
+		};
+		converter.convertNumbers(numbersStreams, applicationFacade.getMatchCountTransformer(), countConsumer);
+		converter.convertNumberFiles(numbersFiles, applicationFacade.getMatchCountTransformer(), countConsumer);
 	}
 }
@@ -24,8 +24,10 @@ public class UserInputHelper {
 	
 	protected static final String SYS_PROP_DICT_PATH = "dictionary.path";
 	private static final String SAMPLE_USE_COMMAND_ARG = "USE_SAMPLE";
+	private static final String COMPILE_DICTIONARY_COMMAND_ARG = "COMPILE_DICTIONARY";
 	private List<String> phoneNumbersFilePaths;
 	private String dictionaryPath;
+	private String compiledDictionaryPath;
 
 	public static void main(String[] args) {
 		UserInputHelper helper = new UserInputHelper();
@@ -34,7 +36,8 @@ public class UserInputHelper {
 
 	/**
 	 * Interprets User input interactively.
-	 * @param commandLineArgs Array of numbers file path, if non-empty
+	 * @param commandLineArgs Array of numbers file path, if non-empty.
+	 * Or COMPILE_DICTIONARY followed by the path of the compiled dictionary file to be written.
 	 */
 	public void parseInputInteractively(String[] commandLineArgs) {
 		dictionaryPath = System.getProperty(SYS_PROP_DICT_PATH);
@@ -55,6 +58,12 @@ public class UserInputHelper {
 				default :
 					phoneNumbersFilePaths = Arrays.asList(userInput.split("\\s+"));
 			}
+		} else if (commandLineArgs[0].equals(COMPILE_DICTIONARY_COMMAND_ARG)) {
+			if (commandLineArgs.length != 2) {
+				System.out.println(MessagesUtil.getString(USAGE_MESSAGE_KEY));
+				System.exit(0);
+			}
+			compiledDictionaryPath = commandLineArgs[1];
 		} else {
 			if(!(commandLineArgs.length == 1 && commandLineArgs[0].equals(SAMPLE_USE_COMMAND_ARG)))
 				phoneNumbersFilePaths =  Arrays.asList(commandLineArgs);
@@ -87,6 +96,14 @@ public class UserInputHelper {
 		return dictionaryPath;
 	}
 
+	/**
+	 * Returns the path of the compiled dictionary file to be written, if the user has given the COMPILE_DICTIONARY command.
+	 * @return Path of the compiled dictionary file to be written, or null if the numbers are to be converted
+	 */
+	public String getCompiledDictionaryPath() {
+		return compiledDictionaryPath;
+	}
+
 	protected boolean areFilePathsValid() {
 		boolean allFilePathsValid = true;
 		if(!CollectionsUtil.isNullOrEmpty(phoneNumbersFilePaths)) {
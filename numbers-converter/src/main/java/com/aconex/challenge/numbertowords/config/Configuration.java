@@ -24,10 +24,85 @@ public class Configuration {
 	private static final String STRIP_CHARS_REGEX_KEY = "strip.chars.regex";
 	private static final String DICT_WORD_VALID_REGEX_KEY = "dict.word.valid.regex";
 	private static final String NUM_VALID_REGEX_KEY = "num.valid.regex";
+	private static final String CONVERTER_ENGINE_KEY = "converter.engine";
+	private static final String COUNT_ONLY_KEY = "count.only";
+	private static final String MAX_MATCHES_KEY = "topk.count";
+	private static final String MATCH_SCORER_KEY = "topk.scorer";
+	private static final String WORD_FREQUENCY_PATH_KEY = "topk.frequency.path";
+	private static final String DICTIONARY_TYPE_KEY = "dictionary.type";
+	private static final String COMPILED_DICTIONARY_PATH_KEY = "dictionary.compiled.path";
+	private static final String DICTIONARY_BUILD_THREADS_KEY = "dictionary.build.threads";
+	private static final String CONVERTER_THREADS_KEY = "converter.threads";
+	private static final String CONVERTER_PRESERVE_ORDER_KEY = "converter.preserve.order";
+	private static final String CONVERTER_FORK_THRESHOLD_KEY = "converter.fork.threshold";
+	private static final String SUFFIX_CACHE_MB_KEY = "converter.suffix.cache.mb";
+	private static final String RESULT_CACHE_SIZE_KEY = "converter.result.cache.size";
+	private static final String RESULT_CACHE_MB_KEY = "converter.result.cache.mb";
+	private static final String RESULT_CACHE_TTL_SECONDS_KEY = "converter.result.cache.ttl.seconds";
+	private static final String RESULT_STORE_PATH_KEY = "converter.result.store.path";
+	private static final String RESULT_STORE_MB_KEY = "converter.result.store.mb";
+	private static final String OUTPUT_PATH_KEY = "output.path";
+	private static final String OUTPUT_BUFFER_KB_KEY = "output.buffer.kb";
+	private static final String OUTPUT_FORMAT_KEY = "output.format";
+	private static final String INPUT_MAPPED_KEY = "input.mapped";
+
+	/**
+	 * Value of the configuration element converter.engine which selects {@link com.aconex.challenge.numbertowords.converter.NumberConverterAlgorithm}
+	 */
+	public static final String RECURSIVE_CONVERTER_ENGINE = "recursive";
+	/**
+	 * Value of the configuration element converter.engine which selects {@link com.aconex.challenge.numbertowords.converter.MemoizedNumberConverterAlgorithm}
+	 */
+	public static final String MEMOIZED_CONVERTER_ENGINE = "memoized";
+	/**
+	 * Value of the configuration element topk.scorer which prefers the combinations with the fewest words
+	 */
+	public static final String FEWEST_WORDS_SCORER = "fewest.words";
+	/**
+	 * Value of the configuration element topk.scorer which prefers the combinations with the fewest digits retained as-is
+	 */
+	public static final String FEWEST_DIGITS_SCORER = "fewest.digits";
+	/**
+	 * Value of the configuration element topk.scorer which prefers the combinations made of the most frequently used words
+	 */
+	public static final String WORD_FREQUENCY_SCORER = "frequency";
+	/**
+	 * Value of the configuration element output.format which selects {@link com.aconex.challenge.numbertowords.output.TextResultEncoder}
+	 */
+	public static final String TEXT_OUTPUT_FORMAT = "text";
+	/**
+	 * Value of the configuration element output.format which selects {@link com.aconex.challenge.numbertowords.output.NdjsonResultEncoder}
+	 */
+	public static final String NDJSON_OUTPUT_FORMAT = "ndjson";
+	/**
+	 * Value of the configuration element output.format which selects {@link com.aconex.challenge.numbertowords.output.CsvResultEncoder}
+	 */
+	public static final String CSV_OUTPUT_FORMAT = "csv";
+	/**
+	 * Value of the configuration element output.format which selects {@link com.aconex.challenge.numbertowords.output.BinaryResultEncoder}
+	 */
+	public static final String BINARY_OUTPUT_FORMAT = "binary";
+	/**
+	 * Value of the configuration element dictionary.type which selects {@link com.aconex.challenge.numbertowords.dictionary.HashBasedDictionaryFactory}
+	 */
+	public static final String HASH_DICTIONARY_TYPE = "hash";
+	/**
+	 * Value of the configuration element dictionary.type which selects {@link com.aconex.challenge.numbertowords.dictionary.TrieDictionaryFactory}
+	 */
+	public static final String TRIE_DICTIONARY_TYPE = "trie";
+	/**
+	 * Value of the configuration element dictionary.type which selects {@link com.aconex.challenge.numbertowords.dictionary.AhoCorasickDictionaryFactory}
+	 */
+	public static final String AHO_CORASICK_DICTIONARY_TYPE = "ahocorasick";
+	/**
+	 * Value of the configuration element dictionary.type which selects {@link com.aconex.challenge.numbertowords.dictionary.PackedDictionaryFactory}
+	 */
+	public static final String PACKED_DICTIONARY_TYPE = "packed";
 
     private static Configuration instance;
-	private String concatenateDelimiter;
-	private int[] retainConsecutiveUnmatchedCharsAsIs;
+	// Volatile since the numbers may be converted on several threads, which read these once computed
+	private volatile String concatenateDelimiter;
+	private volatile int[] retainConsecutiveUnmatchedCharsAsIs;
 	
 	private Properties configFileProperties;
 	
@@ -137,4 +212,273 @@ public class Configuration {
 	public String numberValidRegex() {
 		return configFileProperties.getProperty(NUM_VALID_REGEX_KEY,"^[0-9]{1,}$");
 	}
+
+	/**
+	 * The engine used to search the matching combinations of a number. The user can override the configuration by passing it as system property.
+	 * Defaults to the recursive engine.
+	 * @return Either {@link #RECURSIVE_CONVERTER_ENGINE} or {@link #MEMOIZED_CONVERTER_ENGINE}
+	 */
+	public String converterEngine() {
+		return getFromSystemPropertyFirst(CONVERTER_ENGINE_KEY, RECURSIVE_CONVERTER_ENGINE).trim();
+	}
+
+	/**
+	 * Returns true if only the no. of matching combinations of each number is to be reported, instead of the combinations themselves.
+	 * The user can override the configuration by passing it as system property. Defaults to false.
+	 * @return true if only the no. of matching combinations of each number is to be reported
+	 */
+	public boolean countOnly() {
+		return Boolean.parseBoolean(getFromSystemPropertyFirst(COUNT_ONLY_KEY, "false").trim());
+	}
+
+	/**
+	 * Returns the maximum no. of best matching combinations to be found for each number. 
+	 * The user can override the configuration by passing it as system property.
+	 * Defaults to 0, which means all the matching combinations are found. If invalid input provided it defaults to 0 as well.
+	 * @return the maximum no. of best matching combinations to be found for each number
+	 */
+	public int maxMatches() {
+		String str = getFromSystemPropertyFirst(MAX_MATCHES_KEY, "0");
+		try {
+			return Integer.parseInt(str.trim());
+		}
+		catch(NumberFormatException nfe) {
+			LOGGER.log(Level.INFO, "Invalid key: {0}. Defaulting it to 0",MAX_MATCHES_KEY);
+			return 0;
+		}
+	}
+
+	/**
+	 * Returns how the best matching combinations are chosen, when only the best few combinations are to be found. 
+	 * The user can override the configuration by passing it as system property. Defaults to {@link #FEWEST_WORDS_SCORER}.
+	 * @return Either {@link #FEWEST_WORDS_SCORER}, {@link #FEWEST_DIGITS_SCORER} or {@link #WORD_FREQUENCY_SCORER}
+	 */
+	public String matchScorer() {
+		return getFromSystemPropertyFirst(MATCH_SCORER_KEY, FEWEST_WORDS_SCORER).trim();
+	}
+
+	/**
+	 * File path of the list of words in the order of their frequency, most frequent first, used by the {@link #WORD_FREQUENCY_SCORER}.
+	 * The user can override the configuration by passing it as system property.
+	 * @return File path of the list of words in the order of their frequency, or null if an internal list of 20000 common English words is to be used
+	 */
+	public String wordFrequencyPath() {
+		return getFromSystemPropertyFirst(WORD_FREQUENCY_PATH_KEY, null);
+	}
+
+	/**
+	 * The data structure used for the dictionary. The user can override the configuration by passing it as system property.
+	 * Defaults to the hash based dictionary.
+	 * @return Either {@link #HASH_DICTIONARY_TYPE}, {@link #TRIE_DICTIONARY_TYPE}, {@link #AHO_CORASICK_DICTIONARY_TYPE} or {@link #PACKED_DICTIONARY_TYPE}
+	 */
+	public String dictionaryType() {
+		return getFromSystemPropertyFirst(DICTIONARY_TYPE_KEY, HASH_DICTIONARY_TYPE).trim();
+	}
+
+	/**
+	 * File path of a compiled dictionary, which is opened instead of populating the dictionary from its source.
+	 * The user can override the configuration by passing it as system property.
+	 * @return File path of a compiled dictionary, or null if the dictionary is to be populated from its source
+	 */
+	public String compiledDictionaryPath() {
+		return getFromSystemPropertyFirst(COMPILED_DICTIONARY_PATH_KEY, null);
+	}
+
+	/**
+	 * Returns the no. of threads which convert the dictionary words to numbers while the dictionary is built.
+	 * The user can override the configuration by passing it as system property.
+	 * Defaults to 1, which means the dictionary is built on the main thread. If invalid input provided it defaults to 1 as well.
+	 * @return the no. of threads which build the dictionary
+	 */
+	public int dictionaryBuildThreads() {
+		String str = getFromSystemPropertyFirst(DICTIONARY_BUILD_THREADS_KEY, "1");
+		try {
+			return Integer.parseInt(str.trim());
+		}
+		catch(NumberFormatException nfe) {
+			LOGGER.log(Level.INFO, "Invalid key: {0}. Defaulting it to 1",DICTIONARY_BUILD_THREADS_KEY);
+			return 1;
+		}
+	}
+
+	/**
+	 * Returns the no. of worker threads which convert the numbers concurrently.
+	 * The user can override the configuration by passing it as system property.
+	 * Defaults to 1, which means the numbers are converted on the main thread. If invalid input provided it defaults to 1 as well.
+	 * @return the no. of threads which convert the numbers
+	 */
+	public int converterThreads() {
+		String str = getFromSystemPropertyFirst(CONVERTER_THREADS_KEY, "1");
+		try {
+			return Integer.parseInt(str.trim());
+		}
+		catch(NumberFormatException nfe) {
+			LOGGER.log(Level.INFO, "Invalid key: {0}. Defaulting it to 1",CONVERTER_THREADS_KEY);
+			return 1;
+		}
+	}
+
+	/**
+	 * If the results are displayed in the same order as the numbers, when the numbers are converted by several threads.
+	 * The user can override the configuration by passing it as system property. Defaults to true.
+	 * @return true if the results are to be displayed in the order of the numbers
+	 */
+	public boolean converterPreserveOrder() {
+		return Boolean.parseBoolean(getFromSystemPropertyFirst(CONVERTER_PRESERVE_ORDER_KEY, "true").trim());
+	}
+
+	/**
+	 * Returns the min. no. of digits of a number, or of a suffix of it, whose search for matching combinations is split across the common fork-join pool.
+	 * The user can override the configuration by passing it as system property.
+	 * Defaults to 0, which means the search of a number is never split. If invalid input provided it defaults to 0 as well.
+	 * @return the min. no. of digits of a number whose search is split across threads
+	 */
+	public int converterForkThreshold() {
+		String str = getFromSystemPropertyFirst(CONVERTER_FORK_THRESHOLD_KEY, "0");
+		try {
+			return Integer.parseInt(str.trim());
+		}
+		catch(NumberFormatException nfe) {
+			LOGGER.log(Level.INFO, "Invalid key: {0}. Defaulting it to 0",CONVERTER_FORK_THRESHOLD_KEY);
+			return 0;
+		}
+	}
+
+	/**
+	 * Returns the approximate memory, in MB, which the matches of the suffixes cached across the numbers can use.
+	 * The user can override the configuration by passing it as system property.
+	 * Defaults to 0, which means the suffixes are not cached. If invalid input provided it defaults to 0 as well.
+	 * @return the memory budget of the suffix cache in MB
+	 */
+	public int suffixCacheMegabytes() {
+		String str = getFromSystemPropertyFirst(SUFFIX_CACHE_MB_KEY, "0");
+		try {
+			return Integer.parseInt(str.trim());
+		}
+		catch(NumberFormatException nfe) {
+			LOGGER.log(Level.INFO, "Invalid key: {0}. Defaulting it to 0",SUFFIX_CACHE_MB_KEY);
+			return 0;
+		}
+	}
+
+	/**
+	 * Returns the maximum no. of numbers whose matching combinations are cached, so a repeated number is converted only once.
+	 * The user can override the configuration by passing it as system property.
+	 * Defaults to 0, which means the matches of the numbers are not cached. If invalid input provided it defaults to 0 as well.
+	 * @return the maximum no. of numbers cached
+	 */
+	public int resultCacheSize() {
+		String str = getFromSystemPropertyFirst(RESULT_CACHE_SIZE_KEY, "0");
+		try {
+			return Integer.parseInt(str.trim());
+		}
+		catch(NumberFormatException nfe) {
+			LOGGER.log(Level.INFO, "Invalid key: {0}. Defaulting it to 0",RESULT_CACHE_SIZE_KEY);
+			return 0;
+		}
+	}
+
+	/**
+	 * Returns the approximate memory, in MB, which the cached matches of the numbers can use, if the numbers are cached as per {@link #resultCacheSize()}.
+	 * The user can override the configuration by passing it as system property.
+	 * Defaults to 0, which means the memory used is bounded only by the no. of numbers. If invalid input provided it defaults to 0 as well.
+	 * @return the memory budget of the result cache in MB
+	 */
+	public int resultCacheMegabytes() {
+		String str = getFromSystemPropertyFirst(RESULT_CACHE_MB_KEY, "0");
+		try {
+			return Integer.parseInt(str.trim());
+		}
+		catch(NumberFormatException nfe) {
+			LOGGER.log(Level.INFO, "Invalid key: {0}. Defaulting it to 0",RESULT_CACHE_MB_KEY);
+			return 0;
+		}
+	}
+
+	/**
+	 * Returns the time in seconds after which the cached matches of a number expire, if the numbers are cached as per {@link #resultCacheSize()}.
+	 * The user can override the configuration by passing it as system property.
+	 * Defaults to 0, which means the cached matches never expire. If invalid input provided it defaults to 0 as well.
+	 * @return the time to live of the cached matches in seconds
+	 */
+	public int resultCacheTtlSeconds() {
+		String str = getFromSystemPropertyFirst(RESULT_CACHE_TTL_SECONDS_KEY, "0");
+		try {
+			return Integer.parseInt(str.trim());
+		}
+		catch(NumberFormatException nfe) {
+			LOGGER.log(Level.INFO, "Invalid key: {0}. Defaulting it to 0",RESULT_CACHE_TTL_SECONDS_KEY);
+			return 0;
+		}
+	}
+
+	/**
+	 * File path of a store where the matching combinations of the numbers are kept across runs, so a number converted in an earlier run is not searched again.
+	 * The user can override the configuration by passing it as system property.
+	 * @return File path of the result store, or null if the results are not to be stored
+	 */
+	public String resultStorePath() {
+		return getFromSystemPropertyFirst(RESULT_STORE_PATH_KEY, null);
+	}
+
+	/**
+	 * Returns the maximum size, in MB, of the result store as per {@link #resultStorePath()}.
+	 * The user can override the configuration by passing it as system property.
+	 * Defaults to 0, which means the size is not limited. If invalid input provided it defaults to 0 as well.
+	 * @return the maximum size of the result store in MB
+	 */
+	public int resultStoreMegabytes() {
+		String str = getFromSystemPropertyFirst(RESULT_STORE_MB_KEY, "0");
+		try {
+			return Integer.parseInt(str.trim());
+		}
+		catch(NumberFormatException nfe) {
+			LOGGER.log(Level.INFO, "Invalid key: {0}. Defaulting it to 0",RESULT_STORE_MB_KEY);
+			return 0;
+		}
+	}
+
+	/**
+	 * File path where the results are written, instead of the standard output.
+	 * The user can override the configuration by passing it as system property.
+	 * @return File path where the results are written, or null if they are written to the standard output
+	 */
+	public String outputPath() {
+		return getFromSystemPropertyFirst(OUTPUT_PATH_KEY, null);
+	}
+
+	/**
+	 * Returns the size, in KB, of the buffer where the results are collected before they are written out.
+	 * The user can override the configuration by passing it as system property.
+	 * Defaults to 64. If invalid input provided it defaults to 64 as well.
+	 * @return the size of the output buffer in KB
+	 */
+	public int outputBufferKilobytes() {
+		String str = getFromSystemPropertyFirst(OUTPUT_BUFFER_KB_KEY, "64");
+		try {
+			return Integer.parseInt(str.trim());
+		}
+		catch(NumberFormatException nfe) {
+			LOGGER.log(Level.INFO, "Invalid key: {0}. Defaulting it to 64",OUTPUT_BUFFER_KB_KEY);
+			return 64;
+		}
+	}
+
+	/**
+	 * The format the results are written in. The user can override the configuration by passing it as system property.
+	 * Defaults to the human readable text.
+	 * @return One of {@link #TEXT_OUTPUT_FORMAT}, {@link #NDJSON_OUTPUT_FORMAT}, {@link #CSV_OUTPUT_FORMAT} or {@link #BINARY_OUTPUT_FORMAT}
+	 */
+	public String outputFormat() {
+		return getFromSystemPropertyFirst(OUTPUT_FORMAT_KEY, TEXT_OUTPUT_FORMAT).trim();
+	}
+
+	/**
+	 * Returns true if the numbers files are memory mapped and scanned as bytes, instead of reading them line by line as strings.
+	 * The user can override the configuration by passing it as system property. Defaults to false.
+	 * @return true if the numbers files are to be memory mapped
+	 */
+	public boolean inputMapped() {
+		return Boolean.parseBoolean(getFromSystemPropertyFirst(INPUT_MAPPED_KEY, "false").trim());
+	}
 }
@@ -0,0 +1,92 @@
+package com.aconex.challenge.numbertowords.converter;
+
+import java.util.Collections;
+import java.util.Set;
+
+import com.aconex.challenge.numbertowords.dictionary.transformers.InputTransformer;
+import com.aconex.challenge.numbertowords.dictionary.transformers.TransformerContainer;
+
+/**
+ * Transformer which returns the matching combinations of a number from a {@link NumberResultCache} or a {@link NumberResultStore}, if the number was converted before.
+ * It applies the same pre-massaging on the number as the {@link NumberConverterAlgorithm} it is constructed with,
+ * so the numbers which are the same once massaged, like 2255-63 and 225563, are converted only once.
+ * Else it converts the number with the algorithm and caches its matches.
+ * The cache in memory is looked up first, and then the store on disk, which has the numbers converted in the earlier runs as well.
+ *
+ * <p>The cache is cleared if the algorithm uses a different dictionary, no. of consecutive digits which can remain as-is or delimiter
+ * than the matches in the cache were found with. So the same cache can be used as the algorithm is replaced, say when the dictionary is populated again.
+ *
+ * @author Abhishek Agarwal
+ *
+ */
+public class CachingNumberConverter implements InputTransformer<Set<String>> {
+
+	private final NumberConverterAlgorithm numberConverterAlgorithm;
+
+	private final NumberResultCache numberResultCache;
+
+	private final NumberResultStore numberResultStore;
+
+	/**
+	 * Constructs the transformer with the algorithm which finds the matching combinations and the cache which keeps them
+	 * @param numberConverterAlgorithm Algorithm which pre-massages the number and finds its matching combinations
+	 * @param numberResultCache Cache of the matching combinations of the numbers
+	 */
+	public CachingNumberConverter(NumberConverterAlgorithm numberConverterAlgorithm, NumberResultCache numberResultCache) {
+		this(numberConverterAlgorithm, numberResultCache, null);
+	}
+
+	/**
+	 * Constructs the transformer with the algorithm which finds the matching combinations, and the cache and the store which keep them.
+	 * The store must have been opened with the fingerprint of the dictionary and the configuration the algorithm uses.
+	 * @param numberConverterAlgorithm Algorithm which pre-massages the number and finds its matching combinations
+	 * @param numberResultCache Cache of the matching combinations of the numbers, null if they are not cached in memory
+	 * @param numberResultStore Store of the matching combinations of the numbers, null if they are not stored on disk
+	 */
+	public CachingNumberConverter(NumberConverterAlgorithm numberConverterAlgorithm, NumberResultCache numberResultCache,
+			NumberResultStore numberResultStore) {
+		this.numberConverterAlgorithm = numberConverterAlgorithm;
+		this.numberResultCache = numberResultCache;
+		this.numberResultStore = numberResultStore;
+	}
+
+	/**
+	 * Applies any pre-massaging to be done on the number string, and then looks up its matching combinations in the cache and the store, 
+	 * converting it only if it is in neither. The matching combinations fed to the container can not be modified.
+	 * @param numberContainer Transformer Container which has the number string, and is fed with the set of matching combinations.
+	 */
+	@Override
+	public void transform(TransformerContainer<Set<String>> numberContainer) {
+		String numberToConvert = numberConverterAlgorithm.prepareNumber(numberContainer);
+		if (numberToConvert == null) {
+			return;
+		}
+		Set<String> matches = null;
+		if (numberResultCache != null) {
+			numberResultCache.validate(numberConverterAlgorithm.dictionary, numberConverterAlgorithm.retainConsecutiveUnmatchedDigits,
+					numberConverterAlgorithm.delimiter);
+			matches = numberResultCache.get(numberToConvert);
+		}
+		if (matches == null && numberResultStore != null) {
+			matches = numberResultStore.get(numberToConvert);
+			if (matches != null && numberResultCache != null) {
+				numberResultCache.put(numberToConvert, matches);
+			}
+		}
+		if (matches == null) {
+			matches = numberConverterAlgorithm.convertNumber(numberToConvert);
+			// The combinations are already read-only, and are kept as they are so that they are written out without joining them first
+			if (!(matches instanceof WordCombinations)) {
+				matches = Collections.unmodifiableSet(matches);
+			}
+			if (numberResultStore != null) {
+				numberResultStore.put(numberToConvert, matches);
+			}
+			if (numberResultCache != null) {
+				numberResultCache.put(numberToConvert, matches);
+			}
+		}
+		numberContainer.setTransformed(matches);
+	}
+
+}
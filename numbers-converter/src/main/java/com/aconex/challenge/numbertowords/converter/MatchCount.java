@@ -0,0 +1,87 @@
+package com.aconex.challenge.numbertowords.converter;
+
+/**
+ * Count of the matching combinations of a number, which is found without building the combinations.
+ * Exact matches are the combinations where all digits are replaced by words,
+ * and partial matches are the combinations where atleast one digit remains as-is.
+ * Same as the matching combinations, partial matches are only considered if there is no exact match.
+ *
+ * <p>The counts are capped at {@link Long#MAX_VALUE}, so a count equal to it means at least as many combinations.
+ * Each count is the no. of ways the number can be split and replaced, which is also the no. of distinct combinations
+ * as long as the concatenation delimiter is not a character which can appear in a word.
+ *
+ * @author Abhishek Agarwal
+ *
+ */
+public class MatchCount {
+
+	private final long exactMatchesCount;
+
+	private final long partialMatchesCount;
+
+	/**
+	 * Constructs the count of the matching combinations
+	 * @param exactMatchesCount No. of combinations where all digits are replaced by words
+	 * @param partialMatchesCount No. of combinations where atleast one digit remains as-is
+	 */
+	public MatchCount(long exactMatchesCount, long partialMatchesCount) {
+		this.exactMatchesCount = exactMatchesCount;
+		this.partialMatchesCount = partialMatchesCount;
+	}
+
+	/**
+	 *
+	 * @return No. of combinations where all digits are replaced by words
+	 */
+	public long getExactMatchesCount() {
+		return exactMatchesCount;
+	}
+
+	/**
+	 *
+	 * @return No. of combinations where atleast one digit remains as-is
+	 */
+	public long getPartialMatchesCount() {
+		return partialMatchesCount;
+	}
+
+	/**
+	 * Returns the no. of matching combinations which would be returned for the number.
+	 * Only if there is no exact match, the count of partial matches is returned, else the count of exact matches is returned.
+	 * @return the no. of matching combinations which would be returned for the number
+	 */
+	public long getMatchesCount() {
+		return exactMatchesCount > 0 ? exactMatchesCount : partialMatchesCount;
+	}
+
+	/**
+	 * Returns true if the count has been capped at {@link Long#MAX_VALUE}.
+	 * @return true if the count has been capped at {@link Long#MAX_VALUE}
+	 */
+	public boolean isCapped() {
+		return getMatchesCount() == Long.MAX_VALUE;
+	}
+
+	/**
+	 * Adds two non-negative counts, capping the sum at {@link Long#MAX_VALUE}
+	 */
+	static long add(long count1, long count2) {
+		long sum = count1 + count2;
+		return sum < 0 ? Long.MAX_VALUE : sum;
+	}
+
+	/**
+	 * Multiplies two non-negative counts, capping the product at {@link Long#MAX_VALUE}
+	 */
+	static long multiply(long count1, long count2) {
+		if (count1 == 0 || count2 == 0) {
+			return 0;
+		}
+		return count1 > Long.MAX_VALUE / count2 ? Long.MAX_VALUE : count1 * count2;
+	}
+
+	@Override
+	public String toString() {
+		return "Exact: " + exactMatchesCount + ", Partial: " + partialMatchesCount;
+	}
+}
@@ -0,0 +1,40 @@
+package com.aconex.challenge.numbertowords.converter;
+
+import com.aconex.challenge.numbertowords.dictionary.transformers.InputTransformer;
+import com.aconex.challenge.numbertowords.dictionary.transformers.TransformerContainer;
+
+/**
+ * Transformer which counts the matching combinations of a number instead of finding them.
+ * It applies the same pre-massaging on the number as the {@link NumberConverterAlgorithm} it is constructed with,
+ * and then counts using {@link NumberConverterAlgorithm#countMatches(String)}.
+ *
+ * <p>This is useful to know how many combinations a number has, before deciding to find them.
+ *
+ * @author Abhishek Agarwal
+ *
+ */
+public class MatchCountTransformer implements InputTransformer<MatchCount> {
+
+	private final NumberConverterAlgorithm numberConverterAlgorithm;
+
+	/**
+	 * Constructs the transformer with the algorithm which counts the matching combinations
+	 * @param numberConverterAlgorithm Algorithm which pre-massages the number and counts its matching combinations
+	 */
+	public MatchCountTransformer(NumberConverterAlgorithm numberConverterAlgorithm) {
+		this.numberConverterAlgorithm = numberConverterAlgorithm;
+	}
+
+	/**
+	 * Applies any pre-massaging to be done on the number string, and then counts the matching combinations.
+	 * @param numberContainer Transformer Container which has the number string, and is fed with the count of the matching combinations.
+	 */
+	@Override
+	public void transform(TransformerContainer<MatchCount> numberContainer) {
+		String numberToCount = numberConverterAlgorithm.prepareNumber(numberContainer);
+		if (numberToCount != null) {
+			numberContainer.setTransformed(numberConverterAlgorithm.countMatches(numberToCount));
+		}
+	}
+
+}
@@ -0,0 +1,67 @@
+package com.aconex.challenge.numbertowords.converter;
+
+/**
+ * Contract for scoring a matching combination, so that only the best few combinations of a number are found by {@link RankedNumberConverterAlgorithm}.
+ *
+ * <p>A combination is scored as the sum of the cost of each of its segments, where a segment is either a dictionary word or digits retained as-is.
+ * Lower the total cost better the combination. Since the cost is the sum of costs of the segments, the best cost of each suffix
+ * of the number can be found once and used to stop the search as soon as no better combination can exist.
+ *
+ * <p>Ex-&gt; With {@link #fewestWords()} the combination CALL-ME costs 2 while the combination 2-ALL-ME costs 3.
+ *
+ * @author Abhishek Agarwal
+ * @see WordFrequencyScorer
+ *
+ */
+public interface MatchScorer {
+
+	/**
+	 * Cost of replacing digits by a dictionary word. It should not be negative.
+	 * @param word Dictionary word which replaces the digits
+	 * @return Cost of using the word in a combination
+	 */
+	double wordCost(String word);
+
+	/**
+	 * Cost of retaining consecutive digits as-is. It should not be negative.
+	 * @param digitsCount No. of consecutive digits retained as-is
+	 * @return Cost of retaining the digits in a combination
+	 */
+	double retainedDigitsCost(int digitsCount);
+
+	/**
+	 * Scorer which prefers the combinations with the fewest words, where consecutive digits retained as-is count as one word.
+	 * @return Scorer which prefers the combinations with the fewest words
+	 */
+	static MatchScorer fewestWords() {
+		return new MatchScorer() {
+			@Override
+			public double wordCost(String word) {
+				return 1;
+			}
+
+			@Override
+			public double retainedDigitsCost(int digitsCount) {
+				return 1;
+			}
+		};
+	}
+
+	/**
+	 * Scorer which prefers the combinations with the fewest digits retained as-is.
+	 * @return Scorer which prefers the combinations with the fewest digits retained as-is
+	 */
+	static MatchScorer fewestRetainedDigits() {
+		return new MatchScorer() {
+			@Override
+			public double wordCost(String word) {
+				return 0;
+			}
+
+			@Override
+			public double retainedDigitsCost(int digitsCount) {
+				return digitsCount;
+			}
+		};
+	}
+}
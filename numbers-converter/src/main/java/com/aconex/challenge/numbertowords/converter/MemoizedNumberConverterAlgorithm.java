@@ -0,0 +1,120 @@
+package com.aconex.challenge.numbertowords.converter;
+
+import java.util.Set;
+
+import com.aconex.challenge.numbertowords.dictionary.Dictionary;
+import com.aconex.challenge.numbertowords.dictionary.transformers.InputTransformer;
+import com.aconex.challenge.numbertowords.util.CollectionsUtil;
+
+/**
+ * A dynamic programming variant of {@link NumberConverterAlgorithm} which returns exactly the same matching combinations,
+ * but searches the matching combinations of each suffix of the number only once.
+ *
+ * <p>In {@link NumberConverterAlgorithm} the recursive call for a suffix is made for every prefix which leads to it.
+ * So say for the number 22556 the suffix 56 is searched once for the prefix 225, again for the prefixes 2 and 25 and so on.
+ * For numbers of 15-20 digits this makes the time grow exponentially.
+ *
+ * <p>The matching combinations of a suffix depend only on where the suffix starts in the number
+ * and on whether the prefix before it had an exact dictionary match, because that decides if the digits of the suffix can be retained as-is.
+ * So this class remembers the result of every (suffix offset, previous prefix matched) pair for the number being converted and reuses it
+ * every time the same suffix is reached again. The results are only shared while converting a single number,
+ * unless a {@link SuffixResultCache} is given, which shares the results of the suffixes across all the numbers converted.
+ *
+ * @author Abhishek Agarwal
+ *
+ */
+public class MemoizedNumberConverterAlgorithm extends NumberConverterAlgorithm {
+
+	/**
+	 * Constructor to chain it with a parent transformer and initialize with the dictionary which is to be used.
+	 * @param parentTransformer Parent transformer to apply any massaging to the number to be transformed, before the search begins.
+	 * @param dictionary Dictionary to be used for searching matching combinations of each sub-sequence of the number string.
+	 */
+	public MemoizedNumberConverterAlgorithm(InputTransformer<String> parentTransformer, Dictionary dictionary) {
+		super(parentTransformer, dictionary);
+	}
+
+	/**
+	 * Constructor to chain it with a parent transformer and initialize with the dictionary which is to be used,
+	 * reusing the matches of the suffixes already searched for the other numbers.
+	 * @param parentTransformer Parent transformer to apply any massaging to the number to be transformed, before the search begins.
+	 * @param dictionary Dictionary to be used for searching matching combinations of each sub-sequence of the number string.
+	 * @param suffixResultCache Cache of the matches of the suffixes shared by all the numbers converted, null if the suffixes are not to be cached.
+	 */
+	public MemoizedNumberConverterAlgorithm(InputTransformer<String> parentTransformer, Dictionary dictionary,
+			SuffixResultCache suffixResultCache) {
+		super(parentTransformer, dictionary, 0, suffixResultCache);
+	}
+
+	/**
+	 * Initializes with the dictionary to be used for searching matching combinations.
+	 * @param dictionary Dictionary to be used for searching matching combinations of each sub-sequence of the number string.
+	 */
+	public MemoizedNumberConverterAlgorithm(Dictionary dictionary) {
+		super(dictionary);
+	}
+
+	/**
+	 * Returns the matching combinations of the number, searching each suffix of the number only once.
+	 * @param numberToConvert The number string whose matching combinations are to be found
+	 * @return Returns the matching combinations
+	 */
+	@Override
+	protected Set<String> convertNumber(String numberToConvert) {
+		// First index is 1 if the previous prefix had an exact dictionary match else 0, second index is the offset where the suffix starts
+		NumberConverterResultAccumulator[][] suffixResults = new NumberConverterResultAccumulator[2][numberToConvert.length() + 1];
+		return findMatchingCombinations(numberToConvert, 0, true, suffixResults).getMatches();
+	}
+
+	/**
+	 * Internal method which finds the matching combinations of the suffix starting at the offset, unless they are already found.
+	 * Apart from looking up and storing the results, the search is the same as the one done by {@link NumberConverterAlgorithm}.
+	 * @param numberString Complete number string which is being converted.
+	 * @param offset Index in the number string where the suffix starts.
+	 * @param previousPrefixHasDictMatches This is true if the previous Prefix which made the recursive call had an exact dictionary match.
+	 * @param suffixResults Results already found for the suffixes of the number string.
+	 * @return Returns an {@link NumberConverterResultAccumulator} which stores the matching combinations for the suffix.
+	 */
+	private NumberConverterResultAccumulator findMatchingCombinations(String numberString, int offset,
+			boolean previousPrefixHasDictMatches, NumberConverterResultAccumulator[][] suffixResults) {
+		int previousPrefixIndex = previousPrefixHasDictMatches ? 1 : 0;
+		NumberConverterResultAccumulator result = suffixResults[previousPrefixIndex][offset];
+		if (result == null) {
+			result = getCachedSuffixResult(numberString, offset, previousPrefixHasDictMatches);
+		}
+		if (result != null) {
+			suffixResults[previousPrefixIndex][offset] = result;
+			return result;
+		}
+		result = new NumberConverterResultAccumulator(delimiter);
+		int numberStrLength = numberString.length();
+		Set<String>[] prefixMatchesByLength = findPrefixMatches(dictionary, numberString, offset, maxRetainedDigits);
+		for (int end = offset + 1; end < offset + prefixMatchesByLength.length; end++) {
+			boolean prefixHasDictMatches = true;
+			Set<String> prefixMatches = prefixMatchesByLength[end - offset];
+			if (previousPrefixHasDictMatches && CollectionsUtil.isNullOrEmpty(prefixMatches)
+					&& CollectionsUtil.anyMatch(retainConsecutiveUnmatchedDigits, end - offset)) {
+				prefixMatches = NumberConverterResultAccumulator.retainedDigits(numberString, offset, end);
+				prefixHasDictMatches = false;
+			}
+			if (!CollectionsUtil.isNullOrEmpty(prefixMatches) && end < numberStrLength) {
+				NumberConverterResultAccumulator suffixMatchResult = findMatchingCombinations(numberString, end,
+						prefixHasDictMatches, suffixResults);
+				WordCombinations suffixExactMatches = suffixMatchResult.getExactDictionaryMatches();
+				WordCombinations suffixPartialMatches = suffixMatchResult.getPartialDictionaryMatches();
+				if (prefixHasDictMatches) {
+					result.concatenatePrefixAndSuffixMatches(prefixMatches, suffixExactMatches, false);
+					result.concatenatePrefixAndSuffixMatches(prefixMatches, suffixPartialMatches, true);
+				} else {
+					result.concatenatePrefixAndSuffixMatches(prefixMatches, suffixExactMatches, true);
+					result.concatenatePrefixAndSuffixMatches(prefixMatches, suffixPartialMatches, true);
+				}
+			} else if (!CollectionsUtil.isNullOrEmpty(prefixMatches) && end == numberStrLength) {
+				result.addMatches(prefixMatches, !prefixHasDictMatches);
+			}
+		}
+		suffixResults[previousPrefixIndex][offset] = result;
+		cacheSuffixResult(numberString, offset, previousPrefixHasDictMatches, result);
+		return result;
+	}
+}
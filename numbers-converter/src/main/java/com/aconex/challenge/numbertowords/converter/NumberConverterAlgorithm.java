@@ -1,11 +1,20 @@
 package com.aconex.challenge.numbertowords.converter;
 
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.aconex.challenge.numbertowords.config.Configuration;
 import com.aconex.challenge.numbertowords.dictionary.Dictionary;
 import com.aconex.challenge.numbertowords.dictionary.transformers.InputTransformer;
+import com.aconex.challenge.numbertowords.dictionary.transformers.StrippedNumberContainer;
 import com.aconex.challenge.numbertowords.dictionary.transformers.TransformerContainer;
 import com.aconex.challenge.numbertowords.util.CollectionsUtil;
 /**
@@ -43,6 +52,28 @@ import com.aconex.challenge.numbertowords.util.CollectionsUtil;
  *  and other with partial matches where atleast one digit remains as-is. 
  *  This is useful when we are returning the matches for the initial number string,
  *  because we return partial matches only if there is no exact match. 
+ *  
+ *  <p>The dictionary matches of all the prefixes are found in one walk of the dictionary, see {@link Dictionary#findMatchingWordsFrom}.
+ *  So with a dictionary which stops at the first prefix no dictionary number starts with, the iteration stops at the longer of
+ *  the longest matching prefix and the longest prefix which can be retained as-is, instead of going till the end of the number string.
+ *  
+ *  <p>The same suffix is searched again for every prefix which leads to it, so for long numbers the time grows exponentially.
+ *  {@link MemoizedNumberConverterAlgorithm} is an alternative engine which returns the same matches but searches each suffix only once.
+ *  
+ *  <p>The searches of the suffixes after the different prefixes are independent of each other. So if a fork threshold is given,
+ *  the search of a number with at least that many digits is split across the common {@link ForkJoinPool}, 
+ *  where the suffix after each prefix is searched as a separate task, as long as the suffix has at least that many digits.
+ *  Shorter suffixes are searched in the task which reaches them, so tiny searches are not forked. The matches are the same as searched on one thread.
+ *  
+ *  <p>Numbers converted in the same run often share long suffixes. So if a {@link SuffixResultCache} is given, 
+ *  the matches of each suffix are cached and reused for the other numbers which end with the same suffix.
+ *  
+ *  <p>The combinations are not concatenated into strings as they are found. Each one refers to the word or the digits of its prefix
+ *  and to the combination of the suffix, see {@link WordCombination}. So the combinations of a suffix are shared by all the prefixes before it,
+ *  and the words are joined with the delimiter only when the matches of the number are written out.
+ * 
+ * <p>It has no state which changes once it is constructed, so the same instance can convert numbers on several threads at once,
+ * as long as the dictionary is not modified meanwhile.
  * 
  * @author Abhishek Agarwal
  *
@@ -52,26 +83,46 @@ public class NumberConverterAlgorithm implements InputTransformer<Set<String>> {
 	/**
 	 * The dictionary which need to be used for searching for matches.
 	 */
-	private Dictionary dictionary;
+	protected final Dictionary dictionary;
 	
 	/**
 	 * Delimiter to be used to concatenate matching words, which is determined by configuration element concatenate.delimtter. Defaults to hyphen
 	 */
 
-	private final String delimiter = Configuration.getInstance().wordConcatenateDelimiter();
+	protected final String delimiter = Configuration.getInstance().wordConcatenateDelimiter();
 	
 	/**
 	 * No. of consecutive digits which can remain as-is without a matching word. Determined by configuration element unchangedigits.list
 	 */
 	
-	private final int[] retainConsecutiveUnmatchedDigits = Configuration.getInstance().retainConsecutiveUnmatchedDigitsAsIs();
+	protected final int[] retainConsecutiveUnmatchedDigits = Configuration.getInstance().retainConsecutiveUnmatchedDigitsAsIs();
+
+	/**
+	 * The longest run of consecutive digits which can remain as-is. Prefixes longer than this and than the longest dictionary match need not be searched.
+	 */
+	protected final int maxRetainedDigits = maxRetainedDigits(retainConsecutiveUnmatchedDigits);
 	
 	/**
 	 * To apply any massaging to the number to be transformed. 
 	 * For example if the number given 2255-63, we would first need it to convert it to 225563, before searching for its matches.
 	 */
 	
-	private InputTransformer<String> parentTransformer;
+	private final InputTransformer<String> parentTransformer;
+
+	/**
+	 * Container of the number in raw form which is reused for every number converted on a thread, see {@link #prepareNumber(TransformerContainer)}
+	 */
+	private final ThreadLocal<TransformerContainer<String>> rawNumberTransformerContainers = ThreadLocal.withInitial(() -> new TransformerContainer<String>(null));
+
+	/**
+	 * Min. no. of digits of a suffix whose search is forked as a separate task. 0 means the search is never forked.
+	 */
+	private final int forkThreshold;
+
+	/**
+	 * Cache of the matches of the suffixes, shared by all the numbers converted. Null if the suffixes are not cached.
+	 */
+	protected final SuffixResultCache suffixResultCache;
 	
 	/**
 	 * Constructor to chain it with a parent transformer and initialize with the dictionary which is to be used.
@@ -80,8 +131,34 @@ public class NumberConverterAlgorithm implements InputTransformer<Set<String>> {
 	 */
 	
 	public NumberConverterAlgorithm(InputTransformer<String> parentTransformer, Dictionary dictionary) {
+		this(parentTransformer, dictionary, 0);
+	}
+
+	/**
+	 * Constructor to chain it with a parent transformer and initialize with the dictionary which is to be used, 
+	 * searching the long numbers on the common {@link ForkJoinPool}.
+	 * @param parentTransformer Parent transformer to apply any massaging to the number to be transformed, before the search begins. 
+	 * @param dictionary Dictionary to be used for searching matching combinations of each sub-sequence of the number string.
+	 * @param forkThreshold Min. no. of digits of a number or a suffix whose search is forked as a separate task. 0 means the search is never forked.
+	 */
+	public NumberConverterAlgorithm(InputTransformer<String> parentTransformer, Dictionary dictionary, int forkThreshold) {
+		this(parentTransformer, dictionary, forkThreshold, null);
+	}
+
+	/**
+	 * Constructor to chain it with a parent transformer and initialize with the dictionary which is to be used, 
+	 * reusing the matches of the suffixes already searched for the other numbers.
+	 * @param parentTransformer Parent transformer to apply any massaging to the number to be transformed, before the search begins. 
+	 * @param dictionary Dictionary to be used for searching matching combinations of each sub-sequence of the number string.
+	 * @param forkThreshold Min. no. of digits of a number or a suffix whose search is forked as a separate task. 0 means the search is never forked.
+	 * @param suffixResultCache Cache of the matches of the suffixes shared by all the numbers converted, null if the suffixes are not to be cached.
+	 */
+	public NumberConverterAlgorithm(InputTransformer<String> parentTransformer, Dictionary dictionary, int forkThreshold,
+			SuffixResultCache suffixResultCache) {
 		this.parentTransformer = parentTransformer;
 		this.dictionary = dictionary;
+		this.forkThreshold = forkThreshold;
+		this.suffixResultCache = suffixResultCache;
 	}
 
 	/**
@@ -89,7 +166,7 @@ public class NumberConverterAlgorithm implements InputTransformer<Set<String>> {
 	 * @param dictionary Dictionary to be used for searching matching combinations of each sub-sequence of the number string.
 	 */
 	public NumberConverterAlgorithm(Dictionary dictionary ) {
-		this.dictionary = dictionary;
+		this(null, dictionary);
 	}
 	/**
 	 * Applies any pre-massaging to be done on the number string, and then searches for all the matching combinations.
@@ -98,14 +175,33 @@ public class NumberConverterAlgorithm implements InputTransformer<Set<String>> {
 
 	@Override
 	public void transform(TransformerContainer<Set<String>> numberContainer) {
+		String numberToConvert = prepareNumber(numberContainer);
+		if(numberToConvert != null) {
+			numberContainer.setTransformed(convertNumber(numberToConvert));
+		}
+		
+	}
+
+	/**
+	 * Applies any pre-massaging to be done on the number string of the container, unless it is a {@link StrippedNumberContainer} with the stripped number. 
+	 * If the number is invalid the errors are fed to the container.
+	 * @param numberContainer Transformer Container which has the number string which needs to be converted.
+	 * @return The number string after massaging, or null if the number is invalid
+	 */
+	protected String prepareNumber(TransformerContainer<?> numberContainer) {
 		String numberToConvert;
-		if(parentTransformer != null) {
+		if (numberContainer instanceof StrippedNumberContainer && ((StrippedNumberContainer<?>) numberContainer).getStrippedInput() != null) {
+			// Already stripped and validated as it was read
+			numberToConvert = ((StrippedNumberContainer<?>) numberContainer).getStrippedInput();
+		}
+		else if(parentTransformer != null) {
 			String numberInRawForm = numberContainer.getInput();
-			TransformerContainer<String> rawNumberTransformerContainer = new TransformerContainer<String>(numberInRawForm);
+			TransformerContainer<String> rawNumberTransformerContainer = rawNumberTransformerContainers.get();
+			rawNumberTransformerContainer.reset(numberInRawForm);
 			parentTransformer.transform(rawNumberTransformerContainer);
-			if( !CollectionsUtil.isNullOrEmpty(rawNumberTransformerContainer.getErrors())) {
-				numberContainer.setErrors(rawNumberTransformerContainer.getErrors());
-				return;
+			if(rawNumberTransformerContainer.hasErrors()) {
+				numberContainer.addErrors(rawNumberTransformerContainer);
+				return null;
 			}
 			numberToConvert = rawNumberTransformerContainer.getTransformed();
 			
@@ -113,8 +209,7 @@ public class NumberConverterAlgorithm implements InputTransformer<Set<String>> {
 		else {
 			numberToConvert = numberContainer.getInput();
 		}
-		numberContainer.setTransformed(convertNumber(numberToConvert));
-		
+		return numberToConvert;
 	}
 	
 	/**
@@ -126,146 +221,236 @@ public class NumberConverterAlgorithm implements InputTransformer<Set<String>> {
 	 */
 
 	protected Set<String> convertNumber(String numberToConvert) {
-		return findMatchingCombinations(numberToConvert,true).getMatches();
+		if (isForked(numberToConvert.length())) {
+			return ForkJoinPool.commonPool().invoke(new SuffixSearch(numberToConvert, 0, true)).getMatches();
+		}
+		return findMatchingCombinations(numberToConvert, 0, true).getMatches();
 	}
 	
 	/**
-	 * Internal method which is called recursively for the suffix string to find the matching combinations of a number string
-	 * @param numberString Number string whose matching combinations is to be found.
+	 * Lazily iterates through the matching combinations of a number string. 
+	 * Unlike {@link #convertNumber(String)} the combinations are not collected in a set, 
+	 * rather each combination is built only when it is asked for, from a {@link SegmentationGraph} of the number.
+	 * So the first combination is returned without searching the others, and the memory used does not grow with the number of combinations.
+	 * The combinations are the same as the ones returned by {@link #convertNumber(String)}.
+	 * @param numberToConvert The number string, with only digits, whose matching combinations are to be found
+	 * @return Iterator over the matching combinations
+	 */
+	public Iterator<String> iterateMatches(String numberToConvert) {
+		return new SegmentationGraph(numberToConvert, dictionary, retainConsecutiveUnmatchedDigits).iterator(delimiter);
+	}
+
+	/**
+	 * Lazily streams the matching combinations of a number string. It is backed by {@link #iterateMatches(String)},
+	 * so a combination is only built when the stream pulls it, and the stream can be short-circuited, say to get the first few combinations.
+	 * @param numberToConvert The number string, with only digits, whose matching combinations are to be found
+	 * @return Sequential stream of the matching combinations
+	 */
+	public Stream<String> streamMatches(String numberToConvert) {
+		Spliterator<String> spliterator = Spliterators.spliteratorUnknownSize(iterateMatches(numberToConvert),
+				Spliterator.ORDERED | Spliterator.NONNULL);
+		return StreamSupport.stream(spliterator, false);
+	}
+
+	/**
+	 * Counts the matching combinations of a number string without building any of them. 
+	 * The combinations of each suffix of the number are counted once on a {@link SegmentationGraph} of the number,
+	 * by multiplying the no. of words of each segment with the count for the suffix after it.
+	 * So it returns quickly even for numbers which have billions of matching combinations.
+	 * @param numberToConvert The number string, with only digits, whose matching combinations are to be counted
+	 * @return Count of the exact and partial matching combinations
+	 */
+	public MatchCount countMatches(String numberToConvert) {
+		return new SegmentationGraph(numberToConvert, dictionary, retainConsecutiveUnmatchedDigits).countMatches();
+	}
+
+	/**
+	 * Internal method which is called recursively for the suffix string to find the matching combinations of a number string.
+	 * The suffix is passed as an offset in the complete number string, so no new string is created for it.
+	 * @param numberString Complete number string which is being converted.
+	 * @param offset Index in the number string where the suffix, whose matching combinations is to be found, starts.
 	 * @param previousPrefixHasDictMatches This is true if the previous Prefix which made the recursive call had an exact dictionary match.
 	 * @return Returns an {@link NumberConverterResultAccumulator} which stores the matching combinations for each recursive call.
 	 */
 	
-	private NumberConverterResultAccumulator findMatchingCombinations(String numberString, boolean previousPrefixHasDictMatches){
-		int numberStrLength = numberString.length();
+	private NumberConverterResultAccumulator findMatchingCombinations(String numberString, int offset, boolean previousPrefixHasDictMatches){
+		int numberStrLength = numberString.length() - offset;
 		// System.out.println(Arrays.toString(retainConsecutiveUnmatchedDigits));
-		NumberConverterResultAccumulator result = new NumberConverterResultAccumulator();
-		for(int index =0; index< numberStrLength;index++) {
+		NumberConverterResultAccumulator result = getCachedSuffixResult(numberString, offset, previousPrefixHasDictMatches);
+		if (result != null) {
+			return result;
+		}
+		result = new NumberConverterResultAccumulator(delimiter);
+		Set<String>[] prefixMatchesByLength = findPrefixMatches(dictionary, numberString, offset, maxRetainedDigits);
+		// When forked, the matches of each prefix and of its suffix are kept by the prefix length till all the searches are joined,
+		// and are then concatenated in the order of the prefix length, same as without forking, so the matches are added in the same order
+		boolean forkSuffixSearches = ForkJoinTask.inForkJoinPool() && isForked(numberStrLength - 1);
+		@SuppressWarnings({ "rawtypes", "unchecked" })
+		Set<String>[] joinedPrefixMatches = forkSuffixSearches ? new Set[prefixMatchesByLength.length] : null;
+		boolean[] joinedPrefixesHaveDictMatches = forkSuffixSearches ? new boolean[prefixMatchesByLength.length] : null;
+		NumberConverterResultAccumulator[] joinedSuffixResults = forkSuffixSearches
+				? new NumberConverterResultAccumulator[prefixMatchesByLength.length] : null;
+		SuffixSearch[] suffixSearches = forkSuffixSearches ? new SuffixSearch[prefixMatchesByLength.length] : null;
+		Set<String> wholeSuffixMatches = null;
+		boolean wholeSuffixHasDictMatches = true;
+		for(int index =0; index< prefixMatchesByLength.length - 1;index++) {
 			// System.out.println(retainConsecutiveUnmatchedDigits);
 			boolean prefixHasDictMatches = true;
-			String numberPrefix = numberString.substring(0, index+1);
-			Set<String> prefixMatches = dictionary.findMatchingWords(numberPrefix);
+			Set<String> prefixMatches = prefixMatchesByLength[index + 1];
 			if (previousPrefixHasDictMatches && CollectionsUtil.isNullOrEmpty(prefixMatches)
 					&& CollectionsUtil.anyMatch(retainConsecutiveUnmatchedDigits, index + 1)) {
-				prefixMatches = new HashSet<String>();
-				prefixMatches.add(numberPrefix);
+				prefixMatches = NumberConverterResultAccumulator.retainedDigits(numberString, offset, offset+index+1);
 				prefixHasDictMatches = false;
 			}
 			// Go for a recursive suffix call only if 
 			// 1. prefix has some match either from the dictionary or by keeping the digit(s) as-is
 			// 2. And we have not reached the end of String, which is also the end of recursion in worst-case scenario
 			if(!CollectionsUtil.isNullOrEmpty(prefixMatches) && index < numberStrLength-1) {
-				String numberSuffix = numberString.substring(index+1);
-				NumberConverterResultAccumulator suffixMatchResult = findMatchingCombinations(numberSuffix, prefixHasDictMatches);
-				Set<String> suffixExactMatches = suffixMatchResult.getExactDictionaryMatches();
-				Set<String> suffixPartialMatches = suffixMatchResult.getPartialDictionaryMatches();
-				if(prefixHasDictMatches) {
-					result.concatenatePrefixAndSuffixMatches(prefixMatches, suffixExactMatches, false);
-					result.concatenatePrefixAndSuffixMatches(prefixMatches, suffixPartialMatches, true);
-				}
-				else {
-					result.concatenatePrefixAndSuffixMatches(prefixMatches, suffixExactMatches, true);
-					result.concatenatePrefixAndSuffixMatches(prefixMatches, suffixPartialMatches, true);
+				if (forkSuffixSearches) {
+					joinedPrefixMatches[index] = prefixMatches;
+					joinedPrefixesHaveDictMatches[index] = prefixHasDictMatches;
+					if (isForked(numberStrLength - index - 1)) {
+						suffixSearches[index] = new SuffixSearch(numberString, offset+index+1, prefixHasDictMatches);
+						suffixSearches[index].fork();
+					} else {
+						joinedSuffixResults[index] = findMatchingCombinations(numberString, offset+index+1, prefixHasDictMatches);
+					}
+					continue;
 				}
+				NumberConverterResultAccumulator suffixMatchResult = findMatchingCombinations(numberString, offset+index+1, prefixHasDictMatches);
+				concatenatePrefixAndSuffixMatches(result, prefixMatches, prefixHasDictMatches, suffixMatchResult);
 			}
 			else if(!CollectionsUtil.isNullOrEmpty(prefixMatches) && index == numberStrLength-1) {
-				result.addMatches(prefixMatches, !prefixHasDictMatches);
+				if (forkSuffixSearches) {
+					// Added after the searches are joined, same as without forking where it is the last prefix, since it is left out if they find an exact match
+					wholeSuffixMatches = prefixMatches;
+					wholeSuffixHasDictMatches = prefixHasDictMatches;
+				} else {
+					result.addMatches(prefixMatches, !prefixHasDictMatches);
+				}
+			}
+		}
+		if (forkSuffixSearches) {
+			// Joined in the reverse order of forking, so the tasks not yet stolen by other threads are run by this thread
+			for (int index = suffixSearches.length - 1; index >= 0; index--) {
+				if (suffixSearches[index] != null) {
+					joinedSuffixResults[index] = suffixSearches[index].join();
+				}
+			}
+			for (int index = 0; index < joinedSuffixResults.length; index++) {
+				if (joinedSuffixResults[index] != null) {
+					concatenatePrefixAndSuffixMatches(result, joinedPrefixMatches[index], joinedPrefixesHaveDictMatches[index],
+							joinedSuffixResults[index]);
+				}
 			}
+			result.addMatches(wholeSuffixMatches, !wholeSuffixHasDictMatches);
 		}
+		cacheSuffixResult(numberString, offset, previousPrefixHasDictMatches, result);
 		return result;
 	}
 
-
 	/**
-	 * Utility class which stores the matching combinations for each recursive call for the suffix string.
+	 * Returns the matches of the suffix found earlier for any number, if the suffixes are cached.
+	 * The matches of a whole number are never cached, so the sets returned for a number are not shared with the cache.
+	 * @return The cached matches of the suffix, or null if they are not cached
 	 */
-	private class NumberConverterResultAccumulator {
+	protected NumberConverterResultAccumulator getCachedSuffixResult(String numberString, int offset, boolean previousPrefixHasDictMatches) {
+		if (suffixResultCache == null || offset == 0) {
+			return null;
+		}
+		return suffixResultCache.get(numberString, offset, previousPrefixHasDictMatches);
+	}
 
-		/**
-		 * Set of exact matches i.e. the match does not contain any digit.
-		 */
-		private Set<String> exactDictionaryMatches;
-		/**
-		 * Set of partial matches. i.e. each match in the set has atleast one digit unchanged.
-		 */
-		private Set<String> partialDictionaryMatches;
+	/**
+	 * Caches the matches of the suffix for the other numbers, if the suffixes are cached.
+	 */
+	protected void cacheSuffixResult(String numberString, int offset, boolean previousPrefixHasDictMatches, NumberConverterResultAccumulator result) {
+		if (suffixResultCache != null && offset > 0) {
+			suffixResultCache.put(numberString, offset, previousPrefixHasDictMatches, result);
+		}
+	}
 
-		private NumberConverterResultAccumulator() {
-			exactDictionaryMatches = new HashSet<String>();
-			partialDictionaryMatches = new HashSet<String>();
+	private void concatenatePrefixAndSuffixMatches(NumberConverterResultAccumulator result, Set<String> prefixMatches,
+			boolean prefixHasDictMatches, NumberConverterResultAccumulator suffixMatchResult) {
+		WordCombinations suffixExactMatches = suffixMatchResult.getExactDictionaryMatches();
+		WordCombinations suffixPartialMatches = suffixMatchResult.getPartialDictionaryMatches();
+		if(prefixHasDictMatches) {
+			result.concatenatePrefixAndSuffixMatches(prefixMatches, suffixExactMatches, false);
+			result.concatenatePrefixAndSuffixMatches(prefixMatches, suffixPartialMatches, true);
+		}
+		else {
+			result.concatenatePrefixAndSuffixMatches(prefixMatches, suffixExactMatches, true);
+			result.concatenatePrefixAndSuffixMatches(prefixMatches, suffixPartialMatches, true);
 		}
+	}
 
-		/**
-		 * This method would expect two sets prefixMatches and suffixMatches. 
-		 * The matches from two sets are concatenated separated by a delimiter.
-		 * Each set will have either all Partial Matches or all Complete Matches, but if any of the
-		 * set is of partial matches then the concatenated strings would go in the partialDictionaryMatches
-		 * 
-		 * @param prefixMatches Set of matching replacement words for the prefix of a number
-		 * @param suffixMatches Set of matching replacement words for the suffix of a number
-		 * @param hasPartialMatches If either of the set has partial dictionary matches, this value has to be passed as true
-		 */
-		private void concatenatePrefixAndSuffixMatches(Set<String> prefixMatches, Set<String> suffixMatches, boolean hasPartialMatches) {
-			if (CollectionsUtil.isNullOrEmpty(prefixMatches) || CollectionsUtil.isNullOrEmpty(suffixMatches))
-				return;
-			for (String prefixMatch : prefixMatches) {
-				for (String suffixMatch : suffixMatches) {
-					StringBuilder concatenatedString = new StringBuilder();
-					concatenatedString.append(prefixMatch).append(delimiter).append(suffixMatch);
-					if (hasPartialMatches) {
-						partialDictionaryMatches.add(concatenatedString.toString());
-					} else {
-						exactDictionaryMatches.add(concatenatedString.toString());
-					}
-				}
-			}
+	/**
+	 * If the search of a number or suffix of the given no. of digits is to be forked
+	 */
+	private boolean isForked(int digitsCount) {
+		return forkThreshold > 0 && digitsCount >= forkThreshold;
+	}
 
-		}
+	/**
+	 * Task which searches the matching combinations of a suffix on the fork-join pool
+	 */
+	private class SuffixSearch extends RecursiveTask<NumberConverterResultAccumulator> {
+		private static final long serialVersionUID = 1L;
 
-		/**
-		 * This is a method to store the matches as is.
-		 * @param matches Matches to be stored.
-		 * @param hasPartialMatches If either of the set has partial dictionary matches, this value has to be passed as true
-		 */
-		private void addMatches(Set<String> matches, boolean hasPartialMatches) {
-			if (!exactDictionaryMatches.isEmpty() && hasPartialMatches)
-				return;
-			if (CollectionsUtil.isNullOrEmpty(matches) || CollectionsUtil.isNullOrEmpty(matches))
-				return;
-			if (hasPartialMatches) {
-				partialDictionaryMatches.addAll(matches);
-			} else {
-				exactDictionaryMatches.addAll(matches);
-			}
+		private final String numberString;
 
-		}
+		private final int offset;
 
 		/**
-		 * 
-		 * @return Set of Exact dictionary matches
+		 * If the prefix before the suffix had an exact dictionary match
 		 */
-		private Set<String> getExactDictionaryMatches() {
-			return exactDictionaryMatches;
-		}
+		private final boolean hasDictMatches;
 
-		/**
-		 * 
-		 * @return Set of partial dictionary matches
-		 */
-		private Set<String> getPartialDictionaryMatches() {
-			return partialDictionaryMatches;
+		private SuffixSearch(String numberString, int offset, boolean hasDictMatches) {
+			this.numberString = numberString;
+			this.offset = offset;
+			this.hasDictMatches = hasDictMatches;
 		}
-		
-		/**
-		 * @return Returns set of matches. Only if there is no exact match, the set of partial matches is returned, else the set of exact matches is returned.
-		 */
 
-		private Set<String> getMatches() {
-			if (exactDictionaryMatches.size() > 0)
-				return exactDictionaryMatches;
-			else
-				return partialDictionaryMatches;
+		@Override
+		protected NumberConverterResultAccumulator compute() {
+			return findMatchingCombinations(numberString, offset, hasDictMatches);
 		}
+	}
 
+	/**
+	 * Finds the dictionary matches of all the prefixes of the number string starting at the offset, in one walk of the dictionary.
+	 * @param dictionary Dictionary to be searched
+	 * @param numberString Number string whose prefixes are to be searched
+	 * @param offset Index in the number string where the prefixes start
+	 * @param maxRetainedDigits The longest run of consecutive digits which can remain as-is
+	 * @return Array whose element at index i has the words matching the prefix of length i, or null if there is no match.
+	 * It is only as long as needed to cover the longest matching prefix and the longest prefix which can remain as-is.
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	static Set<String>[] findPrefixMatches(Dictionary dictionary, String numberString, int offset, int maxRetainedDigits) {
+		int suffixLength = numberString.length() - offset;
+		Set<String>[] prefixMatches = new Set[suffixLength + 1];
+		int[] longestMatch = { 0 };
+		dictionary.findMatchingWordsFrom(numberString, offset, (end, words) -> {
+			prefixMatches[end - offset] = words;
+			longestMatch[0] = end - offset;
+		});
+		int prefixesToSearch = Math.min(suffixLength, Math.max(longestMatch[0], maxRetainedDigits));
+		return prefixesToSearch == suffixLength ? prefixMatches : Arrays.copyOf(prefixMatches, prefixesToSearch + 1);
 	}
+
+	/**
+	 * Returns the longest run of consecutive digits which can remain as-is, 0 if no digit can remain as-is.
+	 */
+	static int maxRetainedDigits(int[] retainConsecutiveUnmatchedDigits) {
+		int maxRetainedDigits = 0;
+		if (retainConsecutiveUnmatchedDigits != null) {
+			for (int retainedDigits : retainConsecutiveUnmatchedDigits) {
+				maxRetainedDigits = Math.max(maxRetainedDigits, retainedDigits);
+			}
+		}
+		return maxRetainedDigits;
+	}
+
 }
@@ -0,0 +1,160 @@
+package com.aconex.challenge.numbertowords.converter;
+
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Set;
+
+import com.aconex.challenge.numbertowords.util.CollectionsUtil;
+
+/**
+ * Utility class which stores the matching combinations for each recursive call for the suffix string.
+ * It is shared by the different converter engines so that all of them concatenate and classify the matches in exactly the same way.
+ *
+ * <p>The matches are kept as {@link WordCombinations}, where concatenating a match of the prefix with a match of the suffix
+ * only refers to the word and to the combination of the suffix. So the intermediate strings are never built,
+ * and the words are joined with the delimiter only when the matches of the whole number are written out.
+ * The digits of a prefix which are retained as-is are passed as {@link #retainedDigits(String, int, int)},
+ * which refers to the digits in the number string instead of creating a string of them.
+ *
+ * @author Abhishek Agarwal
+ *
+ */
+class NumberConverterResultAccumulator {
+
+	/**
+	 * Set of exact matches i.e. the match does not contain any digit.
+	 */
+	private final WordCombinations exactDictionaryMatches;
+	/**
+	 * Set of partial matches. i.e. each match in the set has atleast one digit unchanged.
+	 */
+	private final WordCombinations partialDictionaryMatches;
+
+	/**
+	 * Delimiter to be used to concatenate the matches of the prefix and suffix.
+	 */
+	private final String delimiter;
+
+	NumberConverterResultAccumulator(String delimiter) {
+		this.delimiter = delimiter;
+		exactDictionaryMatches = new WordCombinations();
+		partialDictionaryMatches = new WordCombinations();
+	}
+
+	/**
+	 * Returns the matches of a prefix whose digits are retained as-is
+	 * @param numberString Complete number string which is being converted
+	 * @param start Index in the number string where the prefix starts
+	 * @param end End index (exclusive) of the prefix
+	 * @return The digits of the prefix, as a set of one match
+	 */
+	static Set<String> retainedDigits(String numberString, int start, int end) {
+		return new RetainedDigits(numberString, start, end);
+	}
+
+	/**
+	 * This method would expect two sets prefixMatches and suffixMatches.
+	 * The matches from two sets are concatenated separated by a delimiter.
+	 * Each set will have either all Partial Matches or all Complete Matches, but if any of the
+	 * set is of partial matches then the concatenated strings would go in the partialDictionaryMatches
+	 *
+	 * @param prefixMatches Set of matching replacement words for the prefix of a number, or its {@link #retainedDigits(String, int, int)}
+	 * @param suffixMatches Set of matching replacement words for the suffix of a number
+	 * @param hasPartialMatches If either of the set has partial dictionary matches, this value has to be passed as true
+	 */
+	void concatenatePrefixAndSuffixMatches(Set<String> prefixMatches, WordCombinations suffixMatches, boolean hasPartialMatches) {
+		if (CollectionsUtil.isNullOrEmpty(prefixMatches) || CollectionsUtil.isNullOrEmpty(suffixMatches))
+			return;
+		WordCombinations matches = hasPartialMatches ? partialDictionaryMatches : exactDictionaryMatches;
+		if (prefixMatches instanceof RetainedDigits) {
+			RetainedDigits digits = (RetainedDigits) prefixMatches;
+			for (WordCombination suffixMatch : suffixMatches.combinations()) {
+				matches.add(new WordCombination(digits.numberString, digits.start, digits.end, delimiter, suffixMatch));
+			}
+			return;
+		}
+		for (String prefixMatch : prefixMatches) {
+			for (WordCombination suffixMatch : suffixMatches.combinations()) {
+				matches.add(new WordCombination(prefixMatch, delimiter, suffixMatch));
+			}
+		}
+
+	}
+
+	/**
+	 * This is a method to store the matches as is.
+	 * @param matches Matches to be stored.
+	 * @param hasPartialMatches If either of the set has partial dictionary matches, this value has to be passed as true
+	 */
+	void addMatches(Set<String> matches, boolean hasPartialMatches) {
+		if (!exactDictionaryMatches.isEmpty() && hasPartialMatches)
+			return;
+		if (CollectionsUtil.isNullOrEmpty(matches) || CollectionsUtil.isNullOrEmpty(matches))
+			return;
+		WordCombinations combinations = hasPartialMatches ? partialDictionaryMatches : exactDictionaryMatches;
+		if (matches instanceof RetainedDigits) {
+			RetainedDigits digits = (RetainedDigits) matches;
+			combinations.add(new WordCombination(digits.numberString, digits.start, digits.end, null, null));
+			return;
+		}
+		for (String match : matches) {
+			combinations.add(new WordCombination(match));
+		}
+
+	}
+
+	/**
+	 *
+	 * @return Set of Exact dictionary matches
+	 */
+	WordCombinations getExactDictionaryMatches() {
+		return exactDictionaryMatches;
+	}
+
+	/**
+	 *
+	 * @return Set of partial dictionary matches
+	 */
+	WordCombinations getPartialDictionaryMatches() {
+		return partialDictionaryMatches;
+	}
+
+	/**
+	 * @return Returns set of matches. Only if there is no exact match, the set of partial matches is returned, else the set of exact matches is returned.
+	 */
+
+	WordCombinations getMatches() {
+		if (exactDictionaryMatches.size() > 0)
+			return exactDictionaryMatches;
+		else
+			return partialDictionaryMatches;
+	}
+
+	/**
+	 * The digits of a prefix retained as-is, which are a string only if they are iterated
+	 */
+	private static final class RetainedDigits extends AbstractSet<String> {
+		private final String numberString;
+
+		private final int start;
+
+		private final int end;
+
+		private RetainedDigits(String numberString, int start, int end) {
+			this.numberString = numberString;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		public Iterator<String> iterator() {
+			return Collections.singleton(numberString.substring(start, end)).iterator();
+		}
+
+		@Override
+		public int size() {
+			return 1;
+		}
+	}
+}
@@ -0,0 +1,323 @@
+package com.aconex.challenge.numbertowords.converter;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import com.aconex.challenge.numbertowords.dictionary.Dictionary;
+
+/**
+ * A bounded cache of the matching combinations of whole numbers, so a number repeated in the input is converted only once.
+ * The numbers are cached after they are massaged, so the numbers 2255-63 and 225563 share the same entry,
+ * see {@link CachingNumberConverter}.
+ *
+ * <p>The cache is bounded by the no. of numbers, and by the approximate memory used by their matches,
+ * where the least recently used numbers are evicted first. So a number with a lot of matches takes more of the budget than a number with a few.
+ * The numbers can also expire a while after they are cached. A limit of 0 means there is no such limit.
+ *
+ * <p>The matches of a number depend on the dictionary, the no. of consecutive digits which can remain as-is and the delimiter.
+ * The cache remembers the ones its matches were found with, and is cleared as soon as it is used with any other,
+ * say when the dictionary is populated again. The no. of hits, misses, evictions, expirations and invalidations are counted, see {@link #toString()}.
+ *
+ * <p>It is safe to be used by several threads at once. The cache is split into segments, each with its share of the limits,
+ * where the least recently used numbers of the segment are evicted once it is over its share, same as {@link SuffixResultCache}.
+ * Each segment is locked separately, so the numbers converted on several threads mostly do not wait for each other.
+ * The cached matches can not be modified.
+ * @author Abhishek Agarwal
+ *
+ */
+public class NumberResultCache {
+
+	/**
+	 * Approximate size of a cache entry apart from its matches, i.e. the map entry, the number and the entry with its weight and time
+	 */
+	private static final long ENTRY_BYTES = 120;
+
+	private static final int MAX_SEGMENTS_COUNT = 16;
+
+	private final long timeToLiveNanos;
+
+	/**
+	 * Source of the current time in nanoseconds
+	 */
+	private final LongSupplier ticker;
+
+	private final Segment[] segments;
+
+	/**
+	 * The dictionary, no. of consecutive digits which can remain as-is and the delimiter, which the cached matches were found with
+	 */
+	private volatile ResultSource resultSource;
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder evictions = new LongAdder();
+
+	private final LongAdder expirations = new LongAdder();
+
+	private final LongAdder invalidations = new LongAdder();
+
+	/**
+	 * Constructs an empty cache
+	 * @param maxNumbers Maximum no. of numbers cached, 0 for no limit
+	 * @param maxWeightBytes Approximate no. of bytes the cached matches can use, 0 for no limit
+	 * @param timeToLiveMillis Time in milliseconds after which a cached number expires, 0 if it never expires
+	 */
+	public NumberResultCache(int maxNumbers, long maxWeightBytes, long timeToLiveMillis) {
+		this(maxNumbers, maxWeightBytes, timeToLiveMillis, System::nanoTime);
+	}
+
+	NumberResultCache(int maxNumbers, long maxWeightBytes, long timeToLiveMillis, LongSupplier ticker) {
+		// Fewer segments for a cache of a few numbers, so that each segment has room for at least one number
+		this(maxNumbers, maxWeightBytes, timeToLiveMillis, ticker,
+				maxNumbers > 0 ? Math.min(MAX_SEGMENTS_COUNT, Integer.highestOneBit(maxNumbers)) : MAX_SEGMENTS_COUNT);
+	}
+
+	/**
+	 * Constructs an empty cache split into the given no. of segments, where the limits are shared equally by the segments
+	 * @param segmentsCount No. of segments, which must be a power of 2
+	 */
+	NumberResultCache(int maxNumbers, long maxWeightBytes, long timeToLiveMillis, LongSupplier ticker, int segmentsCount) {
+		this.timeToLiveNanos = TimeUnit.MILLISECONDS.toNanos(timeToLiveMillis);
+		this.ticker = ticker;
+		segments = new Segment[segmentsCount];
+		for (int index = 0; index < segmentsCount; index++) {
+			// The numbers left over after dividing equally go to the first segments
+			int segmentMaxNumbers = maxNumbers / segmentsCount + (index < maxNumbers % segmentsCount ? 1 : 0);
+			segments[index] = new Segment(segmentMaxNumbers, maxWeightBytes / segmentsCount);
+		}
+	}
+
+	/**
+	 * Clears the cache if its matches were found with a different dictionary, no. of consecutive digits which can remain as-is or delimiter.
+	 * @param dictionary Dictionary which the matches are found with
+	 * @param retainConsecutiveUnmatchedDigits No. of consecutive digits which can remain as-is
+	 * @param delimiter Delimiter which concatenates the matching words
+	 */
+	void validate(Dictionary dictionary, int[] retainConsecutiveUnmatchedDigits, String delimiter) {
+		ResultSource currentSource = resultSource;
+		if (currentSource != null && currentSource.isSame(dictionary, retainConsecutiveUnmatchedDigits, delimiter)) {
+			return;
+		}
+		synchronized (this) {
+			if (resultSource != null && resultSource.isSame(dictionary, retainConsecutiveUnmatchedDigits, delimiter)) {
+				return;
+			}
+			boolean cleared = false;
+			for (Segment segment : segments) {
+				cleared |= segment.clear();
+			}
+			if (cleared) {
+				invalidations.increment();
+			}
+			resultSource = new ResultSource(dictionary, retainConsecutiveUnmatchedDigits, delimiter);
+		}
+	}
+
+	/**
+	 * Returns the cached matches of the number.
+	 * @param number Number after it is massaged
+	 * @return The cached matches, or null if the number is not cached or has expired
+	 */
+	Set<String> get(String number) {
+		Set<String> matches = segment(number).get(number);
+		if (matches == null) {
+			misses.increment();
+		} else {
+			hits.increment();
+		}
+		return matches;
+	}
+
+	/**
+	 * Caches the matches of the number, evicting the least recently used numbers of its segment if needed.
+	 * The matches are not cached if they alone are over the memory budget of the segment.
+	 * @param number Number after it is massaged
+	 * @param matches Matches of the number, which must not be modified from now on
+	 */
+	void put(String number, Set<String> matches) {
+		Segment segment = segment(number);
+		long resultWeight = ENTRY_BYTES + 2L * number.length() + SuffixResultCache.weight(matches);
+		if (segment.maxWeightBytes > 0 && resultWeight > segment.maxWeightBytes) {
+			return;
+		}
+		segment.put(number, new CachedResult(matches, resultWeight, ticker.getAsLong()));
+	}
+
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	public long getEvictionCount() {
+		return evictions.sum();
+	}
+
+	public long getExpirationCount() {
+		return expirations.sum();
+	}
+
+	public long getInvalidationCount() {
+		return invalidations.sum();
+	}
+
+	/**
+	 * Returns the no. of numbers cached
+	 * @return the no. of numbers cached
+	 */
+	public int size() {
+		int size = 0;
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				size += segment.results.size();
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Returns the approximate no. of bytes used by the cached matches
+	 * @return the approximate no. of bytes used by the cached matches
+	 */
+	public long getWeightBytes() {
+		long weight = 0;
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				weight += segment.weight;
+			}
+		}
+		return weight;
+	}
+
+	/**
+	 * Returns the counts of hits, misses, evictions, expirations and invalidations, and the memory used by the cache
+	 */
+	@Override
+	public String toString() {
+		return "numbers: " + size() + ", hits: " + getHitCount() + ", misses: " + getMissCount() + ", evictions: " + getEvictionCount()
+				+ ", expirations: " + getExpirationCount() + ", invalidations: " + getInvalidationCount()
+				+ ", approximate memory used: " + getWeightBytes() / 1024 + " KB";
+	}
+
+	private boolean isExpired(CachedResult result) {
+		return timeToLiveNanos > 0 && ticker.getAsLong() - result.cachedTime >= timeToLiveNanos;
+	}
+
+	private Segment segment(String number) {
+		int hash = number.hashCode();
+		return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+	}
+
+	/**
+	 * A part of the cache with its own lock and its share of the limits, which keeps its numbers in the order they were last used
+	 */
+	private class Segment {
+		private final int maxNumbers;
+
+		private final long maxWeightBytes;
+
+		private final Map<String, CachedResult> results = new LinkedHashMap<String, CachedResult>(16, 0.75f, true);
+
+		private long weight;
+
+		private Segment(int maxNumbers, long maxWeightBytes) {
+			this.maxNumbers = maxNumbers;
+			this.maxWeightBytes = maxWeightBytes;
+		}
+
+		private synchronized Set<String> get(String number) {
+			CachedResult result = results.get(number);
+			if (result == null) {
+				return null;
+			}
+			if (isExpired(result)) {
+				weight -= results.remove(number).weight;
+				expirations.increment();
+				return null;
+			}
+			return result.matches;
+		}
+
+		private synchronized void put(String number, CachedResult result) {
+			CachedResult previous = results.put(number, result);
+			if (previous != null) {
+				weight -= previous.weight;
+			}
+			weight += result.weight;
+			Iterator<CachedResult> leastRecentlyUsed = results.values().iterator();
+			while ((maxNumbers > 0 && results.size() > maxNumbers) || (maxWeightBytes > 0 && weight > maxWeightBytes)) {
+				CachedResult evicted = leastRecentlyUsed.next();
+				leastRecentlyUsed.remove();
+				weight -= evicted.weight;
+				if (isExpired(evicted)) {
+					expirations.increment();
+				} else {
+					evictions.increment();
+				}
+			}
+		}
+
+		/**
+		 * Removes all the numbers of the segment
+		 * @return true if the segment had any number
+		 */
+		private synchronized boolean clear() {
+			boolean hadResults = !results.isEmpty();
+			results.clear();
+			weight = 0;
+			return hadResults;
+		}
+	}
+
+	/**
+	 * Matches of a number along with their approximate size and the time they were cached
+	 */
+	private static class CachedResult {
+		private final Set<String> matches;
+
+		private final long weight;
+
+		private final long cachedTime;
+
+		private CachedResult(Set<String> matches, long weight, long cachedTime) {
+			this.matches = matches;
+			this.weight = weight;
+			this.cachedTime = cachedTime;
+		}
+	}
+
+	/**
+	 * What the matches of a number depend on apart from the number
+	 */
+	private static class ResultSource {
+		private final Dictionary dictionary;
+
+		private final int[] retainConsecutiveUnmatchedDigits;
+
+		private final String delimiter;
+
+		private ResultSource(Dictionary dictionary, int[] retainConsecutiveUnmatchedDigits, String delimiter) {
+			this.dictionary = dictionary;
+			this.retainConsecutiveUnmatchedDigits = retainConsecutiveUnmatchedDigits == null ? null : retainConsecutiveUnmatchedDigits.clone();
+			this.delimiter = delimiter;
+		}
+
+		/**
+		 * The dictionary is compared by identity, since a dictionary is not modified once populated
+		 */
+		private boolean isSame(Dictionary otherDictionary, int[] otherRetainConsecutiveUnmatchedDigits, String otherDelimiter) {
+			return dictionary == otherDictionary && Arrays.equals(retainConsecutiveUnmatchedDigits, otherRetainConsecutiveUnmatchedDigits)
+					&& (delimiter == null ? otherDelimiter == null : delimiter.equals(otherDelimiter));
+		}
+	}
+}
@@ -0,0 +1,404 @@
+package com.aconex.challenge.numbertowords.converter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * A persistent store of the matching combinations of the numbers converted, so a number converted in an earlier run is not searched again.
+ * The store is an append-only log file, with a record for each number, which is written as soon as the number is converted.
+ *
+ * <p>The file has a header followed by the records, all written the way {@link DataOutputStream} writes them<br>
+ * int magic, int version, fingerprint (modified UTF-8)<br>
+ * and each record is<br>
+ * int length of the payload, int CRC32 of the payload, payload: number (modified UTF-8), int no. of matches, each match (modified UTF-8)
+ *
+ * <p>The matches of a number depend on the dictionary, the number encoding and the configuration, so the store is opened with a fingerprint of all of them.
+ * If the file was written with a different fingerprint, its records are discarded and the store starts empty.
+ * When the store is opened, only the offset of the record of each number is kept in memory. The matches are read from the file when the number is looked up.
+ * A record torn by a crash is detected by its checksum, and the file is truncated to the last good record.
+ *
+ * <p>The size of the file can be limited. When a record does not fit, the store is compacted by rewriting only the records of the numbers used in this run.
+ * If it still does not fit, the record is not stored. The no. of hits, misses, records written and compactions are counted, see {@link #toString()}.
+ *
+ * <p>It is safe to be used by several threads at once. The matches returned can not be modified.
+ * @author Abhishek Agarwal
+ *
+ */
+public class NumberResultStore implements Closeable {
+	private static final Logger LOGGER = Logger.getLogger(NumberResultStore.class.getName());
+
+	/**
+	 * Magic number at the start of the file, the bytes NCRS
+	 */
+	static final int MAGIC = 0x4E435253;
+
+	static final int VERSION = 1;
+
+	/**
+	 * Length of the length and checksum fields before the payload of a record
+	 */
+	private static final int RECORD_HEADER_BYTES = 8;
+
+	private final Path storePath;
+
+	private final String fingerprint;
+
+	private final long maxBytes;
+
+	private FileChannel channel;
+
+	/**
+	 * Size of the file, which is where the next record is appended
+	 */
+	private long size;
+
+	/**
+	 * Offset of the record of each number in the file
+	 */
+	private final Map<String, Long> recordOffsets = new ConcurrentHashMap<String, Long>();
+
+	/**
+	 * Numbers looked up or stored in this run, whose records are kept when the store is compacted
+	 */
+	private final Set<String> usedNumbers = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Records are read under the read lock, and appended or compacted under the write lock
+	 */
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder writes = new LongAdder();
+
+	private final LongAdder rejections = new LongAdder();
+
+	private final LongAdder compactions = new LongAdder();
+
+	private NumberResultStore(Path storePath, String fingerprint, long maxBytes) {
+		this.storePath = storePath;
+		this.fingerprint = fingerprint;
+		this.maxBytes = maxBytes;
+	}
+
+	/**
+	 * Opens the store at the path, creating it if it does not exist.
+	 * If the store was written with a different fingerprint its records are discarded.
+	 * @param storePath Path of the store file
+	 * @param fingerprint Fingerprint of the dictionary, the number encoding and the configuration the matches are found with
+	 * @param maxBytes Maximum size of the file in bytes, 0 for no limit
+	 * @return The opened store
+	 * @throws IOException If the file can not be read or written
+	 */
+	public static NumberResultStore open(Path storePath, String fingerprint, long maxBytes) throws IOException {
+		NumberResultStore store = new NumberResultStore(storePath, fingerprint, maxBytes);
+		store.channel = FileChannel.open(storePath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			store.load();
+		} catch (IOException | RuntimeException e) {
+			store.channel.close();
+			throw e;
+		}
+		return store;
+	}
+
+	/**
+	 * Returns the stored matches of the number.
+	 * @param number Number after it is massaged
+	 * @return The stored matches, or null if the number is not stored
+	 * @throws UncheckedIOException If the file can not be read
+	 */
+	Set<String> get(String number) {
+		lock.readLock().lock();
+		try {
+			Long offset = recordOffsets.get(number);
+			Set<String> matches = offset == null ? null : readMatches(offset);
+			if (matches == null) {
+				misses.increment();
+				return null;
+			}
+			usedNumbers.add(number);
+			hits.increment();
+			return matches;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Appends a record with the matches of the number, unless the number is already stored.
+	 * If the record does not fit in the size limit, the store is compacted first, and the record is not stored if it still does not fit.
+	 * @param number Number after it is massaged
+	 * @param matches Matches of the number
+	 * @throws UncheckedIOException If the file can not be written
+	 */
+	void put(String number, Set<String> matches) {
+		lock.writeLock().lock();
+		try {
+			if (recordOffsets.containsKey(number)) {
+				return;
+			}
+			byte[] record = encodeRecord(number, matches);
+			if (maxBytes > 0 && size + record.length > maxBytes) {
+				// Once only the numbers used in this run are left, compacting again would not free anything
+				if (usedNumbers.size() < recordOffsets.size()) {
+					compact();
+				}
+				if (size + record.length > maxBytes) {
+					rejections.increment();
+					return;
+				}
+			}
+			write(channel, ByteBuffer.wrap(record), size);
+			recordOffsets.put(number, size);
+			usedNumbers.add(number);
+			size += record.length;
+			writes.increment();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Rewrites the store with only the records of the numbers looked up or stored in this run, dropping the rest.
+	 * The store is rewritten to a temporary file, which then replaces the store file.
+	 * @throws IOException If the file can not be rewritten
+	 */
+	public void compact() throws IOException {
+		lock.writeLock().lock();
+		try {
+			// Copied in the order of the offsets, so the file is read sequentially
+			Map<Long, String> usedRecords = new TreeMap<Long, String>();
+			for (String number : usedNumbers) {
+				usedRecords.put(recordOffsets.get(number), number);
+			}
+			Path compactPath = storePath.resolveSibling(storePath.getFileName() + ".compact");
+			Map<String, Long> compactOffsets = new ConcurrentHashMap<String, Long>();
+			long compactSize;
+			try (FileChannel compactChannel = FileChannel.open(compactPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+					StandardOpenOption.TRUNCATE_EXISTING)) {
+				compactSize = write(compactChannel, ByteBuffer.wrap(encodeHeader()), 0);
+				for (Map.Entry<Long, String> usedRecord : usedRecords.entrySet()) {
+					ByteBuffer record = readRecord(usedRecord.getKey());
+					compactOffsets.put(usedRecord.getValue(), compactSize);
+					compactSize += write(compactChannel, record, compactSize);
+				}
+				compactChannel.force(false);
+			}
+			channel.close();
+			Files.move(compactPath, storePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			channel = FileChannel.open(storePath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+			LOGGER.log(Level.INFO, "Compacted result store {0} from {1} to {2} numbers, {3} KB",
+					new Object[] { storePath, recordOffsets.size(), compactOffsets.size(), compactSize / 1024 });
+			recordOffsets.clear();
+			recordOffsets.putAll(compactOffsets);
+			size = compactSize;
+			compactions.increment();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns the no. of numbers stored
+	 * @return the no. of numbers stored
+	 */
+	public int size() {
+		return recordOffsets.size();
+	}
+
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	public long getWriteCount() {
+		return writes.sum();
+	}
+
+	public long getCompactionCount() {
+		return compactions.sum();
+	}
+
+	/**
+	 * Returns the counts of hits, misses, records written, records rejected for the size limit and compactions, and the size of the file
+	 */
+	@Override
+	public String toString() {
+		return "numbers: " + size() + ", hits: " + getHitCount() + ", misses: " + getMissCount() + ", writes: " + getWriteCount()
+				+ ", rejected: " + rejections.sum() + ", compactions: " + getCompactionCount() + ", file size: " + size / 1024 + " KB";
+	}
+
+	@Override
+	public void close() throws IOException {
+		lock.writeLock().lock();
+		try {
+			channel.close();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Reads the header and the offsets of the records. If the header does not match, the file is reset to an empty store.
+	 * If the last record is torn or corrupt, the file is truncated before it.
+	 */
+	private void load() throws IOException {
+		byte[] header = encodeHeader();
+		long fileSize = channel.size();
+		if (fileSize == 0 || !isSameHeader(header)) {
+			if (fileSize > 0) {
+				LOGGER.log(Level.INFO, "Result store {0} was written for a different dictionary or configuration. Its results are discarded", storePath);
+			}
+			channel.truncate(0);
+			size = write(channel, ByteBuffer.wrap(header), 0);
+			return;
+		}
+		long offset = header.length;
+		ByteBuffer recordHeader = ByteBuffer.allocate(RECORD_HEADER_BYTES);
+		while (offset + RECORD_HEADER_BYTES <= fileSize) {
+			((Buffer) recordHeader).clear();
+			read(recordHeader, offset);
+			int payloadLength = recordHeader.getInt(0);
+			if (payloadLength < 0 || offset + RECORD_HEADER_BYTES + payloadLength > fileSize) {
+				break;
+			}
+			byte[] payload = readPayload(offset, payloadLength, recordHeader.getInt(4));
+			if (payload == null) {
+				break;
+			}
+			String number = new DataInputStream(new ByteArrayInputStream(payload)).readUTF();
+			recordOffsets.put(number, offset);
+			offset += RECORD_HEADER_BYTES + payloadLength;
+		}
+		if (offset < fileSize) {
+			LOGGER.log(Level.INFO, "Result store {0} has a torn record at offset {1}. Truncated to the last good record", new Object[] { storePath, offset });
+			channel.truncate(offset);
+		}
+		size = offset;
+		LOGGER.log(Level.INFO, "Opened result store {0} with {1} numbers", new Object[] { storePath, recordOffsets.size() });
+	}
+
+	private boolean isSameHeader(byte[] header) throws IOException {
+		if (channel.size() < header.length) {
+			return false;
+		}
+		ByteBuffer fileHeader = ByteBuffer.allocate(header.length);
+		read(fileHeader, 0);
+		((Buffer) fileHeader).flip();
+		return fileHeader.equals(ByteBuffer.wrap(header));
+	}
+
+	private byte[] encodeHeader() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+		out.writeUTF(fingerprint);
+		return bytes.toByteArray();
+	}
+
+	private static byte[] encodeRecord(String number, Set<String> matches) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(0);
+		out.writeInt(0);
+		out.writeUTF(number);
+		out.writeInt(matches.size());
+		for (String match : matches) {
+			out.writeUTF(match);
+		}
+		byte[] record = bytes.toByteArray();
+		CRC32 crc32 = new CRC32();
+		crc32.update(record, RECORD_HEADER_BYTES, record.length - RECORD_HEADER_BYTES);
+		ByteBuffer.wrap(record).putInt(record.length - RECORD_HEADER_BYTES).putInt((int) crc32.getValue());
+		return record;
+	}
+
+	private Set<String> readMatches(long offset) throws IOException {
+		ByteBuffer record = readRecord(offset);
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(record.array(), RECORD_HEADER_BYTES, record.capacity() - RECORD_HEADER_BYTES));
+		in.readUTF();
+		int matchesCount = in.readInt();
+		// Kept in the order they were written, so they are displayed the same as when the number was converted
+		Set<String> matches = new LinkedHashSet<String>(matchesCount * 2);
+		for (int index = 0; index < matchesCount; index++) {
+			matches.add(in.readUTF());
+		}
+		return Collections.unmodifiableSet(matches);
+	}
+
+	/**
+	 * Reads the whole record at the offset, including its length and checksum
+	 */
+	private ByteBuffer readRecord(long offset) throws IOException {
+		ByteBuffer recordHeader = ByteBuffer.allocate(RECORD_HEADER_BYTES);
+		read(recordHeader, offset);
+		ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_BYTES + recordHeader.getInt(0));
+		read(record, offset);
+		((Buffer) record).flip();
+		return record;
+	}
+
+	/**
+	 * Reads the payload of the record at the offset
+	 * @return The payload, or null if it does not match its checksum
+	 */
+	private byte[] readPayload(long offset, int payloadLength, int checksum) throws IOException {
+		ByteBuffer payload = ByteBuffer.allocate(payloadLength);
+		read(payload, offset + RECORD_HEADER_BYTES);
+		CRC32 crc32 = new CRC32();
+		crc32.update(payload.array(), 0, payloadLength);
+		return (int) crc32.getValue() == checksum ? payload.array() : null;
+	}
+
+	private void read(ByteBuffer buffer, long position) throws IOException {
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) < 0) {
+				throw new EOFException("Result store " + storePath + " ends in the middle of a record");
+			}
+		}
+	}
+
+	private static int write(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+		int bytesCount = buffer.remaining();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer, position + bytesCount - buffer.remaining());
+		}
+		return bytesCount;
+	}
+}
@@ -1,16 +1,44 @@
 package com.aconex.challenge.numbertowords.converter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import com.aconex.challenge.numbertowords.dictionary.transformers.InputTransformer;
+import com.aconex.challenge.numbertowords.dictionary.transformers.StrippedNumberContainer;
 import com.aconex.challenge.numbertowords.dictionary.transformers.TransformerContainer;
+import com.aconex.challenge.numbertowords.input.ByteRange;
+import com.aconex.challenge.numbertowords.input.MappedNumbersFile;
+import com.aconex.challenge.numbertowords.input.NumberLine;
 
 /**
- * It accepts multiples streams of numbers and sequentially converts each number to a word combination. Presently processing of numbers is done sequentially
- * but can be extended to do it parallel in a multi-threaded environment.
+ * It accepts multiples streams of numbers and converts each number to a word combination. 
+ * By default the numbers are converted one after another on the calling thread.
+ * 
+ * <p>If the {@link #setParallelism parallelism} is more than 1, the numbers are read in small batches which are converted concurrently by a pool of worker threads,
+ * against the same read only dictionary. The results are still handed to the call back handler on the calling thread, so the handler need not be thread safe.
+ * At most a few batches per worker are in flight at a time. If the input order is to be kept, the results of the batches are handed over in the order they were read,
+ * so the batches which finish early wait in this bounded reorder buffer till the batches before them are done. 
+ * Else the results are handed over as soon as their batch is done.
+ *
+ * <p>The numbers can also be read from {@link MappedNumbersFile memory mapped files}, which are split into ranges of bytes instead of batches of numbers.
  *
  * @author Abhishek Agarwal
  *
@@ -22,6 +50,41 @@ public class NumbersConverter {
 	 */
 	private InputTransformer<Set<String>> numberConverterAlgo;
 
+	/**
+	 * No. of numbers converted by one task of the worker threads
+	 */
+	static final int BATCH_NUMBERS = 16;
+
+	/**
+	 * Maximum no. of batches in flight for each worker thread, which bounds the memory used by the results waiting to be handed over
+	 */
+	static final int BATCHES_IN_FLIGHT_PER_THREAD = 4;
+
+	/**
+	 * No. of bytes of a memory mapped file converted by one task of the worker threads, which is a few thousand numbers
+	 */
+	static final long PARALLEL_RANGE_BYTES = 64 * 1024;
+
+	/**
+	 * No. of bytes of a memory mapped file mapped at a time, when the numbers are converted on the calling thread
+	 */
+	static final long MAPPED_RANGE_BYTES = 64 * 1024 * 1024;
+
+	/**
+	 * No. of worker threads converting the numbers. 1 means the numbers are converted on the calling thread.
+	 */
+	private int parallelism = 1;
+
+	/**
+	 * If the results are handed over in the order of the numbers, when the numbers are converted by worker threads
+	 */
+	private boolean preserveOrder = true;
+
+	/**
+	 * If the containers of the numbers are reused, see {@link #setReuseContainers(boolean)}
+	 */
+	private boolean reuseContainers;
+
 	/**
 	 * Initializes with the Number Converter Algorithm object which is used to
 	 * find matching word combinations for each number string
@@ -33,6 +96,33 @@ public class NumbersConverter {
 	}
 
 
+	/**
+	 * Sets the no. of worker threads which convert the numbers concurrently. The transformers the numbers are converted with must be thread safe if it is more than 1.
+	 * @param parallelism No. of worker threads. 1 or less means the numbers are converted on the calling thread.
+	 */
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Sets if the results are handed over in the same order as the numbers, when the numbers are converted by worker threads. 
+	 * The results of the numbers converted on the calling thread are always in order.
+	 * @param preserveOrder true if the results are to be handed over in the order of the numbers
+	 */
+	public void setPreserveOrder(boolean preserveOrder) {
+		this.preserveOrder = preserveOrder;
+	}
+
+	/**
+	 * Sets if the container of a number is reset and reused for another number once the call back handler has processed it,
+	 * instead of creating a container for every number. Then the call back handler must not keep the container, or refer to it later.
+	 * The numbers converted on the calling thread share one container, and the containers of a batch converted by the worker threads are reused for a later batch.
+	 * @param reuseContainers true if the containers are to be reused
+	 */
+	public void setReuseContainers(boolean reuseContainers) {
+		this.reuseContainers = reuseContainers;
+	}
+
 	/**
 	 *
 	 * @param numberStreams A List of number streams where each element of the stream is a number whose mapping word combinations is to be found.
@@ -41,13 +131,235 @@ public class NumbersConverter {
 	 */
 	public void convertNumbers(List<Stream<String>> numberStreams,
 			Consumer<TransformerContainer<Set<String>>> consumer) {
+		convertNumbers(numberStreams, numberConverterAlgo, consumer);
+	}
+
+	/**
+	 * Transforms each number with the given transformer instead of the algorithm this converter is initialized with.
+	 * Say to count the matching combinations of each number using {@link MatchCountTransformer}.
+	 * @param <T> This is the type of the result which comes out of transforming a number.
+	 * @param numberStreams A List of number streams where each element of the stream is a number which is to be transformed.
+	 * @param numberTransformer Transformer which is applied on each number.
+	 * @param consumer Call back handler which processes the result.
+	 */
+	public <T> void convertNumbers(List<Stream<String>> numberStreams, InputTransformer<T> numberTransformer,
+			Consumer<TransformerContainer<T>> consumer) {
+		if (parallelism > 1) {
+			convertNumbersInParallel(numberStreams, numberTransformer, consumer);
+			return;
+		}
+		TransformerContainer<T> reusedContainer = new TransformerContainer<T>(null);
 		numberStreams.stream()
 				.forEach((input) -> input.forEach((numberString) -> {
-					TransformerContainer<Set<String>> numberContainer = new TransformerContainer<Set<String>>(
-							numberString);
-				numberConverterAlgo.transform(numberContainer);
+					TransformerContainer<T> numberContainer = reuseContainers ? reusedContainer : new TransformerContainer<T>(null);
+					numberContainer.reset(numberString);
+				numberTransformer.transform(numberContainer);
 				consumer.accept(numberContainer);
 				})
 		);
 	}
+
+	/**
+	 * Converts the numbers of the memory mapped files, with the algorithm this converter is initialized with.
+	 * @param numbersFiles Files of numbers whose mapping word combinations are to be found.
+	 * @param consumer Call back handler which processes the result.
+	 * @throws IOException If a file can not be read
+	 */
+	public void convertNumberFiles(List<MappedNumbersFile> numbersFiles,
+			Consumer<TransformerContainer<Set<String>>> consumer) throws IOException {
+		convertNumberFiles(numbersFiles, numberConverterAlgo, consumer);
+	}
+
+	/**
+	 * Transforms each number of the memory mapped files with the given transformer. The lines are scanned without decoding them to strings first, 
+	 * and the valid numbers are handed to the transformer already stripped, see {@link StrippedNumberContainer}.
+	 * If the parallelism is more than 1, each file is split into ranges of bytes which are read and converted by the worker threads,
+	 * else the files are read one range after another on the calling thread.
+	 * @param <T> This is the type of the result which comes out of transforming a number.
+	 * @param numbersFiles Files of numbers which are to be transformed.
+	 * @param numberTransformer Transformer which is applied on each number.
+	 * @param consumer Call back handler which processes the result.
+	 * @throws IOException If a file can not be read
+	 */
+	public <T> void convertNumberFiles(List<MappedNumbersFile> numbersFiles, InputTransformer<T> numberTransformer,
+			Consumer<TransformerContainer<T>> consumer) throws IOException {
+		if (parallelism > 1) {
+			Queue<List<TransformerContainer<T>>> reusableBatches = newReusableBatches();
+			List<Callable<List<TransformerContainer<T>>>> rangeTasks = new ArrayList<Callable<List<TransformerContainer<T>>>>();
+			for (MappedNumbersFile numbersFile : numbersFiles) {
+				for (ByteRange range : numbersFile.splitBySize(PARALLEL_RANGE_BYTES)) {
+					rangeTasks.add(() -> convertRange(numbersFile, range, numberTransformer, reusableBatches));
+				}
+			}
+			convertBatchesInParallel(rangeTasks.iterator(), consumer, reusableBatches);
+			return;
+		}
+		StrippedNumberContainer<T> reusedContainer = new StrippedNumberContainer<T>(null, null);
+		for (MappedNumbersFile numbersFile : numbersFiles) {
+			for (ByteRange range : numbersFile.splitBySize(MAPPED_RANGE_BYTES)) {
+				numbersFile.forEachLine(range, (numberLine) -> {
+					StrippedNumberContainer<T> numberContainer = reuseContainers ? reusedContainer : new StrippedNumberContainer<T>(null, null);
+					resetNumberContainer(numberContainer, numberLine);
+					numberTransformer.transform(numberContainer);
+					consumer.accept(numberContainer);
+				});
+			}
+		}
+	}
+
+	/**
+	 * Internal method which reads the numbers of all the streams in batches, converts the batches on the worker threads,
+	 * and hands the results over on the calling thread.
+	 */
+	private <T> void convertNumbersInParallel(List<Stream<String>> numberStreams, InputTransformer<T> numberTransformer,
+			Consumer<TransformerContainer<T>> consumer) {
+		Iterator<Stream<String>> streams = numberStreams.iterator();
+		Queue<List<TransformerContainer<T>>> reusableBatches = newReusableBatches();
+		Iterator<Callable<List<TransformerContainer<T>>>> batchTasks = new Iterator<Callable<List<TransformerContainer<T>>>>() {
+			private Iterator<String> numbers = Collections.emptyIterator();
+
+			@Override
+			public boolean hasNext() {
+				while (!numbers.hasNext() && streams.hasNext()) {
+					numbers = streams.next().iterator();
+				}
+				return numbers.hasNext();
+			}
+
+			@Override
+			public Callable<List<TransformerContainer<T>>> next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				List<String> batch = new ArrayList<String>(BATCH_NUMBERS);
+				while (numbers.hasNext() && batch.size() < BATCH_NUMBERS) {
+					batch.add(numbers.next());
+				}
+				return () -> convertBatch(batch, numberTransformer, reusableBatches);
+			}
+		};
+		convertBatchesInParallel(batchTasks, consumer, reusableBatches);
+	}
+
+	/**
+	 * Internal method which converts the batches on the worker threads, and hands the results over on the calling thread,
+	 * either in the order of the batches or as soon as each batch is done. The containers of a batch are then reused if the queue of reusable batches is given.
+	 */
+	private <T> void convertBatchesInParallel(Iterator<Callable<List<TransformerContainer<T>>>> batchTasks,
+			Consumer<TransformerContainer<T>> consumer, Queue<List<TransformerContainer<T>>> reusableBatches) {
+		ExecutorService workers = Executors.newFixedThreadPool(parallelism);
+		CompletionService<List<TransformerContainer<T>>> completedBatches = new ExecutorCompletionService<List<TransformerContainer<T>>>(workers);
+		Queue<Future<List<TransformerContainer<T>>>> batchesInFlight = new ArrayDeque<Future<List<TransformerContainer<T>>>>();
+		int maxBatchesInFlight = parallelism * BATCHES_IN_FLIGHT_PER_THREAD;
+		try {
+			while (batchTasks.hasNext()) {
+				Callable<List<TransformerContainer<T>>> batchTask = batchTasks.next();
+				// In order, the batches are waited for in the order they are submitted. Else in the order they complete.
+				batchesInFlight.add(preserveOrder ? workers.submit(batchTask) : completedBatches.submit(batchTask));
+				if (batchesInFlight.size() >= maxBatchesInFlight) {
+					handOverNextBatch(batchesInFlight, completedBatches, consumer, reusableBatches);
+				}
+			}
+			while (!batchesInFlight.isEmpty()) {
+				handOverNextBatch(batchesInFlight, completedBatches, consumer, reusableBatches);
+			}
+		} finally {
+			workers.shutdownNow();
+		}
+	}
+
+	private <T> List<TransformerContainer<T>> convertRange(MappedNumbersFile numbersFile, ByteRange range, InputTransformer<T> numberTransformer,
+			Queue<List<TransformerContainer<T>>> reusableBatches) throws IOException {
+		List<TransformerContainer<T>> numberContainers = reusableBatch(reusableBatches);
+		int[] count = { 0 };
+		numbersFile.forEachLine(range, (numberLine) -> {
+			StrippedNumberContainer<T> numberContainer = numberContainerAt(numberContainers, count[0]++);
+			resetNumberContainer(numberContainer, numberLine);
+			numberTransformer.transform(numberContainer);
+		});
+		numberContainers.subList(count[0], numberContainers.size()).clear();
+		return numberContainers;
+	}
+
+	/**
+	 * A valid number is handed over already stripped. An invalid one is left to the transformer, which reports the errors same as for the streams.
+	 */
+	private static <T> void resetNumberContainer(StrippedNumberContainer<T> numberContainer, NumberLine numberLine) {
+		numberContainer.reset(numberLine.lineToString(), numberLine.isValid() ? numberLine.digitsToString() : null);
+	}
+
+	private <T> List<TransformerContainer<T>> convertBatch(List<String> batch, InputTransformer<T> numberTransformer,
+			Queue<List<TransformerContainer<T>>> reusableBatches) {
+		List<TransformerContainer<T>> numberContainers = reusableBatch(reusableBatches);
+		for (int index = 0; index < batch.size(); index++) {
+			TransformerContainer<T> numberContainer = numberContainerAt(numberContainers, index);
+			numberContainer.reset(batch.get(index));
+			numberTransformer.transform(numberContainer);
+		}
+		numberContainers.subList(batch.size(), numberContainers.size()).clear();
+		return numberContainers;
+	}
+
+	/**
+	 * Returns the queue of the batches whose results are handed over, if the containers are reused, else null
+	 */
+	private <T> Queue<List<TransformerContainer<T>>> newReusableBatches() {
+		return reuseContainers ? new ConcurrentLinkedQueue<List<TransformerContainer<T>>>() : null;
+	}
+
+	/**
+	 * Takes the containers of a batch whose results are handed over, or else a new list
+	 */
+	private static <T> List<TransformerContainer<T>> reusableBatch(Queue<List<TransformerContainer<T>>> reusableBatches) {
+		List<TransformerContainer<T>> numberContainers = reusableBatches == null ? null : reusableBatches.poll();
+		return numberContainers == null ? new ArrayList<TransformerContainer<T>>(BATCH_NUMBERS) : numberContainers;
+	}
+
+	/**
+	 * Returns the container at the index of the batch, adding a new one if the batch is not as big.
+	 * All the containers of the batches are created here, so that they can be reset for both the streams and the memory mapped files.
+	 */
+	private static <T> StrippedNumberContainer<T> numberContainerAt(List<TransformerContainer<T>> numberContainers, int index) {
+		if (index < numberContainers.size()) {
+			return (StrippedNumberContainer<T>) numberContainers.get(index);
+		}
+		StrippedNumberContainer<T> numberContainer = new StrippedNumberContainer<T>(null, null);
+		numberContainers.add(numberContainer);
+		return numberContainer;
+	}
+
+	/**
+	 * Waits for the oldest batch in flight if the order is to be kept, else for any batch which is done, and hands its results over to the call back handler.
+	 * The containers of the batch are then queued to be reused, if the queue of reusable batches is given.
+	 */
+	private <T> void handOverNextBatch(Queue<Future<List<TransformerContainer<T>>>> batchesInFlight,
+			CompletionService<List<TransformerContainer<T>>> completedBatches, Consumer<TransformerContainer<T>> consumer,
+			Queue<List<TransformerContainer<T>>> reusableBatches) {
+		try {
+			// When the order is not kept, the queue only counts the batches in flight and the batch done first is taken instead
+			Future<List<TransformerContainer<T>>> batch = batchesInFlight.poll();
+			if (!preserveOrder) {
+				batch = completedBatches.take();
+			}
+			List<TransformerContainer<T>> numberContainers = batch.get();
+			numberContainers.forEach(consumer);
+			if (reusableBatches != null) {
+				reusableBatches.add(numberContainers);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while converting the numbers", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			if (e.getCause() instanceof IOException) {
+				throw new UncheckedIOException((IOException) e.getCause());
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
 }
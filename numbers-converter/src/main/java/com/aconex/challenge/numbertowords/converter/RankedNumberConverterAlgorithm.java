@@ -0,0 +1,237 @@
+package com.aconex.challenge.numbertowords.converter;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.aconex.challenge.numbertowords.dictionary.Dictionary;
+import com.aconex.challenge.numbertowords.dictionary.transformers.InputTransformer;
+
+/**
+ * A variant of {@link NumberConverterAlgorithm} which returns only the best few matching combinations of a number, as scored by a {@link MatchScorer},
+ * without finding all the other combinations.
+ *
+ * <p>The combinations are searched best first on the {@link SegmentationGraph} of the number.
+ * Since the score of a combination is the sum of the costs of its segments, first the lowest cost to reach the end of the number
+ * from each offset is found, going backwards from the end of the number.
+ * Then the partly built combinations are kept ordered by their cost so far plus the lowest cost to complete them.
+ * The partly built combination with the lowest such cost is extended one segment at a time,
+ * and when the end of the number is reached no other combination can have a lower cost. So the search stops as soon as the required no. of combinations are found.
+ *
+ * <p>Each of the partly built combinations can be completed, so no more of them are kept than the no. of combinations still to be found.
+ *
+ * <p>The combinations are chosen from the same matches as {@link NumberConverterAlgorithm} i.e. partial matches are chosen only if there is no exact match.
+ * They are returned in the order of their score, best first. Combinations with the same score are returned in the order they are found.
+ *
+ * @author Abhishek Agarwal
+ *
+ */
+public class RankedNumberConverterAlgorithm extends NumberConverterAlgorithm {
+
+	/**
+	 * Scorer which decides which of the combinations are better.
+	 */
+	private final MatchScorer matchScorer;
+
+	/**
+	 * Maximum no. of combinations to be returned for a number.
+	 */
+	private final int maxMatches;
+
+	/**
+	 * Constructor to chain it with a parent transformer and initialize with the dictionary and the scorer which are to be used.
+	 * @param parentTransformer Parent transformer to apply any massaging to the number to be transformed, before the search begins.
+	 * @param dictionary Dictionary to be used for searching matching combinations of each sub-sequence of the number string.
+	 * @param matchScorer Scorer which decides which of the combinations are better.
+	 * @param maxMatches Maximum no. of combinations to be returned for a number.
+	 */
+	public RankedNumberConverterAlgorithm(InputTransformer<String> parentTransformer, Dictionary dictionary,
+			MatchScorer matchScorer, int maxMatches) {
+		super(parentTransformer, dictionary);
+		this.matchScorer = matchScorer;
+		this.maxMatches = maxMatches;
+	}
+
+	/**
+	 * Initializes with the dictionary and the scorer to be used for searching matching combinations.
+	 * @param dictionary Dictionary to be used for searching matching combinations of each sub-sequence of the number string.
+	 * @param matchScorer Scorer which decides which of the combinations are better.
+	 * @param maxMatches Maximum no. of combinations to be returned for a number.
+	 */
+	public RankedNumberConverterAlgorithm(Dictionary dictionary, MatchScorer matchScorer, int maxMatches) {
+		super(dictionary);
+		this.matchScorer = matchScorer;
+		this.maxMatches = maxMatches;
+	}
+
+	/**
+	 * Returns the best matching combinations of the number, best first.
+	 * @param numberToConvert The number string whose matching combinations are to be found
+	 * @return Returns the best matching combinations, in the order of their score
+	 */
+	@Override
+	protected Set<String> convertNumber(String numberToConvert) {
+		Set<String> rankedMatches = new LinkedHashSet<String>();
+		SegmentationGraph graph = new SegmentationGraph(numberToConvert, dictionary, retainConsecutiveUnmatchedDigits);
+		if (graph.isEmpty() || maxMatches <= 0) {
+			return rankedMatches;
+		}
+		int numberLength = numberToConvert.length();
+		boolean exactOnly = graph.hasExactMatches();
+		double[][] lowestSuffixCosts = findLowestSuffixCosts(graph, exactOnly);
+
+		TreeSet<PartialCombination> partialCombinations = new TreeSet<PartialCombination>();
+		partialCombinations.add(new PartialCombination(null, 0, 0, true, null, 0, lowestSuffixCosts[1][0], 0));
+		long sequence = 1;
+		while (!partialCombinations.isEmpty() && rankedMatches.size() < maxMatches) {
+			PartialCombination partialCombination = partialCombinations.pollFirst();
+			int offset = partialCombination.end;
+			if (offset == numberLength) {
+				rankedMatches.add(partialCombination.toCombination(numberToConvert, delimiter));
+				continue;
+			}
+			int combinationsToFind = maxMatches - rankedMatches.size();
+			for (int segment = 0; segment < graph.getSegmentsCount(offset); segment++) {
+				if (!graph.isOnPathToEnd(offset, partialCombination.matched, segment, exactOnly)) {
+					continue;
+				}
+				int end = graph.getSegmentEnd(offset, segment);
+				Set<String> words = graph.getSegmentWords(offset, segment);
+				if (words != null) {
+					for (String word : words) {
+						double cost = partialCombination.cost + matchScorer.wordCost(word);
+						partialCombinations.add(new PartialCombination(partialCombination, offset, end, true, word, cost,
+								cost + lowestSuffixCosts[1][end], sequence++));
+						if (partialCombinations.size() > combinationsToFind) {
+							partialCombinations.pollLast();
+						}
+					}
+				} else {
+					double cost = partialCombination.cost + matchScorer.retainedDigitsCost(end - offset);
+					partialCombinations.add(new PartialCombination(partialCombination, offset, end, false, null, cost,
+							cost + lowestSuffixCosts[0][end], sequence++));
+					if (partialCombinations.size() > combinationsToFind) {
+						partialCombinations.pollLast();
+					}
+				}
+			}
+		}
+		return rankedMatches;
+	}
+
+	/**
+	 * Finds the lowest cost to reach the end of the number from each offset, going backwards from the end of the number.
+	 * @param graph Segmentation graph of the number
+	 * @param exactOnly True if only the segments with exact dictionary match are to be followed
+	 * @return Lowest cost to reach the end of the number from each offset.
+	 * First index is 1 if the previous segment had an exact dictionary match else 0.
+	 */
+	private double[][] findLowestSuffixCosts(SegmentationGraph graph, boolean exactOnly) {
+		int numberLength = graph.getNumber().length();
+		double[][] lowestSuffixCosts = new double[2][numberLength + 1];
+		for (int previousMatched = 0; previousMatched < 2; previousMatched++) {
+			Arrays.fill(lowestSuffixCosts[previousMatched], Double.POSITIVE_INFINITY);
+			lowestSuffixCosts[previousMatched][numberLength] = 0;
+		}
+		for (int offset = numberLength - 1; offset >= 0; offset--) {
+			for (int segment = 0; segment < graph.getSegmentsCount(offset); segment++) {
+				int end = graph.getSegmentEnd(offset, segment);
+				Set<String> words = graph.getSegmentWords(offset, segment);
+				double suffixCost;
+				if (words != null) {
+					double lowestWordCost = Double.POSITIVE_INFINITY;
+					for (String word : words) {
+						lowestWordCost = Math.min(lowestWordCost, matchScorer.wordCost(word));
+					}
+					suffixCost = lowestWordCost + lowestSuffixCosts[1][end];
+				} else {
+					suffixCost = matchScorer.retainedDigitsCost(end - offset) + lowestSuffixCosts[0][end];
+				}
+				for (int previousMatched = 0; previousMatched < 2; previousMatched++) {
+					if (graph.isOnPathToEnd(offset, previousMatched == 1, segment, exactOnly)) {
+						lowestSuffixCosts[previousMatched][offset] = Math.min(lowestSuffixCosts[previousMatched][offset], suffixCost);
+					}
+				}
+			}
+		}
+		return lowestSuffixCosts;
+	}
+
+	/**
+	 * A combination built from the start of the number till an offset. It refers to the combination it was extended from,
+	 * so the partly built combinations share their common segments.
+	 */
+	private static class PartialCombination implements Comparable<PartialCombination> {
+
+		private final PartialCombination previous;
+
+		private final int start;
+
+		private final int end;
+
+		/**
+		 * True if the last segment had an exact dictionary match, or no segment is added yet.
+		 */
+		private final boolean matched;
+
+		/**
+		 * Dictionary word of the last segment, null if the digits of the last segment are retained as-is.
+		 */
+		private final String word;
+
+		/**
+		 * Cost of the combination so far
+		 */
+		private final double cost;
+
+		/**
+		 * Cost of the combination so far, plus the lowest cost to complete it.
+		 */
+		private final double lowestCompletedCost;
+
+		/**
+		 * Order in which the combination was built, which decides the order of the combinations with the same cost.
+		 */
+		private final long sequence;
+
+		private PartialCombination(PartialCombination previous, int start, int end, boolean matched, String word, double cost,
+				double lowestCompletedCost, long sequence) {
+			this.previous = previous;
+			this.start = start;
+			this.end = end;
+			this.matched = matched;
+			this.word = word;
+			this.cost = cost;
+			this.lowestCompletedCost = lowestCompletedCost;
+			this.sequence = sequence;
+		}
+
+		private String toCombination(String number, String delimiter) {
+			StringBuilder combination = new StringBuilder();
+			appendTo(combination, number, delimiter);
+			return combination.toString();
+		}
+
+		private void appendTo(StringBuilder combination, String number, String delimiter) {
+			if (previous == null) {
+				return;
+			}
+			previous.appendTo(combination, number, delimiter);
+			if (previous.previous != null) {
+				combination.append(delimiter);
+			}
+			if (word != null) {
+				combination.append(word);
+			} else {
+				combination.append(number, start, end);
+			}
+		}
+
+		@Override
+		public int compareTo(PartialCombination other) {
+			int comparison = Double.compare(lowestCompletedCost, other.lowestCompletedCost);
+			return comparison != 0 ? comparison : Long.compare(sequence, other.sequence);
+		}
+	}
+}
@@ -0,0 +1,394 @@
+package com.aconex.challenge.numbertowords.converter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import com.aconex.challenge.numbertowords.dictionary.Dictionary;
+import com.aconex.challenge.numbertowords.util.CollectionsUtil;
+
+/**
+ * Graph of all the ways a number string can be split into segments, where each segment is either replaced by the words of a dictionary match
+ * or retained as-is. It is built once per number and the matching combinations are the paths from the start to the end of the number.
+ *
+ * <p>The segments starting at each offset of the number are
+ * <ul>
+ * 	<li>The sub-sequences which have an exact dictionary match.</li>
+ * 	<li>The sub-sequences which have no dictionary match and whose length is one of the allowed number of consecutive digits to be retained as-is.
+ * 		These can only follow a segment which had an exact dictionary match, or be at the start of the number.</li>
+ * </ul>
+ *
+ * <p>The dictionary matches of all the sub-sequences are found at once as a lattice of (start, end, words), see {@link Dictionary#findAllMatchingWords}.
+ * With a dictionary built by {@link com.aconex.challenge.numbertowords.dictionary.AhoCorasickDictionaryFactory} this is a single scan of the number string.
+ *
+ * <p>The paths follow the same rules as {@link NumberConverterAlgorithm}, so they give exactly the same matching combinations.
+ * If there is at least one path where all the digits are replaced by words, then only such exact paths are matching combinations.
+ * Else all the paths, each of which retains at least one digit as-is, are the matching combinations.
+ * And same as {@link NumberConverterAlgorithm}, the suffix till the end of the number is not retained as-is
+ * if that suffix has exact matches when reached.
+ *
+ * <p>Before the paths are walked, it is found from which offsets the end of the number can be reached at all.
+ * So walking the graph never goes into a dead end and each matching combination can be built on demand,
+ * without keeping the other matching combinations in memory.
+ *
+ * @author Abhishek Agarwal
+ *
+ */
+final class SegmentationGraph {
+
+	private final String number;
+
+	private final int numberLength;
+
+	/**
+	 * For each offset, end indices (exclusive) in ascending order of the segments starting at that offset
+	 */
+	private final int[][] segmentEnds;
+
+	/**
+	 * For each offset, words of the segments in {@link #segmentEnds}. It is null for a segment whose digits are retained as-is.
+	 */
+	private final Set<String>[][] segmentWords;
+
+	/**
+	 * True for the offsets from where the end of the number can be reached by replacing all the digits by words. True for the end of the number.
+	 */
+	private final boolean[] exactPathToEnd;
+
+	/**
+	 * True for the offsets from where the end of the number can be reached in any allowed way.
+	 * First index is 1 if the previous segment had an exact dictionary match (or it is the start of the number) else 0.
+	 */
+	private final boolean[][] pathToEnd;
+
+	/**
+	 * Builds the graph for a number string.
+	 * @param number Number string, which has only digits, whose matching combinations are to be found
+	 * @param dictionary Dictionary to be used for searching matches of each sub-sequence of the number string
+	 * @param retainConsecutiveUnmatchedDigits No. of consecutive digits which can remain as-is without a matching word
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	SegmentationGraph(String number, Dictionary dictionary, int[] retainConsecutiveUnmatchedDigits) {
+		this.number = number;
+		this.numberLength = number.length();
+		this.segmentEnds = new int[numberLength][];
+		this.segmentWords = new Set[numberLength][];
+		// The lattice of dictionary matches, found in one call. For each start index the ends are in ascending order
+		List<Integer>[] matchEnds = new List[numberLength];
+		List<Set<String>>[] matchWords = new List[numberLength];
+		dictionary.findAllMatchingWords(number, (start, end, matchingWords) -> {
+			if (matchEnds[start] == null) {
+				matchEnds[start] = new ArrayList<Integer>();
+				matchWords[start] = new ArrayList<Set<String>>();
+			}
+			matchEnds[start].add(end);
+			matchWords[start].add(matchingWords);
+		});
+
+		List<Integer> ends = new ArrayList<Integer>();
+		List<Set<String>> words = new ArrayList<Set<String>>();
+		int maxRetainedDigits = NumberConverterAlgorithm.maxRetainedDigits(retainConsecutiveUnmatchedDigits);
+		for (int offset = 0; offset < numberLength; offset++) {
+			ends.clear();
+			words.clear();
+			int matchesCount = matchEnds[offset] == null ? 0 : matchEnds[offset].size();
+			int lastEnd = Math.min(numberLength, offset + maxRetainedDigits);
+			if (matchesCount > 0) {
+				lastEnd = Math.max(lastEnd, matchEnds[offset].get(matchesCount - 1));
+			}
+			int match = 0;
+			for (int end = offset + 1; end <= lastEnd; end++) {
+				Set<String> matchingWords = null;
+				if (match < matchesCount && matchEnds[offset].get(match) == end) {
+					matchingWords = matchWords[offset].get(match++);
+				}
+				if (!CollectionsUtil.isNullOrEmpty(matchingWords)) {
+					ends.add(end);
+					words.add(matchingWords);
+				} else if (CollectionsUtil.anyMatch(retainConsecutiveUnmatchedDigits, end - offset)) {
+					ends.add(end);
+					words.add(null);
+				}
+			}
+			segmentEnds[offset] = ends.stream().mapToInt(Integer::intValue).toArray();
+			segmentWords[offset] = words.toArray(new Set[words.size()]);
+		}
+
+		exactPathToEnd = new boolean[numberLength + 1];
+		pathToEnd = new boolean[2][numberLength + 1];
+		exactPathToEnd[numberLength] = true;
+		pathToEnd[0][numberLength] = true;
+		pathToEnd[1][numberLength] = true;
+		for (int offset = numberLength - 1; offset >= 0; offset--) {
+			for (int segment = 0; segment < segmentEnds[offset].length; segment++) {
+				if (segmentWords[offset][segment] != null && exactPathToEnd[segmentEnds[offset][segment]]) {
+					exactPathToEnd[offset] = true;
+				}
+			}
+			for (int previousMatched = 0; previousMatched < 2; previousMatched++) {
+				for (int segment = 0; segment < segmentEnds[offset].length && !pathToEnd[previousMatched][offset]; segment++) {
+					pathToEnd[previousMatched][offset] = isOnPathToEnd(offset, previousMatched == 1, segment, false);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the number string for which the graph is built.
+	 * @return The number string for which the graph is built
+	 */
+	String getNumber() {
+		return number;
+	}
+
+	/**
+	 * Returns true if all the digits of the number can be replaced by words, in which case only such paths are matching combinations.
+	 * @return true if all the digits of the number can be replaced by words
+	 */
+	boolean hasExactMatches() {
+		return exactPathToEnd[0];
+	}
+
+	/**
+	 * Returns true if there is no matching combination for the number.
+	 * @return true if there is no matching combination for the number
+	 */
+	boolean isEmpty() {
+		return numberLength == 0 || !pathToEnd[1][0];
+	}
+
+	/**
+	 * Returns an iterator which builds the matching combinations one at a time as they are asked for.
+	 * Only the path to the current combination is kept in memory, so the memory used does not grow with the number of combinations.
+	 * @param delimiter Delimiter to be used to concatenate the words and the digits retained as-is
+	 * @return Iterator over the matching combinations of the number
+	 */
+	Iterator<String> iterator(String delimiter) {
+		return new MatchingCombinationsIterator(delimiter);
+	}
+
+	/**
+	 * Counts the paths of the graph without walking them. The counts of the suffix starting at each offset are found once, from the end of the number backwards.
+	 * The count for a segment is the no. of its words multiplied by the count of the suffix after it.
+	 * The counts are capped at {@link Long#MAX_VALUE} rather than overflowing.
+	 * @return Count of the exact and the partial matching combinations
+	 */
+	MatchCount countMatches() {
+		if (numberLength == 0) {
+			return new MatchCount(0, 0);
+		}
+		long[] exactCounts = new long[numberLength + 1];
+		// First index is 1 if the previous segment had an exact dictionary match else 0
+		long[][] partialCounts = new long[2][numberLength + 1];
+		exactCounts[numberLength] = 1;
+		for (int offset = numberLength - 1; offset >= 0; offset--) {
+			for (int segment = 0; segment < segmentEnds[offset].length; segment++) {
+				Set<String> words = segmentWords[offset][segment];
+				int end = segmentEnds[offset][segment];
+				if (words != null) {
+					exactCounts[offset] = MatchCount.add(exactCounts[offset], MatchCount.multiply(words.size(), exactCounts[end]));
+					for (int previousMatched = 0; previousMatched < 2; previousMatched++) {
+						partialCounts[previousMatched][offset] = MatchCount.add(partialCounts[previousMatched][offset],
+								MatchCount.multiply(words.size(), partialCounts[1][end]));
+					}
+				} else if (isOnPathToEnd(offset, true, segment, false)) {
+					// Digits retained as-is can be followed by both exact and partial matches, but they are partial matches eventually
+					long suffixCount = end < numberLength ? MatchCount.add(exactCounts[end], partialCounts[0][end]) : 1;
+					partialCounts[1][offset] = MatchCount.add(partialCounts[1][offset], suffixCount);
+				}
+			}
+		}
+		return new MatchCount(exactCounts[0], partialCounts[1][0]);
+	}
+
+	/**
+	 * Tests if a segment can be followed on a matching combination.
+	 * @param offset Offset where the segment starts
+	 * @param previousMatched True if the previous segment had an exact dictionary match, or the offset is the start of the number
+	 * @param segment Index of the segment among the segments starting at the offset
+	 * @param exactOnly True if only the segments with exact dictionary match are to be followed
+	 * @return true if the end of the number can be reached through the segment
+	 */
+	boolean isOnPathToEnd(int offset, boolean previousMatched, int segment, boolean exactOnly) {
+		int end = segmentEnds[offset][segment];
+		if (segmentWords[offset][segment] != null) {
+			return exactOnly ? exactPathToEnd[end] : pathToEnd[1][end];
+		}
+		if (exactOnly || !previousMatched) {
+			return false;
+		}
+		// Same as NumberConverterAlgorithm, the remaining digits are not retained as-is if they have exact matches
+		return end < numberLength ? pathToEnd[0][end] : !exactPathToEnd[offset];
+	}
+
+	/**
+	 * Returns no. of segments starting at an offset.
+	 * @param offset Offset in the number string
+	 * @return no. of segments starting at the offset
+	 */
+	int getSegmentsCount(int offset) {
+		return segmentEnds[offset].length;
+	}
+
+	/**
+	 * Returns the end index (exclusive) of a segment.
+	 * @param offset Offset where the segment starts
+	 * @param segment Index of the segment among the segments starting at the offset
+	 * @return End index (exclusive) of the segment
+	 */
+	int getSegmentEnd(int offset, int segment) {
+		return segmentEnds[offset][segment];
+	}
+
+	/**
+	 * Returns the dictionary words of a segment.
+	 * @param offset Offset where the segment starts
+	 * @param segment Index of the segment among the segments starting at the offset
+	 * @return Dictionary words of the segment, or null if the digits of the segment are retained as-is
+	 */
+	Set<String> getSegmentWords(int offset, int segment) {
+		return segmentWords[offset][segment];
+	}
+
+	/**
+	 * Depth first walk of the graph, which stops every time the end of the number is reached and returns the combination for that path.
+	 */
+	private class MatchingCombinationsIterator implements Iterator<String> {
+
+		private final String delimiter;
+
+		private final boolean exactOnly;
+
+		private final StringBuilder combination = new StringBuilder();
+
+		/**
+		 * Offset where the segment at each depth of the walk starts.
+		 */
+		private final int[] offsets = new int[numberLength + 1];
+		/**
+		 * True if the segment before the one at each depth had an exact dictionary match.
+		 */
+		private final boolean[] previousMatched = new boolean[numberLength + 1];
+		/**
+		 * Index of the segment currently followed at each depth.
+		 */
+		private final int[] segments = new int[numberLength + 1];
+		/**
+		 * Words of the segment at each depth which are not yet used. Null if the segment is retained as-is.
+		 */
+		@SuppressWarnings({ "rawtypes", "unchecked" })
+		private final Iterator<String>[] words = new Iterator[numberLength + 1];
+		/**
+		 * True if the digits of the segment at each depth are yet to be used.
+		 */
+		private final boolean[] retainedDigitsPending = new boolean[numberLength + 1];
+		/**
+		 * Length of the combination before the segment at each depth was appended.
+		 */
+		private final int[] combinationLengths = new int[numberLength + 1];
+
+		private int depth;
+
+		private String nextCombination;
+
+		private MatchingCombinationsIterator(String delimiter) {
+			this.delimiter = delimiter;
+			this.exactOnly = hasExactMatches();
+			if (isEmpty()) {
+				depth = -1;
+			} else {
+				startDepth(0, 0, true);
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (nextCombination == null) {
+				nextCombination = walkToNextCombination();
+			}
+			return nextCombination != null;
+		}
+
+		@Override
+		public String next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			String combinationToReturn = nextCombination;
+			nextCombination = null;
+			return combinationToReturn;
+		}
+
+		private void startDepth(int newDepth, int offset, boolean previousSegmentMatched) {
+			depth = newDepth;
+			offsets[depth] = offset;
+			previousMatched[depth] = previousSegmentMatched;
+			segments[depth] = -1;
+			words[depth] = null;
+			retainedDigitsPending[depth] = false;
+			combinationLengths[depth] = combination.length();
+		}
+
+		private String walkToNextCombination() {
+			while (depth >= 0) {
+				int offset = offsets[depth];
+				boolean hasWord = words[depth] != null && words[depth].hasNext();
+				if (!hasWord && !retainedDigitsPending[depth]) {
+					if (!moveToNextSegment()) {
+						depth--;
+					}
+					continue;
+				}
+				int end = segmentEnds[offset][segments[depth]];
+				combination.setLength(combinationLengths[depth]);
+				if (depth > 0) {
+					combination.append(delimiter);
+				}
+				if (hasWord) {
+					combination.append(words[depth].next());
+				} else {
+					retainedDigitsPending[depth] = false;
+					combination.append(number, offset, end);
+				}
+				if (end == numberLength) {
+					return combination.toString();
+				}
+				startDepth(depth + 1, end, hasWord);
+			}
+			return null;
+		}
+
+		/**
+		 * Moves the current depth to the next segment which leads to the end of the number.
+		 * @return false if there are no more such segments
+		 */
+		private boolean moveToNextSegment() {
+			int offset = offsets[depth];
+			int segment = segments[depth] + 1;
+			while (segment < segmentEnds[offset].length && !isOnPathToEnd(offset, previousMatched[depth], segment, exactOnly)) {
+				segment++;
+			}
+			segments[depth] = segment;
+			if (segment == segmentEnds[offset].length) {
+				return false;
+			}
+			Set<String> segmentMatches = segmentWords[offset][segment];
+			words[depth] = segmentMatches == null ? null : segmentMatches.iterator();
+			retainedDigitsPending[depth] = segmentMatches == null;
+			return true;
+		}
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("Number: ").append(number);
+		for (int offset = 0; offset < numberLength; offset++) {
+			sb.append(", ").append(offset).append(": ").append(Arrays.toString(segmentEnds[offset]));
+		}
+		return sb.toString();
+	}
+}
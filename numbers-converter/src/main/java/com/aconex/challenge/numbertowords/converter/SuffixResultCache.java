@@ -0,0 +1,196 @@
+package com.aconex.challenge.numbertowords.converter;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache of the matching combinations of the suffixes of numbers, shared by all the numbers converted in a run.
+ * Phone numbers allocated in blocks share long suffixes, so the combinations of a suffix found for one number are reused for the next numbers,
+ * instead of searching the suffix again.
+ *
+ * <p>The key is the digits of the suffix along with whether the prefix before it had an exact dictionary match,
+ * since that decides if the first digits of the suffix can remain as-is. The value has the exact and the partial matches of the suffix.
+ *
+ * <p>The memory used by the cached matches is bounded by a budget. The cache is split into segments, each with its share of the budget,
+ * where the least recently used suffixes are evicted once the segment is over its share.
+ * Each segment is locked separately, so the numbers converted on several threads mostly do not wait for each other.
+ * The no. of hits, misses and evictions are counted, see {@link #toString()}.
+ *
+ * <p>The cached matches must not be modified, and the dictionary must not change while the cache is used.
+ * @author Abhishek Agarwal
+ *
+ */
+public class SuffixResultCache {
+
+	/**
+	 * Suffixes shorter than this are searched again rather than cached, since searching them costs less than caching them
+	 */
+	static final int MIN_CACHED_SUFFIX_DIGITS = 4;
+
+	private static final int SEGMENTS_COUNT = 16;
+
+	/**
+	 * Approximate size of a cache entry apart from its matches, i.e. the map entry, the key, the accumulator and its 2 sets
+	 */
+	private static final long ENTRY_BYTES = 200;
+
+	/**
+	 * Approximate size of a match apart from its characters, i.e. the string or the {@link WordCombination}, and the hash set entry.
+	 * A combination shares its characters with the combinations of the suffix, so the weight of its characters is on the higher side.
+	 */
+	private static final long MATCH_BYTES = 80;
+
+	private final Segment[] segments;
+
+	private final long segmentBudgetBytes;
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * Constructs an empty cache
+	 * @param budgetBytes Approximate no. of bytes the cached matches can use
+	 */
+	public SuffixResultCache(long budgetBytes) {
+		segments = new Segment[SEGMENTS_COUNT];
+		for (int index = 0; index < SEGMENTS_COUNT; index++) {
+			segments[index] = new Segment();
+		}
+		segmentBudgetBytes = budgetBytes / SEGMENTS_COUNT;
+	}
+
+	/**
+	 * Returns the cached matches of the suffix of the number string starting at the offset.
+	 * @return The cached matches, or null if the suffix is not cached
+	 */
+	NumberConverterResultAccumulator get(String numberString, int offset, boolean previousPrefixHasDictMatches) {
+		if (numberString.length() - offset < MIN_CACHED_SUFFIX_DIGITS) {
+			return null;
+		}
+		String key = key(numberString, offset, previousPrefixHasDictMatches);
+		NumberConverterResultAccumulator result = segment(key).get(key);
+		if (result == null) {
+			misses.increment();
+		} else {
+			hits.increment();
+		}
+		return result;
+	}
+
+	/**
+	 * Caches the matches of the suffix of the number string starting at the offset, evicting the least recently used suffixes if needed.
+	 */
+	void put(String numberString, int offset, boolean previousPrefixHasDictMatches, NumberConverterResultAccumulator result) {
+		if (numberString.length() - offset < MIN_CACHED_SUFFIX_DIGITS) {
+			return;
+		}
+		long weight = weight(numberString.length() - offset, result);
+		if (weight > segmentBudgetBytes) {
+			return;
+		}
+		String key = key(numberString, offset, previousPrefixHasDictMatches);
+		segment(key).put(key, result, weight);
+	}
+
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	public long getEvictionCount() {
+		return evictions.sum();
+	}
+
+	/**
+	 * Returns the approximate no. of bytes used by the cached matches
+	 * @return the approximate no. of bytes used by the cached matches
+	 */
+	public long getWeightBytes() {
+		long weight = 0;
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				weight += segment.weight;
+			}
+		}
+		return weight;
+	}
+
+	/**
+	 * Returns the counts of hits, misses and evictions, and the memory used by the cache
+	 */
+	@Override
+	public String toString() {
+		return "hits: " + getHitCount() + ", misses: " + getMissCount() + ", evictions: " + getEvictionCount()
+				+ ", approximate memory used: " + getWeightBytes() / 1024 + " KB";
+	}
+
+	/**
+	 * The key is the digits of the suffix preceded by 1 if the previous prefix had an exact dictionary match, else 0
+	 */
+	private static String key(String numberString, int offset, boolean previousPrefixHasDictMatches) {
+		return new StringBuilder(numberString.length() - offset + 1).append(previousPrefixHasDictMatches ? '1' : '0')
+				.append(numberString, offset, numberString.length()).toString();
+	}
+
+	private static long weight(int suffixLength, NumberConverterResultAccumulator result) {
+		long weight = ENTRY_BYTES + 2L * suffixLength;
+		weight += weight(result.getExactDictionaryMatches());
+		weight += weight(result.getPartialDictionaryMatches());
+		return weight;
+	}
+
+	/**
+	 * Returns the approximate no. of bytes used by the matches
+	 */
+	static long weight(Set<String> matches) {
+		long weight = 0;
+		for (CharSequence match : WordCombinations.matchSequences(matches)) {
+			weight += MATCH_BYTES + 2L * match.length();
+		}
+		return weight;
+	}
+
+	private Segment segment(String key) {
+		int hash = key.hashCode();
+		return segments[(hash ^ (hash >>> 16)) & (SEGMENTS_COUNT - 1)];
+	}
+
+	/**
+	 * A part of the cache with its own lock, which keeps its suffixes in the order they were last used
+	 */
+	private class Segment {
+		private final Map<String, NumberConverterResultAccumulator> results = new LinkedHashMap<String, NumberConverterResultAccumulator>(16, 0.75f, true);
+
+		private final Map<String, Long> weights = new LinkedHashMap<String, Long>();
+
+		private long weight;
+
+		private synchronized NumberConverterResultAccumulator get(String key) {
+			return results.get(key);
+		}
+
+		private synchronized void put(String key, NumberConverterResultAccumulator result, long resultWeight) {
+			if (results.put(key, result) != null) {
+				weight -= weights.get(key);
+			}
+			weights.put(key, resultWeight);
+			weight += resultWeight;
+			Iterator<String> leastRecentlyUsed = results.keySet().iterator();
+			while (weight > segmentBudgetBytes) {
+				String evictedKey = leastRecentlyUsed.next();
+				leastRecentlyUsed.remove();
+				weight -= weights.remove(evictedKey);
+				evictions.increment();
+			}
+		}
+	}
+}
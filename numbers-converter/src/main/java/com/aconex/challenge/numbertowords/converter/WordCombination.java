@@ -0,0 +1,206 @@
+package com.aconex.challenge.numbertowords.converter;
+
+/**
+ * A matching combination of a number which is not yet concatenated into a string.
+ * It is the first segment of the combination, followed by the combination of the rest of the number, if any.
+ * The segment is either a dictionary word, or a run of digits retained as-is which refers to its range in the number string,
+ * so no string is created for it.
+ *
+ * <p>The combinations of a suffix are shared by all the combinations which end with them,
+ * so concatenating the matches of a prefix and a suffix creates a small object for each combination, instead of copying all its characters.
+ * The delimiter and the words are joined only when the combination is written out, see {@link #getChars(char[], int)},
+ * or is asked for as a string.
+ *
+ * <p>The hash code and the equality are the same as the string of the combination,
+ * so a set of combinations has the same combinations, in the same order, as the set of their strings.
+ * It is immutable, so the combinations of a suffix can be cached and shared by several threads.
+ * @author Abhishek Agarwal
+ *
+ */
+public final class WordCombination implements CharSequence {
+
+	/**
+	 * Dictionary word of the segment, or the number string which has the digits retained as-is
+	 */
+	private final String text;
+
+	private final int start;
+
+	private final int end;
+
+	/**
+	 * Delimiter between the segment and the rest of the combination
+	 */
+	private final String delimiter;
+
+	/**
+	 * Combination of the rest of the number, null if the segment is the last one
+	 */
+	private final WordCombination rest;
+
+	private final int length;
+
+	/**
+	 * Same as the hash code of the string of the combination
+	 */
+	private final int hash;
+
+	/**
+	 * Constructs the combination which is just a dictionary word
+	 * @param word Dictionary word
+	 */
+	WordCombination(String word) {
+		this(word, 0, word.length(), null, null);
+	}
+
+	/**
+	 * Constructs the combination of a dictionary word followed by the combination of the rest of the number
+	 * @param word Dictionary word
+	 * @param delimiter Delimiter between the word and the rest of the combination
+	 * @param rest Combination of the rest of the number
+	 */
+	WordCombination(String word, String delimiter, WordCombination rest) {
+		this(word, 0, word.length(), delimiter, rest);
+	}
+
+	/**
+	 * Constructs the combination of the digits retained as-is followed by the combination of the rest of the number, if any
+	 * @param number Number string which has the digits
+	 * @param start Index in the number string where the digits start
+	 * @param end End index (exclusive) of the digits
+	 * @param delimiter Delimiter between the digits and the rest of the combination, null if there is no rest
+	 * @param rest Combination of the rest of the number, null if the digits are till the end of the number
+	 */
+	WordCombination(String number, int start, int end, String delimiter, WordCombination rest) {
+		this.text = number;
+		this.start = start;
+		this.end = end;
+		this.delimiter = delimiter;
+		this.rest = rest;
+		int segmentHash = start == 0 && end == number.length() ? number.hashCode() : hash(number, start, end);
+		if (rest == null) {
+			this.length = end - start;
+			this.hash = segmentHash;
+		} else {
+			this.length = end - start + delimiter.length() + rest.length;
+			// hash(a + b) is hash(a) * 31^length(b) + hash(b), same as String#hashCode
+			this.hash = (segmentHash * pow31(delimiter.length()) + delimiter.hashCode()) * pow31(rest.length) + rest.hash;
+		}
+	}
+
+	/**
+	 * Joins the parts of the combination into the array, without creating a string
+	 * @param destination Array where the characters are copied, which must have room for {@link #length()} characters
+	 * @param destinationBegin Index in the array where the combination starts
+	 */
+	public void getChars(char[] destination, int destinationBegin) {
+		for (WordCombination combination = this; combination != null; combination = combination.rest) {
+			combination.text.getChars(combination.start, combination.end, destination, destinationBegin);
+			destinationBegin += combination.end - combination.start;
+			if (combination.rest != null) {
+				combination.delimiter.getChars(0, combination.delimiter.length(), destination, destinationBegin);
+				destinationBegin += combination.delimiter.length();
+			}
+		}
+	}
+
+	/**
+	 * Joins the parts of the combination at the end of the builder
+	 * @param builder Builder where the combination is appended
+	 * @return The builder
+	 */
+	public StringBuilder appendTo(StringBuilder builder) {
+		for (WordCombination combination = this; combination != null; combination = combination.rest) {
+			builder.append(combination.text, combination.start, combination.end);
+			if (combination.rest != null) {
+				builder.append(combination.delimiter);
+			}
+		}
+		return builder;
+	}
+
+	@Override
+	public int length() {
+		return length;
+	}
+
+	@Override
+	public char charAt(int index) {
+		if (index < 0 || index >= length) {
+			throw new IndexOutOfBoundsException("index " + index + ", length " + length);
+		}
+		WordCombination combination = this;
+		while (true) {
+			int segmentLength = combination.end - combination.start;
+			if (index < segmentLength) {
+				return combination.text.charAt(combination.start + index);
+			}
+			index -= segmentLength;
+			if (index < combination.delimiter.length()) {
+				return combination.delimiter.charAt(index);
+			}
+			index -= combination.delimiter.length();
+			combination = combination.rest;
+		}
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		return toString().substring(start, end);
+	}
+
+	/**
+	 * Returns the string of the combination, which is joined every time it is called
+	 */
+	@Override
+	public String toString() {
+		if (rest == null) {
+			return text.substring(start, end);
+		}
+		char[] chars = new char[length];
+		getChars(chars, 0);
+		return new String(chars);
+	}
+
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+
+	/**
+	 * Two combinations are equal if their strings are equal, even if they are split into different parts
+	 */
+	@Override
+	public boolean equals(Object object) {
+		if (this == object) {
+			return true;
+		}
+		if (!(object instanceof WordCombination)) {
+			return false;
+		}
+		WordCombination other = (WordCombination) object;
+		// The strings are compared only for combinations with the same hash, which are hardly ever different
+		return hash == other.hash && length == other.length && toString().equals(other.toString());
+	}
+
+	private static int hash(String text, int start, int end) {
+		int hash = 0;
+		for (int index = start; index < end; index++) {
+			hash = 31 * hash + text.charAt(index);
+		}
+		return hash;
+	}
+
+	private static int pow31(int exponent) {
+		int power = 1;
+		int base = 31;
+		while (exponent > 0) {
+			if ((exponent & 1) != 0) {
+				power *= base;
+			}
+			base *= base;
+			exponent >>= 1;
+		}
+		return power;
+	}
+}
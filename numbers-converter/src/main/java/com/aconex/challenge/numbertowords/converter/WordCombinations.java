@@ -0,0 +1,98 @@
+package com.aconex.challenge.numbertowords.converter;
+
+import java.util.AbstractSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * Set of the matching combinations of a number or of a suffix, kept as {@link WordCombination}s which are not yet joined into strings.
+ * It is a read-only set of strings for its callers, where each combination is joined into a string only when it is iterated.
+ * The {@link com.aconex.challenge.numbertowords.output.ResultEncoder}s instead join each combination into a reused buffer of the sink
+ * as it is written out, see {@link #matchSequences(Set)}.
+ *
+ * <p>Since a combination has the same hash code as its string, the combinations are iterated in the same order as a {@link HashSet}
+ * of their strings, built in the same order.
+ * @author Abhishek Agarwal
+ *
+ */
+public final class WordCombinations extends AbstractSet<String> {
+
+	private final Set<WordCombination> combinations = new HashSet<WordCombination>();
+
+	/**
+	 * Returns the matches as character sequences, so that they can be written out without joining each of them into a string.
+	 * @param matches Matching combinations of a number
+	 * @return The {@link WordCombination}s if the matches are {@link WordCombinations}, else the matches as they are
+	 */
+	public static Iterable<? extends CharSequence> matchSequences(Set<String> matches) {
+		return matches instanceof WordCombinations ? ((WordCombinations) matches).combinations : matches;
+	}
+
+	/**
+	 * Adds a combination, unless there is already one with the same string
+	 */
+	void add(WordCombination combination) {
+		combinations.add(combination);
+	}
+
+	/**
+	 * Returns the combinations, which must not be modified
+	 */
+	Set<WordCombination> combinations() {
+		return combinations;
+	}
+
+	@Override
+	public Iterator<String> iterator() {
+		Iterator<WordCombination> iterator = combinations.iterator();
+		return new Iterator<String>() {
+			@Override
+			public boolean hasNext() {
+				return iterator.hasNext();
+			}
+
+			@Override
+			public String next() {
+				return iterator.next().toString();
+			}
+		};
+	}
+
+	@Override
+	public int size() {
+		return combinations.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return combinations.isEmpty();
+	}
+
+	@Override
+	public boolean contains(Object object) {
+		return object instanceof String && combinations.contains(new WordCombination((String) object));
+	}
+
+	@Override
+	public int hashCode() {
+		return combinations.hashCode();
+	}
+
+	/**
+	 * Same as {@link java.util.AbstractCollection#toString()}, but each combination is joined straight into the one string
+	 */
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder().append('[');
+		boolean first = true;
+		for (WordCombination combination : combinations) {
+			if (!first) {
+				builder.append(", ");
+			}
+			first = false;
+			combination.appendTo(builder);
+		}
+		return builder.append(']').toString();
+	}
+}
@@ -0,0 +1,71 @@
+package com.aconex.challenge.numbertowords.converter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import com.aconex.challenge.numbertowords.dictionary.transformers.InputTransformer;
+import com.aconex.challenge.numbertowords.dictionary.transformers.TransformerContainer;
+
+/**
+ * Scorer which prefers the combinations made of the most frequently used words.
+ *
+ * <p>The words are ranked by how frequently they are used, with rank 1 being the most frequent word.
+ * Going by Zipf's law the frequency of a word is roughly proportional to 1/rank,
+ * so the cost of a word is log(rank) and the cost of a combination is the log of the product of the ranks of its words.
+ * The words which are not ranked, and each digit retained as-is, cost as much as a word ranked just after the least frequent word.
+ *
+ * @author Abhishek Agarwal
+ *
+ */
+public class WordFrequencyScorer implements MatchScorer {
+
+	private final Map<String, Integer> wordRanks;
+
+	private final double unrankedCost;
+
+	/**
+	 * Constructs the scorer with the rank of each word.
+	 * @param wordRanks Rank of each word, with rank 1 being the most frequent word. The words should be in the same form as stored in the dictionary.
+	 */
+	public WordFrequencyScorer(Map<String, Integer> wordRanks) {
+		this.wordRanks = wordRanks;
+		this.unrankedCost = Math.log(wordRanks.size() + 1);
+	}
+
+	/**
+	 * Creates the scorer from a list of words, where the words are in the order of their frequency, most frequent first.
+	 * Each word is transformed to the form in which it is stored in the dictionary, and the invalid words are skipped.
+	 * If a word is repeated, its first rank is used.
+	 * @param wordsByFrequency Stream of words in the order of their frequency, most frequent first
+	 * @param wordTransformer Transformer to convert a word to the form in which it is stored in the dictionary, say to upper case
+	 * @return Scorer which prefers the combinations made of the most frequently used words
+	 */
+	public static WordFrequencyScorer fromWordsByFrequency(Stream<String> wordsByFrequency, InputTransformer<String> wordTransformer) {
+		Map<String, Integer> wordRanks = new HashMap<String, Integer>();
+		TransformerContainer<String> wordContainer = new TransformerContainer<String>(null);
+		wordsByFrequency.forEach((word) -> {
+			wordContainer.reset(word);
+			wordTransformer.transform(wordContainer);
+			if (!wordContainer.hasErrors()) {
+				wordRanks.putIfAbsent(wordContainer.getTransformed(), wordRanks.size() + 1);
+			}
+		});
+		return new WordFrequencyScorer(wordRanks);
+	}
+
+	@Override
+	public double wordCost(String word) {
+		Integer rank = wordRanks.get(word);
+		if (rank == null) {
+			return unrankedCost;
+		}
+		return Math.log(Math.max(rank, 1));
+	}
+
+	@Override
+	public double retainedDigitsCost(int digitsCount) {
+		return digitsCount * unrankedCost;
+	}
+
+}
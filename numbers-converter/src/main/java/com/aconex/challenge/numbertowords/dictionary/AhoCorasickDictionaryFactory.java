@@ -0,0 +1,182 @@
+package com.aconex.challenge.numbertowords.dictionary;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.aconex.challenge.numbertowords.dictionary.transformers.InputTransformer;
+
+/**
+ * An implementation of {@link DictionaryFactory} which relies on an Aho-Corasick automaton over the numbers of the {@link Dictionary}
+ *
+ * <p>The numbers are stored in a digit trie, same as {@link TrieDictionaryFactory}. Once the dictionary is populated,
+ * each state of the trie is linked to the state of its longest proper suffix which is also in the trie (failure link),
+ * and to the nearest state on that suffix chain where a number of the dictionary ends (output link).
+ * So the lattice of all the matches of a number string is found in one linear scan of the number string,
+ * instead of walking the trie again from every offset.
+ * Ex-&gt; If the dictionary has CALL(2255), ALL(255) and ME(63), then scanning 225563 finds 2255 and 255 both ending at the second 5, and 63 at the end.
+ *
+ * <p>The time taken to link the automaton and the approximate memory used by it, apart from the words, are logged once the dictionary is populated.
+ * The numbers are expected to be made of the digits 0-9 only.
+ * @author Abhishek Agarwal
+ *
+ */
+
+public class AhoCorasickDictionaryFactory extends DictionaryFactory {
+	private static final Logger LOGGER = Logger.getLogger(AhoCorasickDictionaryFactory.class.getName());
+
+	/**
+	 * Approximate size of a state with compressed references, i.e. the object header, 4 references and an int.
+	 */
+	private static final int STATE_BYTES = 32;
+
+	/**
+	 * Approximate size of the array of children of a state with compressed references, i.e. the array header and 10 references.
+	 */
+	private static final int CHILDREN_ARRAY_BYTES = 56;
+
+	public AhoCorasickDictionaryFactory(InputTransformer<String> wordToNumberConverter) {
+		super(wordToNumberConverter);
+	}
+
+	/**
+	 * Implementation of the factory method to instantiate a concrete dictionary class
+	 * @return Returns an empty Aho-Corasick automaton based dictionary object
+	 */
+	@Override
+	public Dictionary createDictionary() {
+		return new AhoCorasickDictionary();
+	}
+
+	/**
+	 * Links the automaton once all the words are added, and logs the time taken and the approximate memory used by the automaton.
+	 */
+	@Override
+	protected void dictionaryPopulated(Dictionary dictionary) {
+		long startTime = System.nanoTime();
+		AhoCorasickDictionary automaton = (AhoCorasickDictionary) dictionary;
+		automaton.link();
+		LOGGER.log(Level.INFO, "Aho-Corasick automaton of {0} states linked in {1} ms. Approximate memory used apart from the words: {2} KB",
+				new Object[] { automaton.nodesCount, (System.nanoTime() - startTime) / 1000000,
+						automaton.approximateMemoryBytes() / 1024 });
+	}
+
+	/**
+	 * A state of the automaton, which is a node of the trie
+	 */
+	private static class State extends DigitTrieDictionary.Node<State> {
+		/**
+		 * State of the longest proper suffix of this state which is also in the trie
+		 */
+		private State failure;
+
+		/**
+		 * Nearest state on the failure chain where a number of the dictionary ends, null if there is none.
+		 */
+		private State output;
+
+		/**
+		 * No. of digits from the root to this state
+		 */
+		private int depth;
+
+		@Override
+		State[] newChildren() {
+			return new State[10];
+		}
+
+		@Override
+		State newChild() {
+			State child = new State();
+			child.depth = depth + 1;
+			return child;
+		}
+	}
+
+	/**
+	 * A nested class which is a concrete implementation of {@link Dictionary} relying on an Aho-Corasick automaton
+	 */
+	private static class AhoCorasickDictionary extends DigitTrieDictionary<State> {
+		/**
+		 * False if numbers are added after the automaton was last linked
+		 */
+		private volatile boolean linked;
+
+		public AhoCorasickDictionary() {
+			super("Aho-Corasick", new State());
+		}
+
+		@Override
+		void trieChanged() {
+			linked = false;
+		}
+
+		/**
+		 * Scans the number string once. The matches are visited in the order of their end index, and for the same end index longest first.
+		 */
+		@Override
+		public void findAllMatchingWords(CharSequence number, MatchLatticeVisitor visitor) {
+			if (!linked) {
+				link();
+			}
+			State state = root;
+			for (int index = 0; index < number.length(); index++) {
+				char digitChar = number.charAt(index);
+				if (DigitTrieDictionary.toDigit(digitChar) < 0) {
+					state = root;
+					continue;
+				}
+				while (state != root && state.child(digitChar) == null) {
+					state = state.failure;
+				}
+				State next = state.child(digitChar);
+				state = next == null ? root : next;
+				for (State match = state.words != null ? state : state.output; match != null; match = match.output) {
+					visitor.visit(index + 1 - match.depth, index + 1, match.words);
+				}
+			}
+		}
+
+		/**
+		 * Sets the failure and output links of all the states, going breadth first from the root so that the links of shorter suffixes are set before they are needed.
+		 */
+		private synchronized void link() {
+			if (linked) {
+				return;
+			}
+			Queue<State> states = new ArrayDeque<State>();
+			root.failure = root;
+			states.add(root);
+			while (!states.isEmpty()) {
+				State state = states.poll();
+				if (state.children == null) {
+					continue;
+				}
+				for (int digit = 0; digit < state.children.length; digit++) {
+					State child = state.children[digit];
+					if (child == null) {
+						continue;
+					}
+					if (state == root) {
+						child.failure = root;
+					} else {
+						State failure = state.failure;
+						while (failure != root && (failure.children == null || failure.children[digit] == null)) {
+							failure = failure.failure;
+						}
+						child.failure = failure.children != null && failure.children[digit] != null ? failure.children[digit] : root;
+					}
+					child.output = child.failure.words != null ? child.failure : child.failure.output;
+					states.add(child);
+				}
+			}
+			linked = true;
+		}
+
+		private long approximateMemoryBytes() {
+			return (long) nodesCount * STATE_BYTES + (long) childrenArraysCount * CHILDREN_ARRAY_BYTES;
+		}
+	}
+
+}
@@ -0,0 +1,70 @@
+package com.aconex.challenge.numbertowords.dictionary;
+
+/**
+ * A reusable look up key for a hash map keyed by strings, which stands for a range of a character sequence without copying it to a new string.
+ * Its hash code is the same as the hash code of the string of the range, and it is equal to a string with the same characters.
+ * So a {@link java.util.HashMap} of strings can be searched for a range of a number string, since the map compares the key passed to get,
+ * with the keys stored in the map.
+ * 
+ * <p>It is only meant to be used as the argument of {@link java.util.Map#get(Object)}, as it is not equal to another key of the same range
+ * and its state changes each time it is reused.
+ * 
+ * @author Abhishek Agarwal
+ *
+ */
+final class CharSequenceRangeKey {
+
+	private CharSequence charSequence;
+
+	private int from;
+
+	private int to;
+
+	private int hash;
+
+	/**
+	 * Points the key to a range of a character sequence
+	 * @param charSequence The character sequence which has the range
+	 * @param from Start index of the range
+	 * @param to End index (exclusive) of the range
+	 * @return this key
+	 */
+	CharSequenceRangeKey set(CharSequence charSequence, int from, int to) {
+		this.charSequence = charSequence;
+		this.from = from;
+		this.to = to;
+		int hash = 0;
+		for (int index = from; index < to; index++) {
+			hash = 31 * hash + charSequence.charAt(index);
+		}
+		this.hash = hash;
+		return this;
+	}
+
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		if (!(other instanceof String)) {
+			return false;
+		}
+		String string = (String) other;
+		if (string.length() != to - from) {
+			return false;
+		}
+		for (int index = from; index < to; index++) {
+			if (string.charAt(index - from) != charSequence.charAt(index)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return charSequence.subSequence(from, to).toString();
+	}
+}
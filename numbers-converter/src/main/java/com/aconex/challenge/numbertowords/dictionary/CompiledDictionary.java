@@ -0,0 +1,432 @@
+package com.aconex.challenge.numbertowords.dictionary;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+
+/**
+ * A {@link Dictionary} which is compiled once to a binary file, and later served straight from the memory mapped file.
+ * So the words of the dictionary do not need to be parsed, validated and converted to numbers on every launch,
+ * and the time to open the dictionary does not depend on its size.
+ *
+ * <p>The numbers, the index and the words all stay in the mapped file, off the heap. The heap only holds the header fields,
+ * so it stays the same no matter how big the dictionary is, and the garbage collector never has to trace the dictionary.
+ * The file is mapped read only, so several JVMs on the same host opening the same file share its pages in the page cache.
+ *
+ * <p>The file has a header followed by the sections of the index, all integers being big endian.
+ * <ul>
+ * 	<li>Header: magic no., format version, checksum of the dictionary source, checksum of the numbers encoding,
+ * 		no. of numbers, no. of words, size of the numbers section, size of the words section and no. of hash index slots.</li>
+ * 	<li>Offset of each number in the numbers section, plus one offset past the last number.</li>
+ * 	<li>Index of the first word of each number in the word offsets, plus one index past the last word.</li>
+ * 	<li>Offset of each word in the words section, plus one offset past the last word.</li>
+ * 	<li>Hash index: an open addressing table with linear probing, where each slot has the index of a number plus one, or 0 if the slot is empty.</li>
+ * 	<li>Numbers section: the numbers in sorted order, one byte per digit.</li>
+ * 	<li>Words section: the words of each number, in the order of the numbers, encoded as UTF-8.</li>
+ * </ul>
+ *
+ * <p>A sub-sequence of a number string is looked up in the hash index, comparing the bytes of the number in place.
+ * Since the numbers are sorted, walking a number string from an offset narrows down the range of numbers one digit at a time,
+ * same as {@link FrozenDictionary}, and stops as soon as no number starts with the digits walked so far.
+ * The words of a number are returned as a small read only set over their UTF-8 bytes in the file, which is not kept by the dictionary.
+ * A probe which finds no number creates no object at all. The size of the set is known without decoding,
+ * and each word is decoded only while the set is iterated, i.e. when a matching combination is actually made with it.
+ * The checksums let the application find out if the file was compiled from a different dictionary or numbers encoding.
+ *
+ * <p>It can not be modified, and can be shared across threads without any locking.
+ * @author Abhishek Agarwal
+ * @see CompiledDictionaryFactory
+ *
+ */
+public final class CompiledDictionary implements Dictionary {
+
+	/**
+	 * Magic no. at the start of every compiled dictionary file, the characters NCDC
+	 */
+	static final int MAGIC = 0x4E434443;
+
+	/**
+	 * Version of the file format written by {@link #write}. A file of any other version can not be opened.
+	 */
+	public static final int VERSION = 2;
+
+	private static final int HEADER_BYTES = 44;
+
+	private final ByteBuffer buffer;
+
+	private final long sourceChecksum;
+
+	private final long encodingChecksum;
+
+	private final int numbersCount;
+
+	private final int numberOffsetsPosition;
+
+	private final int wordStartsPosition;
+
+	private final int wordOffsetsPosition;
+
+	private final int hashSlotsPosition;
+
+	private final int hashSlotsCount;
+
+	private final int numbersPosition;
+
+	private final int wordsPosition;
+
+	private CompiledDictionary(ByteBuffer buffer) {
+		this.buffer = buffer;
+		if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+			throw new IllegalStateException("Not a compiled dictionary");
+		}
+		int version = buffer.getInt(4);
+		if (version != VERSION) {
+			throw new IllegalStateException("Unsupported compiled dictionary version: " + version);
+		}
+		sourceChecksum = buffer.getLong(8);
+		encodingChecksum = buffer.getLong(16);
+		numbersCount = buffer.getInt(24);
+		int wordsCount = buffer.getInt(28);
+		int numbersBytes = buffer.getInt(32);
+		int wordsBytes = buffer.getInt(36);
+		hashSlotsCount = buffer.getInt(40);
+		numberOffsetsPosition = HEADER_BYTES;
+		wordStartsPosition = numberOffsetsPosition + 4 * (numbersCount + 1);
+		wordOffsetsPosition = wordStartsPosition + 4 * (numbersCount + 1);
+		hashSlotsPosition = wordOffsetsPosition + 4 * (wordsCount + 1);
+		numbersPosition = hashSlotsPosition + 4 * hashSlotsCount;
+		wordsPosition = numbersPosition + numbersBytes;
+		if (Integer.bitCount(hashSlotsCount) != 1 || (long) wordsPosition + wordsBytes != buffer.capacity()) {
+			throw new IllegalStateException("Compiled dictionary is truncated or corrupt");
+		}
+	}
+
+	/**
+	 * Memory maps a compiled dictionary file. Only the header is read, the rest of the file is read as it is looked up.
+	 * @param compiledDictionaryPath Path of the file written by {@link #write}
+	 * @return The dictionary served from the mapped file
+	 * @throws IOException If the file can not be read
+	 * @throws IllegalStateException If the file is not a compiled dictionary of the supported version
+	 */
+	public static CompiledDictionary open(Path compiledDictionaryPath) throws IOException {
+		try (FileChannel channel = FileChannel.open(compiledDictionaryPath, StandardOpenOption.READ)) {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			return new CompiledDictionary(buffer);
+		}
+	}
+
+	/**
+	 * Writes the numbers and words of a dictionary to a compiled dictionary file.
+	 * The numbers are written in sorted order and the words of each number in sorted order, so the same dictionary always gives the same file.
+	 * @param dictionary Populated dictionary which can {@link Dictionary#forEachNumber list its numbers}
+	 * @param sourceChecksum Checksum of the dictionary source the dictionary was populated from
+	 * @param encodingChecksum Checksum of the numbers encoding used to convert the words to numbers
+	 * @param compiledDictionaryPath Path of the file to be written. An existing file is overwritten.
+	 * @throws IOException If the file can not be written
+	 * @throws IllegalArgumentException If a number has a character which is not a single byte, or the dictionary is too big for one mapped file of 2 GB
+	 */
+	public static void write(Dictionary dictionary, long sourceChecksum, long encodingChecksum, Path compiledDictionaryPath)
+			throws IOException {
+		Map<String, List<String>> sortedNumbers = new TreeMap<String, List<String>>();
+		dictionary.forEachNumber((number, words) -> {
+			List<String> sortedWords = new ArrayList<String>(words);
+			Collections.sort(sortedWords);
+			sortedNumbers.put(number, sortedWords);
+		});
+		int wordsCount = 0;
+		long numbersBytes = 0;
+		long wordsBytes = 0;
+		List<byte[]> encodedWords = new ArrayList<byte[]>();
+		for (Map.Entry<String, List<String>> entry : sortedNumbers.entrySet()) {
+			String number = entry.getKey();
+			for (int index = 0; index < number.length(); index++) {
+				if (number.charAt(index) > 0x7F) {
+					throw new IllegalArgumentException("Only numbers made of ASCII digits can be compiled. Invalid number: " + number);
+				}
+			}
+			numbersBytes += number.length();
+			for (String word : entry.getValue()) {
+				byte[] encodedWord = word.getBytes(StandardCharsets.UTF_8);
+				encodedWords.add(encodedWord);
+				wordsBytes += encodedWord.length;
+				wordsCount++;
+			}
+		}
+
+		int hashSlotsCount = Integer.highestOneBit(Math.max(1, sortedNumbers.size()) * 2);
+		long fileBytes = HEADER_BYTES + 4L * (sortedNumbers.size() + 1) * 2 + 4L * (wordsCount + 1) + 4L * hashSlotsCount + numbersBytes + wordsBytes;
+		if (fileBytes > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Dictionary is too big to be compiled to one file: " + fileBytes + " bytes");
+		}
+		int[] hashSlots = new int[hashSlotsCount];
+		int numberIndex = 0;
+		for (String number : sortedNumbers.keySet()) {
+			int slot = hash(number, 0, number.length()) & (hashSlotsCount - 1);
+			while (hashSlots[slot] != 0) {
+				slot = (slot + 1) & (hashSlotsCount - 1);
+			}
+			hashSlots[slot] = ++numberIndex;
+		}
+
+		try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(compiledDictionaryPath)))) {
+			output.writeInt(MAGIC);
+			output.writeInt(VERSION);
+			output.writeLong(sourceChecksum);
+			output.writeLong(encodingChecksum);
+			output.writeInt(sortedNumbers.size());
+			output.writeInt(wordsCount);
+			output.writeInt((int) numbersBytes);
+			output.writeInt((int) wordsBytes);
+			output.writeInt(hashSlotsCount);
+			int numberOffset = 0;
+			for (String number : sortedNumbers.keySet()) {
+				output.writeInt(numberOffset);
+				numberOffset += number.length();
+			}
+			output.writeInt(numberOffset);
+			int wordStart = 0;
+			for (List<String> words : sortedNumbers.values()) {
+				output.writeInt(wordStart);
+				wordStart += words.size();
+			}
+			output.writeInt(wordStart);
+			int wordOffset = 0;
+			for (byte[] encodedWord : encodedWords) {
+				output.writeInt(wordOffset);
+				wordOffset += encodedWord.length;
+			}
+			output.writeInt(wordOffset);
+			for (int hashSlot : hashSlots) {
+				output.writeInt(hashSlot);
+			}
+			for (String number : sortedNumbers.keySet()) {
+				output.writeBytes(number);
+			}
+			for (byte[] encodedWord : encodedWords) {
+				output.write(encodedWord);
+			}
+		}
+	}
+
+	/**
+	 * Returns the checksum of the dictionary source this file was compiled from
+	 * @return the checksum of the dictionary source
+	 */
+	public long getSourceChecksum() {
+		return sourceChecksum;
+	}
+
+	/**
+	 * Returns the checksum of the numbers encoding used when this file was compiled
+	 * @return the checksum of the numbers encoding
+	 */
+	public long getEncodingChecksum() {
+		return encodingChecksum;
+	}
+
+	/**
+	 * A compiled dictionary can not be modified.
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public void insert(String mappedNumber, String word) {
+		throw new UnsupportedOperationException("Compiled dictionary can not be modified");
+	}
+
+	@Override
+	public Set<String> findMatchingWords(String number) {
+		return findMatchingWords(number, 0, number.length());
+	}
+
+	/**
+	 * Looks up the sub-sequence in the hash index, comparing the bytes of the numbers in the probed slots with the sub-sequence in place.
+	 */
+	@Override
+	public Set<String> findMatchingWords(CharSequence number, int from, int to) {
+		int mask = hashSlotsCount - 1;
+		for (int slot = hash(number, from, to) & mask;; slot = (slot + 1) & mask) {
+			int numberIndex = buffer.getInt(hashSlotsPosition + 4 * slot) - 1;
+			if (numberIndex < 0) {
+				return null;
+			}
+			if (numberEquals(numberIndex, number, from, to)) {
+				return new EncodedWords(numberIndex);
+			}
+		}
+	}
+
+	/**
+	 * Narrows down the range of numbers one digit at a time, visiting the words of the number equal to the digits walked so far, if any.
+	 * Stops as soon as the range is empty.
+	 */
+	@Override
+	public void findMatchingWordsFrom(CharSequence number, int from, MatchingWordsVisitor visitor) {
+		int low = 0;
+		int high = numbersCount;
+		for (int index = from; index < number.length() && low < high; index++) {
+			int position = index - from;
+			if (numberLength(low) == position) {
+				low++;
+			}
+			char digit = number.charAt(index);
+			int rangeLow = lowerBound(low, high, position, digit);
+			high = lowerBound(rangeLow, high, position, (char) (digit + 1));
+			low = rangeLow;
+			if (low < high && numberLength(low) == position + 1) {
+				visitor.visit(index + 1, new EncodedWords(low));
+			}
+		}
+	}
+
+	@Override
+	public int getUniqueNumbersCount() {
+		return numbersCount;
+	}
+
+	/**
+	 * Visits the numbers in sorted order
+	 */
+	@Override
+	public void forEachNumber(BiConsumer<String, Set<String>> consumer) {
+		for (int index = 0; index < numbersCount; index++) {
+			int numberOffset = numberOffset(index);
+			StringBuilder number = new StringBuilder(numberLength(index));
+			for (int position = 0; position < numberLength(index); position++) {
+				number.append((char) buffer.get(numbersPosition + numberOffset + position));
+			}
+			consumer.accept(number.toString(), new EncodedWords(index));
+		}
+	}
+
+	/**
+	 * Already read only
+	 * @return this dictionary
+	 */
+	@Override
+	public Dictionary freeze() {
+		return this;
+	}
+
+	/**
+	 * Hash of a sub-sequence of a number, spread so that the numbers sharing a prefix do not crowd the same slots. The same for writing and looking up.
+	 */
+	private static int hash(CharSequence number, int from, int to) {
+		int hash = 0;
+		for (int index = from; index < to; index++) {
+			hash = 31 * hash + number.charAt(index);
+		}
+		hash *= 0x9E3779B9;
+		return hash ^ (hash >>> 16);
+	}
+
+	private boolean numberEquals(int numberIndex, CharSequence number, int from, int to) {
+		if (numberLength(numberIndex) != to - from) {
+			return false;
+		}
+		int numberPosition = numbersPosition + numberOffset(numberIndex);
+		for (int index = from; index < to; index++) {
+			if ((char) buffer.get(numberPosition + index - from) != number.charAt(index)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private int numberOffset(int numberIndex) {
+		return buffer.getInt(numberOffsetsPosition + 4 * numberIndex);
+	}
+
+	private int numberLength(int numberIndex) {
+		return numberOffset(numberIndex + 1) - numberOffset(numberIndex);
+	}
+
+	/**
+	 * Finds the first number in the range whose digit at the position is not less than the given character.
+	 * All the numbers in the range are longer than the position, and sorted by their digit at the position.
+	 */
+	private int lowerBound(int low, int high, int position, char character) {
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if ((char) buffer.get(numbersPosition + numberOffset(middle) + position) < character) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Read only set of the words of a number, over their UTF-8 bytes in the mapped file. Each word is decoded only when it is iterated,
+	 * and no decoded word is kept by the set.
+	 */
+	private final class EncodedWords extends AbstractSet<String> {
+		private final int wordStart;
+
+		private final int wordEnd;
+
+		private EncodedWords(int numberIndex) {
+			wordStart = buffer.getInt(wordStartsPosition + 4 * numberIndex);
+			wordEnd = buffer.getInt(wordStartsPosition + 4 * (numberIndex + 1));
+		}
+
+		@Override
+		public int size() {
+			return wordEnd - wordStart;
+		}
+
+		@Override
+		public Iterator<String> iterator() {
+			return new Iterator<String>() {
+				private final ByteBuffer wordsBuffer = buffer.duplicate();
+
+				/**
+				 * Bytes of the word being decoded, reused for all the words of the iteration
+				 */
+				private byte[] encodedWord = new byte[0];
+
+				private int word = wordStart;
+
+				@Override
+				public boolean hasNext() {
+					return word < wordEnd;
+				}
+
+				@Override
+				public String next() {
+					if (word >= wordEnd) {
+						throw new NoSuchElementException();
+					}
+					int wordOffset = buffer.getInt(wordOffsetsPosition + 4 * word);
+					int wordLength = buffer.getInt(wordOffsetsPosition + 4 * (word + 1)) - wordOffset;
+					if (encodedWord.length < wordLength) {
+						encodedWord = new byte[wordLength];
+					}
+					// Cast so that it also runs on Java 8, where position returns a Buffer
+					((Buffer) wordsBuffer).position(wordsPosition + wordOffset);
+					wordsBuffer.get(encodedWord, 0, wordLength);
+					word++;
+					return new String(encodedWord, 0, wordLength, StandardCharsets.UTF_8);
+				}
+			};
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package com.aconex.challenge.numbertowords.dictionary;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import com.aconex.challenge.numbertowords.util.IOUtils;
+
+/**
+ * An implementation of {@link DictionaryFactory} which opens a {@link CompiledDictionary} file, instead of populating the dictionary from the dictionary sources.
+ *
+ * <p>Before the compiled dictionary is used, its checksum of the numbers encoding is compared with the checksum of the numbers encoding in use.
+ * If the path of the dictionary source is given, its checksum is compared as well. 
+ * If either of them differ, the file was compiled from a different dictionary or numbers encoding and it is not used.
+ * @author Abhishek Agarwal
+ *
+ */
+
+public class CompiledDictionaryFactory extends DictionaryFactory {
+	private static final Logger LOGGER = Logger.getLogger(CompiledDictionaryFactory.class.getName());
+
+	private Path compiledDictionaryPath;
+
+	private Path dictionarySourcePath;
+
+	/**
+	 * Constructs the factory for a compiled dictionary file
+	 * @param compiledDictionaryPath Path of the compiled dictionary file
+	 * @param dictionarySourcePath Path of the dictionary source the file should have been compiled from, or null if the source is not to be verified
+	 */
+	public CompiledDictionaryFactory(Path compiledDictionaryPath, Path dictionarySourcePath) {
+		super(null);
+		this.compiledDictionaryPath = compiledDictionaryPath;
+		this.dictionarySourcePath = dictionarySourcePath;
+	}
+
+	/**
+	 * Opens the compiled dictionary file. The dictionary sources are not read.
+	 * @param dictionarySources Ignored, since the dictionary is already compiled
+	 * @throws IllegalStateException If the file is not a compiled dictionary of the supported version, 
+	 * or was compiled from a different dictionary or numbers encoding
+	 * @throws UncheckedIOException If the file can not be read
+	 */
+	@Override
+	public void createAndPopulateDictionary(List<Stream<String>> dictionarySources) {
+		long startTime = System.nanoTime();
+		setDictionary(createDictionary());
+		LOGGER.log(Level.INFO, "Compiled dictionary of {0} unique numbers opened from {1} in {2} ms",
+				new Object[] { getDictionary().getUniqueNumbersCount(), compiledDictionaryPath, (System.nanoTime() - startTime) / 1000000 });
+	}
+
+	/**
+	 * Implementation of the factory method to open the compiled dictionary, after verifying its checksums
+	 * @return Returns the dictionary served from the compiled dictionary file
+	 */
+	@Override
+	protected Dictionary createDictionary() {
+		try {
+			CompiledDictionary compiledDictionary = CompiledDictionary.open(compiledDictionaryPath);
+			if (compiledDictionary.getEncodingChecksum() != NumbersEncodingParser.encodingChecksum()) {
+				throw new IllegalStateException("It was compiled with a different numbers encoding");
+			}
+			if (dictionarySourcePath != null
+					&& compiledDictionary.getSourceChecksum() != IOUtils.checksum(Files.newInputStream(dictionarySourcePath))) {
+				throw new IllegalStateException("It was compiled from a different dictionary than " + dictionarySourcePath);
+			}
+			return compiledDictionary;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+}
@@ -1,6 +1,9 @@
 package com.aconex.challenge.numbertowords.dictionary;
 
 import java.util.Set;
+import java.util.function.BiConsumer;
+
+import com.aconex.challenge.numbertowords.util.CollectionsUtil;
 
 
 /**
@@ -54,6 +57,84 @@ public interface Dictionary {
 	 */
 	Set<String> findMatchingWords(String number);
 	
+	/**
+	 * Returns the set of words mapping to a range of a number string, same as {@link #findMatchingWords(String)} for that range.
+	 * This allows searching each sub-sequence of a number without creating a new string for it.
+	 * 
+	 * <p>The default implementation copies the range to a new string. An implementation should look the range up in place.
+	 * 
+	 * @param number The number string which has the range
+	 * @param from Start index of the range
+	 * @param to End index (exclusive) of the range
+	 * @return The set of words which got converted to the range of the number string, null or an empty set if there are no matching words
+	 */
+	default Set<String> findMatchingWords(CharSequence number, int from, int to) {
+		return findMatchingWords(number.subSequence(from, to).toString());
+	}
+
+	/**
+	 * Finds all the sub-sequences of the number string, starting at an offset, which have matching words in the dictionary.
+	 * The visitor is called for each such sub-sequence in the order of its length, shortest first.<br>
+	 * So in the example given {@link Dictionary above}, if the number string is 2255638 and the offset is 4, 
+	 * then the visitor is called once with the end index 6 and the set ME.
+	 * 
+	 * <p>The default implementation looks up each sub-sequence one by one with {@link #findMatchingWords(CharSequence, int, int)}. 
+	 * An implementation which can tell that no number in the dictionary starts with a sub-sequence should stop right there.
+	 * 
+	 * @param number The number string whose sub-sequences are to be searched
+	 * @param from Offset in the number string where the sub-sequences start
+	 * @param visitor Call back handler which is called with the end index (exclusive) and the set of words of each sub-sequence which has matching words
+	 */
+	default void findMatchingWordsFrom(CharSequence number, int from, MatchingWordsVisitor visitor) {
+		for (int to = from + 1; to <= number.length(); to++) {
+			Set<String> matchingWords = findMatchingWords(number, from, to);
+			if (!CollectionsUtil.isNullOrEmpty(matchingWords)) {
+				visitor.visit(to, matchingWords);
+			}
+		}
+	}
+
+	/**
+	 * Finds all the sub-sequences of the number string which have matching words in the dictionary, i.e. the lattice of matches of the number string.
+	 * For each start index the visitor is called in the order of the end index, shortest sub-sequence first. 
+	 * The order across different start indices is left to the implementation.<br>
+	 * So in the example given {@link Dictionary above}, if the number string is 2255638, 
+	 * then the visitor is called with (0, 4, BALL CALL) and (4, 6, ME).
+	 * 
+	 * <p>The default implementation calls {@link #findMatchingWordsFrom} for each start index. 
+	 * An implementation can instead find all the matches in one scan of the number string.
+	 * 
+	 * @param number The number string whose sub-sequences are to be searched
+	 * @param visitor Call back handler which is called with the start index, end index (exclusive) and the set of words of each sub-sequence which has matching words
+	 */
+	default void findAllMatchingWords(CharSequence number, MatchLatticeVisitor visitor) {
+		for (int from = 0; from < number.length(); from++) {
+			int start = from;
+			findMatchingWordsFrom(number, start, (end, matchingWords) -> visitor.visit(start, end, matchingWords));
+		}
+	}
+
+	/**
+	 * Visits each number of the dictionary with the set of words mapping to it.
+	 * It is needed to write the dictionary out, say to a {@link CompiledDictionary compiled dictionary} file.
+	 * The order of the numbers is left to the implementation.
+	 * 
+	 * @param consumer Call back handler which is called with each number and its set of words
+	 */
+	void forEachNumber(BiConsumer<String, Set<String>> consumer);
+
+	/**
+	 * Returns a read optimized snapshot of the dictionary, which can not be modified and can be shared across threads without any locking.
+	 * It is called by {@link DictionaryFactory} once the dictionary is populated, and the snapshot is used from then on.
+	 * 
+	 * <p>The default implementation returns the dictionary itself, for an implementation which is already safe to read from many threads once populated.
+	 * 
+	 * @return The frozen snapshot of the dictionary
+	 */
+	default Dictionary freeze() {
+		return this;
+	}
+
 	/**
 	 * Returns no. of unique number string keys added to the dictionary. Ideally the client would need to call this only after the dictionary is completely populated
 	 * @return No. of unique number string keys added to the dictionary
@@ -1,13 +1,19 @@
 package com.aconex.challenge.numbertowords.dictionary;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Stream;
 
 import com.aconex.challenge.numbertowords.dictionary.transformers.InputTransformer;
 import com.aconex.challenge.numbertowords.dictionary.transformers.TransformerContainer;
-import com.aconex.challenge.numbertowords.util.CollectionsUtil;
 
 /**
  * Abstract class which parses each word of every dictionary source, applies validation and transformation on each word, 
@@ -17,13 +23,27 @@ import com.aconex.challenge.numbertowords.util.CollectionsUtil;
  * This allows to easily plug different types of Dictionary implementations. Like the data structure for the dictionary can be hash based or tries.
  * Or if the dictionary is too large it can be made persistent to some NoSQL implementation like Infinispan
  * 
+ * <p>By default the words are converted and added on the calling thread. If the {@link #setBuildParallelism build parallelism} is more than 1,
+ * the words of all the sources are split into chunks which are converted to numbers in parallel on a fork-join pool.
+ * The converted chunks are added to the dictionary in the order of the sources and of the words within them,
+ * so the dictionary is the same as the one built on the calling thread, and the dictionary implementations need not be thread safe.
+ * 
  * @author Abhishek Agarwal
  * @see HashBasedDictionaryFactory
+ * @see TrieDictionaryFactory
+ * @see AhoCorasickDictionaryFactory
+ * @see PackedDictionaryFactory
+ * @see CompiledDictionaryFactory
  *
  */
 public abstract class DictionaryFactory {
 	private static final Logger LOGGER = Logger.getLogger(DictionaryFactory.class.getName());
 
+	/**
+	 * No. of words in each chunk converted by one task of a parallel build
+	 */
+	static final int CHUNK_WORDS = 4096;
+
 	private Dictionary dictionary;
 	
 	
@@ -32,6 +52,11 @@ public abstract class DictionaryFactory {
 	 */
 
 	private InputTransformer<String> wordConverter;
+
+	/**
+	 * No. of threads converting the words to numbers. 1 means the words are converted on the calling thread.
+	 */
+	private int buildParallelism = 1;
 	
 	/**
 	 * Constructs a container object which would be later used to create and populate the dictionary
@@ -46,25 +71,53 @@ public abstract class DictionaryFactory {
 	public Dictionary getDictionary() {
 		return dictionary;
 	}
+
+	/**
+	 * Sets the no. of threads which convert the dictionary words to numbers while the dictionary is populated. 
+	 * The word converter must be thread safe if it is more than 1.
+	 * @param buildParallelism No. of threads converting the words. 1 or less means the words are converted on the calling thread.
+	 */
+	public void setBuildParallelism(int buildParallelism) {
+		this.buildParallelism = buildParallelism;
+	}
+
+	/**
+	 * Sets the dictionary, for a subclass which creates the dictionary some other way than populating it from the dictionary sources.
+	 * @param dictionary The created dictionary
+	 */
+	protected void setDictionary(Dictionary dictionary) {
+		this.dictionary = dictionary;
+	}
 	/**
 	 * Iterates through each dictionary source and then each element of the dictionary, and then transforms it to a number, and the combination of word and number are stored in the dictionary.
-	 * Presently this is single threaded but it can be overridden to make it multi-threaded and at the same time the dictionary implementaion has to be made thread safe. 
+	 * Once populated the dictionary is {@link Dictionary#freeze() frozen}, and the frozen snapshot is returned by {@link #getDictionary()} from then on.
+	 * The words are converted on the calling thread, or in parallel if the {@link #setBuildParallelism build parallelism} is more than 1. 
 	 * @param dictionarySources List of dictionary sources where each element of every source is dictionary word
 	 */
 
 	public void createAndPopulateDictionary(List<Stream<String>> dictionarySources) {
+		long startTime = System.nanoTime();
 		dictionary = createDictionary();
-		dictionarySources.forEach((dictionarySource) -> {
-			populateDictionaryFromSingleSource(dictionarySource);
-		});
+		if (buildParallelism > 1) {
+			populateDictionaryInParallel(dictionarySources);
+		} else {
+			dictionarySources.forEach((dictionarySource) -> {
+				populateDictionaryFromSingleSource(dictionarySource);
+			});
+		}
 		if (dictionary.getUniqueNumbersCount() == 0) {
 			throw new IllegalArgumentException(
 					"Invalid dictionarySources passed. No legal dictionary words present in the dictionary");
 		} else {
+			dictionaryPopulated(dictionary);
+			dictionary = dictionary.freeze();
 			if (LOGGER.isLoggable(Level.FINER)) {
 				LOGGER.log(Level.FINER,
 						"Dictionary succesfully created and populated");
 			}
+			LOGGER.log(Level.INFO, "Dictionary of {0} unique numbers created by {1} with {2} thread(s) in {3} ms",
+					new Object[] { dictionary.getUniqueNumbersCount(), getClass().getSimpleName(), Math.max(1, buildParallelism),
+							(System.nanoTime() - startTime) / 1000000 });
 		}
 
 	}
@@ -75,14 +128,10 @@ public abstract class DictionaryFactory {
 	 */
 	private void populateDictionaryFromSingleSource(Stream<String> dictionarySource) {
 		
+		// The same container is reset for every word, since the dictionary keeps only the strings
+		TransformerContainer<String> wordToNumTransformerContainer = new TransformerContainer<String>(null);
 		dictionarySource.forEach((word) -> {
-			TransformerContainer<String> wordToNumTransformerContainer = new TransformerContainer<String>(word);
-			wordConverter.transform(wordToNumTransformerContainer);
-			if (!CollectionsUtil.isNullOrEmpty(wordToNumTransformerContainer.getErrors()) ) {
-				if (LOGGER.isLoggable(Level.FINE)) {
-					LOGGER.log(Level.FINE, "Invalid dictionary word: {0}. Skipping it", word);
-				}
-			} else {
+			if (convertWord(wordToNumTransformerContainer, word)) {
 				String wordToBeAdded = wordToNumTransformerContainer.getInput();
 				String matchingNumber = wordToNumTransformerContainer.getTransformed();
 				dictionary.insert(matchingNumber, wordToBeAdded );
@@ -91,6 +140,83 @@ public abstract class DictionaryFactory {
 
 	}
 
+	/**
+	 * Internal method which reads the words of all the dictionary sources in chunks, and converts the chunks in parallel on a fork-join pool.
+	 * At most twice as many chunks as the threads are read ahead, and the converted chunks are added to the dictionary in the order they were read.
+	 * @param dictionarySources List of dictionary sources
+	 */
+	private void populateDictionaryInParallel(List<Stream<String>> dictionarySources) {
+		ForkJoinPool pool = new ForkJoinPool(buildParallelism);
+		try {
+			Queue<ForkJoinTask<String[]>> pendingChunks = new ArrayDeque<ForkJoinTask<String[]>>();
+			for (Stream<String> dictionarySource : dictionarySources) {
+				Iterator<String> words = dictionarySource.iterator();
+				while (words.hasNext()) {
+					List<String> chunk = new ArrayList<String>(CHUNK_WORDS);
+					while (words.hasNext() && chunk.size() < CHUNK_WORDS) {
+						chunk.add(words.next());
+					}
+					pendingChunks.add(pool.submit(() -> convertChunk(chunk)));
+					if (pendingChunks.size() > 2 * buildParallelism) {
+						insertConvertedChunk(pendingChunks.poll().join());
+					}
+				}
+			}
+			while (!pendingChunks.isEmpty()) {
+				insertConvertedChunk(pendingChunks.poll().join());
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * Converts a chunk of dictionary words to numbers.
+	 * @return The number and the transformed word of each valid word of the chunk, one after the other
+	 */
+	private String[] convertChunk(List<String> chunk) {
+		String[] numbersAndWords = new String[2 * chunk.size()];
+		int index = 0;
+		TransformerContainer<String> wordToNumTransformerContainer = new TransformerContainer<String>(null);
+		for (String word : chunk) {
+			if (convertWord(wordToNumTransformerContainer, word)) {
+				numbersAndWords[index++] = wordToNumTransformerContainer.getTransformed();
+				numbersAndWords[index++] = wordToNumTransformerContainer.getInput();
+			}
+		}
+		return index == numbersAndWords.length ? numbersAndWords : Arrays.copyOf(numbersAndWords, index);
+	}
+
+	private void insertConvertedChunk(String[] numbersAndWords) {
+		for (int index = 0; index < numbersAndWords.length; index += 2) {
+			dictionary.insert(numbersAndWords[index], numbersAndWords[index + 1]);
+		}
+	}
+
+	/**
+	 * Runs the word converter on a dictionary word, reusing the container.
+	 * @return true if the container has the number of the word, or false if the word is invalid
+	 */
+	private boolean convertWord(TransformerContainer<String> wordToNumTransformerContainer, String word) {
+		wordToNumTransformerContainer.reset(word);
+		wordConverter.transform(wordToNumTransformerContainer);
+		if (wordToNumTransformerContainer.hasErrors()) {
+			if (LOGGER.isLoggable(Level.FINE)) {
+				LOGGER.log(Level.FINE, "Invalid dictionary word: {0}. Skipping it", word);
+			}
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Called once all the words of all the dictionary sources are added to the dictionary. 
+	 * A subclass can override it to build any index over the complete dictionary. Does nothing by default.
+	 * @param dictionary The populated dictionary
+	 */
+	protected void dictionaryPopulated(Dictionary dictionary) {
+	}
+
 	/**
 	 * Abstract factory method to create the dictionary, based on the implementation used in the Subclass
 	 * @return Returns the empty dictionary object to be populated by {@link #createAndPopulateDictionary} 
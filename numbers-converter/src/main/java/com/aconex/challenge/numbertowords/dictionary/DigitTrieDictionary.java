@@ -0,0 +1,169 @@
+package com.aconex.challenge.numbertowords.dictionary;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Base class of the dictionaries relying on a digit trie, which stores the numbers and looks them up.
+ * Each node of the trie is a digit of the numbers in the dictionary and has an array of 10 children, one for each next digit.
+ * The words of a number are stored on the node of its last digit.
+ *
+ * <p>The numbers are expected to be made of the digits 0-9 only.
+ * @author Abhishek Agarwal
+ * @param <N> Type of the nodes of the trie
+ * @see TrieDictionaryFactory
+ * @see AhoCorasickDictionaryFactory
+ *
+ */
+abstract class DigitTrieDictionary<N extends DigitTrieDictionary.Node<N>> implements Dictionary {
+
+	/**
+	 * Name of the dictionary, used in the error message when a number which is not made of digits is inserted
+	 */
+	private final String name;
+
+	final N root;
+
+	private int uniqueNumbersCount;
+
+	int nodesCount;
+
+	int childrenArraysCount;
+
+	DigitTrieDictionary(String name, N root) {
+		this.name = name;
+		this.root = root;
+		nodesCount = 1;
+	}
+
+	@Override
+	public void insert(String matchingNumber, String word) {
+		N node = root;
+		for (int index = 0; index < matchingNumber.length(); index++) {
+			int digit = toDigit(matchingNumber.charAt(index));
+			if (digit < 0) {
+				throw new IllegalArgumentException(
+						name + " dictionary can only store numbers made of digits 0-9. Invalid number: " + matchingNumber);
+			}
+			if (node.children == null) {
+				node.children = node.newChildren();
+				childrenArraysCount++;
+			}
+			if (node.children[digit] == null) {
+				node.children[digit] = node.newChild();
+				nodesCount++;
+				trieChanged();
+			}
+			node = node.children[digit];
+		}
+		if (node.words == null) {
+			node.words = new HashSet<String>();
+			uniqueNumbersCount++;
+			trieChanged();
+		}
+		node.words.add(word);
+	}
+
+	@Override
+	public Set<String> findMatchingWords(String number) {
+		return findMatchingWords(number, 0, number.length());
+	}
+
+	@Override
+	public Set<String> findMatchingWords(CharSequence number, int from, int to) {
+		N node = root;
+		for (int index = from; index < to && node != null; index++) {
+			node = node.child(number.charAt(index));
+		}
+		return node == null ? null : node.words;
+	}
+
+	/**
+	 * Walks down the trie from the digit at the offset, visiting the words of each node on the way, and stops at the first dead node.
+	 */
+	@Override
+	public void findMatchingWordsFrom(CharSequence number, int from, MatchingWordsVisitor visitor) {
+		N node = root;
+		for (int index = from; index < number.length(); index++) {
+			node = node.child(number.charAt(index));
+			if (node == null) {
+				return;
+			}
+			if (node.words != null) {
+				visitor.visit(index + 1, node.words);
+			}
+		}
+	}
+
+	@Override
+	public int getUniqueNumbersCount() {
+		return uniqueNumbersCount;
+	}
+
+	/**
+	 * Walks the trie depth first, so the numbers are visited in sorted order
+	 */
+	@Override
+	public void forEachNumber(BiConsumer<String, Set<String>> consumer) {
+		forEachNumber(root, new StringBuilder(), consumer);
+	}
+
+	private void forEachNumber(N node, StringBuilder number, BiConsumer<String, Set<String>> consumer) {
+		if (node.words != null) {
+			consumer.accept(number.toString(), node.words);
+		}
+		if (node.children == null) {
+			return;
+		}
+		for (int digit = 0; digit < node.children.length; digit++) {
+			if (node.children[digit] != null) {
+				number.append((char) ('0' + digit));
+				forEachNumber(node.children[digit], number, consumer);
+				number.setLength(number.length() - 1);
+			}
+		}
+	}
+
+	/**
+	 * Called when a node or a number is added to the trie. Does nothing by default.
+	 */
+	void trieChanged() {
+	}
+
+	static int toDigit(char digitChar) {
+		return digitChar >= '0' && digitChar <= '9' ? digitChar - '0' : -1;
+	}
+
+	/**
+	 * A node of the trie. Its words are null if no number in the dictionary ends at this node,
+	 * and its children are null till the first child is added.
+	 * @param <N> Type of the node itself
+	 */
+	abstract static class Node<N extends Node<N>> {
+		N[] children;
+
+		Set<String> words;
+
+		/**
+		 * Creates an empty array for the 10 children of this node
+		 */
+		abstract N[] newChildren();
+
+		/**
+		 * Creates a new child of this node
+		 */
+		abstract N newChild();
+
+		/**
+		 * Returns the child of the digit, null if there is none or the character is not a digit
+		 */
+		N child(char digitChar) {
+			int digit = toDigit(digitChar);
+			if (digit < 0 || children == null) {
+				return null;
+			}
+			return children[digit];
+		}
+	}
+}
@@ -0,0 +1,155 @@
+package com.aconex.challenge.numbertowords.dictionary;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * An immutable snapshot of a {@link Dictionary}, which is compacted into sorted arrays once the dictionary is populated.
+ *
+ * <p>The numbers are kept in one array in sorted order, and the words of all the numbers in one flat array,
+ * where the words of each number are a contiguous slice. Each number has a shared read only {@link WordsView view} over its slice.
+ * So there is no map entry and no set per number, and a look up returns the same view every time without creating any object.
+ *
+ * <p>Since the numbers are sorted, all the numbers starting with the same digits are next to each other.
+ * So a sub-sequence of a number string is searched by narrowing down the range of numbers one digit at a time,
+ * and walking a number string from an offset stops as soon as no number starts with the digits walked so far, same as a trie.
+ *
+ * <p>It has no state which changes after it is constructed, so it can be shared across threads without any locking.
+ * @author Abhishek Agarwal
+ * @see Dictionary#freeze()
+ *
+ */
+final class FrozenDictionary implements Dictionary {
+
+	/**
+	 * The numbers in sorted order
+	 */
+	private final String[] numbers;
+
+	/**
+	 * Read only view of the words of each number in {@link #numbers}
+	 */
+	private final WordsView[] wordsViews;
+
+	/**
+	 * Compacts the numbers and words of a dictionary into sorted arrays.
+	 * @param numberToWords Words of each number of the dictionary
+	 */
+	FrozenDictionary(Map<String, ? extends Set<String>> numberToWords) {
+		numbers = numberToWords.keySet().toArray(new String[numberToWords.size()]);
+		Arrays.sort(numbers);
+		int wordsCount = 0;
+		for (Set<String> words : numberToWords.values()) {
+			wordsCount += words.size();
+		}
+		String[] words = new String[wordsCount];
+		wordsViews = new WordsView[numbers.length];
+		int start = 0;
+		for (int index = 0; index < numbers.length; index++) {
+			Set<String> numberWords = numberToWords.get(numbers[index]);
+			int count = 0;
+			for (String word : numberWords) {
+				words[start + count++] = word;
+			}
+			wordsViews[index] = new WordsView(words, start, count);
+			start += count;
+		}
+	}
+
+	/**
+	 * A frozen dictionary can not be modified.
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public void insert(String mappedNumber, String word) {
+		throw new UnsupportedOperationException("Dictionary is frozen and can not be modified");
+	}
+
+	@Override
+	public Set<String> findMatchingWords(String number) {
+		return findMatchingWords(number, 0, number.length());
+	}
+
+	@Override
+	public Set<String> findMatchingWords(CharSequence number, int from, int to) {
+		int low = 0;
+		int high = numbers.length;
+		for (int index = from; index < to && low < high; index++) {
+			int position = index - from;
+			// The number equal to the digits walked so far, if any, comes first in the range. It is shorter than the rest so skip it
+			if (numbers[low].length() == position) {
+				low++;
+			}
+			char digit = number.charAt(index);
+			int rangeLow = lowerBound(low, high, position, digit);
+			high = lowerBound(rangeLow, high, position, (char) (digit + 1));
+			low = rangeLow;
+		}
+		return low < high && numbers[low].length() == to - from ? wordsViews[low] : null;
+	}
+
+	/**
+	 * Narrows down the range of numbers one digit at a time, visiting the words of the number equal to the digits walked so far, if any.
+	 * Stops as soon as the range is empty.
+	 */
+	@Override
+	public void findMatchingWordsFrom(CharSequence number, int from, MatchingWordsVisitor visitor) {
+		int low = 0;
+		int high = numbers.length;
+		for (int index = from; index < number.length() && low < high; index++) {
+			int position = index - from;
+			if (numbers[low].length() == position) {
+				low++;
+			}
+			char digit = number.charAt(index);
+			int rangeLow = lowerBound(low, high, position, digit);
+			high = lowerBound(rangeLow, high, position, (char) (digit + 1));
+			low = rangeLow;
+			if (low < high && numbers[low].length() == position + 1) {
+				visitor.visit(index + 1, wordsViews[low]);
+			}
+		}
+	}
+
+	@Override
+	public int getUniqueNumbersCount() {
+		return numbers.length;
+	}
+
+	/**
+	 * Visits the numbers in sorted order
+	 */
+	@Override
+	public void forEachNumber(BiConsumer<String, Set<String>> consumer) {
+		for (int index = 0; index < numbers.length; index++) {
+			consumer.accept(numbers[index], wordsViews[index]);
+		}
+	}
+
+	/**
+	 * Already frozen
+	 * @return this dictionary
+	 */
+	@Override
+	public Dictionary freeze() {
+		return this;
+	}
+
+	/**
+	 * Finds the first number in the range whose character at the position is not less than the given character.
+	 * All the numbers in the range are longer than the position, and sorted by their character at the position.
+	 */
+	private int lowerBound(int low, int high, int position, char character) {
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (numbers[middle].charAt(position) < character) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+}
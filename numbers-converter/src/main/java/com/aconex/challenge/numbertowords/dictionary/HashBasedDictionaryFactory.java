@@ -4,6 +4,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BiConsumer;
 
 import com.aconex.challenge.numbertowords.dictionary.transformers.InputTransformer;
 /**
@@ -32,6 +33,11 @@ public class HashBasedDictionaryFactory extends DictionaryFactory {
 	 */
 	private class HashBasedDictionary implements Dictionary {
 			private Map<String, Set<String>> map;
+
+			/**
+			 * Key for looking up a range of a number string, reused by each thread.
+			 */
+			private final ThreadLocal<CharSequenceRangeKey> lookupKey = ThreadLocal.withInitial(CharSequenceRangeKey::new);
 	
 			public HashBasedDictionary() {
 				map = new HashMap<String, Set<String>>();
@@ -55,10 +61,31 @@ public class HashBasedDictionaryFactory extends DictionaryFactory {
 	
 			}
 
+			/**
+			 * Looks the range up with a reused key of the current thread, so no string is created for it.
+			 */
+			@Override
+			public Set<String> findMatchingWords(CharSequence number, int from, int to) {
+				return map.get(lookupKey.get().set(number, from, to));
+			}
+
 		@Override
 		public int getUniqueNumbersCount() {
 			return map.size();
 		}
+
+		@Override
+		public void forEachNumber(BiConsumer<String, Set<String>> consumer) {
+			map.forEach(consumer);
+		}
+
+		/**
+		 * Compacts the map into a {@link FrozenDictionary}, where the words of each number are a slice of one array instead of a set per number
+		 */
+		@Override
+		public Dictionary freeze() {
+			return new FrozenDictionary(map);
+		}
 	
 	}
 
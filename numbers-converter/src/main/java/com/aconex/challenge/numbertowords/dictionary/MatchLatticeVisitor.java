@@ -0,0 +1,22 @@
+package com.aconex.challenge.numbertowords.dictionary;
+
+import java.util.Set;
+
+/**
+ * Call back handler which is visited with each edge of the match lattice of a number string,
+ * i.e. with every sub-sequence of the number string which has matching words in the dictionary.
+ * 
+ * @author Abhishek Agarwal
+ * @see Dictionary#findAllMatchingWords(CharSequence, MatchLatticeVisitor)
+ *
+ */
+@FunctionalInterface
+public interface MatchLatticeVisitor {
+	/**
+	 * Visits a sub-sequence of the number string which has matching words in the dictionary.
+	 * @param start Start index of the sub-sequence in the number string
+	 * @param end End index (exclusive) of the sub-sequence in the number string
+	 * @param words The set of words which got converted to the sub-sequence
+	 */
+	void visit(int start, int end, Set<String> words);
+}
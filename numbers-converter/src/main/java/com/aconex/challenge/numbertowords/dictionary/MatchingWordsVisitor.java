@@ -0,0 +1,20 @@
+package com.aconex.challenge.numbertowords.dictionary;
+
+import java.util.Set;
+
+/**
+ * Call back handler which is visited with each dictionary match found while walking a number string from an offset.
+ * 
+ * @author Abhishek Agarwal
+ * @see Dictionary#findMatchingWordsFrom(CharSequence, int, MatchingWordsVisitor)
+ *
+ */
+@FunctionalInterface
+public interface MatchingWordsVisitor {
+	/**
+	 * Visits a sub-sequence of the number string which has matching words in the dictionary.
+	 * @param end End index (exclusive) of the sub-sequence in the number string
+	 * @param words The set of words which got converted to the sub-sequence
+	 */
+	void visit(int end, Set<String> words);
+}
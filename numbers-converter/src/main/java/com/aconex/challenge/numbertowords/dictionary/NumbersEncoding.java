@@ -0,0 +1,108 @@
+package com.aconex.challenge.numbertowords.dictionary;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The number encoding compiled into a lookup table, so that a word is converted to a number without creating a string and hashing it for every character.<br>
+ *
+ * The characters of the Basic Multilingual Plane which map to a single ASCII digit are kept in a dense array indexed by the character.
+ * The supplementary characters, and the characters which map to anything else, are kept in a small map keyed by the code point.
+ * So the usual words are converted by looking up an array for each character.
+ *
+ * @author Abhishek Agarwal
+ * @see NumbersEncodingParser
+ */
+public final class NumbersEncoding {
+
+	/**
+	 * Value in {@link #bmpDigits} for a character which is not in the array
+	 */
+	private static final byte UNMAPPED = 0;
+
+	/**
+	 * ASCII digit of each character of the Basic Multilingual Plane, or {@link #UNMAPPED}
+	 */
+	private final byte[] bmpDigits = new byte[Character.MAX_VALUE + 1];
+
+	/**
+	 * Digits of the supplementary characters and of the characters not in {@link #bmpDigits}
+	 */
+	private final Map<Integer, String> otherDigits = new HashMap<Integer, String>();
+
+	private NumbersEncoding() {
+	}
+
+	/**
+	 * Compiles the number encoding. The keys which are not a single character are left out, since a word is converted one character at a time.
+	 * @param charToDigitEncoding Encoding map such that each character has its own key, see {@link NumbersEncodingParser#getCharToDigitEncoding()}
+	 * @return The compiled number encoding
+	 */
+	public static NumbersEncoding compile(Map<String, String> charToDigitEncoding) {
+		NumbersEncoding numbersEncoding = new NumbersEncoding();
+		for (Map.Entry<String, String> entry : charToDigitEncoding.entrySet()) {
+			String alphabet = entry.getKey();
+			String digit = entry.getValue();
+			if (alphabet.isEmpty() || alphabet.codePointCount(0, alphabet.length()) != 1 || digit == null) {
+				continue;
+			}
+			char character = alphabet.charAt(0);
+			// A lone surrogate is kept in the map, so that it does not match the half of a supplementary character
+			if (alphabet.length() == 1 && !Character.isSurrogate(character) && digit.length() == 1 && digit.charAt(0) > UNMAPPED && digit.charAt(0) < 128) {
+				numbersEncoding.bmpDigits[character] = (byte) digit.charAt(0);
+			} else {
+				numbersEncoding.otherDigits.put(alphabet.codePointAt(0), digit);
+			}
+		}
+		return numbersEncoding;
+	}
+
+	/**
+	 * Returns the digit of a character which maps to a single ASCII digit
+	 * @param character Character to be looked up
+	 * @return The digit, or -1 if the character is not mapped or maps to anything else
+	 */
+	public int digitOf(char character) {
+		byte digit = bmpDigits[character];
+		return digit == UNMAPPED ? -1 : digit;
+	}
+
+	/**
+	 * Converts the word to its number representation
+	 * @param word Word to be converted
+	 * @return The number representation of the word, or null if a character of the word is not mapped
+	 */
+	public String encode(CharSequence word) {
+		int length = word.length();
+		char[] digits = new char[length];
+		for (int index = 0; index < length; index++) {
+			byte digit = bmpDigits[word.charAt(index)];
+			if (digit == UNMAPPED) {
+				return encodeFrom(word, index, digits);
+			}
+			digits[index] = (char) digit;
+		}
+		return new String(digits);
+	}
+
+	/**
+	 * Converts the rest of the word one code point at a time, once a character which is not in the array is found
+	 */
+	private String encodeFrom(CharSequence word, int index, char[] digits) {
+		StringBuilder numRepresentationOfWord = new StringBuilder(word.length() + 8).append(digits, 0, index);
+		while (index < word.length()) {
+			int codePoint = Character.codePointAt(word, index);
+			index += Character.charCount(codePoint);
+			if (codePoint <= Character.MAX_VALUE && bmpDigits[codePoint] != UNMAPPED) {
+				numRepresentationOfWord.append((char) bmpDigits[codePoint]);
+				continue;
+			}
+			String mappingDigit = otherDigits.get(codePoint);
+			if (mappingDigit == null) {
+				return null;
+			}
+			numRepresentationOfWord.append(mappingDigit);
+		}
+		return numRepresentationOfWord.toString();
+	}
+}
@@ -1,6 +1,7 @@
 package com.aconex.challenge.numbertowords.dictionary;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.Collections;
 import java.util.HashMap;
@@ -9,6 +10,7 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Stream;
 
+import com.aconex.challenge.numbertowords.util.IOUtils;
 import com.aconex.challenge.numbertowords.util.StringUtil;
 /**
  * This is a utility class which by default parses an internal file containing the number encoding
@@ -48,6 +50,8 @@ public class NumbersEncodingParser {
 	
 	private Map<String,String> charToDigitEncodingMap;
 
+	private NumbersEncoding compiledEncoding;
+
 	/**
 	 * No-arg constructor which would parse an internal encoding file and create the mapping.<br>
 	 * Parsing is done as a part of the constructor so that when the method {@link #getCharToDigitEncoding()}
@@ -63,6 +67,16 @@ public class NumbersEncodingParser {
 	public NumbersEncodingParser(InputStreamReader numbersEncodingReader) {
 		parse(numbersEncodingReader);
 	}
+	/**
+	 * Returns the checksum of the internal file which has the number encoding. 
+	 * It tells if a {@link CompiledDictionary} was compiled with the same number encoding.
+	 * @return CRC32 checksum of the internal number encoding file
+	 * @throws IOException If the internal number encoding file can not be read
+	 */
+	public static long encodingChecksum() throws IOException {
+		return IOUtils.checksum(ClassLoader.getSystemResourceAsStream(NUMBERS_ENCODING_FILE_NAME));
+	}
+
 	/**
 	 * Returns the encoding map such that each character has its own key
 	 * @return Encoding map such that each character has its own key
@@ -72,6 +86,14 @@ public class NumbersEncodingParser {
 		return Collections.unmodifiableMap(charToDigitEncodingMap);
 	}
 
+	/**
+	 * Returns the encoding compiled into a lookup table, which converts a word to a number without a map lookup for every character
+	 * @return Compiled encoding
+	 */
+	public NumbersEncoding getCompiledEncoding() {
+		return compiledEncoding;
+	}
+
 	//TODO : Presently it does not have validation, but they need to be added preceded by their corresponding unit tests
 	// to support external encoding in a more robust manner
 	// The current set of Unit tests would ensure that existing functionality is not broken.
@@ -94,6 +116,7 @@ public class NumbersEncodingParser {
 				}
 			});
 		}
+		compiledEncoding = NumbersEncoding.compile(charToDigitEncodingMap);
 		if (LOGGER.isLoggable(Level.FINER)) {
             LOGGER.log(Level.FINER, "Number encoding map being used: {0}", charToDigitEncodingMap );
 }
@@ -0,0 +1,291 @@
+package com.aconex.challenge.numbertowords.dictionary;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.aconex.challenge.numbertowords.dictionary.transformers.InputTransformer;
+
+/**
+ * An implementation of {@link DictionaryFactory} which packs each number of the {@link Dictionary} into a primitive long key,
+ * and stores the words of all the numbers in one flat array.
+ *
+ * <p>A number of up to 18 digits is packed as the decimal value of the digit 1 followed by the digits of the number,
+ * so the numbers 2255 and 02255 become the keys 12255 and 102255. The keys are stored in an open addressing hash table of longs,
+ * where each slot points to the words of its number. So a look up hashes the digits in place,
+ * and compares longs instead of following the references of a {@link HashMap} entry and its string key.
+ *
+ * <p>While the dictionary is populated, the words of each number are chained in growing arrays.
+ * Once it is populated, the words are compacted so that the words of each number are next to each other in one array,
+ * and each number gets a read only set view over its words, instead of a {@link HashSet} per number.
+ * The approximate memory used, apart from the words, is logged once the dictionary is populated.
+ *
+ * <p>Numbers longer than 18 digits, or with characters other than 0-9, do not fit a long key and are stored the same way as {@link HashBasedDictionaryFactory}.
+ * @author Abhishek Agarwal
+ *
+ */
+
+public class PackedDictionaryFactory extends DictionaryFactory {
+	private static final Logger LOGGER = Logger.getLogger(PackedDictionaryFactory.class.getName());
+
+	/**
+	 * Maximum no. of digits of a number which can be packed into a long key
+	 */
+	static final int MAX_PACKED_DIGITS = 18;
+
+	/**
+	 * Key of an empty slot. Every packed key starts with the digit 1 so it is never 0.
+	 */
+	private static final long EMPTY_KEY = 0;
+
+	private static final int INITIAL_CAPACITY = 1024;
+
+	public PackedDictionaryFactory(InputTransformer<String> wordToNumberConverter) {
+		super(wordToNumberConverter);
+	}
+
+	/**
+	 * Implementation of the factory method to instantiate a concrete dictionary class
+	 * @return Returns an empty packed dictionary object
+	 */
+	@Override
+	public Dictionary createDictionary() {
+		return new PackedDictionary();
+	}
+
+	/**
+	 * Compacts the words once all the words are added, and logs the approximate memory used by the dictionary.
+	 */
+	@Override
+	protected void dictionaryPopulated(Dictionary dictionary) {
+		PackedDictionary packedDictionary = (PackedDictionary) dictionary;
+		packedDictionary.compact();
+		LOGGER.log(Level.INFO, "Packed dictionary of {0} numbers, {1} of them too long to pack. Approximate memory used apart from the words: {2} KB",
+				new Object[] { packedDictionary.getUniqueNumbersCount(), packedDictionary.overflow.size(),
+						packedDictionary.approximateMemoryBytes() / 1024 });
+	}
+
+	/**
+	 * Packs a range of a number string into a long key.
+	 * @return The packed key, or {@link #EMPTY_KEY} if the range is too long or has a character other than 0-9.
+	 */
+	static long pack(CharSequence number, int from, int to) {
+		if (to - from > MAX_PACKED_DIGITS) {
+			return EMPTY_KEY;
+		}
+		long key = 1;
+		for (int index = from; index < to; index++) {
+			char digitChar = number.charAt(index);
+			if (digitChar < '0' || digitChar > '9') {
+				return EMPTY_KEY;
+			}
+			key = key * 10 + (digitChar - '0');
+		}
+		return key;
+	}
+
+	/**
+	 * An inner class which is a concrete implementation of {@link Dictionary} relying on an open addressing hash table of long keys
+	 */
+	private class PackedDictionary implements Dictionary {
+		/**
+		 * Packed key of the number in each slot, {@link #EMPTY_KEY} if the slot is empty
+		 */
+		private long[] keys;
+
+		/**
+		 * For each slot, index in {@link #words} of the last word added for its number
+		 */
+		private int[] lastWords;
+
+		/**
+		 * For each slot, the read only view of the words of its number. Null until the words are compacted.
+		 */
+		private WordsView[] wordsViews;
+
+		private int packedNumbersCount;
+
+		/**
+		 * Words of all the numbers. Till they are compacted, the words of a number are chained through {@link #previousWords}.
+		 * Once compacted the words of each number are next to each other.
+		 */
+		private String[] words;
+
+		/**
+		 * For each word, index in {@link #words} of the previous word of the same number, -1 for the first word of a number
+		 */
+		private int[] previousWords;
+
+		private int wordsCount;
+
+		/**
+		 * Numbers which do not fit in a long key
+		 */
+		private Map<String, Set<String>> overflow;
+
+		/**
+		 * Key for looking up a range of a number string in the overflow numbers, reused by each thread.
+		 */
+		private final ThreadLocal<CharSequenceRangeKey> lookupKey = ThreadLocal.withInitial(CharSequenceRangeKey::new);
+
+		/**
+		 * False if words are added after the words were last compacted
+		 */
+		private volatile boolean compacted;
+
+		public PackedDictionary() {
+			keys = new long[INITIAL_CAPACITY];
+			lastWords = new int[INITIAL_CAPACITY];
+			words = new String[INITIAL_CAPACITY];
+			previousWords = new int[INITIAL_CAPACITY];
+			overflow = new HashMap<String, Set<String>>();
+		}
+
+		@Override
+		public synchronized void insert(String matchingNumber, String word) {
+			long key = pack(matchingNumber, 0, matchingNumber.length());
+			if (key == EMPTY_KEY) {
+				overflow.computeIfAbsent(matchingNumber, (number) -> new HashSet<String>()).add(word);
+				return;
+			}
+			int slot = findSlot(key);
+			if (keys[slot] == EMPTY_KEY) {
+				if ((packedNumbersCount + 1) * 2 > keys.length) {
+					resize();
+					slot = findSlot(key);
+				}
+				keys[slot] = key;
+				lastWords[slot] = -1;
+				packedNumbersCount++;
+			}
+			for (int wordIndex = lastWords[slot]; wordIndex >= 0; wordIndex = previousWords[wordIndex]) {
+				if (words[wordIndex].equals(word)) {
+					return;
+				}
+			}
+			if (wordsCount == words.length) {
+				int capacity = Math.max(INITIAL_CAPACITY, wordsCount * 2);
+				words = Arrays.copyOf(words, capacity);
+				previousWords = Arrays.copyOf(previousWords, capacity);
+			}
+			words[wordsCount] = word;
+			previousWords[wordsCount] = lastWords[slot];
+			lastWords[slot] = wordsCount++;
+			compacted = false;
+		}
+
+		@Override
+		public Set<String> findMatchingWords(String number) {
+			return findMatchingWords(number, 0, number.length());
+		}
+
+		@Override
+		public Set<String> findMatchingWords(CharSequence number, int from, int to) {
+			long key = pack(number, from, to);
+			if (key == EMPTY_KEY) {
+				return overflow.isEmpty() ? null : overflow.get(lookupKey.get().set(number, from, to));
+			}
+			if (!compacted) {
+				compact();
+			}
+			int slot = findSlot(key);
+			return keys[slot] == EMPTY_KEY ? null : wordsViews[slot];
+		}
+
+		@Override
+		public int getUniqueNumbersCount() {
+			return packedNumbersCount + overflow.size();
+		}
+
+		/**
+		 * Visits the packed numbers in the order of their slots, unpacking each key by dropping its leading digit 1, and then the numbers too long to pack
+		 */
+		@Override
+		public void forEachNumber(BiConsumer<String, Set<String>> consumer) {
+			if (!compacted) {
+				compact();
+			}
+			for (int slot = 0; slot < keys.length; slot++) {
+				if (keys[slot] != EMPTY_KEY) {
+					consumer.accept(Long.toString(keys[slot]).substring(1), wordsViews[slot]);
+				}
+			}
+			overflow.forEach(consumer);
+		}
+
+		/**
+		 * Finds the slot of the key with linear probing.
+		 * @return The slot which has the key, or the empty slot where the key should be added
+		 */
+		private int findSlot(long key) {
+			int mask = keys.length - 1;
+			long hash = key * 0x9E3779B97F4A7C15L;
+			int slot = (int) (hash ^ (hash >>> 32)) & mask;
+			while (keys[slot] != EMPTY_KEY && keys[slot] != key) {
+				slot = (slot + 1) & mask;
+			}
+			return slot;
+		}
+
+		private void resize() {
+			long[] oldKeys = keys;
+			int[] oldLastWords = lastWords;
+			keys = new long[oldKeys.length * 2];
+			lastWords = new int[oldKeys.length * 2];
+			for (int oldSlot = 0; oldSlot < oldKeys.length; oldSlot++) {
+				if (oldKeys[oldSlot] != EMPTY_KEY) {
+					int slot = findSlot(oldKeys[oldSlot]);
+					keys[slot] = oldKeys[oldSlot];
+					lastWords[slot] = oldLastWords[oldSlot];
+				}
+			}
+		}
+
+		/**
+		 * Moves the words of each number next to each other, trims the words array to its size and creates the read only view of the words of each number.
+		 * The words of each number are kept in the order they were added.
+		 */
+		private synchronized void compact() {
+			if (compacted) {
+				return;
+			}
+			String[] compactWords = new String[wordsCount];
+			int[] compactPreviousWords = new int[wordsCount];
+			wordsViews = new WordsView[keys.length];
+			int start = 0;
+			for (int slot = 0; slot < keys.length; slot++) {
+				if (keys[slot] == EMPTY_KEY) {
+					continue;
+				}
+				int count = 0;
+				for (int wordIndex = lastWords[slot]; wordIndex >= 0; wordIndex = previousWords[wordIndex]) {
+					count++;
+				}
+				int index = start + count - 1;
+				for (int wordIndex = lastWords[slot]; wordIndex >= 0; wordIndex = previousWords[wordIndex]) {
+					compactWords[index] = words[wordIndex];
+					compactPreviousWords[index] = index == start ? -1 : index - 1;
+					index--;
+				}
+				lastWords[slot] = start + count - 1;
+				wordsViews[slot] = new WordsView(compactWords, start, count);
+				start += count;
+			}
+			words = compactWords;
+			previousWords = compactPreviousWords;
+			compacted = true;
+		}
+
+		private long approximateMemoryBytes() {
+			// 8 bytes per key, 4 per last word index and 4 per reference to a view, 24 bytes per view,
+			// and 4 bytes per reference to a word and 4 per previous word index
+			return keys.length * 16L + packedNumbersCount * 24L + words.length * 8L;
+		}
+	}
+
+}
@@ -0,0 +1,59 @@
+package com.aconex.challenge.numbertowords.dictionary;
+
+import com.aconex.challenge.numbertowords.dictionary.transformers.InputTransformer;
+
+/**
+ * An implementation of {@link DictionaryFactory} which relies on a digit trie for the {@link Dictionary}
+ *
+ * <p>Each node of the trie is a digit of the numbers in the dictionary and has an array of 10 children, one for each next digit.
+ * The words of a number are stored on the node of its last digit.
+ * So while walking a number string from an offset, all the words of its sub-sequences starting at the offset are found in one pass,
+ * and the walk stops at the first digit where no number in the dictionary continues.
+ * Ex-&gt; If the dictionary has CALL(2255) and ME(63), then walking 2263 stops at the second 2 with no match,
+ * without looking up 226 and 2263.
+ *
+ * <p>The numbers are expected to be made of the digits 0-9 only.
+ * @author Abhishek Agarwal
+ *
+ */
+
+public class TrieDictionaryFactory extends DictionaryFactory {
+
+	public TrieDictionaryFactory(InputTransformer<String> wordToNumberConverter) {
+		super(wordToNumberConverter);
+	}
+
+	/**
+	 * Implementation of the factory method to instantiate a concrete dictionary class
+	 * @return Returns an empty Trie based dictionary object
+	 */
+	@Override
+	public Dictionary createDictionary() {
+		return new TrieDictionary();
+	}
+
+	/**
+	 * A node of the trie
+	 */
+	private static class TrieNode extends DigitTrieDictionary.Node<TrieNode> {
+		@Override
+		TrieNode[] newChildren() {
+			return new TrieNode[10];
+		}
+
+		@Override
+		TrieNode newChild() {
+			return new TrieNode();
+		}
+	}
+
+	/**
+	 * A nested class which is a concrete implementation of {@link Dictionary} relying on a digit trie
+	 */
+	private static class TrieDictionary extends DigitTrieDictionary<TrieNode> {
+		public TrieDictionary() {
+			super("Trie", new TrieNode());
+		}
+	}
+
+}
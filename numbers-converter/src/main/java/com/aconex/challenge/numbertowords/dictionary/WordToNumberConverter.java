@@ -1,12 +1,15 @@
 package com.aconex.challenge.numbertowords.dictionary;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import com.aconex.challenge.numbertowords.dictionary.transformers.FusedStage;
+import com.aconex.challenge.numbertowords.dictionary.transformers.FusibleTransformer;
 import com.aconex.challenge.numbertowords.dictionary.transformers.InputTransformer;
 import com.aconex.challenge.numbertowords.dictionary.transformers.TransformerContainer;
-import com.aconex.challenge.numbertowords.util.CollectionsUtil;
 
 /**
  * Transforms a word to a number based on the number encoding used to be stored in the dictionary.<br>
@@ -21,13 +24,18 @@ import com.aconex.challenge.numbertowords.util.CollectionsUtil;
  * P,Q,R,S -&gt; 7 <br>
  * T,U,V -&gt; 8	<br>
  * W,X,Y,Z -&gt; 9	<br><br>
+ * 
+ * It can be fused with its parent transformers by {@link com.aconex.challenge.numbertowords.dictionary.transformers.CompiledTransformerChain CompiledTransformerChain},
+ * for the characters which are mapped to a single digit.<br>
+ * 
+ * The number encoding is {@link NumbersEncoding compiled} into a lookup table, and a word with a character which is not mapped gets an error instead of being converted.
 	
  * @author Abhishek Agarwal
  *
  */
-public class WordToNumberConverter implements InputTransformer<String> {
+public class WordToNumberConverter implements FusibleTransformer {
 	private static final Logger LOGGER = Logger.getLogger(WordToNumberConverter.class.getName());
-	Map<String,String> numbersEncodingMap;
+	NumbersEncoding numbersEncoding;
 	InputTransformer<String> parentTransformer;
 	
 	/**
@@ -36,7 +44,16 @@ public class WordToNumberConverter implements InputTransformer<String> {
 	 */
 	
 	public WordToNumberConverter(Map<String,String> numbersEncodingMap) {
-		this.numbersEncodingMap = numbersEncodingMap;
+		this(NumbersEncoding.compile(numbersEncodingMap));
+	}
+
+	/**
+	 * Creates an object with the compiled number encoding which would be used to convert word to number
+	 * @param numbersEncoding Compiled number encoding which is used to convert word to number
+	 */
+	
+	public WordToNumberConverter(NumbersEncoding numbersEncoding) {
+		this.numbersEncoding = numbersEncoding;
 	}
 
 	/**
@@ -46,8 +63,18 @@ public class WordToNumberConverter implements InputTransformer<String> {
 	 */
 	
 	public WordToNumberConverter(InputTransformer<String> parentTransformer, Map<String,String> numbersEncodingMap) {
+		this(parentTransformer, NumbersEncoding.compile(numbersEncodingMap));
+	}
+
+	/**
+	 * Creates an object with the compiled number encoding and parentTransformer which would be used to convert word to number
+	 * @param parentTransformer Parent transformer if there is any massaging to be done before encoding is used to convert it to a number
+	 * @param numbersEncoding Compiled number encoding which is used to convert word to number
+	 */
+	
+	public WordToNumberConverter(InputTransformer<String> parentTransformer, NumbersEncoding numbersEncoding) {
 		this.parentTransformer = parentTransformer;
-		this.numbersEncodingMap = numbersEncodingMap;
+		this.numbersEncoding = numbersEncoding;
 	}
 
 
@@ -55,7 +82,8 @@ public class WordToNumberConverter implements InputTransformer<String> {
 	 * Transforms a given word,after applying transformation from a parent transformer, to a number based on the number encoding.<br>
 	 * Furthermore, if there is a parent transformer applied, then the word generated by it is set as the input to argument numberTransformerContainer.<br>
 	 * Since that is the word which would be stored in the dictionary. 
-	 * For example if the parent transformer converts the word to uppercase then we would be storing the upper case word in the dictionary 
+	 * For example if the parent transformer converts the word to uppercase then we would be storing the upper case word in the dictionary.<br>
+	 * If a character of the word is not mapped by the number encoding, the error is added to the container instead.
 	 * @param wordToNumTransformerContainer Container which encapsulates the word to be transformed and is fed with the transformed number
 	 */
 
@@ -65,7 +93,7 @@ public class WordToNumberConverter implements InputTransformer<String> {
 		String wordToBeConverted = null;
 		if(parentTransformer != null) {
 			parentTransformer.transform(wordToNumTransformerContainer);
-			if(CollectionsUtil.isNullOrEmpty(wordToNumTransformerContainer.getErrors())) {
+			if(!wordToNumTransformerContainer.hasErrors()) {
 				try {
 					// The reason we need to flip this is that in dictionary we would store the transformed word of the previous transformations
 					// Ex- Say the word is "Won't" , This would be transformed to "WONT" which is what would be added to the dictionary
@@ -82,7 +110,12 @@ public class WordToNumberConverter implements InputTransformer<String> {
 		}
 		
 		if(wordToBeConverted != null) { // This check means there was no error returned from the parent transformer
-			wordToNumTransformerContainer.setTransformed(convertWordToNumber(wordToBeConverted));
+			String numRepresentationOfWord = convertWordToNumber(wordToBeConverted);
+			if (numRepresentationOfWord == null) {
+				wordToNumTransformerContainer.addError(TransformerContainer.UNMAPPED_CHARACTER);
+				return;
+			}
+			wordToNumTransformerContainer.setTransformed(numRepresentationOfWord);
 			if (LOGGER.isLoggable(Level.FINEST)) {
                 LOGGER.log(Level.FINEST, "Dictionary word transformation: {0} ", wordToNumTransformerContainer);
 			}
@@ -91,24 +124,39 @@ public class WordToNumberConverter implements InputTransformer<String> {
 	}
 	
 
+	@Override
+	public InputTransformer<String> getParentTransformer() {
+		return parentTransformer;
+	}
+
 	/**
-	 * Converts word to its number representation based on a given {link {@link #numbersEncodingMap Number Encoding}
-	 * @param wordToBeConverted Dictionary word which is to be converted
-	 * @return number representation of the word
+	 * Returns the stage which maps each character to its digit, and keeps the word of the parent transformer as the input, same as {@link #transform(TransformerContainer)}.
+	 * The characters which are not mapped, or are mapped to more than one character, are left to {@link #convertWordToNumber(String)}
 	 */
-	
+	@Override
+	public List<FusedStage> getFusedStages() {
+		boolean keepsInput = parentTransformer != null;
+		return Collections.singletonList(new FusedStage() {
+			@Override
+			public int map(char character) {
+				int digit = numbersEncoding.digitOf(character);
+				return digit < 0 ? UNFUSED : digit;
+			}
 
-	protected String convertWordToNumber(String wordToBeConverted) {
-		StringBuilder numRepresentationOfWord = new StringBuilder();
-		wordToBeConverted.codePoints().forEach((alphabetCodePoint) -> {
-			String alphabet = new String(Character.toChars(alphabetCodePoint));
-			String mappingDigit = numbersEncodingMap.get(alphabet);
-			if (mappingDigit == null) {
-				throw new NullPointerException();
+			@Override
+			public boolean keepsInput() {
+				return keepsInput;
 			}
-			numRepresentationOfWord.append(mappingDigit);
 		});
-		return numRepresentationOfWord.toString();
+	}
+
+	/**
+	 * Converts word to its number representation based on a given {@link #numbersEncoding Number Encoding}
+	 * @param wordToBeConverted Dictionary word which is to be converted
+	 * @return number representation of the word, or null if a character of the word is not mapped
+	 */
+	protected String convertWordToNumber(String wordToBeConverted) {
+		return numbersEncoding.encode(wordToBeConverted);
 	}
 
 }
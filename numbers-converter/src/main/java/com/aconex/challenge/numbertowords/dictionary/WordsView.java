@@ -0,0 +1,67 @@
+package com.aconex.challenge.numbertowords.dictionary;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Read only set view over the words of a number, which are next to each other in a flat array of words shared by all the numbers of a dictionary.
+ * It does not copy the words, and since it can not be modified it can be returned to any no. of threads.
+ * 
+ * @author Abhishek Agarwal
+ *
+ */
+final class WordsView extends AbstractSet<String> {
+	private final String[] words;
+
+	private final int start;
+
+	private final int count;
+
+	/**
+	 * Constructs the view over a slice of the words
+	 * @param words Flat array of the words of all the numbers
+	 * @param start Index of the first word of the number
+	 * @param count No. of words of the number
+	 */
+	WordsView(String[] words, int start, int count) {
+		this.words = words;
+		this.start = start;
+		this.count = count;
+	}
+
+	@Override
+	public Iterator<String> iterator() {
+		return new Iterator<String>() {
+			private int index = start;
+
+			@Override
+			public boolean hasNext() {
+				return index < start + count;
+			}
+
+			@Override
+			public String next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return words[index++];
+			}
+		};
+	}
+
+	@Override
+	public boolean contains(Object word) {
+		for (int index = start; index < start + count; index++) {
+			if (words[index].equals(word)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public int size() {
+		return count;
+	}
+}
@@ -0,0 +1,376 @@
+package com.aconex.challenge.numbertowords.dictionary.transformers;
+
+/**
+ * A set of characters compiled from a regular expression character class, such as [\p{Punct}\s] or [A-Za-z],
+ * so that a character is looked up in a bit set instead of being matched by the regular expression engine.
+ *
+ * <p>Only the simple classes are compiled, i.e. a bracketed class of literal characters, ranges, the predefined classes \s \d \w (and their negations)
+ * and the POSIX classes like \p{Punct}, optionally negated with ^. Same as {@link java.util.regex.Pattern} without any flag, the predefined and the POSIX classes are ASCII only.
+ * Nested classes, intersections, Unicode properties and the other escapes are not compiled.
+ * @author Abhishek Agarwal
+ *
+ */
+final class CharClass {
+
+	private final long[] bits = new long[(Character.MAX_VALUE + 1) / 64];
+
+	private CharClass() {
+	}
+
+	/**
+	 * Returns true if the character is in the set
+	 * @param character Character to be looked up
+	 * @return true if the character is in the set
+	 */
+	boolean contains(char character) {
+		return (bits[character >>> 6] & (1L << character)) != 0;
+	}
+
+	/**
+	 * Compiles the character class at the start of the regular expression
+	 * @param regex Regular expression which starts with a character class
+	 * @param parsePosition Index where the class starts, which is advanced to after the class
+	 * @return The compiled class, or null if the regular expression does not start with a class which can be compiled
+	 */
+	static CharClass parse(String regex, int[] parsePosition) {
+		CharClass charClass = new CharClass();
+		int position = parsePosition[0];
+		// The index after a literal is kept in the high bits of an int
+		if (position >= regex.length() || regex.length() > Short.MAX_VALUE) {
+			return null;
+		}
+		if (regex.charAt(position) == '\\') {
+			position = charClass.addEscape(regex, position + 1, false);
+		} else if (regex.charAt(position) == '[') {
+			position = charClass.addBracketedClass(regex, position + 1);
+		} else {
+			return null;
+		}
+		if (position < 0) {
+			return null;
+		}
+		parsePosition[0] = position;
+		return charClass;
+	}
+
+	/**
+	 * Compiles a character class, optionally followed by + or *, which strips the same characters when all its matches are replaced
+	 */
+	static CharClass parseStripRegex(String stripCharsRegex) {
+		int[] position = { 0 };
+		CharClass stripChars = parse(stripCharsRegex, position);
+		if (stripChars == null) {
+			return null;
+		}
+		int end = position[0];
+		if (end < stripCharsRegex.length() && (stripCharsRegex.charAt(end) == '+' || stripCharsRegex.charAt(end) == '*')) {
+			end++;
+		}
+		return end == stripCharsRegex.length() ? stripChars : null;
+	}
+
+	/**
+	 * Compiles ^, a character class with an optional quantifier, and $. The minimum and maximum count of the quantifier are returned in the array.
+	 */
+	static CharClass parseValidRegex(String validCharsRegex, int[] quantifier) {
+		if (!validCharsRegex.startsWith("^") || !validCharsRegex.endsWith("$") || validCharsRegex.endsWith("\\$")) {
+			return null;
+		}
+		String classAndQuantifier = validCharsRegex.substring(1, validCharsRegex.length() - 1);
+		int[] position = { 0 };
+		CharClass validChars = parse(classAndQuantifier, position);
+		if (validChars == null) {
+			return null;
+		}
+		String quantifierStr = classAndQuantifier.substring(position[0]);
+		// A reluctant quantifier matches the same, since the match has to reach the end anyway
+		if (quantifierStr.length() > 1 && quantifierStr.endsWith("?")) {
+			quantifierStr = quantifierStr.substring(0, quantifierStr.length() - 1);
+		}
+		if (quantifierStr.isEmpty()) {
+			quantifier[0] = 1;
+			quantifier[1] = 1;
+		} else if (quantifierStr.equals("+")) {
+			quantifier[0] = 1;
+			quantifier[1] = Integer.MAX_VALUE;
+		} else if (quantifierStr.equals("*")) {
+			quantifier[0] = 0;
+			quantifier[1] = Integer.MAX_VALUE;
+		} else if (quantifierStr.equals("?")) {
+			quantifier[0] = 0;
+			quantifier[1] = 1;
+		} else if (quantifierStr.matches("\\{[0-9]{1,9}(,[0-9]{0,9})?\\}")) {
+			String[] counts = quantifierStr.substring(1, quantifierStr.length() - 1).split(",", -1);
+			quantifier[0] = Integer.parseInt(counts[0]);
+			quantifier[1] = counts.length == 1 ? quantifier[0] : counts[1].isEmpty() ? Integer.MAX_VALUE : Integer.parseInt(counts[1]);
+			if (quantifier[1] < quantifier[0]) {
+				return null;
+			}
+		} else {
+			return null;
+		}
+		return validChars;
+	}
+
+	/**
+	 * Adds the characters of the class after the opening bracket, and returns the index after the closing bracket, or -1 if it can not be compiled
+	 */
+	private int addBracketedClass(String regex, int position) {
+		boolean negated = position < regex.length() && regex.charAt(position) == '^';
+		if (negated) {
+			position++;
+		}
+		boolean first = true;
+		while (position < regex.length()) {
+			char character = regex.charAt(position);
+			if (character == ']' && !first) {
+				if (negated) {
+					for (int index = 0; index < bits.length; index++) {
+						bits[index] = ~bits[index];
+					}
+				}
+				return position + 1;
+			}
+			first = false;
+			if (character == '[' || (character == '&' && regex.startsWith("&&", position))) {
+				return -1;
+			}
+			int rangeStart;
+			if (character == '\\') {
+				int literal = escapedLiteral(regex, position + 1);
+				if (literal < 0) {
+					// Not a literal, so it has to be a predefined class which can not start a range
+					position = addEscape(regex, position + 1, true);
+					if (position < 0) {
+						return -1;
+					}
+					continue;
+				}
+				rangeStart = literal & 0xFFFF;
+				position = literal >>> 16;
+			} else {
+				rangeStart = character;
+				position++;
+			}
+			int rangeEnd = rangeStart;
+			if (position + 1 < regex.length() && regex.charAt(position) == '-' && regex.charAt(position + 1) != ']') {
+				char end = regex.charAt(position + 1);
+				if (end == '[') {
+					return -1;
+				}
+				if (end == '\\') {
+					int literal = escapedLiteral(regex, position + 2);
+					if (literal < 0) {
+						return -1;
+					}
+					rangeEnd = literal & 0xFFFF;
+					position = literal >>> 16;
+				} else {
+					rangeEnd = end;
+					position += 2;
+				}
+				if (rangeEnd < rangeStart) {
+					return -1;
+				}
+			}
+			add(rangeStart, rangeEnd);
+		}
+		return -1;
+	}
+
+	/**
+	 * Adds the predefined class escaped after the back slash, and returns the index after it, or -1 if it can not be compiled.
+	 * A literal escape is added as well, unless it is inside a bracketed class where the caller has handled the literals.
+	 */
+	private int addEscape(String regex, int position, boolean inBrackets) {
+		if (position >= regex.length()) {
+			return -1;
+		}
+		char escaped = regex.charAt(position);
+		switch (escaped) {
+			case 's':
+				addSpaces();
+				return position + 1;
+			case 'd':
+				add('0', '9');
+				return position + 1;
+			case 'w':
+				addWordChars();
+				return position + 1;
+			case 'S':
+			case 'D':
+			case 'W':
+				// Everything but the class
+				CharClass complement = new CharClass();
+				if (escaped == 'S') {
+					complement.addSpaces();
+				} else if (escaped == 'D') {
+					complement.add('0', '9');
+				} else {
+					complement.addWordChars();
+				}
+				for (int index = 0; index < bits.length; index++) {
+					bits[index] |= ~complement.bits[index];
+				}
+				return position + 1;
+			case 'p':
+				int end = regex.indexOf('}', position);
+				if (position + 1 >= regex.length() || regex.charAt(position + 1) != '{' || end < 0 || !addPosixClass(regex.substring(position + 2, end))) {
+					return -1;
+				}
+				return end + 1;
+			default:
+				if (inBrackets) {
+					return -1;
+				}
+				int literal = escapedLiteral(regex, position);
+				if (literal < 0) {
+					return -1;
+				}
+				add(literal & 0xFFFF, literal & 0xFFFF);
+				return literal >>> 16;
+		}
+	}
+
+	/**
+	 * Returns the literal character escaped after the back slash in the low 16 bits, and the index after it in the high bits,
+	 * or -1 if the escape is not a literal which can be compiled
+	 */
+	private static int escapedLiteral(String regex, int position) {
+		if (position >= regex.length()) {
+			return -1;
+		}
+		char escaped = regex.charAt(position);
+		switch (escaped) {
+			case 't':
+				return literal('\t', position + 1);
+			case 'n':
+				return literal('\n', position + 1);
+			case 'r':
+				return literal('\r', position + 1);
+			case 'f':
+				return literal('\f', position + 1);
+			case 'a':
+				return literal('\u0007', position + 1);
+			case 'e':
+				return literal('\u001B', position + 1);
+			case 'x':
+				return hexLiteral(regex, position + 1, 2);
+			case 'u':
+				return hexLiteral(regex, position + 1, 4);
+			default:
+				// Any other character than a letter or a digit is escaped as itself
+				if (escaped < 128 && !Character.isLetterOrDigit(escaped)) {
+					return literal(escaped, position + 1);
+				}
+				return -1;
+		}
+	}
+
+	private static int hexLiteral(String regex, int position, int digits) {
+		if (position + digits > regex.length()) {
+			return -1;
+		}
+		int value = 0;
+		for (int index = position; index < position + digits; index++) {
+			int digit = Character.digit(regex.charAt(index), 16);
+			if (digit < 0) {
+				return -1;
+			}
+			value = value * 16 + digit;
+		}
+		return literal((char) value, position + digits);
+	}
+
+	private static int literal(char character, int nextPosition) {
+		return nextPosition << 16 | character;
+	}
+
+	/**
+	 * Adds the POSIX class of the given name, as defined by {@link java.util.regex.Pattern} for US-ASCII
+	 */
+	private boolean addPosixClass(String name) {
+		switch (name) {
+			case "Lower":
+				add('a', 'z');
+				return true;
+			case "Upper":
+				add('A', 'Z');
+				return true;
+			case "ASCII":
+				add(0, 0x7F);
+				return true;
+			case "Alpha":
+				add('a', 'z');
+				add('A', 'Z');
+				return true;
+			case "Digit":
+				add('0', '9');
+				return true;
+			case "Alnum":
+				add('a', 'z');
+				add('A', 'Z');
+				add('0', '9');
+				return true;
+			case "Punct":
+				addPunctuations();
+				return true;
+			case "Graph":
+				add('a', 'z');
+				add('A', 'Z');
+				add('0', '9');
+				addPunctuations();
+				return true;
+			case "Print":
+				add('a', 'z');
+				add('A', 'Z');
+				add('0', '9');
+				addPunctuations();
+				add(' ', ' ');
+				return true;
+			case "Blank":
+				add(' ', ' ');
+				add('\t', '\t');
+				return true;
+			case "Cntrl":
+				add(0, 0x1F);
+				add(0x7F, 0x7F);
+				return true;
+			case "XDigit":
+				add('0', '9');
+				add('a', 'f');
+				add('A', 'F');
+				return true;
+			case "Space":
+				addSpaces();
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	private void addPunctuations() {
+		add('!', '/');
+		add(':', '@');
+		add('[', '`');
+		add('{', '~');
+	}
+
+	private void addSpaces() {
+		add(' ', ' ');
+		add('\t', '\r');
+	}
+
+	private void addWordChars() {
+		add('a', 'z');
+		add('A', 'Z');
+		add('0', '9');
+		add('_', '_');
+	}
+
+	private void add(int first, int last) {
+		for (int character = first; character <= last; character++) {
+			bits[character >>> 6] |= 1L << character;
+		}
+	}
+}
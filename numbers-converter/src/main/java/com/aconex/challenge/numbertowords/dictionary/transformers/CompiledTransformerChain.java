@@ -0,0 +1,172 @@
+package com.aconex.challenge.numbertowords.dictionary.transformers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A chain of transformers compiled into one pass over the characters of the input.<br>
+ *
+ * Ex- The dictionary words are transformed by {@link com.aconex.challenge.numbertowords.dictionary.WordToNumberConverter WordToNumberConverter},
+ * decorating {@link UpperCaseTransformer} decorating {@link StripAndValidateInput}. Each of them transforms the whole word and pipes it to the next one,
+ * so the word is copied and scanned again by each transformer. Instead the chain is declared as before and compiled by {@link #compile(InputTransformer)},
+ * which strips, validates, converts to upper case and to a number each character in a single loop.
+ *
+ * <p>Every transformer of the chain must be a {@link FusibleTransformer}. Their {@link FusedStage stages} are composed for every character into lookup tables,
+ * giving the character output by the last stage, the character at the stage which {@link FusedStage#keepsInput() keeps the input}, and the no. of stages the character passes before it is stripped.
+ * So a character costs the same whatever the no. of stages.
+ *
+ * <p>The inputs with a character any stage can not handle, such as an invalid or a surrogate character, or with a no. of characters a stage does not accept,
+ * are transformed by the chain as it is. So the invalid inputs get the same errors, and the results are the same as those of the chain.
+ * @author Abhishek Agarwal
+ *
+ */
+public class CompiledTransformerChain implements InputTransformer<String> {
+
+	/**
+	 * Value of {@link #stagesPassed} for the characters which can not be handled by the stages
+	 */
+	private static final byte UNFUSED = -1;
+
+	/**
+	 * The chain as it was declared, for the inputs which can not be handled by the stages
+	 */
+	private final InputTransformer<String> chain;
+
+	private final FusedStage[] stages;
+
+	/**
+	 * Index of the last stage which keeps the input, or -1 if none
+	 */
+	private final int keptInputStage;
+
+	/**
+	 * No. of stages each character passes, i.e. the index of the stage which strips it, or the no. of stages if it is not stripped
+	 */
+	private final byte[] stagesPassed = new byte[Character.MAX_VALUE + 1];
+
+	/**
+	 * Character output by the last stage for each character
+	 */
+	private final char[] output = new char[Character.MAX_VALUE + 1];
+
+	/**
+	 * Character output by the stages before {@link #keptInputStage} for each character, or null if no stage keeps the input
+	 */
+	private final char[] keptInput;
+
+	private CompiledTransformerChain(InputTransformer<String> chain, FusedStage[] stages) {
+		this.chain = chain;
+		this.stages = stages;
+		int lastKeptInputStage = -1;
+		for (int index = 0; index < stages.length; index++) {
+			if (stages[index].keepsInput()) {
+				lastKeptInputStage = index;
+			}
+		}
+		this.keptInputStage = lastKeptInputStage;
+		this.keptInput = lastKeptInputStage < 0 ? null : new char[Character.MAX_VALUE + 1];
+		for (int character = 0; character <= Character.MAX_VALUE; character++) {
+			composeStages((char) character);
+		}
+	}
+
+	/**
+	 * Compiles the chain of transformers into one pass over the characters.
+	 * @param chain Last transformer of the chain, which decorates the rest of the chain
+	 * @return The compiled chain, or the chain as it is if any of its transformers is not a {@link FusibleTransformer} or has no stages
+	 */
+	public static InputTransformer<String> compile(InputTransformer<String> chain) {
+		List<FusedStage> stages = new ArrayList<FusedStage>();
+		InputTransformer<String> transformer = chain;
+		while (transformer != null) {
+			if (!(transformer instanceof FusibleTransformer)) {
+				return chain;
+			}
+			FusibleTransformer fusibleTransformer = (FusibleTransformer) transformer;
+			List<FusedStage> transformerStages = fusibleTransformer.getFusedStages();
+			if (transformerStages == null) {
+				return chain;
+			}
+			// The parent transformer is applied first
+			stages.addAll(0, transformerStages);
+			transformer = fusibleTransformer.getParentTransformer();
+		}
+		if (stages.size() >= Byte.MAX_VALUE) {
+			return chain;
+		}
+		return new CompiledTransformerChain(chain, stages.toArray(new FusedStage[stages.size()]));
+	}
+
+	@Override
+	public void transform(TransformerContainer<String> transformerContainer) {
+		String input = transformerContainer.getInput();
+		int length = input.length();
+		char[] outputChars = new char[length];
+		int outputCount = 0;
+		char[] keptInputChars = keptInput == null ? null : new char[length];
+		int keptInputCount = 0;
+		// No. of characters stripped by each stage, and at the end the no. of characters not stripped
+		int[] strippedCounts = new int[stages.length + 1];
+		for (int index = 0; index < length; index++) {
+			char character = input.charAt(index);
+			int passed = stagesPassed[character];
+			if (passed == UNFUSED) {
+				chain.transform(transformerContainer);
+				return;
+			}
+			strippedCounts[passed]++;
+			if (passed == stages.length) {
+				outputChars[outputCount++] = output[character];
+			}
+			if (keptInputChars != null && passed >= keptInputStage) {
+				keptInputChars[keptInputCount++] = keptInput[character];
+			}
+		}
+		int stageOutputCount = strippedCounts[stages.length];
+		for (int index = stages.length - 1; index >= 0; index--) {
+			if (!stages[index].isValidCount(stageOutputCount)) {
+				chain.transform(transformerContainer);
+				return;
+			}
+			stageOutputCount += strippedCounts[index];
+		}
+		if (keptInputChars != null) {
+			transformerContainer.setTransformed(new String(keptInputChars, 0, keptInputCount));
+			try {
+				transformerContainer.flipInput();
+			} catch (IllegalAccessException e) {
+				// Not possible, since the transformed is a string
+			}
+		}
+		transformerContainer.setTransformed(new String(outputChars, 0, outputCount));
+	}
+
+	/**
+	 * Passes the character through the stages and fills in the lookup tables for it
+	 */
+	private void composeStages(char inputCharacter) {
+		if (Character.isSurrogate(inputCharacter)) {
+			// A supplementary character is transformed as a whole by the chain
+			stagesPassed[inputCharacter] = UNFUSED;
+			return;
+		}
+		char character = inputCharacter;
+		for (int index = 0; index < stages.length; index++) {
+			if (index == keptInputStage) {
+				keptInput[inputCharacter] = character;
+			}
+			int mapped = stages[index].map(character);
+			if (mapped == FusedStage.STRIPPED) {
+				stagesPassed[inputCharacter] = (byte) index;
+				return;
+			}
+			if (mapped < 0 || mapped > Character.MAX_VALUE || Character.isSurrogate((char) mapped)) {
+				stagesPassed[inputCharacter] = UNFUSED;
+				return;
+			}
+			character = (char) mapped;
+		}
+		stagesPassed[inputCharacter] = (byte) stages.length;
+		output[inputCharacter] = character;
+	}
+}
@@ -0,0 +1,155 @@
+package com.aconex.challenge.numbertowords.dictionary.transformers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A transformer which strips the unwanted characters from the input, validates the rest and optionally converts it to upper case, all in one pass over the characters.
+ * It gives the same results as {@link StripAndValidateInput}, decorated with {@link UpperCaseTransformer} if upper case is asked for,
+ * but without running the regular expression engine twice and creating the intermediate strings for every dictionary word and number.
+ *
+ * <p>It is compiled by {@link #compile(String, String, boolean)} from the regular expressions, if the strip regular expression is a {@link CharClass character class},
+ * optionally followed by + or *, and the valid regular expression is a character class anchored at both ends with a greedy or reluctant quantifier,
+ * like the defaults [\p{Punct}\s] and ^[0-9]{1,}$. Else the regular expressions are used as they are.
+ * The inputs with surrogate characters are also left to the regular expressions, since they match a supplementary character as a whole.
+ * It can also be fused with the other transformers of a chain by {@link CompiledTransformerChain}.
+ * @author Abhishek Agarwal
+ *
+ */
+public class FusedNormalizer implements FusibleTransformer {
+
+	private final CharClass stripChars;
+
+	private final CharClass validChars;
+
+	private final int minValidChars;
+
+	private final int maxValidChars;
+
+	private final boolean upperCase;
+
+	/**
+	 * If the ASCII letters are converted to upper case in the default locale the same as by {@link Character#toUpperCase(char)}, 
+	 * which is not so for say the letter i in Turkish
+	 */
+	private final boolean asciiUpperCase;
+
+	/**
+	 * The regular expressions, for the inputs which are not normalized in one pass
+	 */
+	private final InputTransformer<String> regexTransformer;
+
+	private FusedNormalizer(CharClass stripChars, CharClass validChars, int minValidChars, int maxValidChars, boolean upperCase,
+			InputTransformer<String> regexTransformer) {
+		this.stripChars = stripChars;
+		this.validChars = validChars;
+		this.minValidChars = minValidChars;
+		this.maxValidChars = maxValidChars;
+		this.upperCase = upperCase;
+		this.asciiUpperCase = FusedStages.isUpperCasedByCharacter();
+		this.regexTransformer = regexTransformer;
+	}
+
+	/**
+	 * Compiles the transformer which strips, validates and optionally converts to upper case in one pass.
+	 * If the regular expressions can not be compiled, the transformer returned uses them as they are.
+	 * @param stripCharsRegex Regular Expression for the unwanted characters to be removed from the input
+	 * @param validCharsRegex Regular expression to verify if only desired characters remain
+	 * @param upperCase If the input is to be converted to upper case once it is stripped and validated
+	 * @return Either the fused transformer, or {@link StripAndValidateInput} decorated with {@link UpperCaseTransformer} if upper case is asked for
+	 */
+	public static InputTransformer<String> compile(String stripCharsRegex, String validCharsRegex, boolean upperCase) {
+		InputTransformer<String> regexTransformer = new StripAndValidateInput(stripCharsRegex, validCharsRegex);
+		if (upperCase) {
+			regexTransformer = new UpperCaseTransformer(regexTransformer);
+		}
+		CharClass stripChars = CharClass.parseStripRegex(stripCharsRegex);
+		int[] quantifier = new int[2];
+		CharClass validChars = CharClass.parseValidRegex(validCharsRegex, quantifier);
+		if (stripChars == null || validChars == null) {
+			return regexTransformer;
+		}
+		return new FusedNormalizer(stripChars, validChars, quantifier[0], quantifier[1], upperCase, regexTransformer);
+	}
+
+	@Override
+	public void transform(TransformerContainer<String> transformerContainer) {
+		String input = transformerContainer.getInput();
+		int length = input.length();
+		char[] normalized = new char[length];
+		int count = 0;
+		// Index of the first character which is not valid, in the normalized characters
+		int firstInvalid = Integer.MAX_VALUE;
+		boolean notUpperCased = false;
+		for (int index = 0; index < length; index++) {
+			char character = input.charAt(index);
+			if (Character.isSurrogate(character)) {
+				regexTransformer.transform(transformerContainer);
+				return;
+			}
+			if (stripChars.contains(character)) {
+				continue;
+			}
+			if (firstInvalid == Integer.MAX_VALUE && !validChars.contains(character)) {
+				firstInvalid = count;
+			}
+			if (upperCase) {
+				if (character < 128 && asciiUpperCase) {
+					if (character >= 'a' && character <= 'z') {
+						character -= 'a' - 'A';
+					}
+				} else {
+					notUpperCased = true;
+				}
+			}
+			normalized[count++] = character;
+		}
+		if (!isValid(normalized, count, firstInvalid)) {
+			transformerContainer.addError(TransformerContainer.INVALID_INPUT);
+			return;
+		}
+		String normalizedStr = new String(normalized, 0, count);
+		transformerContainer.setTransformed(notUpperCased ? normalizedStr.toUpperCase() : normalizedStr);
+	}
+
+	@Override
+	public InputTransformer<String> getParentTransformer() {
+		return null;
+	}
+
+	@Override
+	public List<FusedStage> getFusedStages() {
+		List<FusedStage> fusedStages = new ArrayList<FusedStage>(3);
+		fusedStages.add(FusedStages.strip(stripChars));
+		fusedStages.add(FusedStages.validate(validChars, minValidChars, maxValidChars));
+		if (upperCase) {
+			FusedStage upperCaseStage = FusedStages.upperCase();
+			if (upperCaseStage == null) {
+				return null;
+			}
+			fusedStages.add(upperCaseStage);
+		}
+		return fusedStages;
+	}
+
+	/**
+	 * Returns true if the valid regular expression finds a match in the normalized characters.
+	 * Same as the $ of the regular expression, the match can end either at the end or before a line terminator at the end.
+	 */
+	private boolean isValid(char[] normalized, int count, int firstInvalid) {
+		if (firstInvalid >= count && count >= minValidChars && count <= maxValidChars) {
+			return true;
+		}
+		int end = count;
+		if (count >= 2 && normalized[count - 2] == '\r' && normalized[count - 1] == '\n') {
+			end = count - 2;
+		} else if (count >= 1 && isLineTerminator(normalized[count - 1])) {
+			end = count - 1;
+		}
+		return end < count && firstInvalid >= end && end >= minValidChars && end <= maxValidChars;
+	}
+
+	private static boolean isLineTerminator(char character) {
+		return character == '\n' || character == '\r' || character == '\u0085' || character == '\u2028' || character == '\u2029';
+	}
+}
@@ -0,0 +1,53 @@
+package com.aconex.challenge.numbertowords.dictionary.transformers;
+
+/**
+ * A step of a {@link FusibleTransformer transformer} which works on one character at a time, so that it can be fused with the steps of the other transformers of a chain
+ * by {@link CompiledTransformerChain} into one pass over the characters.<br>
+ *
+ * Ex- Stripping the punctuations drops a character, converting to upper case maps a character to another,
+ * and validating the input only checks each character and the no. of characters.
+ *
+ * <p>A stage only has to handle the usual inputs. Whenever it returns {@link #UNFUSED} for a character, or does not accept the no. of characters,
+ * the input is transformed by the transformers of the chain as they are, so the invalid inputs get the same errors as without the fusion.
+ *
+ * @author Abhishek Agarwal
+ * @see CompiledTransformerChain
+ */
+@FunctionalInterface
+public interface FusedStage {
+
+	/**
+	 * Returned by {@link #map(char)} if the character is dropped from the input
+	 */
+	int STRIPPED = -1;
+
+	/**
+	 * Returned by {@link #map(char)} if the character can not be handled by the stage, say if it is invalid, or is converted to more than one character
+	 */
+	int UNFUSED = -2;
+
+	/**
+	 * Maps a character of the input. It must depend only on the character, not on the characters around it.
+	 * @param character Character output by the previous stage
+	 * @return The character mapped to, {@link #STRIPPED} or {@link #UNFUSED}
+	 */
+	int map(char character);
+
+	/**
+	 * Checks the no. of characters output by the stage
+	 * @param count No. of characters output by the stage
+	 * @return true if the no. of characters is valid, else the input is transformed by the transformers as they are
+	 */
+	default boolean isValidCount(int count) {
+		return true;
+	}
+
+	/**
+	 * If the output of the previous stages is set as the input of the container, the same as {@link TransformerContainer#flipInput()},
+	 * say to keep the word stored in the dictionary while it is converted to a number
+	 * @return true if the output of the previous stages becomes the input of the container
+	 */
+	default boolean keepsInput() {
+		return false;
+	}
+}
@@ -0,0 +1,77 @@
+package com.aconex.challenge.numbertowords.dictionary.transformers;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The {@link FusedStage stages} of the transformers of this package
+ * @author Abhishek Agarwal
+ *
+ */
+final class FusedStages {
+
+	private FusedStages() {
+	}
+
+	/**
+	 * Returns the stages which strip and validate the same as the regular expressions, see {@link CharClass#parseStripRegex(String)} and {@link CharClass#parseValidRegex(String, int[])}
+	 * @return The stages, or null if the regular expressions can not be compiled
+	 */
+	static List<FusedStage> stripAndValidate(String stripCharsRegex, String validCharsRegex) {
+		CharClass stripChars = CharClass.parseStripRegex(stripCharsRegex);
+		int[] quantifier = new int[2];
+		CharClass validChars = CharClass.parseValidRegex(validCharsRegex, quantifier);
+		if (stripChars == null || validChars == null) {
+			return null;
+		}
+		return Arrays.asList(strip(stripChars), validate(validChars, quantifier[0], quantifier[1]));
+	}
+
+	static FusedStage strip(CharClass stripChars) {
+		return character -> stripChars.contains(character) ? FusedStage.STRIPPED : character;
+	}
+
+	/**
+	 * The characters which are not valid are left to the regular expression, since the $ can still match before a line terminator at the end
+	 */
+	static FusedStage validate(CharClass validChars, int minValidChars, int maxValidChars) {
+		return new FusedStage() {
+			@Override
+			public int map(char character) {
+				return validChars.contains(character) ? character : UNFUSED;
+			}
+
+			@Override
+			public boolean isValidCount(int count) {
+				return count >= minValidChars && count <= maxValidChars;
+			}
+		};
+	}
+
+	/**
+	 * Returns the stage which converts to upper case the same as {@link String#toUpperCase()}, which is one character at a time in the default locale
+	 * @return The stage, or null if the default locale converts some characters depending on the characters around them
+	 */
+	static FusedStage upperCase() {
+		if (!isUpperCasedByCharacter()) {
+			return null;
+		}
+		return character -> {
+			if (character < 128) {
+				return character >= 'a' && character <= 'z' ? character - ('a' - 'A') : character;
+			}
+			String upperCased = String.valueOf(character).toUpperCase();
+			// Say the German sharp s is converted to SS
+			return upperCased.length() == 1 ? upperCased.charAt(0) : FusedStage.UNFUSED;
+		};
+	}
+
+	/**
+	 * Returns false for Turkish, Azeri and Lithuanian, where the letter i and the dots above are converted depending on the locale and the characters around them
+	 */
+	static boolean isUpperCasedByCharacter() {
+		String language = Locale.getDefault().getLanguage();
+		return !"tr".equals(language) && !"az".equals(language) && !"lt".equals(language);
+	}
+}
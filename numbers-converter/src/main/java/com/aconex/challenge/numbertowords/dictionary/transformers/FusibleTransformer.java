@@ -0,0 +1,28 @@
+package com.aconex.challenge.numbertowords.dictionary.transformers;
+
+import java.util.List;
+
+/**
+ * A transformer of strings which can be fused with the rest of its chain by {@link CompiledTransformerChain},
+ * by describing its transformation as {@link FusedStage stages} which work on one character at a time.<br>
+ *
+ * A new transformer takes part in the fusion by implementing this interface along with {@link InputTransformer#transform(TransformerContainer)},
+ * which is still used for the inputs the stages can not handle.
+ *
+ * @author Abhishek Agarwal
+ * @see CompiledTransformerChain
+ */
+public interface FusibleTransformer extends InputTransformer<String> {
+
+	/**
+	 *
+	 * @return The transformer whose output is piped to this transformer, or null if there is none
+	 */
+	InputTransformer<String> getParentTransformer();
+
+	/**
+	 * Returns the stages of this transformer alone, without those of the parent transformer
+	 * @return The stages in the order they are applied, or null if the transformation can not be described as stages
+	 */
+	List<FusedStage> getFusedStages();
+}
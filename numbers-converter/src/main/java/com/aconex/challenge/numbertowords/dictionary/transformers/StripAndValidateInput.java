@@ -1,5 +1,6 @@
 package com.aconex.challenge.numbertowords.dictionary.transformers;
 
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -9,13 +10,15 @@ import java.util.regex.Pattern;
  * 
  * Ex- If the rule says to strip whitespaces and punctuations from the numbers and dictionary words,
  * then corresponding {@link #stripCharsPattern} is provided to do the same.<br>
- * Once the unwanted characters are removed, {@link #validCharsPattern} is used to verify if only desired characters remain
+ * Once the unwanted characters are removed, {@link #validCharsPattern} is used to verify if only desired characters remain<br>
+ * 
+ * If the regular expressions are simple character classes, it can be fused with the other transformers of a chain by {@link CompiledTransformerChain}.
  * 
  * @author Abhishek Agarwal
  *
  */
 
-public class StripAndValidateInput implements InputTransformer<String>{
+public class StripAndValidateInput implements FusibleTransformer {
 	/**
 	 * Regular Expression for the unwanted characters to be removed from the input
 	 */
@@ -24,8 +27,10 @@ public class StripAndValidateInput implements InputTransformer<String>{
 	 * Regular expression to to verify if only desired characters remain
 	 */
 	private Pattern validCharsPattern;
-	//TODO: To store errors may be using enums or some better way
-	private static String INVALID_INPUT_ERROR_KEY = "invalid.input";
+	/**
+	 * Stages which strip and validate one character at a time, or null if the regular expressions can not be compiled to stages
+	 */
+	private List<FusedStage> fusedStages;
 	/**
 	 * Pre-compiles the regular expressions for striping unwanted characters and verifying if only desired characters remain
 	 * @param stripCharsRegex Regular Expression for the unwanted characters to be removed from the input
@@ -34,6 +39,7 @@ public class StripAndValidateInput implements InputTransformer<String>{
 	public StripAndValidateInput(String stripCharsRegex, String validCharsRegex) {
 		this.stripCharsPattern = Pattern.compile(stripCharsRegex);
 		this.validCharsPattern = Pattern.compile(validCharsRegex);
+		this.fusedStages = FusedStages.stripAndValidate(stripCharsRegex, validCharsRegex);
 	}
 	
 	/**
@@ -47,10 +53,20 @@ public class StripAndValidateInput implements InputTransformer<String>{
 		if(validate(transformedStr))
 			transformerContainer.setTransformed(transformedStr);
 		else {
-			transformerContainer.addError(INVALID_INPUT_ERROR_KEY);
+			transformerContainer.addError(TransformerContainer.INVALID_INPUT);
 		}
 	};
 	
+	@Override
+	public InputTransformer<String> getParentTransformer() {
+		return null;
+	}
+
+	@Override
+	public List<FusedStage> getFusedStages() {
+		return fusedStages;
+	}
+
 	private String stripCharacters(String str) {
 		Matcher matcher = stripCharsPattern.matcher(
 				str);
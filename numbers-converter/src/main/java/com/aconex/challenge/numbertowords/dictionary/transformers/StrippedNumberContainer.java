@@ -0,0 +1,54 @@
+package com.aconex.challenge.numbertowords.dictionary.transformers;
+
+/**
+ * A container of a number whose unwanted characters are already stripped and validated by the reader of the number,
+ * say by {@link com.aconex.challenge.numbertowords.input.MappedNumbersFile} as it scans the bytes of the file.
+ * So the number is not stripped and validated again by the parent transformer of the algorithm.
+ * If the stripped input is null, say for an invalid number, the number is stripped and validated by the parent transformer as usual.
+ *
+ * @param <T> This is the type of the transformed element
+ * @author Abhishek Agarwal
+ */
+public class StrippedNumberContainer<T> extends TransformerContainer<T> {
+	/**
+	 * The input with only the desired characters left, or null if it is not stripped
+	 */
+	private String strippedInput;
+
+	/**
+	 * Constructs an inital empty object for an input which is already stripped
+	 * @param input Input string as it was read
+	 * @param strippedInput The input with only the desired characters left, or null if it is not stripped
+	 */
+	public StrippedNumberContainer(String input, String strippedInput) {
+		super(input);
+		this.strippedInput = strippedInput;
+	}
+
+	/**
+	 * Clears the transformed output, the errors and the stripped input, so that the container can be reused for an input which is not stripped
+	 * @param input Input string as it was read
+	 */
+	@Override
+	public void reset(String input) {
+		reset(input, null);
+	}
+
+	/**
+	 * Clears the transformed output and the errors, so that the container can be reused for another input
+	 * @param input Input string as it was read
+	 * @param strippedInput The input with only the desired characters left, or null if it is not stripped
+	 */
+	public void reset(String input, String strippedInput) {
+		super.reset(input);
+		this.strippedInput = strippedInput;
+	}
+
+	/**
+	 *
+	 * @return The input with only the desired characters left, or null if it is not stripped
+	 */
+	public String getStrippedInput() {
+		return strippedInput;
+	}
+}
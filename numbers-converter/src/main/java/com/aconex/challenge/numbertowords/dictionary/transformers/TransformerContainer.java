@@ -22,7 +22,14 @@ import com.aconex.challenge.numbertowords.util.CollectionsUtil;
  * Similarly an {@link #input} dictionary word like "won't" needs to be {@link #transformed} to "wont"
  * before it is added to the {@link com.aconex.challenge.numbertowords.dictionary.Dictionary Dictionary}<br>
  * 
- * Furthermore if the input is invalid, we can instead store the {@link #errors}<br>
+ * Furthermore if the input is invalid, we can instead store the errors<br>
+ * 
+ * The errors known to the application are stored as bit flags of {@link #errorCodes}, say {@link #INVALID_INPUT},
+ * so that an invalid input does not need a list of errors, and checking for errors with {@link #hasErrors()} does not create any object.
+ * Any other error is kept in a list of {@link #errors}. {@link #getErrors()} returns the keys of both.<br>
+ * 
+ * When a large batch of inputs is transformed, the same container can be {@link #reset(String) reset} and reused for the next input,
+ * as long as the previous input is no longer referred to.<br>
  * 
  * This class can also be used to store the output of finding the matching word combinations. 
  * Ex- An {@link #input} number like 2255.63, based on a particular dictionary
@@ -34,6 +41,18 @@ import com.aconex.challenge.numbertowords.util.CollectionsUtil;
  */
 
 public class TransformerContainer<T> {
+	/**
+	 * Error code of an input which is not valid once the unwanted characters are stripped
+	 */
+	public static final int INVALID_INPUT = 1;
+	/**
+	 * Error code of a word with a character which is not mapped by the number encoding
+	 */
+	public static final int UNMAPPED_CHARACTER = 1 << 1;
+	/**
+	 * Keys of the error codes, in the order of their bits
+	 */
+	private static final String[] ERROR_CODE_KEYS = { "invalid.input", "unmapped.character" };
 	/**
 	 * Input string which needs to be transformed
 	 */
@@ -43,7 +62,11 @@ public class TransformerContainer<T> {
 	 */
 	private T transformed;
 	/**
-	 * List of errors if the input string is invalid
+	 * Bit flags of the error codes if the input string is invalid
+	 */
+	private int errorCodes;
+	/**
+	 * List of the errors which do not have an error code, if the input string is invalid
 	 */
 	private List<String> errors;
 	
@@ -55,6 +78,19 @@ public class TransformerContainer<T> {
 	public TransformerContainer(String input) {
 		this.input = input;
 	}
+
+	/**
+	 * Clears the transformed output and the errors, so that the container can be reused for another input
+	 * @param input Input string which needs to be transformed
+	 */
+	public void reset(String input) {
+		this.input = input;
+		this.transformed = null;
+		this.errorCodes = 0;
+		if (errors != null) {
+			errors.clear();
+		}
+	}
 	
 	/**
 	 * 
@@ -89,7 +125,11 @@ public class TransformerContainer<T> {
 	 */
 
 	public void setErrors(List<String> errors) {
-		this.errors = errors;
+		this.errorCodes = 0;
+		this.errors = null;
+		if (errors != null) {
+			errors.forEach(this::addError);
+		}
 	}
 	
 	/**
@@ -98,9 +138,36 @@ public class TransformerContainer<T> {
 	 */
 	
 	public List<String> getErrors() {
-		if (errors == null)
+		if (!hasErrors())
 			return null;
-		return Collections.unmodifiableList(errors);
+		List<String> errorKeys = new ArrayList<String>();
+		for (int bit = 0; bit < ERROR_CODE_KEYS.length; bit++) {
+			if ((errorCodes & (1 << bit)) != 0) {
+				errorKeys.add(ERROR_CODE_KEYS[bit]);
+			}
+		}
+		if (errors != null) {
+			errorKeys.addAll(errors);
+		}
+		return Collections.unmodifiableList(errorKeys);
+	}
+
+	/**
+	 * 
+	 * @return true if the input is invalid
+	 */
+	
+	public boolean hasErrors() {
+		return errorCodes != 0 || !CollectionsUtil.isNullOrEmpty(errors);
+	}
+
+	/**
+	 * 
+	 * @return Bit flags of the error codes, say {@link #INVALID_INPUT}, if the input is invalid
+	 */
+	
+	public int getErrorCodes() {
+		return errorCodes;
 	}
 	
 	/**
@@ -109,11 +176,41 @@ public class TransformerContainer<T> {
 	 */
 	
 	public void addError(String error) {
+		for (int bit = 0; bit < ERROR_CODE_KEYS.length; bit++) {
+			if (ERROR_CODE_KEYS[bit].equals(error)) {
+				addError(1 << bit);
+				return;
+			}
+		}
 		if (errors == null) {
 			errors = new ArrayList<String>();
 		}
 		errors.add(error);
 	}
+
+	/**
+	 * 
+	 * @param errorCode Add an error by its code, say {@link #INVALID_INPUT}, if the input is invalid
+	 */
+	
+	public void addError(int errorCode) {
+		errorCodes |= errorCode;
+	}
+
+	/**
+	 * 
+	 * @param transformerContainer Container whose errors are added to this container, say of the input before it was stripped
+	 */
+	
+	public void addErrors(TransformerContainer<?> transformerContainer) {
+		errorCodes |= transformerContainer.errorCodes;
+		if (!CollectionsUtil.isNullOrEmpty(transformerContainer.errors)) {
+			if (errors == null) {
+				errors = new ArrayList<String>();
+			}
+			errors.addAll(transformerContainer.errors);
+		}
+	}
 	
 	/**
 	 * Utility method which would set {@link #transformed} as {@link #input} so that the same object can be piped to a different transformer.<br>
@@ -135,8 +232,8 @@ public class TransformerContainer<T> {
 		StringBuilder sb = new StringBuilder();
 		sb.append("Input: ").append(input);
 		sb.append(", Transformed: ").append(transformed);
-		if(!CollectionsUtil.isNullOrEmpty(errors))
-			sb.append(", Errors: ").append(errors);
+		if(hasErrors())
+			sb.append(", Errors: ").append(getErrors());
 		return sb.toString();
 	}
 	
@@ -3,7 +3,8 @@
  */
 package com.aconex.challenge.numbertowords.dictionary.transformers;
 
-import com.aconex.challenge.numbertowords.util.CollectionsUtil;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Decorator class which transforms an input string to upper case
@@ -13,7 +14,7 @@ import com.aconex.challenge.numbertowords.util.CollectionsUtil;
  * @author Abhishek Agarwal
  *
  */
-public class UpperCaseTransformer implements InputTransformer<String> {
+public class UpperCaseTransformer implements FusibleTransformer {
 	
 	/**
 	 * Parent Transformer, whose transformed output is converted to Upper case
@@ -48,11 +49,25 @@ public class UpperCaseTransformer implements InputTransformer<String> {
 		else {
 			parentTransformer.transform(transformerContainer);
 			//Only if there are no errors reported from the parent, then we need to convert to uppercase
-			if(CollectionsUtil.isNullOrEmpty(transformerContainer.getErrors())) {
+			if(!transformerContainer.hasErrors()) {
 				strToBeConvertedToUpperCase = transformerContainer.getTransformed();
 				transformerContainer.setTransformed(strToBeConvertedToUpperCase.toUpperCase());
 			}
 		}
 	}
 
+	@Override
+	public InputTransformer<String> getParentTransformer() {
+		return parentTransformer;
+	}
+
+	/**
+	 * Returns the stage which converts one character at a time, unless the default locale converts some characters depending on the characters around them
+	 */
+	@Override
+	public List<FusedStage> getFusedStages() {
+		FusedStage upperCaseStage = FusedStages.upperCase();
+		return upperCaseStage == null ? null : Collections.singletonList(upperCaseStage);
+	}
+
 }
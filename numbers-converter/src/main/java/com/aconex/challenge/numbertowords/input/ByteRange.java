@@ -0,0 +1,48 @@
+package com.aconex.challenge.numbertowords.input;
+
+/**
+ * A range of bytes of a {@link MappedNumbersFile} which starts at the beginning of a line and ends after a line break or at the end of the file,
+ * so the ranges of a file can be read independently of each other.
+ * @author Abhishek Agarwal
+ *
+ */
+public final class ByteRange {
+
+	private final long start;
+
+	private final long end;
+
+	ByteRange(long start, long end) {
+		this.start = start;
+		this.end = end;
+	}
+
+	/**
+	 *
+	 * @return Offset of the first byte of the range
+	 */
+	public long getStart() {
+		return start;
+	}
+
+	/**
+	 *
+	 * @return Offset after the last byte of the range
+	 */
+	public long getEnd() {
+		return end;
+	}
+
+	/**
+	 *
+	 * @return No. of bytes in the range
+	 */
+	public long length() {
+		return end - start;
+	}
+
+	@Override
+	public String toString() {
+		return "[" + start + ", " + end + ")";
+	}
+}
@@ -0,0 +1,208 @@
+package com.aconex.challenge.numbertowords.input;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads a file of phone numbers by memory mapping it and scanning its bytes, instead of decoding each line to a string
+ * and stripping it with the regular expressions of {@link com.aconex.challenge.numbertowords.dictionary.transformers.StripAndValidateInput}.
+ * The punctuations and whitespaces are skipped as the bytes are scanned, and the digits are collected in the reused buffer of a {@link NumberLine}.
+ * So the rules are the same as the default strip.chars.regex and num.valid.regex, and the file is read this way only if they are not changed,
+ * see {@link #supports(String, String)}.
+ *
+ * <p>Same as {@link java.io.BufferedReader#readLine()}, a line ends with \n, \r or \r\n.
+ * Any byte other than an ASCII digit, punctuation or whitespace makes the line invalid, same as the regular expressions which only match ASCII.
+ *
+ * <p>The file can be split into {@link ByteRange byte ranges} which start at the beginning of a line, so that several workers can read a range each.
+ * Each range is mapped separately when it is read, so the whole file need not fit in the address space.
+ * @author Abhishek Agarwal
+ *
+ */
+public class MappedNumbersFile implements Closeable {
+
+	/**
+	 * The strip.chars.regex the bytes are scanned as per
+	 */
+	public static final String STRIP_CHARS_REGEX = "[\\p{Punct}\\s]";
+
+	/**
+	 * The num.valid.regex the bytes are scanned as per
+	 */
+	public static final String NUMBER_VALID_REGEX = "^[0-9]{1,}$";
+
+	private static final byte OTHER = 0;
+	private static final byte DIGIT = 1;
+	private static final byte SKIPPED = 2;
+	private static final byte LINE_BREAK = 3;
+
+	/**
+	 * Class of each byte value, so a byte is classified with one look up
+	 */
+	private static final byte[] BYTE_CLASSES = new byte[256];
+
+	static {
+		for (int value = '0'; value <= '9'; value++) {
+			BYTE_CLASSES[value] = DIGIT;
+		}
+		// \p{Punct} and \s
+		for (char skipped : "!\"#$%&'()*+,-./:;<=>?@[\\]^_`{|}~ \t\u000B\f".toCharArray()) {
+			BYTE_CLASSES[skipped] = SKIPPED;
+		}
+		BYTE_CLASSES['\n'] = LINE_BREAK;
+		BYTE_CLASSES['\r'] = LINE_BREAK;
+	}
+
+	/**
+	 * No. of bytes read at a time to find the beginning of a line
+	 */
+	private static final int ALIGN_BUFFER_BYTES = 512;
+
+	private final FileChannel channel;
+
+	private final long size;
+
+	private MappedNumbersFile(FileChannel channel) throws IOException {
+		this.channel = channel;
+		this.size = channel.size();
+	}
+
+	/**
+	 * Opens the file to be read
+	 * @param numbersPath Path of the file of phone numbers
+	 * @return The opened file
+	 * @throws IOException If the file can not be opened
+	 */
+	public static MappedNumbersFile open(Path numbersPath) throws IOException {
+		return new MappedNumbersFile(FileChannel.open(numbersPath, StandardOpenOption.READ));
+	}
+
+	/**
+	 * Returns true if the numbers stripped and validated with the given regular expressions are the same as the ones read by this class
+	 * @param stripCharsRegex Regular Expression for the unwanted characters to be removed from the numbers
+	 * @param numberValidRegex Regular expression to verify if only desired characters remain
+	 * @return true if the file can be read by this class instead of the regular expressions
+	 */
+	public static boolean supports(String stripCharsRegex, String numberValidRegex) {
+		return STRIP_CHARS_REGEX.equals(stripCharsRegex) && NUMBER_VALID_REGEX.equals(numberValidRegex);
+	}
+
+	/**
+	 *
+	 * @return No. of bytes in the file
+	 */
+	public long size() {
+		return size;
+	}
+
+	/**
+	 * Splits the file into ranges of about the same no. of bytes, each of which starts at the beginning of a line.
+	 * There are fewer ranges if the lines are longer than the ranges, and none if the file is empty.
+	 * @param parts No. of ranges the file is to be split into
+	 * @return The ranges in the order of the file
+	 * @throws IOException If the file can not be read
+	 */
+	public List<ByteRange> split(int parts) throws IOException {
+		List<ByteRange> ranges = new ArrayList<ByteRange>(Math.max(parts, 1));
+		long start = 0;
+		for (int part = 1; part <= parts && start < size; part++) {
+			long end = part == parts ? size : alignToLineStart(Math.max(start, size / parts * part));
+			if (end > start) {
+				ranges.add(new ByteRange(start, end));
+				start = end;
+			}
+		}
+		return ranges;
+	}
+
+	/**
+	 * Splits the file into ranges of about the given no. of bytes, each of which starts at the beginning of a line
+	 * @param rangeBytes No. of bytes in a range
+	 * @return The ranges in the order of the file
+	 * @throws IOException If the file can not be read
+	 */
+	public List<ByteRange> splitBySize(long rangeBytes) throws IOException {
+		return split((int) Math.min(Integer.MAX_VALUE - 1, (size + rangeBytes - 1) / rangeBytes));
+	}
+
+	/**
+	 * Maps the range and passes each of its lines to the visitor, in order. The same {@link NumberLine} is passed for all the lines.
+	 * @param range A range returned by {@link #split(int)}
+	 * @param visitor Visitor of each line
+	 * @throws IOException If the range can not be mapped
+	 * @throws IllegalArgumentException If the range is larger than 2 GB
+	 */
+	public void forEachLine(ByteRange range, Consumer<NumberLine> visitor) throws IOException {
+		if (range.length() > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Range larger than 2 GB: " + range);
+		}
+		MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, range.getStart(), range.length());
+		NumberLine line = new NumberLine();
+		int limit = bytes.limit();
+		int position = 0;
+		while (position < limit) {
+			line.begin(bytes, position);
+			boolean validChars = true;
+			byte byteClass = OTHER;
+			for (; position < limit; position++) {
+				int value = bytes.get(position) & 0xFF;
+				byteClass = BYTE_CLASSES[value];
+				if (byteClass == DIGIT) {
+					line.appendDigit((char) value);
+				} else if (byteClass == LINE_BREAK) {
+					break;
+				} else if (byteClass == OTHER) {
+					validChars = false;
+				}
+			}
+			line.end(position, validChars);
+			if (byteClass == LINE_BREAK) {
+				position += bytes.get(position) == '\r' && position + 1 < limit && bytes.get(position + 1) == '\n' ? 2 : 1;
+			}
+			visitor.accept(line);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	/**
+	 * Returns the offset of the first line which starts at or after the position, i.e. after the first line break before which the position is,
+	 * without splitting a \r\n. Returns the size of the file if there is no such line.
+	 */
+	private long alignToLineStart(long position) throws IOException {
+		if (position == 0) {
+			return 0;
+		}
+		ByteBuffer buffer = ByteBuffer.allocate(ALIGN_BUFFER_BYTES);
+		// The byte before the position decides if a line starts at the position
+		long offset = position - 1;
+		boolean afterCarriageReturn = false;
+		while (offset < size) {
+			((Buffer) buffer).clear();
+			int read = channel.read(buffer, offset);
+			for (int index = 0; index < read; index++) {
+				byte value = buffer.get(index);
+				if (afterCarriageReturn) {
+					return value == '\n' ? offset + index + 1 : offset + index;
+				}
+				if (value == '\n') {
+					return offset + index + 1;
+				}
+				afterCarriageReturn = value == '\r';
+			}
+			offset += read;
+		}
+		return size;
+	}
+}
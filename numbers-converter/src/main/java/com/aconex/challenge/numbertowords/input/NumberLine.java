@@ -0,0 +1,110 @@
+package com.aconex.challenge.numbertowords.input;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A line of a {@link MappedNumbersFile}, along with the digits left after the punctuations and whitespaces of the line are skipped.
+ * As a {@link CharSequence} it is the digits of the line.
+ *
+ * <p>The same line is reused for all the lines of a range, and only refers to the bytes of the mapped file,
+ * so nothing is allocated for a line unless it is turned into a string with {@link #lineToString()} or {@link #digitsToString()}.
+ * It must not be kept after the visitor it is passed to returns.
+ * @author Abhishek Agarwal
+ *
+ */
+public final class NumberLine implements CharSequence {
+
+	private char[] digits = new char[32];
+
+	private int digitsCount;
+
+	private boolean valid;
+
+	private ByteBuffer bytes;
+
+	private int lineStart;
+
+	private int lineEnd;
+
+	private byte[] lineBytes = new byte[64];
+
+	/**
+	 * Returns true if the line has at least one digit, and nothing but the digits, the punctuations and the whitespaces
+	 * @return true if the line is a valid number
+	 */
+	public boolean isValid() {
+		return valid;
+	}
+
+	/**
+	 * Decodes the line as it was read, in UTF-8, without the line break
+	 * @return The line as it was read
+	 */
+	public String lineToString() {
+		int length = lineEnd - lineStart;
+		if (lineBytes.length < length) {
+			lineBytes = new byte[Math.max(length, lineBytes.length * 2)];
+		}
+		for (int index = 0; index < length; index++) {
+			lineBytes[index] = bytes.get(lineStart + index);
+		}
+		return new String(lineBytes, 0, length, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 *
+	 * @return The digits of the line
+	 */
+	public String digitsToString() {
+		return new String(digits, 0, digitsCount);
+	}
+
+	@Override
+	public int length() {
+		return digitsCount;
+	}
+
+	@Override
+	public char charAt(int index) {
+		if (index >= digitsCount) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", digits: " + digitsCount);
+		}
+		return digits[index];
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		return digitsToString().subSequence(start, end);
+	}
+
+	@Override
+	public String toString() {
+		return digitsToString();
+	}
+
+	/**
+	 * Starts a new line of the mapped bytes at the given offset
+	 */
+	void begin(ByteBuffer mappedBytes, int offset) {
+		bytes = mappedBytes;
+		lineStart = offset;
+		digitsCount = 0;
+	}
+
+	void appendDigit(char digit) {
+		if (digitsCount == digits.length) {
+			digits = Arrays.copyOf(digits, digits.length * 2);
+		}
+		digits[digitsCount++] = digit;
+	}
+
+	/**
+	 * Ends the line at the given offset, before its line break
+	 */
+	void end(int offset, boolean validChars) {
+		lineEnd = offset;
+		valid = validChars && digitsCount > 0;
+	}
+}
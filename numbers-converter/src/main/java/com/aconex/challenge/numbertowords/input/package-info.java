@@ -0,0 +1,4 @@
+/**
+ * Contains the classes which read the numbers to be converted.
+ */
+package com.aconex.challenge.numbertowords.input;
@@ -0,0 +1,76 @@
+package com.aconex.challenge.numbertowords.output;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import com.aconex.challenge.numbertowords.converter.MatchCount;
+import com.aconex.challenge.numbertowords.converter.WordCombinations;
+
+/**
+ * Encodes the results as compact length prefixed binary records, one per number, which can be read with {@link java.io.DataInputStream}.
+ * All the ints and longs are high byte first, and each string is an int no. of bytes followed by the string in standard UTF-8,
+ * so it is read with {@link java.io.DataInputStream#readInt()} and {@link java.io.DataInputStream#readFully(byte[])} rather than the modified UTF-8 of readUTF.
+ * A record is a byte of its type followed by the number as a string, and then
+ * <ul>
+ * <li>{@link #MATCHES_RECORD}: an int no. of matches, followed by each match as a string. The no. of matches is 0 if there is no match.</li>
+ * <li>{@link #MATCH_COUNT_RECORD}: the no. of matches, exact matches and partial matches as longs</li>
+ * <li>{@link #INVALID_NUMBER_RECORD}: nothing else</li>
+ * </ul>
+ * @author Abhishek Agarwal
+ *
+ */
+public class BinaryResultEncoder implements ResultEncoder {
+
+	/**
+	 * Type of the record of the matches of a number
+	 */
+	public static final byte MATCHES_RECORD = 1;
+
+	/**
+	 * Type of the record of the no. of matches of a number
+	 */
+	public static final byte MATCH_COUNT_RECORD = 2;
+
+	/**
+	 * Type of the record of an invalid number
+	 */
+	public static final byte INVALID_NUMBER_RECORD = 3;
+
+	/**
+	 * The strings are always in UTF-8, the text is not encoded by the sink
+	 */
+	@Override
+	public Charset charset() {
+		return StandardCharsets.UTF_8;
+	}
+
+	@Override
+	public void encodeMatches(ResultSink sink, String number, Set<String> matches) {
+		sink.writeByte(MATCHES_RECORD);
+		sink.writeUtf8(number);
+		if (matches == null) {
+			sink.writeInt(0);
+			return;
+		}
+		sink.writeInt(matches.size());
+		for (CharSequence match : WordCombinations.matchSequences(matches)) {
+			sink.writeUtf8(match);
+		}
+	}
+
+	@Override
+	public void encodeMatchCount(ResultSink sink, String number, MatchCount matchCount) {
+		sink.writeByte(MATCH_COUNT_RECORD);
+		sink.writeUtf8(number);
+		sink.writeLong(matchCount.getMatchesCount());
+		sink.writeLong(matchCount.getExactMatchesCount());
+		sink.writeLong(matchCount.getPartialMatchesCount());
+	}
+
+	@Override
+	public void encodeInvalidNumber(ResultSink sink, String number) {
+		sink.writeByte(INVALID_NUMBER_RECORD);
+		sink.writeUtf8(number);
+	}
+}
@@ -0,0 +1,110 @@
+package com.aconex.challenge.numbertowords.output;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import com.aconex.challenge.numbertowords.converter.MatchCount;
+import com.aconex.challenge.numbertowords.converter.WordCombinations;
+import com.aconex.challenge.numbertowords.util.CollectionsUtil;
+
+/**
+ * Encodes the results as comma separated values in UTF-8, with a header row. Each match of a number is a row of its own:
+ * <pre>
+ * number,status,match
+ * 225563,match,CALL-ME
+ * 225563,match,BALL-ME
+ * 0000,none,
+ * A12,invalid,
+ * </pre>
+ * If only the no. of matches is reported, there is a row per number with the header number,status,count,exact,partial instead.
+ * A value with a comma, a quote or a line break is quoted, with its quotes doubled.
+ * @author Abhishek Agarwal
+ *
+ */
+public class CsvResultEncoder implements ResultEncoder {
+
+	private static final String MATCHES_HEADER = "number,status,match";
+	private static final String MATCH_COUNT_HEADER = "number,status,count,exact,partial";
+
+	private static final String MATCH_STATUS = "match";
+	private static final String NO_MATCH_STATUS = "none";
+	private static final String INVALID_STATUS = "invalid";
+
+	/**
+	 * Header written before the first row, which depends on if the matches or their count is reported
+	 */
+	private String header;
+
+	@Override
+	public Charset charset() {
+		return StandardCharsets.UTF_8;
+	}
+
+	@Override
+	public void encodeMatches(ResultSink sink, String number, Set<String> matches) {
+		writeHeader(sink, MATCHES_HEADER);
+		if (CollectionsUtil.isNullOrEmpty(matches)) {
+			beginRow(sink, number, NO_MATCH_STATUS);
+			sink.appendAscii('\n');
+			return;
+		}
+		for (CharSequence match : WordCombinations.matchSequences(matches)) {
+			beginRow(sink, number, MATCH_STATUS);
+			appendValue(sink, sink.join(match));
+			sink.appendAscii('\n');
+		}
+	}
+
+	@Override
+	public void encodeMatchCount(ResultSink sink, String number, MatchCount matchCount) {
+		writeHeader(sink, MATCH_COUNT_HEADER);
+		beginRow(sink, number, matchCount.getMatchesCount() == 0 ? NO_MATCH_STATUS : MATCH_STATUS);
+		sink.append(Long.toString(matchCount.getMatchesCount())).appendAscii(',')
+				.append(Long.toString(matchCount.getExactMatchesCount())).appendAscii(',')
+				.append(Long.toString(matchCount.getPartialMatchesCount())).appendAscii('\n');
+	}
+
+	@Override
+	public void encodeInvalidNumber(ResultSink sink, String number) {
+		// The header of the matches, if an invalid number comes first
+		writeHeader(sink, MATCHES_HEADER);
+		beginRow(sink, number, INVALID_STATUS);
+		sink.appendAscii('\n');
+	}
+
+	private void writeHeader(ResultSink sink, String rowsHeader) {
+		if (header == null) {
+			header = rowsHeader;
+			sink.append(header).appendAscii('\n');
+		}
+	}
+
+	/**
+	 * Appends the number and the status of a row, along with the comma after them
+	 */
+	private static void beginRow(ResultSink sink, String number, String status) {
+		appendValue(sink, number);
+		sink.appendAscii(',').append(status).appendAscii(',');
+	}
+
+	private static void appendValue(ResultSink sink, CharSequence text) {
+		boolean quote = false;
+		for (int index = 0; index < text.length() && !quote; index++) {
+			char character = text.charAt(index);
+			quote = character == ',' || character == '"' || character == '\n' || character == '\r';
+		}
+		if (!quote) {
+			sink.append(text);
+			return;
+		}
+		String value = text.toString();
+		sink.appendAscii('"');
+		int start = 0;
+		for (int index = value.indexOf('"'); index >= 0; index = value.indexOf('"', index + 1)) {
+			sink.append(value, start, index + 1).appendAscii('"');
+			start = index + 1;
+		}
+		sink.append(value, start, value.length()).appendAscii('"');
+	}
+}
@@ -0,0 +1,94 @@
+package com.aconex.challenge.numbertowords.output;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import com.aconex.challenge.numbertowords.converter.MatchCount;
+import com.aconex.challenge.numbertowords.converter.WordCombinations;
+
+/**
+ * Encodes the results as newline delimited JSON in UTF-8, one object per number:
+ * <pre>
+ * {"number":"225563","matches":["CALL-ME","BALL-ME"]}
+ * {"number":"225563","count":2,"exact":2,"partial":0}
+ * {"number":"A12","error":"invalid number"}
+ * </pre>
+ * A number without any match has an empty array of matches.
+ * @author Abhishek Agarwal
+ *
+ */
+public class NdjsonResultEncoder implements ResultEncoder {
+
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	@Override
+	public Charset charset() {
+		return StandardCharsets.UTF_8;
+	}
+
+	@Override
+	public void encodeMatches(ResultSink sink, String number, Set<String> matches) {
+		beginRecord(sink, number);
+		sink.append(",\"matches\":[");
+		if (matches != null) {
+			boolean first = true;
+			for (CharSequence match : WordCombinations.matchSequences(matches)) {
+				if (!first) {
+					sink.appendAscii(',');
+				}
+				first = false;
+				appendString(sink, sink.join(match));
+			}
+		}
+		sink.append("]}").appendAscii('\n');
+	}
+
+	@Override
+	public void encodeMatchCount(ResultSink sink, String number, MatchCount matchCount) {
+		beginRecord(sink, number);
+		sink.append(",\"count\":").append(Long.toString(matchCount.getMatchesCount()))
+				.append(",\"exact\":").append(Long.toString(matchCount.getExactMatchesCount()))
+				.append(",\"partial\":").append(Long.toString(matchCount.getPartialMatchesCount()))
+				.appendAscii('}').appendAscii('\n');
+	}
+
+	@Override
+	public void encodeInvalidNumber(ResultSink sink, String number) {
+		beginRecord(sink, number);
+		sink.append(",\"error\":\"invalid number\"}").appendAscii('\n');
+	}
+
+	private static void beginRecord(ResultSink sink, String number) {
+		sink.append("{\"number\":");
+		appendString(sink, number);
+	}
+
+	/**
+	 * Appends the text as a JSON string, escaping the quotes, the back slashes and the control characters.
+	 * The runs of characters between the escapes are appended as-is.
+	 */
+	private static void appendString(ResultSink sink, CharSequence text) {
+		sink.appendAscii('"');
+		int start = 0;
+		for (int index = 0; index < text.length(); index++) {
+			char character = text.charAt(index);
+			if (character == '"' || character == '\\' || character < 0x20) {
+				if (start < index) {
+					sink.append(text, start, index);
+				}
+				sink.appendAscii('\\');
+				if (character == '"' || character == '\\') {
+					sink.appendAscii(character);
+				} else {
+					sink.append("u00").appendAscii(HEX_DIGITS[character >> 4]).appendAscii(HEX_DIGITS[character & 0xF]);
+				}
+				start = index + 1;
+			}
+		}
+		if (start < text.length()) {
+			sink.append(text, start, text.length());
+		}
+		sink.appendAscii('"');
+	}
+}
@@ -0,0 +1,48 @@
+package com.aconex.challenge.numbertowords.output;
+
+import java.nio.charset.Charset;
+import java.util.Set;
+
+import com.aconex.challenge.numbertowords.converter.MatchCount;
+
+/**
+ * Encodes the result of each number converted into a {@link ResultSink}, in a format selected by the configuration element output.format.
+ * Besides the human readable messages, the results can be encoded as records which downstream systems parse without scraping the messages.
+ *
+ * <p>The encoders write each match straight into the buffer of the sink, instead of building a string of all the matches of a number,
+ * so a number with a large no. of matches is written out piece by piece as the buffer fills up.
+ * An encoder may keep state between the records, say if a header is written, so it is used for one run and is not thread safe, same as the sink.
+ * @author Abhishek Agarwal
+ *
+ */
+public interface ResultEncoder {
+
+	/**
+	 * Character set the sink must encode the text in
+	 * @return Character set of the encoded results
+	 */
+	Charset charset();
+
+	/**
+	 * Encodes the matching combinations of a number
+	 * @param sink Sink where the result is written
+	 * @param number Number as it was read
+	 * @param matches Matching combinations of the number, which is empty or null if there is no match
+	 */
+	void encodeMatches(ResultSink sink, String number, Set<String> matches);
+
+	/**
+	 * Encodes the no. of matching combinations of a number
+	 * @param sink Sink where the result is written
+	 * @param number Number as it was read
+	 * @param matchCount Count of the matching combinations of the number
+	 */
+	void encodeMatchCount(ResultSink sink, String number, MatchCount matchCount);
+
+	/**
+	 * Encodes a number which failed validation
+	 * @param sink Sink where the result is written
+	 * @param number Number as it was read
+	 */
+	void encodeInvalidNumber(ResultSink sink, String number);
+}
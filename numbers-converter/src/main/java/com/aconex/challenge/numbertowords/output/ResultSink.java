@@ -0,0 +1,330 @@
+package com.aconex.challenge.numbertowords.output;
+
+import java.io.Closeable;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.FieldPosition;
+import java.text.MessageFormat;
+
+import com.aconex.challenge.numbertowords.converter.WordCombination;
+
+/**
+ * Writes the results of the numbers converted to the standard output or to a file.
+ * The results are either lines formatted with a message, or are encoded by a {@link ResultEncoder} with the lower level methods of the sink.
+ *
+ * <p>Printing each result with {@link System#out} parses the message again for every number,
+ * and locks and flushes the stream for every line, which for a large batch of numbers costs more than converting them.
+ * Instead each line is formatted with a message compiled once, into a reused character buffer,
+ * encoded into a large reused byte buffer, and written to the channel only when the byte buffer is full or the sink is flushed.
+ * So a million results take a few hundred writes instead of a million.
+ *
+ * <p>The results are written on the calling thread of {@link com.aconex.challenge.numbertowords.converter.NumbersConverter},
+ * so the sink is not thread safe. It must be closed, or at least flushed, once all the results are written.
+ * @author Abhishek Agarwal
+ *
+ */
+public class ResultSink implements Flushable, Closeable {
+
+	private static final String LINE_SEPARATOR = System.lineSeparator();
+
+	/**
+	 * Room for the widest value written at once, a long
+	 */
+	private static final int MIN_BUFFER_BYTES = 8;
+
+	private final WritableByteChannel channel;
+
+	/**
+	 * If the channel is closed along with the sink. The standard output is left open.
+	 */
+	private final boolean closeChannel;
+
+	private final CharsetEncoder encoder;
+
+	private final ByteBuffer bytes;
+
+	/**
+	 * Reused to format each line
+	 */
+	private final StringBuffer line = new StringBuffer(256);
+
+	private final FieldPosition fieldPosition = new FieldPosition(0);
+
+	/**
+	 * Reused to join the words of a {@link WordCombination} just before they are written, instead of creating a string of them
+	 */
+	private CharBuffer joinedCombination = CharBuffer.allocate(256);
+
+	/**
+	 * Constructs the sink which writes to the channel
+	 * @param channel Channel where the results are written
+	 * @param closeChannel If the channel is to be closed along with the sink
+	 * @param charset Character set the results are encoded in
+	 * @param bufferBytes Size of the byte buffer
+	 */
+	public ResultSink(WritableByteChannel channel, boolean closeChannel, Charset charset, int bufferBytes) {
+		this.channel = channel;
+		this.closeChannel = closeChannel;
+		this.encoder = charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+		this.bytes = ByteBuffer.allocate(Math.max(bufferBytes, MIN_BUFFER_BYTES));
+	}
+
+	/**
+	 * Creates the sink which writes to the standard output
+	 * @param charset Character set the results are encoded in, which is the default character set for the same output as {@link System#out}
+	 * @param bufferBytes Size of the byte buffer
+	 * @return Sink which writes to the standard output
+	 */
+	public static ResultSink toStandardOutput(Charset charset, int bufferBytes) {
+		// Anything printed so far must come before the results
+		System.out.flush();
+		return new ResultSink(Channels.newChannel(new FileOutputStream(FileDescriptor.out)), false, charset, bufferBytes);
+	}
+
+	/**
+	 * Creates the sink which writes to a file. The file is replaced if it exists.
+	 * @param outputPath Path of the file
+	 * @param charset Character set the results are encoded in
+	 * @param bufferBytes Size of the byte buffer
+	 * @return Sink which writes to the file
+	 * @throws IOException If the file can not be created
+	 */
+	public static ResultSink toFile(Path outputPath, Charset charset, int bufferBytes) throws IOException {
+		FileChannel fileChannel = FileChannel.open(outputPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		return new ResultSink(fileChannel, true, charset, bufferBytes);
+	}
+
+	/**
+	 * Formats a line with the compiled message and buffers it
+	 * @param format Message compiled with {@link com.aconex.challenge.numbertowords.util.MessagesUtil#getFormat(String)}
+	 * @param params Value of the placeholders in the message
+	 * @throws UncheckedIOException If the buffer is full and can not be written out
+	 */
+	public void write(MessageFormat format, Object... params) {
+		line.setLength(0);
+		format.format(params, line, fieldPosition);
+		line.append(LINE_SEPARATOR);
+		encode(CharBuffer.wrap(line));
+	}
+
+	/**
+	 * Buffers the text, in the character set of the sink. A {@link WordCombination} is joined with {@link #join(CharSequence)}.
+	 * @param text Text to be written
+	 * @return This sink
+	 * @throws UncheckedIOException If the buffer is full and can not be written out
+	 */
+	public ResultSink append(CharSequence text) {
+		text = join(text);
+		return append(text, 0, text.length());
+	}
+
+	/**
+	 * Buffers a range of the text, in the character set of the sink
+	 * @param text Text which has the range to be written
+	 * @param start Start index of the range
+	 * @param end End index (exclusive) of the range
+	 * @return This sink
+	 * @throws UncheckedIOException If the buffer is full and can not be written out
+	 */
+	public ResultSink append(CharSequence text, int start, int end) {
+		if (text == joinedCombination) {
+			// Encoded straight from its array, and left as it was for the rest of the combination
+			int limit = joinedCombination.limit();
+			((Buffer) joinedCombination).limit(end).position(start);
+			encode(joinedCombination);
+			((Buffer) joinedCombination).limit(limit).position(0);
+		} else {
+			encode(CharBuffer.wrap(text, start, end));
+		}
+		return this;
+	}
+
+	/**
+	 * Joins the words of a {@link WordCombination} into a character buffer of the sink, which is reused for the next combination.
+	 * So a matching combination is turned into characters only when it is written, and no string is created for it.
+	 * @param text Text to be written
+	 * @return The buffer with the joined combination, valid till the next combination is joined, or the text itself if it is not a combination
+	 */
+	public CharSequence join(CharSequence text) {
+		if (!(text instanceof WordCombination)) {
+			return text;
+		}
+		WordCombination combination = (WordCombination) text;
+		if (joinedCombination.capacity() < combination.length()) {
+			joinedCombination = CharBuffer.allocate(Math.max(combination.length(), 2 * joinedCombination.capacity()));
+		}
+		combination.getChars(joinedCombination.array(), 0);
+		((Buffer) joinedCombination).clear();
+		((Buffer) joinedCombination).limit(combination.length());
+		return joinedCombination;
+	}
+
+	/**
+	 * Buffers an ASCII character as a byte, say a delimiter or a new line
+	 * @param character ASCII character to be written
+	 * @return This sink
+	 * @throws UncheckedIOException If the buffer is full and can not be written out
+	 */
+	public ResultSink appendAscii(char character) {
+		reserve(1);
+		bytes.put((byte) character);
+		return this;
+	}
+
+	/**
+	 * Buffers a byte
+	 * @param value Byte to be written
+	 * @throws UncheckedIOException If the buffer is full and can not be written out
+	 */
+	public void writeByte(int value) {
+		reserve(1);
+		bytes.put((byte) value);
+	}
+
+	/**
+	 * Buffers an int in 4 bytes, high byte first
+	 * @param value Int to be written
+	 * @throws UncheckedIOException If the buffer is full and can not be written out
+	 */
+	public void writeInt(int value) {
+		reserve(4);
+		bytes.putInt(value);
+	}
+
+	/**
+	 * Buffers a long in 8 bytes, high byte first
+	 * @param value Long to be written
+	 * @throws UncheckedIOException If the buffer is full and can not be written out
+	 */
+	public void writeLong(long value) {
+		reserve(8);
+		bytes.putLong(value);
+	}
+
+	/**
+	 * Buffers the text in UTF-8, whatever the character set of the sink, preceded by the no. of bytes of the text as an int.
+	 * An unpaired surrogate character is written as ?. A {@link WordCombination} is joined with {@link #join(CharSequence)}.
+	 * @param text Text to be written
+	 * @throws UncheckedIOException If the buffer is full and can not be written out
+	 */
+	public void writeUtf8(CharSequence text) {
+		text = join(text);
+		int length = text.length();
+		int utf8Bytes = 0;
+		for (int index = 0; index < length; index++) {
+			char character = text.charAt(index);
+			if (character < 0x80) {
+				utf8Bytes += 1;
+			} else if (character < 0x800) {
+				utf8Bytes += 2;
+			} else if (isSurrogatePair(text, index)) {
+				utf8Bytes += 4;
+				index++;
+			} else if (Character.isSurrogate(character)) {
+				utf8Bytes += 1;
+			} else {
+				utf8Bytes += 3;
+			}
+		}
+		writeInt(utf8Bytes);
+		for (int index = 0; index < length; index++) {
+			char character = text.charAt(index);
+			reserve(4);
+			if (character < 0x80) {
+				bytes.put((byte) character);
+			} else if (character < 0x800) {
+				bytes.put((byte) (0xC0 | character >> 6)).put((byte) (0x80 | character & 0x3F));
+			} else if (isSurrogatePair(text, index)) {
+				int codePoint = Character.toCodePoint(character, text.charAt(++index));
+				bytes.put((byte) (0xF0 | codePoint >> 18)).put((byte) (0x80 | codePoint >> 12 & 0x3F))
+						.put((byte) (0x80 | codePoint >> 6 & 0x3F)).put((byte) (0x80 | codePoint & 0x3F));
+			} else if (Character.isSurrogate(character)) {
+				bytes.put((byte) '?');
+			} else {
+				bytes.put((byte) (0xE0 | character >> 12)).put((byte) (0x80 | character >> 6 & 0x3F)).put((byte) (0x80 | character & 0x3F));
+			}
+		}
+	}
+
+	/**
+	 * Writes out all the buffered lines
+	 * @throws UncheckedIOException If the buffered lines can not be written out
+	 */
+	@Override
+	public void flush() {
+		((Buffer) bytes).flip();
+		try {
+			while (bytes.hasRemaining()) {
+				channel.write(bytes);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			((Buffer) bytes).clear();
+		}
+	}
+
+	/**
+	 * Writes out all the buffered lines, and closes the file if the sink writes to a file
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			flush();
+		} finally {
+			if (closeChannel) {
+				channel.close();
+			}
+		}
+	}
+
+	/**
+	 * Writes the buffer out if it does not have room for the given no. of bytes
+	 */
+	private void reserve(int bytesCount) {
+		if (bytes.remaining() < bytesCount) {
+			flush();
+		}
+	}
+
+	private static boolean isSurrogatePair(CharSequence text, int index) {
+		return Character.isHighSurrogate(text.charAt(index)) && index + 1 < text.length() && Character.isLowSurrogate(text.charAt(index + 1));
+	}
+
+	/**
+	 * Encodes the characters into the byte buffer, writing the buffer out each time it is full
+	 */
+	private void encode(CharBuffer chars) {
+		encoder.reset();
+		while (true) {
+			CoderResult result = encoder.encode(chars, bytes, true);
+			if (result.isOverflow()) {
+				flush();
+			} else if (result.isUnderflow()) {
+				return;
+			} else {
+				try {
+					result.throwException();
+				} catch (CharacterCodingException e) {
+					throw new UncheckedIOException(e);
+				}
+			}
+		}
+	}
+}
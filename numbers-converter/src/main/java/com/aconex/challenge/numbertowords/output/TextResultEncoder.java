@@ -0,0 +1,56 @@
+package com.aconex.challenge.numbertowords.output;
+
+import java.nio.charset.Charset;
+import java.text.MessageFormat;
+import java.util.Set;
+
+import com.aconex.challenge.numbertowords.converter.MatchCount;
+import com.aconex.challenge.numbertowords.util.CollectionsUtil;
+import com.aconex.challenge.numbertowords.util.MessagesUtil;
+
+/**
+ * Encodes the results as the human readable messages, one line per number, in the default character set.
+ * The invalid numbers are reported on the standard error instead of the sink.
+ * @author Abhishek Agarwal
+ *
+ */
+public class TextResultEncoder implements ResultEncoder {
+
+	private static final String NO_MATCH_MESSAGE_KEY = "number.none.match";
+	private static final String MATCH_MESSAGE_KEY = "number.matches";
+	private static final String MATCH_COUNT_MESSAGE_KEY = "number.matches.count";
+	private static final String INVALID_INPUT_MESSAGE_KEY = "invlaid.number";
+
+	/**
+	 * Compiled once, since they are formatted for every number
+	 */
+	private final MessageFormat noMatchFormat = MessagesUtil.getFormat(NO_MATCH_MESSAGE_KEY);
+
+	private final MessageFormat matchFormat = MessagesUtil.getFormat(MATCH_MESSAGE_KEY);
+
+	private final MessageFormat matchCountFormat = MessagesUtil.getFormat(MATCH_COUNT_MESSAGE_KEY);
+
+	@Override
+	public Charset charset() {
+		return Charset.defaultCharset();
+	}
+
+	@Override
+	public void encodeMatches(ResultSink sink, String number, Set<String> matches) {
+		if (CollectionsUtil.isNullOrEmpty(matches)) {
+			sink.write(noMatchFormat, number);
+		} else {
+			sink.write(matchFormat, number, matches);
+		}
+	}
+
+	@Override
+	public void encodeMatchCount(ResultSink sink, String number, MatchCount matchCount) {
+		sink.write(matchCountFormat, number, matchCount.getMatchesCount(), matchCount.getExactMatchesCount(), matchCount.getPartialMatchesCount());
+	}
+
+	@Override
+	public void encodeInvalidNumber(ResultSink sink, String number) {
+		System.err.println(MessagesUtil.getString(INVALID_INPUT_MESSAGE_KEY, number));
+	}
+}
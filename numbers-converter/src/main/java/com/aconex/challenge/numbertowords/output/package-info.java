@@ -0,0 +1,4 @@
+/**
+ * Contains the classes which write out the results of the numbers converted.
+ */
+package com.aconex.challenge.numbertowords.output;
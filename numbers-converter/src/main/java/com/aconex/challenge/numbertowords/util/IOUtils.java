@@ -1,10 +1,13 @@
 package com.aconex.challenge.numbertowords.util;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
 
 /**
  * Uitlity class for IO Operations. 
- * Presently it has only one method but would always have potential to grow.
+ * It has few methods but would always have potential to grow.
  * @author Abhishek Agarwal
  *
  */
@@ -20,6 +23,24 @@ public class IOUtils {
 		File tmpFile = new File(filePath);
 		return tmpFile.isFile();
 	}
+
+	/**
+	 * Utility method to compute the CRC32 checksum of all the bytes of a stream. The stream is closed once read.
+	 * @param inputStream The stream whose checksum is to be computed.
+	 * @return CRC32 checksum of the bytes of the stream
+	 * @throws IOException If the stream can not be read
+	 */
+	public static long checksum(InputStream inputStream) throws IOException {
+		CRC32 crc32 = new CRC32();
+		try (InputStream stream = inputStream) {
+			byte[] bytes = new byte[8192];
+			int bytesRead;
+			while ((bytesRead = stream.read(bytes)) != -1) {
+				crc32.update(bytes, 0, bytesRead);
+			}
+		}
+		return crc32.getValue();
+	}
 	
 
 }
@@ -42,4 +42,18 @@ public class MessagesUtil {
 		}
 	}
 
+	/**
+	 * Compiles the message for the message key, so it can be formatted many times without parsing it again.
+	 * The returned format is not thread safe.
+	 * @param key The key in the messages properties file
+	 * @return The compiled message, or a message of the key itself if the key is missing
+	 */
+	public static MessageFormat getFormat(String key) {
+		try {
+			return new MessageFormat(RESOURCE_BUNDLE.getString(key));
+		} catch (MissingResourceException e) {
+			return new MessageFormat(key);
+		}
+	}
+
 }
@@ -15,6 +15,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import com.aconex.challenge.numbertowords.converter.MatchCount;
 import com.aconex.challenge.numbertowords.converter.NumbersConverter;
 
 public class ApplicationIntegrationTest extends CommonTestBase {
@@ -136,6 +137,23 @@ public class ApplicationIntegrationTest extends CommonTestBase {
 
 	}
 	
+	/**
+	 * Counting the matches gives the no. of matches found, after removing the noise from the number.
+	 */
+	@Test
+	public void test_Count_Of_Matches() {
+		ApplicationFacade applicationFacade = mockApplicationFacade();
+		applicationFacade.createAndPopulateDictionary(getDictionaryAndNumberStreams("BLL", "ME", "ALL", "L"));
+		applicationFacade.initNumbersConverter();
+		NumbersConverter numbersConverter = applicationFacade.getNumbersConverter();
+		List<Stream<String>> numbersStreams = getDictionaryAndNumberStreams("2255-63");
+		numbersConverter.convertNumbers(numbersStreams, applicationFacade.getMatchCountTransformer(), (numberContainer) -> {
+			MatchCount matchCount = numberContainer.getTransformed();
+			assertEquals(0, matchCount.getExactMatchesCount());
+			assertEquals(2, matchCount.getMatchesCount());
+		});
+	}
+
 	/**
 	 * If there are numbers with invalid characters the response should contain errors
 	 */
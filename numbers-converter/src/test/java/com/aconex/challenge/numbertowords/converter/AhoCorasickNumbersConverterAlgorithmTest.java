@@ -0,0 +1,21 @@
+package com.aconex.challenge.numbertowords.converter;
+
+import com.aconex.challenge.numbertowords.dictionary.AhoCorasickDictionaryFactory;
+import com.aconex.challenge.numbertowords.dictionary.Dictionary;
+
+/*
+ * Runs all the use cases of {@link LazyNumbersConverterAlgorithmTest} with the dictionary created by {@link AhoCorasickDictionaryFactory},
+ * so that the matches are iterated on the lattice found in one scan of the number.
+ * 
+ * @author Abhishek Agarwal
+ *
+ */
+
+public class AhoCorasickNumbersConverterAlgorithmTest extends LazyNumbersConverterAlgorithmTest {
+
+	@Override
+	protected Dictionary createEmptyDictionary() {
+		return new AhoCorasickDictionaryFactory(null).createDictionary();
+	}
+
+}
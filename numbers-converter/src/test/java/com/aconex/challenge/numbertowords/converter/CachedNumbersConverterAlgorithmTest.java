@@ -0,0 +1,56 @@
+package com.aconex.challenge.numbertowords.converter;
+
+import static org.junit.Assert.*;
+
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.aconex.challenge.numbertowords.dictionary.Dictionary;
+
+/*
+ * Runs all the use cases of {@link NumbersConverterAlogirthmTest} with the matches of the suffixes cached across the numbers,
+ * and verifies that the numbers sharing a suffix reuse its matches and still return the same matches as without the cache
+ * 
+ * @author Abhishek Agarwal
+ *
+ */
+
+public class CachedNumbersConverterAlgorithmTest extends NumbersConverterAlogirthmTest {
+
+	@Test
+	public void test_sameMatches_for_numbers_sharing_suffix() {
+		Dictionary dictionary = mockDictionary("2->A,B", "22->BA,AB", "222->CAB", "255->ALL", "2255->CALL,BALL", "63->ME", "6->M");
+		SuffixResultCache cache = new SuffixResultCache(1024 * 1024);
+		NumberConverterAlgorithm cachedAlgorithm = new NumberConverterAlgorithm(null, dictionary, 0, cache);
+		NumberConverterAlgorithm algorithm = new NumberConverterAlgorithm(dictionary);
+
+		assertEquals(algorithm.convertNumber("22255222263"), cachedAlgorithm.convertNumber("22255222263"));
+		long missCount = cache.getMissCount();
+		assertEquals(algorithm.convertNumber("62255222263"), cachedAlgorithm.convertNumber("62255222263"));
+		assertTrue(cache.getHitCount() > 0);
+		// The suffix after the first digit of the second number is already cached, so none of its suffixes is searched again
+		assertEquals(missCount, cache.getMissCount());
+	}
+
+	@Test
+	public void test_memoized_sameMatches_for_numbers_sharing_suffix() {
+		Dictionary dictionary = mockDictionary("2->A,B", "22->BA,AB", "222->CAB", "255->ALL", "2255->CALL,BALL", "63->ME", "6->M");
+		SuffixResultCache cache = new SuffixResultCache(1024 * 1024);
+		NumberConverterAlgorithm cachedAlgorithm = new MemoizedNumberConverterAlgorithm(null, dictionary, cache);
+		NumberConverterAlgorithm algorithm = new NumberConverterAlgorithm(dictionary);
+
+		assertEquals(algorithm.convertNumber("22255222263"), cachedAlgorithm.convertNumber("22255222263"));
+		assertEquals(0, cache.getHitCount());
+		Set<String> expectedWords = algorithm.convertNumber("62255222263");
+		assertFalse(expectedWords.isEmpty());
+		assertEquals(expectedWords, cachedAlgorithm.convertNumber("62255222263"));
+		assertTrue(cache.getHitCount() > 0);
+	}
+
+	@Override
+	protected NumberConverterAlgorithm getAlgoInstance(Dictionary dictionary) {
+		return new NumberConverterAlgorithm(null, dictionary, 0, new SuffixResultCache(1024 * 1024));
+	}
+
+}
@@ -0,0 +1,88 @@
+package com.aconex.challenge.numbertowords.converter;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.aconex.challenge.numbertowords.config.Configuration;
+import com.aconex.challenge.numbertowords.dictionary.Dictionary;
+import com.aconex.challenge.numbertowords.dictionary.transformers.InputTransformer;
+import com.aconex.challenge.numbertowords.dictionary.transformers.StripAndValidateInput;
+import com.aconex.challenge.numbertowords.dictionary.transformers.TransformerContainer;
+
+/*
+ * Verifies that the numbers which are the same once massaged are converted only once, and return the same matches as the algorithm
+ * 
+ * @author Abhishek Agarwal
+ *
+ */
+
+public class CachingNumberConverterTest extends NumberConverterAlgorithmTestBase {
+
+	private NumberConverterAlgorithm numberConverterAlgorithm;
+
+	@Before
+	public void setUp() throws Exception {
+		Configuration mockConfig = mock(Configuration.class);
+		when(mockConfig.retainConsecutiveUnmatchedDigitsAsIs()).thenReturn(new int[] {1});
+		when(mockConfig.wordConcatenateDelimiter()).thenReturn("-");
+		Configuration.setInstance(mockConfig);
+		numberConverterAlgorithm = getAlgoInstance(mockDictionary("2255->CALL,BALL", "63->ME", "2->A,B", "255->ALL"));
+	}
+
+	@Test
+	public void test_massaged_number_converted_once() {
+		NumberResultCache cache = new NumberResultCache(10, 0, 0);
+		CachingNumberConverter converter = new CachingNumberConverter(numberConverterAlgorithm, cache);
+
+		Set<String> matches = transform(converter, "2255-63");
+		assertEquals(transform(numberConverterAlgorithm, "225563"), matches);
+		assertSame(matches, transform(converter, "225563"));
+		assertSame(matches, transform(converter, " 2255.63"));
+		assertEquals(1, cache.getMissCount());
+		assertEquals(2, cache.getHitCount());
+	}
+
+	@Test
+	public void test_invalid_number_not_cached() {
+		NumberResultCache cache = new NumberResultCache(10, 0, 0);
+		CachingNumberConverter converter = new CachingNumberConverter(numberConverterAlgorithm, cache);
+		TransformerContainer<Set<String>> numberContainer = new TransformerContainer<Set<String>>("22A55");
+		converter.transform(numberContainer);
+
+		assertFalse(numberContainer.getErrors().isEmpty());
+		assertEquals(0, cache.size());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void test_cached_matches_can_not_be_modified() {
+		CachingNumberConverter converter = new CachingNumberConverter(numberConverterAlgorithm, new NumberResultCache(10, 0, 0));
+		transform(converter, "225563").clear();
+	}
+
+	@Test
+	public void test_cache_cleared_for_algorithm_with_other_dictionary() {
+		NumberResultCache cache = new NumberResultCache(10, 0, 0);
+		transform(new CachingNumberConverter(numberConverterAlgorithm, cache), "225563");
+		CachingNumberConverter converter = new CachingNumberConverter(getAlgoInstance(mockDictionary("2255->CALL", "63->ME")), cache);
+
+		assertEquals(1, transform(converter, "225563").size());
+		assertEquals(1, cache.getInvalidationCount());
+	}
+
+	private Set<String> transform(InputTransformer<Set<String>> converter, String number) {
+		TransformerContainer<Set<String>> numberContainer = new TransformerContainer<Set<String>>(number);
+		converter.transform(numberContainer);
+		return numberContainer.getTransformed();
+	}
+
+	@Override
+	protected NumberConverterAlgorithm getAlgoInstance(Dictionary dictionary) {
+		return new NumberConverterAlgorithm(new StripAndValidateInput("[\\p{Punct}\\s]", "^[0-9]{1,}$"), dictionary);
+	}
+
+}
@@ -0,0 +1,36 @@
+package com.aconex.challenge.numbertowords.converter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.rules.TemporaryFolder;
+
+import com.aconex.challenge.numbertowords.dictionary.CompiledDictionary;
+import com.aconex.challenge.numbertowords.dictionary.Dictionary;
+
+/*
+ * Runs all the use cases of {@link NumbersConverterAlogirthmTest} with the hash based dictionary compiled to a file and opened again.
+ * 
+ * @author Abhishek Agarwal
+ *
+ */
+
+public class CompiledNumbersConverterAlgorithmTest extends NumbersConverterAlogirthmTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Override
+	protected Dictionary mockDictionary(String... numberToWordsArr) {
+		try {
+			Path compiledDictionaryPath = temporaryFolder.newFile().toPath();
+			CompiledDictionary.write(super.mockDictionary(numberToWordsArr), 0, 0, compiledDictionaryPath);
+			return CompiledDictionary.open(compiledDictionaryPath);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+}
@@ -0,0 +1,19 @@
+package com.aconex.challenge.numbertowords.converter;
+
+import com.aconex.challenge.numbertowords.dictionary.Dictionary;
+
+/*
+ * Runs all the use cases of {@link NumConverterAlgoTestForMultiUnchangedDigits} with the search of every suffix forked on the fork-join pool
+ * 
+ * @author Abhishek Agarwal
+ *
+ */
+
+public class ForkedNumConverterAlgoForMultiUnchangedDigitsTest extends NumConverterAlgoTestForMultiUnchangedDigits {
+
+	@Override
+	protected NumberConverterAlgorithm getAlgoInstance(Dictionary dictionary) {
+		return new NumberConverterAlgorithm(null, dictionary, 1);
+	}
+
+}
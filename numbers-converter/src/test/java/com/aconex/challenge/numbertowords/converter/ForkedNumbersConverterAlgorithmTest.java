@@ -0,0 +1,60 @@
+package com.aconex.challenge.numbertowords.converter;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.aconex.challenge.numbertowords.dictionary.Dictionary;
+
+/*
+ * Runs all the use cases of {@link NumbersConverterAlogirthmTest} with the search of every suffix forked on the fork-join pool,
+ * and verifies that for long numbers with a lot of overlapping matches it returns the same matches as searched on one thread
+ * 
+ * @author Abhishek Agarwal
+ *
+ */
+
+public class ForkedNumbersConverterAlgorithmTest extends NumbersConverterAlogirthmTest {
+
+	//Every prefix of the number has a match, so there are a lot of suffix searches to fork
+	@Test
+	public void test_sameMatches_as_serialSearch_for_longNumber() {
+		Dictionary dictionary = mockDictionary("2->A,B", "22->BA,AB", "222->CAB", "255->ALL", "2255->CALL,BALL", "63->ME", "6->M");
+
+		String inputNumber = "2225522255222263";
+		Set<String> expectedWords = new NumberConverterAlgorithm(dictionary).convertNumber(inputNumber);
+		assertFalse(expectedWords.isEmpty());
+		assertSameOrder(expectedWords, new NumberConverterAlgorithm(null, dictionary, 6).convertNumber(inputNumber));
+	}
+
+	//The matches are added in the same order as searched on one thread, whichever suffixes are forked,
+	//including the partial matches where digits are retained as-is
+	@Test
+	public void test_sameOrder_as_serialSearch_for_each_forkThreshold() {
+		Dictionary dictionary = mockDictionary("2->A,B", "22->BA,AB", "222->CAB", "255->ALL", "2255->CALL,BALL", "63->ME", "6->M");
+
+		for (String inputNumber : Arrays.asList("2225522255222263", "2202255022263", "22552255")) {
+			Set<String> expectedWords = new NumberConverterAlgorithm(dictionary).convertNumber(inputNumber);
+			assertFalse(expectedWords.isEmpty());
+			for (int forkThreshold = 1; forkThreshold <= inputNumber.length(); forkThreshold++) {
+				assertSameOrder(expectedWords, new NumberConverterAlgorithm(null, dictionary, forkThreshold).convertNumber(inputNumber));
+			}
+		}
+	}
+
+	private static void assertSameOrder(Set<String> expectedWords, Set<String> actualMatchingWords) {
+		assertEquals(expectedWords, actualMatchingWords);
+		assertEquals(new ArrayList<String>(expectedWords), new ArrayList<String>(actualMatchingWords));
+		assertEquals(expectedWords.toString(), actualMatchingWords.toString());
+	}
+
+	@Override
+	protected NumberConverterAlgorithm getAlgoInstance(Dictionary dictionary) {
+		return new NumberConverterAlgorithm(null, dictionary, 1);
+	}
+
+}
@@ -0,0 +1,19 @@
+package com.aconex.challenge.numbertowords.converter;
+
+import com.aconex.challenge.numbertowords.dictionary.Dictionary;
+
+/*
+ * Runs all the use cases of {@link NumbersConverterAlogirthmTest} with the frozen snapshot of the hash based dictionary.
+ * 
+ * @author Abhishek Agarwal
+ *
+ */
+
+public class FrozenNumbersConverterAlgorithmTest extends NumbersConverterAlogirthmTest {
+
+	@Override
+	protected Dictionary mockDictionary(String... numberToWordsArr) {
+		return super.mockDictionary(numberToWordsArr).freeze();
+	}
+
+}
@@ -0,0 +1,19 @@
+package com.aconex.challenge.numbertowords.converter;
+
+import com.aconex.challenge.numbertowords.dictionary.Dictionary;
+
+/*
+ * Runs all the use cases of {@link NumConverterAlgoTestForMultiUnchangedDigits} against {@link NumberConverterAlgorithm#iterateMatches(String)}
+ * 
+ * @author Abhishek Agarwal
+ *
+ */
+
+public class LazyNumConverterAlgoForMultiUnchangedDigitsTest extends NumConverterAlgoTestForMultiUnchangedDigits {
+
+	@Override
+	protected NumberConverterAlgorithm getAlgoInstance(Dictionary dictionary) {
+		return LazyNumbersConverterAlgorithmTest.collectingIteratedMatches(dictionary);
+	}
+
+}
@@ -0,0 +1,75 @@
+package com.aconex.challenge.numbertowords.converter;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.aconex.challenge.numbertowords.dictionary.Dictionary;
+
+/*
+ * Runs all the use cases of {@link NumbersConverterAlogirthmTest} against {@link NumberConverterAlgorithm#iterateMatches(String)},
+ * by collecting the lazily iterated matches in a set.
+ * 
+ * @author Abhishek Agarwal
+ *
+ */
+
+public class LazyNumbersConverterAlgorithmTest extends NumbersConverterAlogirthmTest {
+
+	//The iterated matches should be the same as the recursive algorithm and none of them should be repeated
+	@Test
+	public void test_sameMatches_as_recursiveAlgorithm_for_longNumber() {
+		Dictionary dictionary = mockDictionary("2->A,B", "22->BA,AB", "222->CAB", "255->ALL", "2255->CALL,BALL", "63->ME", "6->M");
+		NumberConverterAlgorithm converter = new NumberConverterAlgorithm(dictionary);
+
+		String inputNumber = "2225522255222263";
+		Set<String> expectedWords = converter.convertNumber(inputNumber);
+		List<String> actualMatchingWords = new ArrayList<String>();
+		converter.iterateMatches(inputNumber).forEachRemaining(actualMatchingWords::add);
+		assertEquals(expectedWords.size(), actualMatchingWords.size());
+		assertEquals(expectedWords, new HashSet<String>(actualMatchingWords));
+	}
+
+	//A number with more than a billion matches, so only a lazy search can return the first few matches
+	@Test
+	public void test_firstMatches_of_number_with_too_many_matches() {
+		Dictionary dictionary = mockDictionary("2->A,B,C", "22->BA,AB");
+		NumberConverterAlgorithm converter = new NumberConverterAlgorithm(dictionary);
+
+		String inputNumber = "222222222222222222222222222222";
+		List<String> firstMatches = converter.streamMatches(inputNumber).limit(5).collect(Collectors.toList());
+		assertEquals(5, firstMatches.size());
+		assertEquals(5, new HashSet<String>(firstMatches).size());
+	}
+
+	@Test
+	public void test_noMatches_for_number_with_invalid_digits() {
+		Dictionary dictionary = mockDictionary("63->ME","255->ALL");
+		Iterator<String> matches = new NumberConverterAlgorithm(dictionary).iterateMatches("222552263");
+		assertFalse(matches.hasNext());
+	}
+
+	@Override
+	protected NumberConverterAlgorithm getAlgoInstance(Dictionary dictionary) {
+		return collectingIteratedMatches(dictionary);
+	}
+
+	static NumberConverterAlgorithm collectingIteratedMatches(Dictionary dictionary) {
+		return new NumberConverterAlgorithm(dictionary) {
+			@Override
+			protected Set<String> convertNumber(String numberToConvert) {
+				Set<String> matches = new HashSet<String>();
+				iterateMatches(numberToConvert).forEachRemaining(matches::add);
+				return matches;
+			}
+		};
+	}
+
+}
@@ -0,0 +1,111 @@
+package com.aconex.challenge.numbertowords.converter;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.aconex.challenge.numbertowords.config.Configuration;
+import com.aconex.challenge.numbertowords.dictionary.Dictionary;
+
+/*
+ * Verifies that {@link NumberConverterAlgorithm#countMatches(String)} counts the same no. of matches as found by {@link NumberConverterAlgorithm#convertNumber(String)}
+ * And that it can count the matches of numbers with too many matches to be found.
+ * 
+ * @author Abhishek Agarwal
+ *
+ */
+
+public class MatchCountTest extends NumberConverterAlgorithmTestBase {
+
+	@Before
+	public void setUp() throws Exception {
+		mockConfiguration(new int[] {1});
+	}
+
+	@Test
+	public void test_count_of_exactMatches() {
+		Dictionary dictionary = mockDictionary("2255->CALL,BALL","63->ME","2->B","255->ALL");
+		assertCountSameAsMatches(dictionary, "225563", 3, 0);
+	}
+
+	// The partial match 2-ALL-ME is counted but not returned since there is an exact match
+	@Test
+	public void test_count_of_partialMatches_when_there_are_exactMatches() {
+		Dictionary dictionary = mockDictionary("63->ME","255->ALL", "2255->BALL");
+		assertCountSameAsMatches(dictionary, "225563", 1, 1);
+	}
+
+	@Test
+	public void test_count_of_partialMatches() {
+		Dictionary dictionary = mockDictionary("63->ME","255->ALL");
+		assertCountSameAsMatches(dictionary, "2255263", 0, 1);
+	}
+
+	@Test
+	public void test_count_of_no_matches() {
+		Dictionary dictionary = mockDictionary("63->ME","255->ALL");
+		assertCountSameAsMatches(dictionary, "222552263", 0, 0);
+	}
+
+	@Test
+	public void test_count_with_multiDigitsUnchanged() {
+		mockConfiguration(new int[] {1, 2});
+		Dictionary dictionary = mockDictionary("2->A", "3->D");
+		assertCountSameAsMatches(dictionary, "1322", 0, 2);
+	}
+
+	@Test
+	public void test_count_of_overlapping_matches_of_longNumber() {
+		Dictionary dictionary = mockDictionary("2->A,B", "22->BA,AB", "222->CAB", "255->ALL", "2255->CALL,BALL", "63->ME", "6->M");
+		NumberConverterAlgorithm converter = getAlgoInstance(dictionary);
+		String inputNumber = "2225522255222263";
+		assertEquals(converter.convertNumber(inputNumber).size(), converter.countMatches(inputNumber).getMatchesCount());
+	}
+
+	// Each digit 2 has 3 words, and each 22 has 2 words, so the no. of matches for 30 digits is more than 3 to the power of 30
+	@Test
+	public void test_count_of_number_with_billions_of_matches() {
+		Dictionary dictionary = mockDictionary("2->A,B,C", "22->BA,AB");
+		MatchCount matchCount = getAlgoInstance(dictionary).countMatches("222222222222222222222222222222");
+		assertTrue(matchCount.getExactMatchesCount() > 205891132094649L);
+		assertFalse(matchCount.isCapped());
+	}
+
+	@Test
+	public void test_count_is_capped_instead_of_overflowing() {
+		Dictionary dictionary = mockDictionary("2->A,B,C", "22->BA,AB");
+		StringBuilder inputNumber = new StringBuilder();
+		for (int i = 0; i < 100; i++) {
+			inputNumber.append('2');
+		}
+		MatchCount matchCount = getAlgoInstance(dictionary).countMatches(inputNumber.toString());
+		assertTrue(matchCount.isCapped());
+		assertEquals(Long.MAX_VALUE, matchCount.getMatchesCount());
+	}
+
+	private void assertCountSameAsMatches(Dictionary dictionary, String inputNumber, long expectedExactCount, long expectedPartialCount) {
+		NumberConverterAlgorithm converter = getAlgoInstance(dictionary);
+		Set<String> matches = converter.convertNumber(inputNumber);
+		MatchCount matchCount = converter.countMatches(inputNumber);
+		assertEquals(expectedExactCount, matchCount.getExactMatchesCount());
+		assertEquals(expectedPartialCount, matchCount.getPartialMatchesCount());
+		assertEquals(matches.size(), matchCount.getMatchesCount());
+	}
+
+	private void mockConfiguration(int[] unchangedDigitsArr) {
+		Configuration mockConfig = mock(Configuration.class);
+		when(mockConfig.retainConsecutiveUnmatchedDigitsAsIs()).thenReturn(unchangedDigitsArr);
+		when(mockConfig.wordConcatenateDelimiter()).thenReturn("-");
+		Configuration.setInstance(mockConfig);
+	}
+
+	@Override
+	protected NumberConverterAlgorithm getAlgoInstance(Dictionary dictionary) {
+		return new NumberConverterAlgorithm(dictionary);
+	}
+
+}
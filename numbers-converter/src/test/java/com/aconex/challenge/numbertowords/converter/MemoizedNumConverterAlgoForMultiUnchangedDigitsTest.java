@@ -0,0 +1,19 @@
+package com.aconex.challenge.numbertowords.converter;
+
+import com.aconex.challenge.numbertowords.dictionary.Dictionary;
+
+/*
+ * Runs all the use cases of {@link NumConverterAlgoTestForMultiUnchangedDigits} against {@link MemoizedNumberConverterAlgorithm}
+ * 
+ * @author Abhishek Agarwal
+ *
+ */
+
+public class MemoizedNumConverterAlgoForMultiUnchangedDigitsTest extends NumConverterAlgoTestForMultiUnchangedDigits {
+
+	@Override
+	protected NumberConverterAlgorithm getAlgoInstance(Dictionary dictionary) {
+		return new MemoizedNumberConverterAlgorithm(dictionary);
+	}
+
+}
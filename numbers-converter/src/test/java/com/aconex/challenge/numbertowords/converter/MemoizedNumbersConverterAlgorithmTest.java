@@ -0,0 +1,38 @@
+package com.aconex.challenge.numbertowords.converter;
+
+import static org.junit.Assert.*;
+
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.aconex.challenge.numbertowords.dictionary.Dictionary;
+
+/*
+ * Runs all the use cases of {@link NumbersConverterAlogirthmTest} against {@link MemoizedNumberConverterAlgorithm},
+ * and verifies that for long numbers with a lot of overlapping matches it returns the same matches as {@link NumberConverterAlgorithm}
+ * 
+ * @author Abhishek Agarwal
+ *
+ */
+
+public class MemoizedNumbersConverterAlgorithmTest extends NumbersConverterAlogirthmTest {
+
+	//Every prefix of the number has a match, so the same suffixes are reached again and again
+	@Test
+	public void test_sameMatches_as_recursiveAlgorithm_for_longNumber() {
+		Dictionary dictionary = mockDictionary("2->A,B", "22->BA,AB", "222->CAB", "255->ALL", "2255->CALL,BALL", "63->ME", "6->M");
+
+		String inputNumber = "2225522255222263";
+		Set<String> expectedWords = new NumberConverterAlgorithm(dictionary).convertNumber(inputNumber);
+		Set<String> actualMatchingWords = getAlgoInstance(dictionary).convertNumber(inputNumber);
+		assertFalse(expectedWords.isEmpty());
+		assertEquals(expectedWords, actualMatchingWords);
+	}
+
+	@Override
+	protected NumberConverterAlgorithm getAlgoInstance(Dictionary dictionary) {
+		return new MemoizedNumberConverterAlgorithm(dictionary);
+	}
+
+}
@@ -82,7 +82,23 @@ public class NumConverterAlgoTestForMultiUnchangedDigits extends NumberConverter
 		assertEquals(expectedWords, actualMatchingWords);
 	}
 
-	private void mockConfiguration(int[] unchangedDigitsArr) {
+	/*
+	 * The suffix 22 has an exact match A-A, so retaining the whole suffix 22 as-is is not a partial match for it.
+	 * So for a number 1322 with dictionary having words A(2) and D(3) it results in 1-D-A-A and 13-A-A but not in 1-D-22.
+	 */
+	@Test
+	public void test_suffix_with_exactMatch_is_not_retained_asIs() {
+		mockConfiguration(new int[]{1, 2});
+		Dictionary dictionary = mockDictionary("2->A", "3->D");
+		NumberConverterAlgorithm converter = getAlgoInstance(dictionary);
+
+		String inputNumber = "1322";
+		Set<String> expectedWords = new HashSet<String>(Arrays.asList("1-D-A-A", "13-A-A"));
+		Set<String> actualMatchingWords = converter.convertNumber(inputNumber);
+		assertEquals(expectedWords, actualMatchingWords);
+	}
+
+	protected void mockConfiguration(int[] unchangedDigitsArr) {
 		Configuration mockConfig = mock(Configuration.class);
 		when(mockConfig.retainConsecutiveUnmatchedDigitsAsIs())
 				.thenReturn(unchangedDigitsArr);
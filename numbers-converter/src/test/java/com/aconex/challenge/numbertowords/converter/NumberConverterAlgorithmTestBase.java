@@ -1,19 +1,17 @@
 package com.aconex.challenge.numbertowords.converter;
 
-import static org.mockito.Mockito.*;
-
 import java.util.Arrays;
-import java.util.HashSet;
 import java.util.Set;
 
 import com.aconex.challenge.numbertowords.dictionary.Dictionary;
+import com.aconex.challenge.numbertowords.dictionary.HashBasedDictionaryFactory;
 import com.aconex.challenge.numbertowords.dictionary.transformers.InputTransformer;
 
 public abstract class NumberConverterAlgorithmTestBase {
 
 	
 	/*
-	 * Mocks the {@link Dictionary} object 
+	 * Creates a {@link Dictionary} object populated with the given numbers and words, in place of the dictionary created from the dictionary sources.
 	 * @param numberToWordsArr Each string is a number mapping to possible words based on a chosen number encoding, and the given words are present in the list of dictionary words provided.
 	 *  Ex-> If an input is 2255->CALL,BALL This means 2255 would encode to CALL and BALL, and the user dictionary has words CALL and BALL in it.
 	 * @return
@@ -21,13 +19,23 @@ public abstract class NumberConverterAlgorithmTestBase {
 
 
 	protected Dictionary mockDictionary(String... numberToWordsArr) {
-		Dictionary dictionary = mock(Dictionary.class);
+		return populateDictionary(createEmptyDictionary(), numberToWordsArr);
+	}
+
+	protected Dictionary populateDictionary(Dictionary dictionary, String... numberToWordsArr) {
 		Arrays.stream(numberToWordsArr).forEach((numberToWords)-> {
 			String[] parts = numberToWords.split("->");
-			when(dictionary.findMatchingWords(parts[0])).thenReturn(new HashSet<String>(Arrays.asList(parts[1].split(","))));
+			Arrays.stream(parts[1].split(",")).forEach((word) -> dictionary.insert(parts[0], word));
 		});
 		return dictionary;
 	}
+
+	/*
+	 * Creates the empty dictionary to be populated by {@link #mockDictionary}. Can be overridden to run the same tests with another dictionary implementation.
+	 */
+	protected Dictionary createEmptyDictionary() {
+		return new HashBasedDictionaryFactory(null).createDictionary();
+	}
 	
 	protected abstract InputTransformer<Set<String>> getAlgoInstance(
 			Dictionary dictionary);
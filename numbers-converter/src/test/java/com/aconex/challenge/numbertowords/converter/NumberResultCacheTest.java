@@ -0,0 +1,123 @@
+package com.aconex.challenge.numbertowords.converter;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.aconex.challenge.numbertowords.dictionary.Dictionary;
+import com.aconex.challenge.numbertowords.dictionary.HashBasedDictionaryFactory;
+
+/**
+ * Unit tests for {@link NumberResultCache}
+ * 
+ * @author Abhishek Agarwal
+ *
+ */
+public class NumberResultCacheTest {
+
+	private long now;
+
+	@Test
+	public void test_least_recently_used_evicted_over_size() {
+		// One segment, so that all the numbers are evicted in the order they were used
+		NumberResultCache cache = new NumberResultCache(2, 0, 0, System::nanoTime, 1);
+		cache.put("2255", matches("CALL", "BALL"));
+		cache.put("63", matches("ME"));
+		cache.get("2255");
+		cache.put("225563", matches("CALL-ME", "BALL-ME"));
+
+		assertEquals(2, cache.size());
+		assertEquals(matches("CALL", "BALL"), cache.get("2255"));
+		assertNull(cache.get("63"));
+		assertEquals(1, cache.getEvictionCount());
+		assertEquals(2, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+	}
+
+	@Test
+	public void test_evicted_by_weight_of_matches() {
+		NumberResultCache cache = new NumberResultCache(0, 800, 0, System::nanoTime, 1);
+		cache.put("63", matches("ME"));
+		cache.put("2", matches("A", "B", "C", "AA", "BB", "CC", "AAA"));
+
+		assertTrue(cache.getWeightBytes() <= 800);
+		assertEquals(1, cache.getEvictionCount());
+		assertNull(cache.get("63"));
+		assertNotNull(cache.get("2"));
+	}
+
+	@Test
+	public void test_limits_shared_by_segments_used_by_threads() throws InterruptedException {
+		NumberResultCache cache = new NumberResultCache(100, 16 * 2000, 0);
+		Thread[] threads = new Thread[4];
+		for (int index = 0; index < threads.length; index++) {
+			int thread = index;
+			threads[index] = new Thread(() -> {
+				for (int number = 0; number < 1000; number++) {
+					String numberString = String.valueOf(10000 + number * threads.length + thread);
+					cache.put(numberString, matches("WORD"));
+					cache.get(numberString);
+				}
+			});
+			threads[index].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertTrue(cache.size() <= 100);
+		assertTrue(cache.getWeightBytes() <= 16 * 2000);
+		assertEquals(4000 - cache.size(), cache.getEvictionCount());
+		assertEquals(4000, cache.getHitCount() + cache.getMissCount());
+	}
+
+	@Test
+	public void test_matches_larger_than_budget_not_cached() {
+		NumberResultCache cache = new NumberResultCache(0, 100, 0);
+		cache.put("2255", matches("CALL", "BALL"));
+
+		assertEquals(0, cache.size());
+		assertNull(cache.get("2255"));
+	}
+
+	@Test
+	public void test_expired_after_time_to_live() {
+		NumberResultCache cache = new NumberResultCache(10, 0, 1000, () -> now);
+		cache.put("2255", matches("CALL", "BALL"));
+		now += TimeUnit.MILLISECONDS.toNanos(999);
+		assertNotNull(cache.get("2255"));
+		now += TimeUnit.MILLISECONDS.toNanos(1);
+
+		assertNull(cache.get("2255"));
+		assertEquals(1, cache.getExpirationCount());
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getWeightBytes());
+	}
+
+	@Test
+	public void test_cleared_if_dictionary_or_retained_digits_change() {
+		NumberResultCache cache = new NumberResultCache(10, 0, 0);
+		Dictionary dictionary = new HashBasedDictionaryFactory(null).createDictionary();
+		cache.validate(dictionary, new int[] {1}, "-");
+		cache.put("2255", matches("CALL", "BALL"));
+		cache.validate(dictionary, new int[] {1}, "-");
+		assertNotNull(cache.get("2255"));
+
+		cache.validate(dictionary, new int[] {1, 2}, "-");
+		assertNull(cache.get("2255"));
+		cache.put("2255", matches("CALL", "BALL"));
+		cache.validate(new HashBasedDictionaryFactory(null).createDictionary(), new int[] {1, 2}, "-");
+		assertNull(cache.get("2255"));
+		assertEquals(2, cache.getInvalidationCount());
+	}
+
+	private Set<String> matches(String... matches) {
+		return Collections.unmodifiableSet(new HashSet<String>(Arrays.asList(matches)));
+	}
+}
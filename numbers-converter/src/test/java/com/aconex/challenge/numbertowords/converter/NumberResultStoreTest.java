@@ -0,0 +1,126 @@
+package com.aconex.challenge.numbertowords.converter;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/*
+ * Verifies that the matches stored are found again once the store is reopened with the same fingerprint, 
+ * that they are discarded for a different fingerprint, that a torn record is dropped, and that the size limit is kept by compacting the store.
+ * @author Abhishek Agarwal
+ *
+ */
+
+public class NumberResultStoreTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private Path storePath;
+
+	@Before
+	public void setUp() throws IOException {
+		storePath = temporaryFolder.getRoot().toPath().resolve("results.store");
+	}
+
+	@Test
+	public void test_matches_found_after_reopen() throws IOException {
+		try (NumberResultStore store = NumberResultStore.open(storePath, "fingerprint", 0)) {
+			store.put("225563", matches("CALL-ME", "BALL-ME"));
+			store.put("0", matches("0"));
+			store.put("5", matches());
+			assertEquals(matches("CALL-ME", "BALL-ME"), store.get("225563"));
+		}
+		try (NumberResultStore store = NumberResultStore.open(storePath, "fingerprint", 0)) {
+			assertEquals(3, store.size());
+			assertEquals(matches("CALL-ME", "BALL-ME"), store.get("225563"));
+			assertEquals(matches("0"), store.get("0"));
+			assertEquals(matches(), store.get("5"));
+			assertNull(store.get("2255"));
+			assertEquals(3, store.getHitCount());
+			assertEquals(1, store.getMissCount());
+		}
+	}
+
+	@Test
+	public void test_matches_discarded_for_other_fingerprint() throws IOException {
+		try (NumberResultStore store = NumberResultStore.open(storePath, "fingerprint", 0)) {
+			store.put("225563", matches("CALL-ME", "BALL-ME"));
+		}
+		try (NumberResultStore store = NumberResultStore.open(storePath, "other fingerprint", 0)) {
+			assertEquals(0, store.size());
+			assertNull(store.get("225563"));
+		}
+	}
+
+	@Test
+	public void test_torn_record_dropped() throws IOException {
+		try (NumberResultStore store = NumberResultStore.open(storePath, "fingerprint", 0)) {
+			store.put("2255", matches("CALL", "BALL"));
+			store.put("225563", matches("CALL-ME", "BALL-ME"));
+		}
+		long fileSize = Files.size(storePath);
+		try (FileChannel channel = FileChannel.open(storePath, StandardOpenOption.WRITE)) {
+			channel.truncate(fileSize - 3);
+		}
+		try (NumberResultStore store = NumberResultStore.open(storePath, "fingerprint", 0)) {
+			assertEquals(1, store.size());
+			assertEquals(matches("CALL", "BALL"), store.get("2255"));
+			store.put("225563", matches("CALL-ME", "BALL-ME"));
+		}
+		assertEquals(fileSize, Files.size(storePath));
+	}
+
+	@Test
+	public void test_compacted_to_numbers_used_within_size_limit() throws IOException {
+		long maxBytes = 1024;
+		try (NumberResultStore store = NumberResultStore.open(storePath, "fingerprint", 0)) {
+			for (int number = 1000; number < 1040; number++) {
+				store.put(Integer.toString(number), matches("WORD" + number));
+			}
+		}
+		assertTrue(Files.size(storePath) > maxBytes);
+		try (NumberResultStore store = NumberResultStore.open(storePath, "fingerprint", maxBytes)) {
+			assertNotNull(store.get("1000"));
+			store.put("2000", matches("WORD2000"));
+
+			assertEquals(1, store.getCompactionCount());
+			assertEquals(2, store.size());
+			assertEquals(matches("WORD1000"), store.get("1000"));
+			assertEquals(matches("WORD2000"), store.get("2000"));
+			assertNull(store.get("1001"));
+		}
+		assertTrue(Files.size(storePath) <= maxBytes);
+		try (NumberResultStore store = NumberResultStore.open(storePath, "fingerprint", maxBytes)) {
+			assertEquals(2, store.size());
+		}
+	}
+
+	@Test
+	public void test_not_stored_if_full_of_numbers_used() throws IOException {
+		try (NumberResultStore store = NumberResultStore.open(storePath, "fingerprint", 100)) {
+			store.put("2255", matches("CALL", "BALL"));
+			store.put("225563", matches("CALL-ME", "BALL-ME", "CALL-OF", "BALL-OF", "CALL-ND", "BALL-ND"));
+
+			assertEquals(matches("CALL", "BALL"), store.get("2255"));
+			assertNull(store.get("225563"));
+			assertEquals(0, store.getCompactionCount());
+		}
+	}
+
+	private Set<String> matches(String... matches) {
+		return new HashSet<String>(Arrays.asList(matches));
+	}
+}
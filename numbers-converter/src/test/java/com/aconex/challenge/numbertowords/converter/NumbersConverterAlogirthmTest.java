@@ -178,15 +178,6 @@ public class NumbersConverterAlogirthmTest extends NumberConverterAlgorithmTestB
 
 
 
-	protected Dictionary mockDictionary(String... numberToWordsArr) {
-		Dictionary dictionary = mock(Dictionary.class);
-		Arrays.stream(numberToWordsArr).forEach((numberToWords)-> {
-			String[] parts = numberToWords.split("->");
-			when(dictionary.findMatchingWords(parts[0])).thenReturn(new HashSet<String>(Arrays.asList(parts[1].split(","))));
-		});
-		return dictionary;
-	}
-
 	@Override
 	protected NumberConverterAlgorithm getAlgoInstance(Dictionary dictionary) {
 		return new NumberConverterAlgorithm(dictionary);
@@ -0,0 +1,181 @@
+package com.aconex.challenge.numbertowords.converter;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.aconex.challenge.numbertowords.config.Configuration;
+import com.aconex.challenge.numbertowords.dictionary.Dictionary;
+import com.aconex.challenge.numbertowords.dictionary.transformers.StripAndValidateInput;
+import com.aconex.challenge.numbertowords.dictionary.transformers.TransformerContainer;
+import com.aconex.challenge.numbertowords.input.MappedNumbersFile;
+
+/*
+ * Verifies that the numbers converted by several worker threads give the same results as converted on the calling thread,
+ * in the same order if the order is to be kept, and that the results are handed over on the calling thread.
+ * Also that the numbers read from memory mapped files give the same results as read from streams,
+ * and that the containers reused for several numbers give the same results.
+ * 
+ * @author Abhishek Agarwal
+ *
+ */
+
+public class NumbersConverterTest extends NumberConverterAlgorithmTestBase {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private NumberConverterAlgorithm numberConverterAlgorithm;
+
+	private List<List<String>> numbers;
+
+	@Before
+	public void setUp() throws Exception {
+		Configuration mockConfig = mock(Configuration.class);
+		when(mockConfig.retainConsecutiveUnmatchedDigitsAsIs()).thenReturn(new int[] {1});
+		when(mockConfig.wordConcatenateDelimiter()).thenReturn("-");
+		Configuration.setInstance(mockConfig);
+		numberConverterAlgorithm = new NumberConverterAlgorithm(new StripAndValidateInput("[\\p{Punct}\\s]", "^[0-9]{1,}$"),
+				mockDictionary("2255->CALL,BALL", "63->ME", "2->A,B", "255->ALL", "5->J,L", "6->O", "3->E"));
+		numbers = new ArrayList<List<String>>();
+		for (int stream = 0; stream < 2; stream++) {
+			List<String> streamNumbers = new ArrayList<String>();
+			for (int number = 0; number < 20 * NumbersConverter.BATCH_NUMBERS + 3; number++) {
+				streamNumbers.add(number % 50 == 0 ? "A" + number : Integer.toString(number * 7919 + stream, 7).replace('0', '2').replace('1', '5'));
+			}
+			numbers.add(streamNumbers);
+		}
+	}
+
+	@Test
+	public void test_parallel_conversion_in_order_same_as_serial_conversion() {
+		assertEquals(convert(1, true), convert(4, true));
+	}
+
+	@Test
+	public void test_parallel_conversion_out_of_order_has_same_results() {
+		List<String> serialResults = convert(1, true);
+		List<String> parallelResults = convert(4, false);
+		Collections.sort(serialResults);
+		Collections.sort(parallelResults);
+		assertEquals(serialResults, parallelResults);
+	}
+
+	@Test
+	public void test_results_handed_over_on_calling_thread() {
+		NumbersConverter numbersConverter = new NumbersConverter(numberConverterAlgorithm);
+		numbersConverter.setParallelism(4);
+		Thread callingThread = Thread.currentThread();
+		List<Thread> handOverThreads = new ArrayList<Thread>();
+		numbersConverter.convertNumbers(streams(), (numberContainer) -> handOverThreads.add(Thread.currentThread()));
+		assertEquals(2 * (20 * NumbersConverter.BATCH_NUMBERS + 3), handOverThreads.size());
+		assertTrue(handOverThreads.stream().allMatch((thread) -> thread == callingThread));
+	}
+
+	@Test
+	public void test_mapped_files_conversion_same_as_streams_conversion() throws IOException {
+		List<String> streamResults = convert(1, true);
+		assertEquals(streamResults, convertFiles(1));
+		assertEquals(streamResults, convertFiles(4));
+	}
+
+	@Test
+	public void test_reused_containers_same_results() throws IOException {
+		List<String> streamResults = convert(1, true);
+		assertEquals(streamResults, convert(1, true, true));
+		assertEquals(streamResults, convert(4, true, true));
+		assertEquals(streamResults, convertFiles(1, true));
+		assertEquals(streamResults, convertFiles(4, true));
+	}
+
+	@Test
+	public void test_containers_reused() {
+		NumbersConverter numbersConverter = new NumbersConverter(numberConverterAlgorithm);
+		numbersConverter.setReuseContainers(true);
+		Set<TransformerContainer<Set<String>>> containers = Collections.newSetFromMap(new IdentityHashMap<TransformerContainer<Set<String>>, Boolean>());
+		numbersConverter.convertNumbers(streams(), containers::add);
+		assertEquals(1, containers.size());
+		containers.clear();
+		numbersConverter.setParallelism(2);
+		numbersConverter.convertNumbers(streams(), containers::add);
+		assertTrue(containers.size() < 20 * NumbersConverter.BATCH_NUMBERS);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void test_failure_on_worker_thread_is_rethrown() {
+		NumbersConverter numbersConverter = new NumbersConverter(numberConverterAlgorithm);
+		numbersConverter.setParallelism(2);
+		numbersConverter.convertNumbers(streams(), (numberContainer) -> {
+			throw new IllegalStateException("Not converted");
+		}, (numberContainer) -> fail("No result expected"));
+	}
+
+	private List<String> convert(int parallelism, boolean preserveOrder) {
+		return convert(parallelism, preserveOrder, false);
+	}
+
+	private List<String> convert(int parallelism, boolean preserveOrder, boolean reuseContainers) {
+		NumbersConverter numbersConverter = new NumbersConverter(numberConverterAlgorithm);
+		numbersConverter.setParallelism(parallelism);
+		numbersConverter.setPreserveOrder(preserveOrder);
+		numbersConverter.setReuseContainers(reuseContainers);
+		List<String> results = new ArrayList<String>();
+		numbersConverter.convertNumbers(streams(), (numberContainer) -> {
+			Set<String> matches = numberContainer.getTransformed();
+			results.add(numberContainer.getInput() + "->" + (matches == null ? numberContainer.getErrors() : matches.stream().sorted().collect(Collectors.toList())));
+		});
+		return results;
+	}
+
+	private List<String> convertFiles(int parallelism) throws IOException {
+		return convertFiles(parallelism, false);
+	}
+
+	private List<String> convertFiles(int parallelism, boolean reuseContainers) throws IOException {
+		List<MappedNumbersFile> numbersFiles = new ArrayList<MappedNumbersFile>();
+		try {
+			for (List<String> fileNumbers : numbers) {
+				Path numbersPath = temporaryFolder.newFile().toPath();
+				Files.write(numbersPath, fileNumbers);
+				numbersFiles.add(MappedNumbersFile.open(numbersPath));
+			}
+			NumbersConverter numbersConverter = new NumbersConverter(numberConverterAlgorithm);
+			numbersConverter.setParallelism(parallelism);
+			numbersConverter.setReuseContainers(reuseContainers);
+			List<String> results = new ArrayList<String>();
+			numbersConverter.convertNumberFiles(numbersFiles, (numberContainer) -> {
+				Set<String> matches = numberContainer.getTransformed();
+				results.add(numberContainer.getInput() + "->" + (matches == null ? numberContainer.getErrors() : matches.stream().sorted().collect(Collectors.toList())));
+			});
+			return results;
+		} finally {
+			for (MappedNumbersFile numbersFile : numbersFiles) {
+				numbersFile.close();
+			}
+		}
+	}
+
+	private List<Stream<String>> streams() {
+		return numbers.stream().map(List::stream).collect(Collectors.toList());
+	}
+
+	@Override
+	protected NumberConverterAlgorithm getAlgoInstance(Dictionary dictionary) {
+		return new NumberConverterAlgorithm(dictionary);
+	}
+}
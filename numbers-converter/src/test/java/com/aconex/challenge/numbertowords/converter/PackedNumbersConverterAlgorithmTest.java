@@ -0,0 +1,20 @@
+package com.aconex.challenge.numbertowords.converter;
+
+import com.aconex.challenge.numbertowords.dictionary.Dictionary;
+import com.aconex.challenge.numbertowords.dictionary.PackedDictionaryFactory;
+
+/*
+ * Runs all the use cases of {@link NumbersConverterAlogirthmTest} with the dictionary created by {@link PackedDictionaryFactory}.
+ * 
+ * @author Abhishek Agarwal
+ *
+ */
+
+public class PackedNumbersConverterAlgorithmTest extends NumbersConverterAlogirthmTest {
+
+	@Override
+	protected Dictionary createEmptyDictionary() {
+		return new PackedDictionaryFactory(null).createDictionary();
+	}
+
+}
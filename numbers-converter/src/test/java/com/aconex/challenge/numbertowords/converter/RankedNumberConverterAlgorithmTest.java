@@ -0,0 +1,118 @@
+package com.aconex.challenge.numbertowords.converter;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.aconex.challenge.numbertowords.config.Configuration;
+import com.aconex.challenge.numbertowords.dictionary.Dictionary;
+
+/*
+ * Verifies that {@link RankedNumberConverterAlgorithm} returns the best matching combinations, best first,
+ * out of the same matches as returned by {@link NumberConverterAlgorithm}.
+ * 
+ * @author Abhishek Agarwal
+ *
+ */
+
+public class RankedNumberConverterAlgorithmTest extends NumberConverterAlgorithmTestBase {
+
+	@Before
+	public void setUp() throws Exception {
+		Configuration mockConfig = mock(Configuration.class);
+		when(mockConfig.retainConsecutiveUnmatchedDigitsAsIs()).thenReturn(new int[] {1});
+		when(mockConfig.wordConcatenateDelimiter()).thenReturn("-");
+		Configuration.setInstance(mockConfig);
+	}
+
+	//Out of CALL-ME, BALL-ME and B-ALL-ME, the ones with fewest words are CALL-ME and BALL-ME
+	@Test
+	public void test_fewestWords_matches() {
+		Dictionary dictionary = mockDictionary("2255->CALL,BALL","63->ME","2->B","255->ALL");
+		RankedNumberConverterAlgorithm converter = new RankedNumberConverterAlgorithm(dictionary, MatchScorer.fewestWords(), 2);
+
+		Set<String> actualMatchingWords = converter.convertNumber("225563");
+		assertEquals(new HashSet<String>(Arrays.asList("CALL-ME", "BALL-ME")), actualMatchingWords);
+	}
+
+	//Partial matches are chosen only when there is no exact match, and the ones with fewer digits unchanged come first
+	@Test
+	public void test_partial_matches_when_there_is_no_exact_match() {
+		Dictionary dictionary = mockDictionary("63->ME","255->ALL", "22->BA", "5->J");
+		RankedNumberConverterAlgorithm converter = new RankedNumberConverterAlgorithm(dictionary, MatchScorer.fewestRetainedDigits(), 10);
+
+		Set<String> actualMatchingWords = converter.convertNumber("2255163");
+		assertEquals(Arrays.asList("BA-J-J-1-ME", "2-ALL-1-ME"), new ArrayList<String>(actualMatchingWords));
+	}
+
+	//The most frequent words are preferred, and the matches are returned best first
+	@Test
+	public void test_most_frequent_words_matches() {
+		Dictionary dictionary = mockDictionary("2255->CALL,BALL","63->ME,OF","2->B","255->ALL");
+		Map<String, Integer> wordRanks = new HashMap<String, Integer>();
+		wordRanks.put("OF", 1);
+		wordRanks.put("ME", 20);
+		wordRanks.put("CALL", 30);
+		wordRanks.put("BALL", 400);
+		wordRanks.put("B", 300);
+		wordRanks.put("ALL", 300);
+		RankedNumberConverterAlgorithm converter = new RankedNumberConverterAlgorithm(dictionary, new WordFrequencyScorer(wordRanks), 3);
+
+		Set<String> actualMatchingWords = converter.convertNumber("225563");
+		assertEquals(Arrays.asList("CALL-OF", "BALL-OF", "CALL-ME"), new ArrayList<String>(actualMatchingWords));
+	}
+
+	//The scores of the ranked matches are the best scores out of all the matches of the number
+	@Test
+	public void test_best_scores_out_of_all_matches_of_longNumber() {
+		Dictionary dictionary = mockDictionary("2->A,B", "22->BA,AB", "222->CAB", "255->ALL", "2255->CALL,BALL", "63->ME", "6->M");
+		String inputNumber = "2225522255222263";
+		int maxMatches = 7;
+		RankedNumberConverterAlgorithm converter = new RankedNumberConverterAlgorithm(dictionary, MatchScorer.fewestWords(), maxMatches);
+
+		List<Integer> allWordCounts = new ArrayList<Integer>();
+		new NumberConverterAlgorithm(dictionary).convertNumber(inputNumber).forEach((match) -> allWordCounts.add(match.split("-").length));
+		allWordCounts.sort(null);
+		List<Integer> rankedWordCounts = new ArrayList<Integer>();
+		converter.convertNumber(inputNumber).forEach((match) -> rankedWordCounts.add(match.split("-").length));
+		assertEquals(allWordCounts.subList(0, maxMatches), rankedWordCounts);
+	}
+
+	//The number has too many matches to be found, but the best few can be found
+	@Test
+	public void test_best_matches_of_number_with_too_many_matches() {
+		Dictionary dictionary = mockDictionary("2->A,B,C", "22->BA,AB");
+		StringBuilder inputNumber = new StringBuilder();
+		for (int i = 0; i < 100; i++) {
+			inputNumber.append('2');
+		}
+		RankedNumberConverterAlgorithm converter = new RankedNumberConverterAlgorithm(dictionary, MatchScorer.fewestWords(), 3);
+
+		Set<String> actualMatchingWords = converter.convertNumber(inputNumber.toString());
+		assertEquals(3, actualMatchingWords.size());
+		actualMatchingWords.forEach((match) -> assertEquals(50, match.split("-").length));
+	}
+
+	@Test
+	public void test_unsuccessfulMatch() {
+		Dictionary dictionary = mockDictionary("63->ME","255->ALL");
+		RankedNumberConverterAlgorithm converter = new RankedNumberConverterAlgorithm(dictionary, MatchScorer.fewestWords(), 3);
+		assertTrue(converter.convertNumber("222552263").isEmpty());
+	}
+
+	@Override
+	protected NumberConverterAlgorithm getAlgoInstance(Dictionary dictionary) {
+		return new RankedNumberConverterAlgorithm(dictionary, MatchScorer.fewestWords(), 10);
+	}
+
+}
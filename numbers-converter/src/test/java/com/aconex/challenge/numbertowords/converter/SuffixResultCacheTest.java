@@ -0,0 +1,74 @@
+package com.aconex.challenge.numbertowords.converter;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link SuffixResultCache}
+ * 
+ * @author Abhishek Agarwal
+ *
+ */
+public class SuffixResultCacheTest {
+
+	@Test
+	public void test_get_cached_suffix() {
+		SuffixResultCache cache = new SuffixResultCache(1024 * 1024);
+		NumberConverterResultAccumulator result = result("CALL-ME");
+		cache.put("0225563", 1, true, result);
+
+		assertSame(result, cache.get("9225563", 1, true));
+		assertSame(result, cache.get("225563", 0, true));
+		assertNull(cache.get("225563", 0, false));
+		assertNull(cache.get("225564", 0, true));
+		assertEquals(2, cache.getHitCount());
+		assertEquals(2, cache.getMissCount());
+		assertEquals(0, cache.getEvictionCount());
+	}
+
+	@Test
+	public void test_short_suffix_not_cached() {
+		SuffixResultCache cache = new SuffixResultCache(1024 * 1024);
+		cache.put("22563", 2, true, result("ME"));
+
+		assertNull(cache.get("22563", 2, true));
+		assertEquals(0, cache.getMissCount());
+		assertEquals(0, cache.getWeightBytes());
+	}
+
+	@Test
+	public void test_least_recently_used_evicted_within_budget() {
+		// Budget of about 2 entries in each segment
+		long budgetBytes = 16 * 2 * 400;
+		SuffixResultCache cache = new SuffixResultCache(budgetBytes);
+		for (int number = 1000; number < 2000; number++) {
+			cache.put(String.valueOf(number), 0, true, result("WORD"));
+			cache.get("1000", 0, true);
+		}
+
+		assertTrue(cache.getEvictionCount() > 0);
+		assertTrue(cache.getWeightBytes() <= budgetBytes);
+		// Used after every put, so it is never the least recently used
+		assertNotNull(cache.get("1000", 0, true));
+		assertNull(cache.get("1001", 0, true));
+	}
+
+	@Test
+	public void test_result_larger_than_budget_not_cached() {
+		SuffixResultCache cache = new SuffixResultCache(16 * 100);
+		cache.put("2255", 0, true, result("CALL", "BALL"));
+
+		assertNull(cache.get("2255", 0, true));
+		assertEquals(0, cache.getEvictionCount());
+	}
+
+	private NumberConverterResultAccumulator result(String... exactMatches) {
+		NumberConverterResultAccumulator result = new NumberConverterResultAccumulator("-");
+		result.addMatches(new HashSet<String>(Arrays.asList(exactMatches)), false);
+		return result;
+	}
+}
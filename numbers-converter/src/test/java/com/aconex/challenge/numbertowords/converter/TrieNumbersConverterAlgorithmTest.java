@@ -0,0 +1,40 @@
+package com.aconex.challenge.numbertowords.converter;
+
+import static org.junit.Assert.*;
+
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.aconex.challenge.numbertowords.dictionary.Dictionary;
+import com.aconex.challenge.numbertowords.dictionary.HashBasedDictionaryFactory;
+import com.aconex.challenge.numbertowords.dictionary.TrieDictionaryFactory;
+
+/*
+ * Runs all the use cases of {@link NumbersConverterAlogirthmTest} with the dictionary created by {@link TrieDictionaryFactory},
+ * and verifies that for long numbers it returns the same matches as with the hash based dictionary.
+ * 
+ * @author Abhishek Agarwal
+ *
+ */
+
+public class TrieNumbersConverterAlgorithmTest extends NumbersConverterAlogirthmTest {
+
+	@Test
+	public void test_sameMatches_as_hashBasedDictionary_for_longNumber() {
+		String[] numberToWordsArr = { "2->A,B", "22->BA,AB", "222->CAB", "255->ALL", "2255->CALL,BALL", "63->ME", "6->M" };
+		Dictionary hashBasedDictionary = populateDictionary(new HashBasedDictionaryFactory(null).createDictionary(), numberToWordsArr);
+		Dictionary trieDictionary = mockDictionary(numberToWordsArr);
+		for (String inputNumber : new String[] { "2225522255222263", "22550622", "0", "2" }) {
+			Set<String> expectedWords = new MemoizedNumberConverterAlgorithm(hashBasedDictionary).convertNumber(inputNumber);
+			Set<String> actualMatchingWords = new MemoizedNumberConverterAlgorithm(trieDictionary).convertNumber(inputNumber);
+			assertEquals(expectedWords, actualMatchingWords);
+		}
+	}
+
+	@Override
+	protected Dictionary createEmptyDictionary() {
+		return new TrieDictionaryFactory(null).createDictionary();
+	}
+
+}
@@ -0,0 +1,114 @@
+package com.aconex.challenge.numbertowords.converter;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+
+import com.aconex.challenge.numbertowords.output.BinaryResultEncoder;
+import com.aconex.challenge.numbertowords.output.CsvResultEncoder;
+import com.aconex.challenge.numbertowords.output.NdjsonResultEncoder;
+import com.aconex.challenge.numbertowords.output.ResultEncoder;
+import com.aconex.challenge.numbertowords.output.ResultSink;
+import com.aconex.challenge.numbertowords.output.TextResultEncoder;
+
+/*
+ * Verifies that the matching combinations which are not joined into strings behave the same as the set of their strings,
+ * in their hash codes, their order and when they are written out by each encoder.
+ * @author Abhishek Agarwal
+ *
+ */
+
+public class WordCombinationsTest {
+
+	@Test
+	public void test_same_as_strings() {
+		NumberConverterResultAccumulator suffix = new NumberConverterResultAccumulator("-");
+		suffix.addMatches(new HashSet<String>(Arrays.asList("ME", "OF")), false);
+		NumberConverterResultAccumulator result = new NumberConverterResultAccumulator("-");
+		result.concatenatePrefixAndSuffixMatches(new LinkedHashSet<String>(Arrays.asList("CALL", "BALL", "AC-KL")),
+				suffix.getExactDictionaryMatches(), false);
+		result.concatenatePrefixAndSuffixMatches(NumberConverterResultAccumulator.retainedDigits("02255", 1, 2),
+				suffix.getExactDictionaryMatches(), true);
+
+		// Concatenated in the same order, as they were before
+		Set<String> expected = new HashSet<String>();
+		for (String prefix : Arrays.asList("CALL", "BALL", "AC-KL")) {
+			for (String suffixMatch : suffix.getExactDictionaryMatches()) {
+				expected.add(prefix + "-" + suffixMatch);
+			}
+		}
+		assertEquals(6, expected.size());
+		WordCombinations matches = result.getMatches();
+		assertEquals(expected, matches);
+		assertEquals(new ArrayList<String>(expected), new ArrayList<String>(matches));
+		assertEquals(expected.hashCode(), matches.hashCode());
+		assertEquals(expected.toString(), matches.toString());
+		assertTrue(matches.contains("BALL-OF"));
+		assertFalse(matches.contains("BALL-"));
+		assertEquals(Arrays.asList("2-ME", "2-OF"), sorted(result.getPartialDictionaryMatches()));
+		for (CharSequence match : WordCombinations.matchSequences(matches)) {
+			String string = match.toString();
+			assertEquals(string.hashCode(), match.hashCode());
+			assertEquals(string.length(), match.length());
+			for (int index = 0; index < string.length(); index++) {
+				assertEquals(string.charAt(index), match.charAt(index));
+			}
+		}
+	}
+
+	/*
+	 * The same string split into different parts is a single combination
+	 */
+	@Test
+	public void test_equal_strings_of_different_parts() {
+		WordCombination combination = new WordCombination("AC", "-", new WordCombination("KL-ME"));
+		WordCombination otherCombination = new WordCombination("AC-KL", "-", new WordCombination("ME"));
+		assertEquals(combination, otherCombination);
+		assertEquals("AC-KL-ME".hashCode(), otherCombination.hashCode());
+		WordCombinations combinations = new WordCombinations();
+		combinations.add(combination);
+		combinations.add(otherCombination);
+		assertEquals(1, combinations.size());
+	}
+
+	@Test
+	public void test_encoded_same_as_strings() {
+		NumberConverterResultAccumulator result = new NumberConverterResultAccumulator(",");
+		NumberConverterResultAccumulator suffix = new NumberConverterResultAccumulator("\"");
+		suffix.addMatches(new HashSet<String>(Arrays.asList("\u00D6L", "\uD83D\uDE00")), false);
+		result.concatenatePrefixAndSuffixMatches(new HashSet<String>(Arrays.asList("CALL", "B\tALL")), suffix.getExactDictionaryMatches(), false);
+		WordCombinations matches = result.getMatches();
+		Set<String> strings = new LinkedHashSet<String>(matches);
+		List<Supplier<ResultEncoder>> encoders = Arrays.asList(TextResultEncoder::new, NdjsonResultEncoder::new, CsvResultEncoder::new,
+				BinaryResultEncoder::new);
+		for (Supplier<ResultEncoder> encoder : encoders) {
+			byte[] encodedStrings = encode(encoder.get(), strings);
+			assertArrayEquals(encoder.get().getClass().getSimpleName(), encodedStrings, encode(encoder.get(), matches));
+		}
+	}
+
+	private static byte[] encode(ResultEncoder encoder, Set<String> matches) {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		// A small buffer, so that it is written out in the middle of a combination
+		ResultSink sink = new ResultSink(Channels.newChannel(output), true, encoder.charset(), 8);
+		encoder.encodeMatches(sink, "22556", matches);
+		sink.flush();
+		return output.toByteArray();
+	}
+
+	private static List<String> sorted(Set<String> matches) {
+		List<String> sorted = new ArrayList<String>(matches);
+		sorted.sort(null);
+		return sorted;
+	}
+}
@@ -0,0 +1,81 @@
+package com.aconex.challenge.numbertowords.dictionary;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/*
+ * Verifies that the dictionary created by {@link AhoCorasickDictionaryFactory} finds the same lattice of matches in one scan
+ * as the default implementation which walks the dictionary from every offset.
+ * @author Abhishek Agarwal
+ *
+ */
+
+public class AhoCorasickDictionaryFactoryTest {
+
+	private static final String[] NUMBER_TO_WORDS = { "2255->CALL,BALL", "255->ALL", "25->AL", "5->J", "63->ME", "556->LLM", "2->A" };
+
+	private Dictionary dictionary;
+
+	private Dictionary hashBasedDictionary;
+
+	@Before
+	public void setUp() {
+		dictionary = populate(new AhoCorasickDictionaryFactory(null).createDictionary());
+		hashBasedDictionary = populate(new HashBasedDictionaryFactory(null).createDictionary());
+	}
+
+	@Test
+	public void test_findMatchingWords() {
+		assertEquals(new HashSet<String>(Arrays.asList("CALL", "BALL")), dictionary.findMatchingWords("2255"));
+		assertNull(dictionary.findMatchingWords("225"));
+		assertEquals(7, dictionary.getUniqueNumbersCount());
+	}
+
+	//Overlapping matches, matches which are suffixes of other matches and a digit with no match at all
+	@Test
+	public void test_findAllMatchingWords_same_as_defaultImplementation() {
+		for (String number : new String[] { "2255", "225563", "22556322550255", "0", "9999", "5555" }) {
+			assertEquals(number, lattice(hashBasedDictionary, number), lattice(dictionary, number));
+		}
+	}
+
+	@Test
+	public void test_findAllMatchingWords_after_more_numbers_inserted() {
+		lattice(dictionary, "2255");
+		dictionary.insert("22", "BA");
+		hashBasedDictionary.insert("22", "BA");
+		assertEquals(lattice(hashBasedDictionary, "22255"), lattice(dictionary, "22255"));
+	}
+
+	@Test
+	public void test_findAllMatchingWords_restarts_after_nonDigit() {
+		assertEquals(Arrays.asList("0-1-[A]", "2-3-[A]", "3-5-[ME]"), lattice(dictionary, "2#263"));
+	}
+
+	private Dictionary populate(Dictionary dictionary) {
+		Arrays.stream(NUMBER_TO_WORDS).forEach((numberToWords) -> {
+			String[] parts = numberToWords.split("->");
+			Arrays.stream(parts[1].split(",")).forEach((word) -> dictionary.insert(parts[0], word));
+		});
+		return dictionary;
+	}
+
+	private List<String> lattice(Dictionary dictionary, String number) {
+		List<String> lattice = new ArrayList<String>();
+		dictionary.findAllMatchingWords(number, (start, end, words) -> {
+			List<String> sortedWords = new ArrayList<String>(words);
+			Collections.sort(sortedWords);
+			lattice.add(start + "-" + end + "-" + sortedWords);
+		});
+		Collections.sort(lattice);
+		return lattice;
+	}
+}
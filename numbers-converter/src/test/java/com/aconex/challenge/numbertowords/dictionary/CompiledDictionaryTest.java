@@ -0,0 +1,138 @@
+package com.aconex.challenge.numbertowords.dictionary;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/*
+ * Verifies that a dictionary compiled to a file and opened again finds the same words as the dictionary it was compiled from,
+ * carries the checksums it was compiled with, and that a file which is not a compiled dictionary is refused.
+ * @author Abhishek Agarwal
+ *
+ */
+
+public class CompiledDictionaryTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private Dictionary hashBasedDictionary;
+
+	private Path compiledDictionaryPath;
+
+	private CompiledDictionary compiledDictionary;
+
+	@Before
+	public void setUp() throws IOException {
+		hashBasedDictionary = new HashBasedDictionaryFactory(null).createDictionary();
+		for (int number = 0; number < 3000; number++) {
+			hashBasedDictionary.insert(Integer.toString(number * 7), "W" + number);
+			hashBasedDictionary.insert(Integer.toString(number % 300), "X" + number);
+		}
+		hashBasedDictionary.insert("02", "OA");
+		hashBasedDictionary.insert("02", "\u00D6A");
+		compiledDictionaryPath = temporaryFolder.newFile().toPath();
+		CompiledDictionary.write(hashBasedDictionary, 11, 22, compiledDictionaryPath);
+		compiledDictionary = CompiledDictionary.open(compiledDictionaryPath);
+	}
+
+	@Test
+	public void test_findMatchingWords_same_as_hashBasedDictionary() {
+		assertEquals(hashBasedDictionary.getUniqueNumbersCount(), compiledDictionary.getUniqueNumbersCount());
+		for (int number = 0; number < 25000; number++) {
+			String numberString = Integer.toString(number);
+			assertEquals(numberString, hashBasedDictionary.findMatchingWords(numberString), compiledDictionary.findMatchingWords(numberString));
+		}
+		assertEquals(new HashSet<String>(Arrays.asList("OA", "\u00D6A")), compiledDictionary.findMatchingWords("1022", 1, 3));
+		assertNull(compiledDictionary.findMatchingWords("002"));
+		assertNull(compiledDictionary.findMatchingWords("1a2", 0, 3));
+		assertNull(compiledDictionary.findMatchingWords(""));
+	}
+
+	@Test
+	public void test_findMatchingWordsFrom_same_as_hashBasedDictionary() {
+		String number = "0214700356021";
+		for (int offset = 0; offset < number.length(); offset++) {
+			List<String> expected = new ArrayList<String>();
+			List<String> actual = new ArrayList<String>();
+			hashBasedDictionary.findMatchingWordsFrom(number, offset, (end, words) -> expected.add(end + "->" + new TreeSet<String>(words)));
+			compiledDictionary.findMatchingWordsFrom(number, offset, (end, words) -> actual.add(end + "->" + new TreeSet<String>(words)));
+			assertEquals(expected, actual);
+		}
+	}
+
+	/*
+	 * The words of a number are decoded again on every iteration, and the same by either look up
+	 */
+	@Test
+	public void test_same_words_for_each_lookup_and_iteration() {
+		Set<String> words = compiledDictionary.findMatchingWords("1022", 1, 3);
+		assertEquals(Arrays.asList("OA", "\u00D6A"), new ArrayList<String>(words));
+		assertEquals(new ArrayList<String>(words), new ArrayList<String>(words));
+		assertEquals(words, compiledDictionary.findMatchingWords("02"));
+		List<Set<String>> visitedWords = new ArrayList<Set<String>>();
+		compiledDictionary.findMatchingWordsFrom("1022", 1, (end, matchingWords) -> visitedWords.add(matchingWords));
+		assertEquals(words, visitedWords.get(visitedWords.size() - 1));
+	}
+
+	@Test
+	public void test_compile_empty_dictionary() throws IOException {
+		Path path = temporaryFolder.newFile().toPath();
+		CompiledDictionary.write(new HashBasedDictionaryFactory(null).createDictionary(), 0, 0, path);
+		Dictionary emptyDictionary = CompiledDictionary.open(path);
+		assertEquals(0, emptyDictionary.getUniqueNumbersCount());
+		assertNull(emptyDictionary.findMatchingWords("63"));
+		List<Integer> ends = new ArrayList<Integer>();
+		emptyDictionary.findMatchingWordsFrom("63", 0, (end, words) -> ends.add(end));
+		assertTrue(ends.isEmpty());
+	}
+
+	@Test
+	public void test_checksums_read_back() {
+		assertEquals(11, compiledDictionary.getSourceChecksum());
+		assertEquals(22, compiledDictionary.getEncodingChecksum());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void test_open_not_a_compiled_dictionary() throws IOException {
+		Path path = temporaryFolder.newFile().toPath();
+		Files.write(path, Arrays.asList("CALL", "ME"));
+		CompiledDictionary.open(path);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void test_open_truncated_compiled_dictionary() throws IOException {
+		byte[] bytes = Files.readAllBytes(compiledDictionaryPath);
+		Path path = temporaryFolder.newFile().toPath();
+		Files.write(path, Arrays.copyOf(bytes, bytes.length / 2));
+		CompiledDictionary.open(path);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void test_open_unsupported_version() throws IOException {
+		byte[] bytes = Files.readAllBytes(compiledDictionaryPath);
+		// The version follows the 4 bytes of the magic number
+		bytes[7] = (byte) (CompiledDictionary.VERSION + 1);
+		Path path = temporaryFolder.newFile().toPath();
+		Files.write(path, bytes);
+		CompiledDictionary.open(path);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void test_insert_into_compiledDictionary() {
+		compiledDictionary.insert("63", "ME");
+	}
+}
@@ -0,0 +1,111 @@
+package com.aconex.challenge.numbertowords.dictionary;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.aconex.challenge.numbertowords.dictionary.transformers.InputTransformer;
+import com.aconex.challenge.numbertowords.dictionary.transformers.StripAndValidateInput;
+import com.aconex.challenge.numbertowords.dictionary.transformers.UpperCaseTransformer;
+
+/*
+ * Verifies that the dictionary built in parallel is the same as the one built on the calling thread,
+ * including the order in which the words of each number were added.
+ * @author Abhishek Agarwal
+ *
+ */
+
+public class DictionaryFactoryTest {
+
+	private InputTransformer<String> wordConverter;
+
+	private List<List<String>> sources;
+
+	@Before
+	public void setUp() {
+		wordConverter = new WordToNumberConverter(new UpperCaseTransformer(new StripAndValidateInput("[\\p{Punct}\\s]", "^[A-Za-z]{1,}$")),
+				new NumbersEncodingParser().getCharToDigitEncoding());
+		sources = new ArrayList<List<String>>();
+		for (int source = 0; source < 3; source++) {
+			List<String> words = new ArrayList<String>();
+			for (int word = 0; word < 3 * DictionaryFactory.CHUNK_WORDS + 17; word++) {
+				words.add(Integer.toString(word * 31 + source, 26).replace('0', 'z').replace('1', 'y') + (word % 5 == 0 ? "'s" : ""));
+			}
+			words.add("won't");
+			words.add("1234");
+			words.add("");
+			sources.add(words);
+		}
+	}
+
+	@Test
+	public void test_parallel_build_same_as_serial_build() {
+		assertEquals(build(new HashBasedDictionaryFactory(wordConverter), 1), build(new HashBasedDictionaryFactory(wordConverter), 4));
+	}
+
+	@Test
+	public void test_parallel_build_keeps_insertion_order() {
+		DictionaryFactory serialFactory = new PackedDictionaryFactory(wordConverter);
+		serialFactory.createAndPopulateDictionary(streams());
+		DictionaryFactory parallelFactory = new PackedDictionaryFactory(wordConverter);
+		parallelFactory.setBuildParallelism(4);
+		parallelFactory.createAndPopulateDictionary(streams());
+		Dictionary serial = serialFactory.getDictionary();
+		Dictionary parallel = parallelFactory.getDictionary();
+		assertEquals(serial.getUniqueNumbersCount(), parallel.getUniqueNumbersCount());
+		DictionaryFactory numbersFactory = new HashBasedDictionaryFactory(wordConverter);
+		numbersFactory.createAndPopulateDictionary(streams());
+		numbersFactory.getDictionary().forEachNumber((number, words) -> 
+			assertEquals(number, new ArrayList<String>(serial.findMatchingWords(number)), new ArrayList<String>(parallel.findMatchingWords(number))));
+		assertEquals(Arrays.asList("WONT"), new ArrayList<String>(parallel.findMatchingWords("9668")));
+	}
+
+	/*
+	 * Every type of dictionary lists the same numbers with the same words, so it can be compiled from any of them
+	 */
+	@Test
+	public void test_each_dictionary_type_lists_same_numbers() {
+		List<String> expected = listSorted(new HashBasedDictionaryFactory(wordConverter));
+		assertFalse(expected.isEmpty());
+		assertEquals(expected, listSorted(new TrieDictionaryFactory(wordConverter)));
+		assertEquals(expected, listSorted(new AhoCorasickDictionaryFactory(wordConverter)));
+		assertEquals(expected, listSorted(new PackedDictionaryFactory(wordConverter)));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void test_parallel_build_of_empty_dictionary() {
+		DictionaryFactory factory = new HashBasedDictionaryFactory(wordConverter);
+		factory.setBuildParallelism(4);
+		factory.createAndPopulateDictionary(Arrays.asList(Stream.of("1234", ""), Stream.<String>empty()));
+	}
+
+	private List<String> build(DictionaryFactory factory, int buildParallelism) {
+		factory.setBuildParallelism(buildParallelism);
+		factory.createAndPopulateDictionary(streams());
+		List<String> numbersAndWords = new ArrayList<String>();
+		factory.getDictionary().forEachNumber((number, words) -> numbersAndWords.add(number + "->" + words));
+		return numbersAndWords;
+	}
+
+	private List<String> listSorted(DictionaryFactory factory) {
+		factory.createAndPopulateDictionary(streams());
+		List<String> numbersAndWords = new ArrayList<String>();
+		factory.getDictionary().forEachNumber((number, words) -> numbersAndWords.add(number + "->" + new TreeSet<String>(words)));
+		Collections.sort(numbersAndWords);
+		return numbersAndWords;
+	}
+
+	private List<Stream<String>> streams() {
+		List<Stream<String>> streams = new ArrayList<Stream<String>>();
+		sources.forEach((words) -> streams.add(words.stream()));
+		return streams;
+	}
+}
@@ -0,0 +1,75 @@
+package com.aconex.challenge.numbertowords.dictionary;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/*
+ * Verifies that the frozen snapshot of the hash based dictionary finds the same words as the dictionary it was frozen from,
+ * and that it can not be modified.
+ * @author Abhishek Agarwal
+ *
+ */
+
+public class FrozenDictionaryTest {
+
+	private Dictionary hashBasedDictionary;
+
+	private Dictionary frozenDictionary;
+
+	@Before
+	public void setUp() {
+		hashBasedDictionary = new HashBasedDictionaryFactory(null).createDictionary();
+		for (int number = 0; number < 3000; number++) {
+			hashBasedDictionary.insert(Integer.toString(number * 7), "W" + number);
+			hashBasedDictionary.insert(Integer.toString(number % 300), "X" + number);
+		}
+		hashBasedDictionary.insert("02", "OA");
+		frozenDictionary = hashBasedDictionary.freeze();
+	}
+
+	@Test
+	public void test_findMatchingWords_same_as_hashBasedDictionary() {
+		assertEquals(hashBasedDictionary.getUniqueNumbersCount(), frozenDictionary.getUniqueNumbersCount());
+		for (int number = 0; number < 25000; number++) {
+			String numberString = Integer.toString(number);
+			assertEquals(numberString, hashBasedDictionary.findMatchingWords(numberString), frozenDictionary.findMatchingWords(numberString));
+		}
+		assertEquals(new HashSet<String>(Arrays.asList("OA")), frozenDictionary.findMatchingWords("1022", 1, 3));
+		assertNull(frozenDictionary.findMatchingWords("002"));
+		assertNull(frozenDictionary.findMatchingWords(""));
+	}
+
+	@Test
+	public void test_findMatchingWordsFrom_same_as_hashBasedDictionary() {
+		String number = "0214700356021";
+		for (int offset = 0; offset < number.length(); offset++) {
+			List<String> expected = new ArrayList<String>();
+			List<String> actual = new ArrayList<String>();
+			hashBasedDictionary.findMatchingWordsFrom(number, offset, (end, words) -> expected.add(end + "->" + new HashSet<String>(words)));
+			frozenDictionary.findMatchingWordsFrom(number, offset, (end, words) -> actual.add(end + "->" + new HashSet<String>(words)));
+			assertEquals(expected, actual);
+		}
+	}
+
+	@Test
+	public void test_freeze_again_returns_same_dictionary() {
+		assertSame(frozenDictionary, frozenDictionary.freeze());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void test_insert_into_frozenDictionary() {
+		frozenDictionary.insert("63", "ME");
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void test_matchingWords_are_readOnly() {
+		frozenDictionary.findMatchingWords("0").add("O");
+	}
+}
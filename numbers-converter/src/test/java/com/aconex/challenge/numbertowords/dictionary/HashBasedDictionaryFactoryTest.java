@@ -0,0 +1,55 @@
+package com.aconex.challenge.numbertowords.dictionary;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/*
+ * Verifies that the dictionary created by {@link HashBasedDictionaryFactory} finds the words of a range of a number string
+ * looked up in place, same as the words of the string of that range.
+ * @author Abhishek Agarwal
+ *
+ */
+
+public class HashBasedDictionaryFactoryTest {
+
+	private Dictionary dictionary;
+
+	@Before
+	public void setUp() {
+		dictionary = new HashBasedDictionaryFactory(null).createDictionary();
+		dictionary.insert("2255", "CALL");
+		dictionary.insert("2255", "BALL");
+		dictionary.insert("63", "ME");
+	}
+
+	@Test
+	public void test_findMatchingWords_of_range() {
+		String number = "63225563";
+		assertEquals(new HashSet<String>(Arrays.asList("CALL", "BALL")), dictionary.findMatchingWords(number, 2, 6));
+		assertEquals(new HashSet<String>(Arrays.asList("ME")), dictionary.findMatchingWords(number, 0, 2));
+		assertEquals(new HashSet<String>(Arrays.asList("ME")), dictionary.findMatchingWords(number, 6, 8));
+	}
+
+	//Ranges which differ from a number in the dictionary by length or by a digit
+	@Test
+	public void test_findMatchingWords_of_range_with_noMatch() {
+		String number = "6322556";
+		assertNull(dictionary.findMatchingWords(number, 2, 5));
+		assertNull(dictionary.findMatchingWords(number, 2, 7));
+		assertNull(dictionary.findMatchingWords(number, 1, 3));
+		assertNull(dictionary.findMatchingWords(number, 3, 3));
+	}
+
+	@Test
+	public void test_findMatchingWords_of_range_of_stringBuilder() {
+		StringBuilder number = new StringBuilder("2255");
+		assertEquals(dictionary.findMatchingWords("2255"), dictionary.findMatchingWords(number, 0, 4));
+		number.setCharAt(3, '6');
+		assertNull(dictionary.findMatchingWords(number, 0, 4));
+	}
+}
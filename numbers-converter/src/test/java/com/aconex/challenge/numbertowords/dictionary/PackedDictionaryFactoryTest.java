@@ -0,0 +1,93 @@
+package com.aconex.challenge.numbertowords.dictionary;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/*
+ * Verifies that the dictionary created by {@link PackedDictionaryFactory} finds the same words as the hash based dictionary,
+ * for numbers which are packed into long keys and for numbers which are too long to be packed.
+ * @author Abhishek Agarwal
+ *
+ */
+
+public class PackedDictionaryFactoryTest {
+
+	private Dictionary dictionary;
+
+	@Before
+	public void setUp() {
+		dictionary = new PackedDictionaryFactory(null).createDictionary();
+		dictionary.insert("2255", "CALL");
+		dictionary.insert("2255", "BALL");
+		dictionary.insert("63", "ME");
+	}
+
+	@Test
+	public void test_findMatchingWords() {
+		assertEquals(new HashSet<String>(Arrays.asList("CALL", "BALL")), dictionary.findMatchingWords("2255"));
+		assertEquals(new HashSet<String>(Arrays.asList("ME")), dictionary.findMatchingWords("63225563", 0, 2));
+		assertNull(dictionary.findMatchingWords("225"));
+		assertEquals(2, dictionary.getUniqueNumbersCount());
+	}
+
+	//A repeated word is not added again, same as a set
+	@Test
+	public void test_insert_same_word_again() {
+		dictionary.insert("2255", "CALL");
+		assertEquals(2, dictionary.findMatchingWords("2255").size());
+	}
+
+	//Leading zeros are part of the number
+	@Test
+	public void test_numbers_with_leading_zeros() {
+		dictionary.insert("063", "OME");
+		assertEquals(new HashSet<String>(Arrays.asList("OME")), dictionary.findMatchingWords("063"));
+		assertEquals(new HashSet<String>(Arrays.asList("ME")), dictionary.findMatchingWords("63"));
+		assertNull(dictionary.findMatchingWords("0063"));
+	}
+
+	//The longest number which can be packed and a number one digit longer than it
+	@Test
+	public void test_numbers_too_long_to_pack() {
+		String longestPacked = "987654321098765432";
+		String tooLong = longestPacked + "1";
+		dictionary.insert(longestPacked, "LONGEST");
+		dictionary.insert(tooLong, "TOOLONG");
+		assertEquals(new HashSet<String>(Arrays.asList("LONGEST")), dictionary.findMatchingWords(longestPacked));
+		assertEquals(new HashSet<String>(Arrays.asList("TOOLONG")), dictionary.findMatchingWords("0" + tooLong, 1, 20));
+		assertNull(dictionary.findMatchingWords(tooLong + "1"));
+		assertEquals(4, dictionary.getUniqueNumbersCount());
+	}
+
+	//Enough numbers for the table to grow, and words added after the words are compacted by a look up
+	@Test
+	public void test_same_as_hashBasedDictionary_for_many_numbers() {
+		dictionary = new PackedDictionaryFactory(null).createDictionary();
+		Dictionary hashBasedDictionary = new HashBasedDictionaryFactory(null).createDictionary();
+		for (int number = 0; number < 5000; number++) {
+			for (Dictionary eachDictionary : Arrays.asList(dictionary, hashBasedDictionary)) {
+				eachDictionary.insert(Integer.toString(number), "W" + number);
+				eachDictionary.insert(Integer.toString(number % 700), "X" + number);
+			}
+			if (number % 1000 == 0) {
+				dictionary.findMatchingWords("0");
+			}
+		}
+		assertEquals(hashBasedDictionary.getUniqueNumbersCount(), dictionary.getUniqueNumbersCount());
+		for (int number = 0; number < 5100; number++) {
+			Set<String> expected = hashBasedDictionary.findMatchingWords(Integer.toString(number));
+			assertEquals(expected, dictionary.findMatchingWords(Integer.toString(number)));
+		}
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void test_matchingWords_are_readOnly() {
+		dictionary.findMatchingWords("63").add("OF");
+	}
+}
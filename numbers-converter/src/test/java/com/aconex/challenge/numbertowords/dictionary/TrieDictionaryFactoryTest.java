@@ -0,0 +1,87 @@
+package com.aconex.challenge.numbertowords.dictionary;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/*
+ * Verifies that the dictionary created by {@link TrieDictionaryFactory} stores and finds the words of each number,
+ * and that walking a number string from an offset finds every matching sub-sequence and stops at the first dead node.
+ * @author Abhishek Agarwal
+ *
+ */
+
+public class TrieDictionaryFactoryTest {
+
+	private Dictionary dictionary;
+
+	@Before
+	public void setUp() {
+		dictionary = new TrieDictionaryFactory(null).createDictionary();
+		dictionary.insert("2255", "CALL");
+		dictionary.insert("2255", "BALL");
+		dictionary.insert("22", "BA");
+		dictionary.insert("63", "ME");
+	}
+
+	@Test
+	public void test_findMatchingWords() {
+		assertEquals(new HashSet<String>(Arrays.asList("CALL", "BALL")), dictionary.findMatchingWords("2255"));
+		assertEquals(new HashSet<String>(Arrays.asList("ME")), dictionary.findMatchingWords("63"));
+		assertNull(dictionary.findMatchingWords("225"));
+		assertNull(dictionary.findMatchingWords("22556"));
+		assertNull(dictionary.findMatchingWords("2A"));
+		assertEquals(3, dictionary.getUniqueNumbersCount());
+	}
+
+	@Test
+	public void test_findMatchingWords_of_range() {
+		String number = "63225563";
+		assertEquals(dictionary.findMatchingWords("2255"), dictionary.findMatchingWords(number, 2, 6));
+		assertEquals(dictionary.findMatchingWords("63"), dictionary.findMatchingWords(number, 6, 8));
+		assertNull(dictionary.findMatchingWords(number, 2, 5));
+	}
+
+	@Test
+	public void test_findMatchingWordsFrom_offset() {
+		List<Integer> ends = new ArrayList<Integer>();
+		dictionary.findMatchingWordsFrom("632255", 2, (end, words) -> ends.add(end));
+		assertEquals(Arrays.asList(4, 6), ends);
+	}
+
+	// The walk stops at 0 since no number in the dictionary starts with 220, so the 63 after it is never reached
+	@Test
+	public void test_findMatchingWordsFrom_stops_at_deadNode() {
+		List<Integer> ends = new ArrayList<Integer>();
+		dictionary.findMatchingWordsFrom("22063", 0, (end, words) -> ends.add(end));
+		assertEquals(Arrays.asList(2), ends);
+	}
+
+	@Test
+	public void test_findMatchingWordsFrom_same_as_defaultImplementation() {
+		Dictionary hashBasedDictionary = new HashBasedDictionaryFactory(null).createDictionary();
+		hashBasedDictionary.insert("2255", "CALL");
+		hashBasedDictionary.insert("2255", "BALL");
+		hashBasedDictionary.insert("22", "BA");
+		hashBasedDictionary.insert("63", "ME");
+		String number = "22556322";
+		for (int offset = 0; offset < number.length(); offset++) {
+			List<Object> expected = new ArrayList<Object>();
+			List<Object> actual = new ArrayList<Object>();
+			hashBasedDictionary.findMatchingWordsFrom(number, offset, (end, words) -> expected.add(end + "->" + words));
+			dictionary.findMatchingWordsFrom(number, offset, (end, words) -> actual.add(end + "->" + words));
+			assertEquals(expected, actual);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void test_insert_nonDigit_number() {
+		dictionary.insert("2A", "BA");
+	}
+}
@@ -2,9 +2,13 @@ package com.aconex.challenge.numbertowords.dictionary;
 
 import static org.junit.Assert.*;
 
+import java.util.Collections;
+import java.util.Map;
+
 import org.junit.Test;
 
 import com.aconex.challenge.numbertowords.CommonTestBase;
+import com.aconex.challenge.numbertowords.dictionary.transformers.TransformerContainer;
 
 /*
  * The word given by a user dictionary is converted to a number based on a number encoding, 
@@ -47,10 +51,14 @@ public class WordToNumberConverterTest extends CommonTestBase {
 	/*
 	 * Tests for a character not supported by the number encoding.
 	 */
-	@Test(expected = NullPointerException.class)
+	@Test
 	public void test_Word_With_Some_Characters_With_No_Mapping() {
 		WordToNumberConverter wordToNumConverter = new WordToNumberConverter(defaultNumberEncodingMap());
-		wordToNumConverter.convertWordToNumber("ABCeF");
+		assertNull(wordToNumConverter.convertWordToNumber("ABCeF"));
+		TransformerContainer<String> container = new TransformerContainer<String>("ABCeF");
+		wordToNumConverter.transform(container);
+		assertNull(container.getTransformed());
+		assertEquals(Collections.singletonList("unmapped.character"), container.getErrors());
 	}
 	
 	/*
@@ -63,6 +71,21 @@ public class WordToNumberConverterTest extends CommonTestBase {
 		String numRepresentationOfWord = wordToNumConverter.convertWordToNumber("C𐐀LL");
 		String expected = "2255";
 		assertEquals(expected, numRepresentationOfWord);
+		assertNull(wordToNumConverter.convertWordToNumber("CALL"));
+	}
+
+	/*
+	 * Tests for characters mapped to more than one digit, and for a surrogate character on its own.
+	 */
+	@Test
+	public void test_Word_With_Characters_Mapped_To_Several_Digits() {
+		Map<String, String> numbersEncodingMap = defaultNumberEncodingMap();
+		numbersEncodingMap.put("\u00C9", "10");
+		numbersEncodingMap.put("\uD801", "0");
+		WordToNumberConverter wordToNumConverter = new WordToNumberConverter(numbersEncodingMap);
+		assertEquals("2102", wordToNumConverter.convertWordToNumber("C\u00C9A"));
+		assertEquals("202", wordToNumConverter.convertWordToNumber("C\uD801A"));
+		assertNull(wordToNumConverter.convertWordToNumber("C\uD801\uDC00A"));
 	}
 
 
@@ -0,0 +1,159 @@
+package com.aconex.challenge.numbertowords.dictionary.transformers;
+
+import static org.junit.Assert.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.aconex.challenge.numbertowords.CommonTestBase;
+import com.aconex.challenge.numbertowords.dictionary.WordToNumberConverter;
+
+/*
+ * Verifies that a compiled chain of transformers gives the same input, transformed output and errors as the chain as it is declared,
+ * for random dictionary words, and that the chains which can not be fused are used as they are.
+ * @author Abhishek Agarwal
+ *
+ */
+
+public class CompiledTransformerChainTest extends CommonTestBase {
+
+	private static final String[][] REGEXES = {
+			{ "[\\p{Punct}\\s]", "^[A-Za-z]{1,}$" },
+			{ "[\\p{Punct}\\s]", "^[A-Za-z\\u00E9\\u00DF]{2,4}$" },
+			{ "[-'.]", "^[^\\d\\-]*$" },
+			{ "\\p{Space}+", "^[\\p{Alpha}\\n]+?$" },
+	};
+
+	private static final String ALPHABET = "aBzs-.' \t\r\n_#\u00E9\u00DF\u0085\u2028\uD83D\uDE00";
+
+	@Test
+	public void test_same_as_chain() {
+		Map<String, String> numbersEncodingMap = defaultNumberEncodingMap();
+		numbersEncodingMap.put("\u00C9", "3");
+		numbersEncodingMap.put("_", "1");
+		numbersEncodingMap.put("#", "1");
+		numbersEncodingMap.put("\r", "0");
+		numbersEncodingMap.put("\n", "0");
+		Random random = new Random(11);
+		for (String[] regexes : REGEXES) {
+			InputTransformer<String> chain = new WordToNumberConverter(new UpperCaseTransformer(new StripAndValidateInput(regexes[0], regexes[1])), numbersEncodingMap);
+			InputTransformer<String> compiled = CompiledTransformerChain.compile(chain);
+			assertTrue(regexes[0] + " " + regexes[1], compiled instanceof CompiledTransformerChain);
+			for (int count = 0; count < 2000; count++) {
+				StringBuilder input = new StringBuilder();
+				for (int length = random.nextInt(8); length > 0; length--) {
+					input.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+				}
+				assertEquals(input.toString(), transform(chain, input.toString()), transform(compiled, input.toString()));
+			}
+		}
+	}
+
+	@Test
+	public void test_dictionary_word() {
+		InputTransformer<String> compiled = CompiledTransformerChain.compile(new WordToNumberConverter(
+				new UpperCaseTransformer(new StripAndValidateInput("[\\p{Punct}\\s]", "^[A-Za-z]{1,}$")), defaultNumberEncodingMap()));
+		TransformerContainer<String> container = new TransformerContainer<String>("Won't");
+		compiled.transform(container);
+		assertEquals("WONT", container.getInput());
+		assertEquals("9668", container.getTransformed());
+		container = new TransformerContainer<String>("caf\u00E9");
+		compiled.transform(container);
+		assertNull(container.getTransformed());
+		assertEquals(Collections.singletonList("invalid.input"), container.getErrors());
+	}
+
+	/*
+	 * A character not supported by the number encoding is left to the chain, which reports the same error as before.
+	 */
+	@Test
+	public void test_character_with_no_mapping() {
+		InputTransformer<String> compiled = CompiledTransformerChain.compile(new WordToNumberConverter(
+				new StripAndValidateInput("[\\p{Punct}\\s]", "^[A-Za-z0-9]{1,}$"), defaultNumberEncodingMap()));
+		TransformerContainer<String> container = new TransformerContainer<String>("CALL2");
+		compiled.transform(container);
+		assertEquals("CALL2", container.getInput());
+		assertEquals(Collections.singletonList("unmapped.character"), container.getErrors());
+	}
+
+	/*
+	 * A new transformer takes part in the fusion by describing its stages.
+	 */
+	@Test
+	public void test_new_fusible_transformer() {
+		Map<String, String> numbersEncodingMap = defaultNumberEncodingMap();
+		for (Map.Entry<String, String> entry : defaultNumberEncodingMap().entrySet()) {
+			numbersEncodingMap.put(entry.getKey().toLowerCase(), entry.getValue());
+		}
+		InputTransformer<String> compiled = CompiledTransformerChain.compile(new WordToNumberConverter(
+				new ReverseCaseTransformer(new StripAndValidateInput("[\\p{Punct}\\s]", "^[A-Za-z]{1,}$")), numbersEncodingMap));
+		assertTrue(compiled instanceof CompiledTransformerChain);
+		TransformerContainer<String> container = new TransformerContainer<String>("ab-C");
+		compiled.transform(container);
+		assertEquals("ABc", container.getInput());
+		assertEquals("222", container.getTransformed());
+	}
+
+	@Test
+	public void test_chain_which_can_not_be_fused_used_as_it_is() {
+		InputTransformer<String> notFusible = (container) -> container.setTransformed(container.getInput());
+		InputTransformer<String> chain = new WordToNumberConverter(new UpperCaseTransformer(notFusible), defaultNumberEncodingMap());
+		assertSame(chain, CompiledTransformerChain.compile(chain));
+		chain = new WordToNumberConverter(new StripAndValidateInput("(ab)+", "^[A-Z]+$"), defaultNumberEncodingMap());
+		assertSame(chain, CompiledTransformerChain.compile(chain));
+	}
+
+	private static String transform(InputTransformer<String> transformer, String input) {
+		TransformerContainer<String> container = new TransformerContainer<String>(input);
+		try {
+			transformer.transform(container);
+		} catch (RuntimeException e) {
+			return e.getClass().getName();
+		}
+		return container.toString();
+	}
+
+	/**
+	 * Swaps the case of the ASCII letters
+	 */
+	private static class ReverseCaseTransformer implements FusibleTransformer {
+		private final InputTransformer<String> parentTransformer;
+
+		private ReverseCaseTransformer(InputTransformer<String> parentTransformer) {
+			this.parentTransformer = parentTransformer;
+		}
+
+		@Override
+		public void transform(TransformerContainer<String> transformerContainer) {
+			parentTransformer.transform(transformerContainer);
+			if (transformerContainer.getTransformed() != null) {
+				StringBuilder reversed = new StringBuilder();
+				for (char character : transformerContainer.getTransformed().toCharArray()) {
+					reversed.append((char) reverseCase(character));
+				}
+				transformerContainer.setTransformed(reversed.toString());
+			}
+		}
+
+		@Override
+		public InputTransformer<String> getParentTransformer() {
+			return parentTransformer;
+		}
+
+		@Override
+		public List<FusedStage> getFusedStages() {
+			return Collections.singletonList(ReverseCaseTransformer::reverseCase);
+		}
+
+		private static int reverseCase(char character) {
+			if (character >= 'a' && character <= 'z') {
+				return Character.toUpperCase(character);
+			}
+			return character >= 'A' && character <= 'Z' ? Character.toLowerCase(character) : character;
+		}
+	}
+}
@@ -0,0 +1,95 @@
+package com.aconex.challenge.numbertowords.dictionary.transformers;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/*
+ * Verifies that the fused normalizer strips, validates and converts to upper case the same as the regular expressions,
+ * for random inputs and for several simple regular expressions, and that the other regular expressions are used as they are.
+ * @author Abhishek Agarwal
+ *
+ */
+
+public class FusedNormalizerTest {
+
+	private static final String[][] REGEXES = {
+			{ "[\\p{Punct}\\s]", "^[0-9]{1,}$" },
+			{ "[\\p{Punct}\\s]", "^[A-Za-z]{1,}$" },
+			{ "[\\p{Punct}\\s]+", "^[a-z\\d]{2,5}$" },
+			{ "\\s", "^[^\\d\\-]*$" },
+			{ "[-'.]", "^[\\w\\u00E9]+?$" },
+			{ "\\p{Space}", "^\\S{3}$" },
+			{ "[\\t ]*", "^[\\p{Alpha}\\n]+$" },
+			{ "[^a-z0-9\\r\\n]", "^[0-9]?$" },
+	};
+
+	private static final String ALPHABET = "aBz09-.' \t\r\n_#\u00E9\u00DF\u0085\u2028\uD83D\uDE00";
+
+	@Test
+	public void test_same_as_regular_expressions() {
+		Random random = new Random(7);
+		for (String[] regexes : REGEXES) {
+			for (boolean upperCase : new boolean[] { false, true }) {
+				InputTransformer<String> fused = FusedNormalizer.compile(regexes[0], regexes[1], upperCase);
+				assertTrue(regexes[0] + " " + regexes[1], fused instanceof FusedNormalizer);
+				InputTransformer<String> regexTransformer = new StripAndValidateInput(regexes[0], regexes[1]);
+				if (upperCase) {
+					regexTransformer = new UpperCaseTransformer(regexTransformer);
+				}
+				for (int count = 0; count < 2000; count++) {
+					StringBuilder input = new StringBuilder();
+					for (int length = random.nextInt(8); length > 0; length--) {
+						input.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+					}
+					assertSameResult(input.toString(), fused, regexTransformer);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void test_default_regular_expressions() {
+		InputTransformer<String> numberNormalizer = FusedNormalizer.compile("[\\p{Punct}\\s]", "^[0-9]{1,}$", false);
+		assertEquals("225563", transform(numberNormalizer, "+2255.63 ").getTransformed());
+		assertEquals("invalid.input", transform(numberNormalizer, "A-2255").getErrors().get(0));
+		InputTransformer<String> wordNormalizer = FusedNormalizer.compile("[\\p{Punct}\\s]", "^[A-Za-z]{1,}$", true);
+		assertEquals("WONT", transform(wordNormalizer, "won't").getTransformed());
+		assertNull(transform(wordNormalizer, "caf\u00E9").getTransformed());
+	}
+
+	@Test
+	public void test_other_regular_expressions_used_as_they_are() {
+		assertFalse(FusedNormalizer.compile("[a-z&&[^b]]", "^[0-9]+$", false) instanceof FusedNormalizer);
+		assertFalse(FusedNormalizer.compile("[\\p{L}]", "^[0-9]+$", false) instanceof FusedNormalizer);
+		assertFalse(FusedNormalizer.compile("ab", "^[0-9]+$", false) instanceof FusedNormalizer);
+		assertFalse(FusedNormalizer.compile("[\\p{Punct}\\s]", "[0-9]+", false) instanceof FusedNormalizer);
+		assertFalse(FusedNormalizer.compile("[\\p{Punct}\\s]", "^[0-9]++$", false) instanceof FusedNormalizer);
+		assertFalse(FusedNormalizer.compile("[\\p{Punct}\\s]", "(?i)^[a-z]+$", false) instanceof FusedNormalizer);
+		InputTransformer<String> regexTransformer = FusedNormalizer.compile("(ab)+", "^c.d$", true);
+		assertEquals("CXD", transform(regexTransformer, "cabxabd").getTransformed());
+	}
+
+	private static void assertSameResult(String input, InputTransformer<String> fused, InputTransformer<String> regexTransformer) {
+		TransformerContainer<String> expected = transform(regexTransformer, input);
+		TransformerContainer<String> actual = transform(fused, input);
+		assertEquals(escape(input), expected.getTransformed(), actual.getTransformed());
+		assertEquals(escape(input), expected.getErrors(), actual.getErrors());
+	}
+
+	private static TransformerContainer<String> transform(InputTransformer<String> transformer, String input) {
+		TransformerContainer<String> container = new TransformerContainer<String>(input);
+		transformer.transform(container);
+		return container;
+	}
+
+	private static String escape(String input) {
+		StringBuilder escaped = new StringBuilder();
+		for (char character : input.toCharArray()) {
+			escaped.append(character < 128 && character >= ' ' ? String.valueOf(character) : String.format("\\u%04X", (int) character));
+		}
+		return escaped.toString();
+	}
+}
@@ -0,0 +1,64 @@
+package com.aconex.challenge.numbertowords.dictionary.transformers;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+/*
+ * Verifies that the errors stored as error codes are returned by their keys same as the other errors,
+ * and that a container reset for another input has no trace of the previous input.
+ * @author Abhishek Agarwal
+ *
+ */
+
+public class TransformerContainerTest {
+
+	@Test
+	public void test_error_codes_and_keys() {
+		TransformerContainer<String> container = new TransformerContainer<String>("won't");
+		assertFalse(container.hasErrors());
+		assertNull(container.getErrors());
+		container.addError("invalid.input");
+		container.addError("too.long");
+		container.addError(TransformerContainer.UNMAPPED_CHARACTER);
+		assertTrue(container.hasErrors());
+		assertEquals(TransformerContainer.INVALID_INPUT | TransformerContainer.UNMAPPED_CHARACTER, container.getErrorCodes());
+		assertEquals(Arrays.asList("invalid.input", "unmapped.character", "too.long"), container.getErrors());
+	}
+
+	@Test
+	public void test_errors_copied() {
+		TransformerContainer<String> rawContainer = new TransformerContainer<String>("A-2255");
+		rawContainer.addError(TransformerContainer.INVALID_INPUT);
+		rawContainer.addError("too.long");
+		TransformerContainer<Integer> container = new TransformerContainer<Integer>("A-2255");
+		container.addErrors(rawContainer);
+		assertEquals(rawContainer.getErrors(), container.getErrors());
+		container.setErrors(Collections.singletonList("unmapped.character"));
+		assertEquals(TransformerContainer.UNMAPPED_CHARACTER, container.getErrorCodes());
+		assertEquals(Collections.singletonList("unmapped.character"), container.getErrors());
+	}
+
+	@Test
+	public void test_reset() {
+		TransformerContainer<String> container = new TransformerContainer<String>("A-2255");
+		container.addError(TransformerContainer.INVALID_INPUT);
+		container.addError("too.long");
+		container.reset("2255");
+		assertEquals("2255", container.getInput());
+		assertFalse(container.hasErrors());
+		assertNull(container.getErrors());
+		container.setTransformed("CALL");
+		container.reset("63");
+		assertNull(container.getTransformed());
+
+		StrippedNumberContainer<String> strippedContainer = new StrippedNumberContainer<String>("2255-63", "225563");
+		strippedContainer.reset("A-2255");
+		assertNull(strippedContainer.getStrippedInput());
+		strippedContainer.reset("63.", "63");
+		assertEquals("63", strippedContainer.getStrippedInput());
+	}
+}
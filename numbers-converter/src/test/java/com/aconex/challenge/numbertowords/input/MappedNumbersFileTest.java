@@ -0,0 +1,100 @@
+package com.aconex.challenge.numbertowords.input;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.aconex.challenge.numbertowords.dictionary.transformers.StripAndValidateInput;
+import com.aconex.challenge.numbertowords.dictionary.transformers.TransformerContainer;
+
+/*
+ * Verifies that the lines of a memory mapped file are the same as read by {@link BufferedReader}, 
+ * that the digits and the validity of each line are the same as with {@link StripAndValidateInput},
+ * and that the file is split into ranges which start at the beginning of a line.
+ * @author Abhishek Agarwal
+ *
+ */
+
+public class MappedNumbersFileTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private final StripAndValidateInput stripAndValidateInput = new StripAndValidateInput(MappedNumbersFile.STRIP_CHARS_REGEX, MappedNumbersFile.NUMBER_VALID_REGEX);
+
+	private static final String NUMBERS = "225563\r\n2255-63\n\n\r\n+434 508.305\rA12\n22\u00E955\n (2)\t{5}~\n\r\r225563";
+
+	@Test
+	public void test_lines_same_as_buffered_reader() throws IOException {
+		try (MappedNumbersFile numbersFile = open(NUMBERS)) {
+			List<String> lines = new ArrayList<String>();
+			for (ByteRange range : numbersFile.split(1)) {
+				numbersFile.forEachLine(range, (numberLine) -> lines.add(numberLine.lineToString()));
+			}
+			assertEquals(new BufferedReader(new StringReader(NUMBERS)).lines().collect(Collectors.toList()), lines);
+		}
+	}
+
+	@Test
+	public void test_digits_same_as_strip_and_validate_input() throws IOException {
+		try (MappedNumbersFile numbersFile = open(NUMBERS)) {
+			for (ByteRange range : numbersFile.split(1)) {
+				numbersFile.forEachLine(range, (numberLine) -> {
+					TransformerContainer<String> container = new TransformerContainer<String>(numberLine.lineToString());
+					stripAndValidateInput.transform(container);
+					assertEquals(numberLine.lineToString(), container.getErrors() == null, numberLine.isValid());
+					if (numberLine.isValid()) {
+						assertEquals(container.getTransformed(), numberLine.digitsToString());
+						assertEquals(container.getTransformed(), numberLine.toString());
+					}
+				});
+			}
+		}
+	}
+
+	@Test
+	public void test_ranges_start_at_line_beginning() throws IOException {
+		try (MappedNumbersFile numbersFile = open(NUMBERS)) {
+			List<String> expectedLines = new BufferedReader(new StringReader(NUMBERS)).lines().collect(Collectors.toList());
+			for (int parts = 1; parts <= NUMBERS.length() + 1; parts++) {
+				List<ByteRange> ranges = numbersFile.split(parts);
+				assertTrue(ranges.size() <= parts);
+				assertEquals(0, ranges.get(0).getStart());
+				assertEquals(numbersFile.size(), ranges.get(ranges.size() - 1).getEnd());
+				List<String> lines = new ArrayList<String>();
+				for (int index = 0; index < ranges.size(); index++) {
+					if (index > 0) {
+						assertEquals(ranges.get(index - 1).getEnd(), ranges.get(index).getStart());
+					}
+					numbersFile.forEachLine(ranges.get(index), (numberLine) -> lines.add(numberLine.lineToString()));
+				}
+				assertEquals("Parts: " + parts, expectedLines, lines);
+			}
+		}
+	}
+
+	@Test
+	public void test_empty_file_has_no_range() throws IOException {
+		try (MappedNumbersFile numbersFile = open("")) {
+			assertTrue(numbersFile.split(4).isEmpty());
+		}
+	}
+
+	private MappedNumbersFile open(String numbers) throws IOException {
+		Path numbersPath = temporaryFolder.newFile().toPath();
+		Files.write(numbersPath, numbers.getBytes(StandardCharsets.UTF_8));
+		return MappedNumbersFile.open(numbersPath);
+	}
+}
@@ -0,0 +1,137 @@
+package com.aconex.challenge.numbertowords.output;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.aconex.challenge.numbertowords.converter.MatchCount;
+
+/*
+ * Verifies the records written by the NDJSON, CSV and binary encoders, including the escaping of the special characters,
+ * and that a number with more matches than fit in the buffer is written out in full.
+ * @author Abhishek Agarwal
+ *
+ */
+
+public class ResultEncoderTest {
+
+	private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+	private final Set<String> matches = new LinkedHashSet<String>(Arrays.asList("CALL-ME", "BALL-\u00D6L"));
+
+	@Test
+	public void test_ndjson_records() throws IOException {
+		try (ResultSink resultSink = sink(1024)) {
+			ResultEncoder encoder = new NdjsonResultEncoder();
+			encoder.encodeMatches(resultSink, "225563", matches);
+			encoder.encodeMatches(resultSink, "0000", Collections.<String>emptySet());
+			encoder.encodeMatchCount(resultSink, "225563", new MatchCount(2, 0));
+			encoder.encodeInvalidNumber(resultSink, "\"A\\1\t");
+		}
+		assertEquals("{\"number\":\"225563\",\"matches\":[\"CALL-ME\",\"BALL-\u00D6L\"]}\n"
+				+ "{\"number\":\"0000\",\"matches\":[]}\n"
+				+ "{\"number\":\"225563\",\"count\":2,\"exact\":2,\"partial\":0}\n"
+				+ "{\"number\":\"\\\"A\\\\1\\u0009\",\"error\":\"invalid number\"}\n", text());
+	}
+
+	@Test
+	public void test_csv_rows() throws IOException {
+		try (ResultSink resultSink = sink(1024)) {
+			ResultEncoder encoder = new CsvResultEncoder();
+			encoder.encodeMatches(resultSink, "225563", matches);
+			encoder.encodeMatches(resultSink, "0000", null);
+			encoder.encodeInvalidNumber(resultSink, "A,\"1\"");
+		}
+		assertEquals("number,status,match\n225563,match,CALL-ME\n225563,match,BALL-\u00D6L\n0000,none,\n\"A,\"\"1\"\"\",invalid,\n", text());
+	}
+
+	@Test
+	public void test_csv_count_rows() throws IOException {
+		try (ResultSink resultSink = sink(1024)) {
+			ResultEncoder encoder = new CsvResultEncoder();
+			encoder.encodeMatchCount(resultSink, "225563", new MatchCount(2, 0));
+			encoder.encodeMatchCount(resultSink, "0000", new MatchCount(0, 0));
+		}
+		assertEquals("number,status,count,exact,partial\n225563,match,2,2,0\n0000,none,0,0,0\n", text());
+	}
+
+	@Test
+	public void test_binary_records() throws IOException {
+		try (ResultSink resultSink = sink(1024)) {
+			ResultEncoder encoder = new BinaryResultEncoder();
+			encoder.encodeMatches(resultSink, "225563", matches);
+			encoder.encodeMatchCount(resultSink, "225563", new MatchCount(0, 1));
+			encoder.encodeInvalidNumber(resultSink, "A1");
+		}
+		DataInputStream input = new DataInputStream(new ByteArrayInputStream(output.toByteArray()));
+		assertEquals(BinaryResultEncoder.MATCHES_RECORD, input.readByte());
+		assertEquals("225563", readString(input));
+		assertEquals(2, input.readInt());
+		assertEquals("CALL-ME", readString(input));
+		assertEquals("BALL-\u00D6L", readString(input));
+		assertEquals(BinaryResultEncoder.MATCH_COUNT_RECORD, input.readByte());
+		assertEquals("225563", readString(input));
+		assertEquals(1, input.readLong());
+		assertEquals(0, input.readLong());
+		assertEquals(1, input.readLong());
+		assertEquals(BinaryResultEncoder.INVALID_NUMBER_RECORD, input.readByte());
+		assertEquals("A1", readString(input));
+		assertEquals(-1, input.read());
+	}
+
+	@Test
+	public void test_binary_strings_in_utf8() throws IOException {
+		String text = "\u00D6\u20AC\uD83D\uDE00";
+		try (ResultSink resultSink = sink(16)) {
+			resultSink.writeUtf8(text);
+		}
+		byte[] expected = text.getBytes(StandardCharsets.UTF_8);
+		DataInputStream input = new DataInputStream(new ByteArrayInputStream(output.toByteArray()));
+		assertEquals(expected.length, input.readInt());
+		assertEquals(text, readString(expected.length, input));
+	}
+
+	@Test
+	public void test_more_matches_than_buffer() throws IOException {
+		Set<String> manyMatches = new LinkedHashSet<String>();
+		StringBuilder expected = new StringBuilder("{\"number\":\"2255\",\"matches\":[");
+		for (int index = 0; index < 1000; index++) {
+			manyMatches.add("CALL-" + index);
+			expected.append(index == 0 ? "" : ",").append("\"CALL-").append(index).append('"');
+		}
+		expected.append("]}\n");
+		try (ResultSink resultSink = sink(64)) {
+			new NdjsonResultEncoder().encodeMatches(resultSink, "2255", manyMatches);
+		}
+		assertEquals(expected.toString(), text());
+	}
+
+	private ResultSink sink(int bufferBytes) {
+		return new ResultSink(Channels.newChannel(output), true, StandardCharsets.UTF_8, bufferBytes);
+	}
+
+	private String text() {
+		return new String(output.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	private static String readString(DataInputStream input) throws IOException {
+		return readString(input.readInt(), input);
+	}
+
+	private static String readString(int length, DataInputStream input) throws IOException {
+		byte[] bytes = new byte[length];
+		input.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,67 @@
+package com.aconex.challenge.numbertowords.output;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/*
+ * Verifies that the lines written to the sink are the same as formatted one by one with {@link MessageFormat}, 
+ * even when a line is longer than the buffer, and that they are written out only when the buffer is full or flushed.
+ * @author Abhishek Agarwal
+ *
+ */
+
+public class ResultSinkTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private final MessageFormat matchFormat = new MessageFormat("{0} matches {1}");
+
+	@Test
+	public void test_lines_same_as_formatted() throws IOException {
+		Path outputPath = temporaryFolder.newFile().toPath();
+		StringBuilder expected = new StringBuilder();
+		try (ResultSink resultSink = new ResultSink(FileChannel.open(outputPath, StandardOpenOption.WRITE), true, StandardCharsets.UTF_8, 1024)) {
+			for (int number = 0; number < 1000; number++) {
+				Object[] params = { Integer.toString(number), new LinkedHashSet<String>(Arrays.asList("CALL-ME", "\u00D6L-" + number)) };
+				resultSink.write(matchFormat, params);
+				expected.append(MessageFormat.format("{0} matches {1}", params)).append(System.lineSeparator());
+			}
+		}
+		assertEquals(expected.toString(), new String(Files.readAllBytes(outputPath), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void test_written_out_when_buffer_full_or_flushed() throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		try (ResultSink resultSink = new ResultSink(Channels.newChannel(output), true, StandardCharsets.UTF_8, 64)) {
+			resultSink.write(matchFormat, "225563", "[CALL-ME]");
+			assertEquals(0, output.size());
+			resultSink.flush();
+			assertEquals("225563 matches [CALL-ME]" + System.lineSeparator(), new String(output.toByteArray(), StandardCharsets.UTF_8));
+
+			// Longer than the buffer, so written out in pieces as the buffer fills up
+			String longMatch = String.join("-", Collections.nCopies(40, "CALL"));
+			resultSink.write(matchFormat, "2255", longMatch);
+			assertTrue(output.size() > 0);
+			resultSink.flush();
+			assertTrue(new String(output.toByteArray(), StandardCharsets.UTF_8).endsWith("2255 matches " + longMatch + System.lineSeparator()));
+		}
+	}
+}